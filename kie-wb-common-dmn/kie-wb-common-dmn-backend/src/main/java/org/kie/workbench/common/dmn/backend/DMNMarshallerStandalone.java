@@ -15,9 +15,16 @@
  */
 package org.kie.workbench.common.dmn.backend;
 
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.AbstractMap.SimpleEntry;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -38,6 +45,9 @@ import java.util.stream.StreamSupport;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 import javax.xml.namespace.QName;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import org.kie.dmn.api.marshalling.DMNMarshaller;
 import org.kie.dmn.model.api.Import;
@@ -148,6 +158,10 @@ public class DMNMarshallerStandalone implements DiagramMarshaller<Graph, Metadat
 
     private static final String AUTO_TARGET_CONNECTION = "-AUTO-TARGET";
 
+    private static final int XML_DECLARATION_MAX_LENGTH = 1024;
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = newXMLInputFactory();
+
     private XMLEncoderDiagramMetadataMarshaller diagramMetadataMarshaller;
     private FactoryManager factoryManager;
     private InputDataConverter inputDataConverter;
@@ -180,6 +194,55 @@ public class DMNMarshallerStandalone implements DiagramMarshaller<Graph, Metadat
         this.decisionServiceConverter = new DecisionServiceConverter(factoryManager);
     }
 
+    private static XMLInputFactory newXMLInputFactory() {
+        final XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD,
+                            false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES,
+                            false);
+        return factory;
+    }
+
+    /**
+     * The kie DMN marshaller only reads characters, so the document's byte order mark and XML declaration are
+     * first read by the XML parser from the raw bytes, and the document is then decoded with the encoding found.
+     * Also used for the other XML documents read by the DMN backend, such as the included PMML documents.
+     */
+    public static Reader newDocumentReader(final InputStream input) throws IOException {
+        final BufferedInputStream document = new BufferedInputStream(input,
+                                                                     XML_DECLARATION_MAX_LENGTH);
+        document.mark(XML_DECLARATION_MAX_LENGTH);
+        final byte[] head = new byte[XML_DECLARATION_MAX_LENGTH];
+        int length = 0;
+        int read;
+        while (length < head.length && (read = document.read(head, length, head.length - length)) != -1) {
+            length += read;
+        }
+        document.reset();
+        final String encoding = getDocumentEncoding(new ByteArrayInputStream(head, 0, length));
+        final boolean hasUTF8ByteOrderMark = length >= 3 && head[0] == (byte) 0xEF && head[1] == (byte) 0xBB && head[2] == (byte) 0xBF;
+        if (hasUTF8ByteOrderMark && StandardCharsets.UTF_8.name().equalsIgnoreCase(encoding)) {
+            document.skip(3);
+        }
+        return new InputStreamReader(document,
+                                     encoding);
+    }
+
+    private static String getDocumentEncoding(final InputStream head) {
+        try {
+            final XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(head);
+            try {
+                return Optional.ofNullable(reader.getCharacterEncodingScheme())
+                        .orElseGet(() -> Optional.ofNullable(reader.getEncoding()).orElse(StandardCharsets.UTF_8.name()));
+            } finally {
+                reader.close();
+            }
+        } catch (final XMLStreamException e) {
+            // Not a well-formed XML declaration, the kie DMN marshaller reports it when reading the document.
+            return StandardCharsets.UTF_8.name();
+        }
+    }
+
     private static Optional<org.kie.dmn.model.api.dmndi.DMNDiagram> findDMNDiagram(final org.kie.dmn.model.api.Definitions dmnXml) {
         if (!(dmnXml instanceof org.kie.dmn.model.v1_2.TDefinitions)) {
             return Optional.empty();
@@ -206,7 +269,7 @@ public class DMNMarshallerStandalone implements DiagramMarshaller<Graph, Metadat
             }
         };
 
-        final org.kie.dmn.model.api.Definitions dmnXml = marshaller.unmarshal(new InputStreamReader(input));
+        final org.kie.dmn.model.api.Definitions dmnXml = marshaller.unmarshal(newDocumentReader(input));
         final List<org.kie.dmn.model.api.DRGElement> diagramDrgElements = dmnXml.getDrgElement();
         final Optional<org.kie.dmn.model.api.dmndi.DMNDiagram> dmnDDDiagram = findDMNDiagram(dmnXml);
 
@@ -751,8 +814,27 @@ public class DMNMarshallerStandalone implements DiagramMarshaller<Graph, Metadat
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public String marshall(final Diagram<Graph, Metadata> diagram) {
+        return marshaller.marshal(toDMNDefinitions(diagram));
+    }
+
+    /**
+     * Writes the DMN document straight to the given stream, as it is serialized, so no string holding the whole
+     * document is built. For models with large decision tables this string is as large as the model itself.
+     */
+    @Override
+    public void marshall(final Diagram<Graph, Metadata> diagram,
+                         final OutputStream output) throws IOException {
+        final org.kie.dmn.model.api.Definitions definitions = toDMNDefinitions(diagram);
+        final Writer writer = new OutputStreamWriter(output,
+                                                     StandardCharsets.UTF_8);
+        marshaller.marshal(definitions,
+                           writer);
+        writer.flush();
+    }
+
+    @SuppressWarnings("unchecked")
+    org.kie.dmn.model.api.Definitions toDMNDefinitions(final Diagram<Graph, Metadata> diagram) {
         final Graph<?, Node<View, ?>> g = diagram.getGraph();
 
         final Map<String, org.kie.dmn.model.api.DRGElement> nodes = new HashMap<>();
@@ -897,7 +979,7 @@ public class DMNMarshallerStandalone implements DiagramMarshaller<Graph, Metadat
         // add DMNEdge last.
         dmnDDDMNDiagram.getDMNDiagramElement().addAll(dmnEdges);
 
-        return marshaller.marshal(definitions);
+        return definitions;
     }
 
     void loadImportedItemDefinitions(final Definitions definitions,
@@ -52,6 +52,15 @@ public interface DMNMarshallerImportsHelperStandalone extends DMNMarshallerImpor
                                                                final String modelName,
                                                                final String namespace);
 
+    /**
+     * This method finds the {@link Path}s of the DMN models with the given namespaces.
+     * @param workspaceProject represents the project that will be scanned.
+     * @param namespaces represent the namespaces of the desired DMN models.
+     * @return the list of {@link Path}s of the DMN models.
+     */
+    List<Path> getDMNModelsPathsByNamespaces(final WorkspaceProject workspaceProject,
+                                             final List<String> namespaces);
+
     /**
      * This method loads all imported PMML documents from a list of imports.
      * @param metadata represents the metadata from the main DMN model.
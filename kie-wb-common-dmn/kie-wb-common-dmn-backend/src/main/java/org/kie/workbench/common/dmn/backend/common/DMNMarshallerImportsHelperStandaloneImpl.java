@@ -16,19 +16,22 @@
 
 package org.kie.workbench.common.dmn.backend.common;
 
-import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.StringReader;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.xml.namespace.QName;
@@ -52,11 +55,31 @@ import org.kie.workbench.common.stunner.core.diagram.Metadata;
 import org.uberfire.backend.server.util.Paths;
 import org.uberfire.backend.vfs.Path;
 import org.uberfire.io.IOService;
+import org.uberfire.workbench.events.ResourceAddedEvent;
+import org.uberfire.workbench.events.ResourceBatchChangesEvent;
+import org.uberfire.workbench.events.ResourceChange;
+import org.uberfire.workbench.events.ResourceChangeType;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
+import org.uberfire.workbench.events.ResourceRenamed;
+import org.uberfire.workbench.events.ResourceRenamedEvent;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
 
 import static java.util.Collections.emptyList;
 import static org.kie.workbench.common.dmn.api.editors.types.BuiltInTypeUtils.isBuiltInType;
 import static org.kie.workbench.common.dmn.backend.definition.v1_1.ImportedItemDefinitionConverter.withNamespace;
 
+/**
+ * Resolves the imports of DMN models.
+ * <p>
+ * The DMN models of each project are indexed by namespace, so resolving the imports of a model does not read and
+ * unmarshall every other model of the project again. The index of a project is evicted when any DMN model is added,
+ * updated, renamed or deleted in it, and just the changed models are read again. A changed model is unmarshalled
+ * again only if its content changed as well. Only the most recently used projects and models are kept, and the
+ * models being deleted are dropped.
+ * <p>
+ * The imported {@link Definitions} are unmarshalled from the cached XML on each request, as they are modified by
+ * the callers, e.g. to prefix the names of the imported elements.
+ */
 @ApplicationScoped
 public class DMNMarshallerImportsHelperStandaloneImpl implements DMNMarshallerImportsHelperStandalone {
 
@@ -74,6 +97,22 @@ public class DMNMarshallerImportsHelperStandaloneImpl implements DMNMarshallerIm
 
     private final PMMLIncludedDocumentFactory pmmlDocumentFactory;
 
+    private static final String STANDALONE_MODELS = "";
+
+    private static final String DMN_EXTENSION = ".dmn";
+
+    static final int MAX_CACHED_PROJECTS = 16;
+
+    static final int MAX_CACHED_MODELS = 256;
+
+    private final Map<String, ProjectModels> projectModels = lruMap(MAX_CACHED_PROJECTS);
+
+    private final Map<String, CachedModel> models = lruMap(MAX_CACHED_MODELS);
+
+    private final Map<String, CachedModel> changedModels = lruMap(MAX_CACHED_MODELS);
+
+    private final AtomicLong evictions = new AtomicLong();
+
     public DMNMarshallerImportsHelperStandaloneImpl() {
         this(null, null, null, null, null, null);
     }
@@ -100,9 +139,12 @@ public class DMNMarshallerImportsHelperStandaloneImpl implements DMNMarshallerIm
         final Map<Import, Definitions> importDefinitions = new HashMap<>();
 
         if (imports.size() > 0) {
-            for (final Definitions definitions : getOtherDMNDiagramsDefinitions(metadata)) {
-                findImportByDefinitions(definitions, imports).ifPresent(anImport -> {
-                    importDefinitions.put(anImport, definitions);
+            for (final CachedModel model : getOtherDMNModels(metadata)) {
+                findImportByNamespace(model.getNamespace(), imports).ifPresent(anImport -> {
+                    final Definitions definitions = toDefinitions(model.getXml());
+                    if (definitions != null) {
+                        importDefinitions.put(anImport, definitions);
+                    }
                 });
             }
         }
@@ -133,13 +175,10 @@ public class DMNMarshallerImportsHelperStandaloneImpl implements DMNMarshallerIm
         final Map<Import, String> importXML = new HashMap<>();
 
         if (imports.size() > 0) {
-            for (final String xml : getOtherDMNDiagramsXML(metadata)) {
-                try (final StringReader sr = toStringReader(xml)) {
-                    final Definitions definitions = marshaller.unmarshal(sr);
-                    findImportByDefinitions(definitions, imports).ifPresent(anImport -> {
-                        importXML.put(anImport, xml);
-                    });
-                }
+            for (final CachedModel model : getOtherDMNModels(metadata)) {
+                findImportByNamespace(model.getNamespace(), imports).ifPresent(anImport -> {
+                    importXML.put(anImport, model.getXml());
+                });
             }
         }
 
@@ -153,12 +192,9 @@ public class DMNMarshallerImportsHelperStandaloneImpl implements DMNMarshallerIm
 
         final WorkspaceProject workspaceProject = getProject(metadata);
 
-        for (final Path dmnModelPath : pathsHelper.getDMNModelsPaths(workspaceProject)) {
-
-            final Optional<Definitions> definitions = getDefinitionsByPath(dmnModelPath);
-
-            if (definitions.map(d -> Objects.equals(d.getNamespace(), modelNamespace) && Objects.equals(d.getName(), modelName)).orElse(false)) {
-                return dmnModelPath;
+        for (final CachedModel model : getDMNModels(workspaceProject).getByNamespace(modelNamespace)) {
+            if (Objects.equals(model.getName(), modelName)) {
+                return model.getPath();
             }
         }
 
@@ -194,20 +230,75 @@ public class DMNMarshallerImportsHelperStandaloneImpl implements DMNMarshallerIm
                                                                       final String modelName,
                                                                       final String namespace) {
 
-        return findDefinitionsByNamespace(workspaceProject, namespace)
+        return getDMNModels(workspaceProject)
+                .getByNamespace(namespace)
+                .stream()
+                .map(model -> toDefinitions(model.getXml()))
+                .filter(Objects::nonNull)
+                .findAny()
                 .map(Definitions::getItemDefinition)
                 .orElse(emptyList());
     }
 
-    private Optional<Definitions> findDefinitionsByNamespace(final WorkspaceProject workspaceProject,
-                                                             final String namespace) {
-        return pathsHelper
-                .getDMNModelsPaths(workspaceProject)
+    @Override
+    public List<Path> getDMNModelsPathsByNamespaces(final WorkspaceProject workspaceProject,
+                                                    final List<String> namespaces) {
+        final ProjectModels dmnModels = getDMNModels(workspaceProject);
+        return namespaces
                 .stream()
-                .map(path -> getDefinitionsByPath(path).orElse(null))
-                .filter(Objects::nonNull)
-                .filter(definitions -> Objects.equals(definitions.getNamespace(), namespace))
-                .findAny();
+                .distinct()
+                .flatMap(namespace -> dmnModels.getByNamespace(namespace).stream())
+                .map(CachedModel::getPath)
+                .collect(Collectors.toList());
+    }
+
+    public void onResourceAdded(@Observes final ResourceAddedEvent event) {
+        evict(event.getPath(), false);
+    }
+
+    public void onResourceUpdated(@Observes final ResourceUpdatedEvent event) {
+        evict(event.getPath(), false);
+    }
+
+    public void onResourceDeleted(@Observes final ResourceDeletedEvent event) {
+        evict(event.getPath(), true);
+    }
+
+    public void onResourceRenamed(@Observes final ResourceRenamedEvent event) {
+        evict(event.getPath(), true);
+        evict(event.getDestinationPath(), false);
+    }
+
+    public void onBatchResourceChanges(@Observes final ResourceBatchChangesEvent event) {
+        for (final Map.Entry<Path, Collection<ResourceChange>> entry : event.getBatch().entrySet()) {
+            evict(entry.getKey(),
+                  entry.getValue().stream().anyMatch(change -> change.getType() == ResourceChangeType.DELETE ||
+                          change.getType() == ResourceChangeType.RENAME));
+            for (final ResourceChange change : entry.getValue()) {
+                if (change instanceof ResourceRenamed) {
+                    evict(((ResourceRenamed) change).getDestinationPath(), false);
+                }
+            }
+        }
+    }
+
+    void evict(final Path path,
+               final boolean deleted) {
+        if (path == null || path.getFileName() == null || !path.getFileName().endsWith(DMN_EXTENSION)) {
+            return;
+        }
+        final String uri = path.toURI();
+        evictions.incrementAndGet();
+        final CachedModel model = models.remove(uri);
+        if (deleted) {
+            changedModels.remove(uri);
+        } else if (model != null) {
+            changedModels.put(uri, model);
+        }
+        // The standalone models, and the models of any project the path belongs to.
+        synchronized (projectModels) {
+            projectModels.keySet().removeIf(uri::startsWith);
+        }
     }
 
     List<ItemDefinition> getItemDefinitionsWithNamespace(final Definitions definitions,
@@ -291,11 +382,11 @@ public class DMNMarshallerImportsHelperStandaloneImpl implements DMNMarshallerIm
         }
     }
 
-    private Optional<Import> findImportByDefinitions(final Definitions definitions,
-                                                     final List<Import> imports) {
+    private Optional<Import> findImportByNamespace(final String namespace,
+                                                   final List<Import> imports) {
         return imports
                 .stream()
-                .filter(anImport -> Objects.equals(anImport.getNamespace(), definitions.getNamespace()))
+                .filter(anImport -> Objects.equals(anImport.getNamespace(), namespace))
                 .findAny();
     }
 
@@ -308,54 +399,95 @@ public class DMNMarshallerImportsHelperStandaloneImpl implements DMNMarshallerIm
                 .findAny();
     }
 
-    List<Definitions> getOtherDMNDiagramsDefinitions(final Metadata metadata) {
-        final List<Path> diagramPaths = pathsHelper.getDMNModelsPaths(getProject(metadata));
-        return diagramPaths
+    List<CachedModel> getOtherDMNModels(final Metadata metadata) {
+        return getDMNModels(getProject(metadata))
+                .getModels()
                 .stream()
-                .filter(path -> !Objects.equals(metadata.getPath(), path))
-                .map(path -> loadPath(path).orElse(null))
-                .filter(Objects::nonNull)
-                .map(this::toDefinitions)
+                .filter(model -> !Objects.equals(metadata.getPath(), model.getPath()))
+                .collect(Collectors.toList());
+    }
+
+    ProjectModels getDMNModels(final WorkspaceProject workspaceProject) {
+        final String key = workspaceProject != null ? workspaceProject.getRootPath().toURI() : STANDALONE_MODELS;
+        final ProjectModels cached = projectModels.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        final long evictionsBefore = evictions.get();
+        final List<CachedModel> dmnModels = pathsHelper
+                .getDMNModelsPaths(workspaceProject)
+                .stream()
+                .map(this::getDMNModel)
                 .filter(Objects::nonNull)
                 .collect(Collectors.toList());
+        final ProjectModels result = new ProjectModels(dmnModels);
+        // Models loaded while some model changed could be stale already.
+        if (evictionsBefore == evictions.get()) {
+            projectModels.put(key, result);
+        }
+        return result;
     }
 
-    private Definitions toDefinitions(final InputStream inputStream) {
-        try (InputStream inputStreamAutoClosable = inputStream;
-             InputStreamReader reader = toInputStreamReader(inputStreamAutoClosable)) {
-            return marshaller.unmarshal(reader);
-        } catch (IOException ioe) {
-            //Swallow. null is returned by default.
+    private CachedModel getDMNModel(final Path path) {
+        final String uri = path.toURI();
+        final CachedModel cached = models.get(uri);
+        if (cached != null) {
+            return cached;
         }
-        return null;
+        final long evictionsBefore = evictions.get();
+        final String xml = loadPath(path).map(dmnIOHelper::isAsString).orElse(null);
+        if (xml == null) {
+            return null;
+        }
+        final CachedModel changed = changedModels.remove(uri);
+        final CachedModel model;
+        if (changed != null && changed.hasContent(xml)) {
+            model = changed;
+        } else {
+            final Definitions definitions = toDefinitions(xml);
+            if (definitions == null) {
+                return null;
+            }
+            model = new CachedModel(path,
+                                    definitions.getNamespace(),
+                                    definitions.getName(),
+                                    xml);
+        }
+        // A model loaded while some model changed could be stale already.
+        if (evictionsBefore == evictions.get()) {
+            models.put(uri, model);
+        }
+        return model;
     }
 
-    List<Path> getPMMLDocumentPaths(final Metadata metadata) {
-        return pathsHelper.getPMMLModelsPaths(getProject(metadata));
+    int getCachedModelsCount() {
+        return models.size() + changedModels.size();
     }
 
-    InputStreamReader toInputStreamReader(final InputStream inputStream) {
-        return new InputStreamReader(inputStream);
+    private static <V> Map<String, V> lruMap(final int maxEntries) {
+        return Collections.synchronizedMap(new LinkedHashMap<String, V>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, V> eldest) {
+                return size() > maxEntries;
+            }
+        });
     }
 
-    Optional<Definitions> getDefinitionsByPath(final Path dmnModelPath) {
-        return loadPath(dmnModelPath).map(this::toInputStreamReader).map(marshaller::unmarshal);
+    private Definitions toDefinitions(final String xml) {
+        try (final StringReader reader = toStringReader(xml)) {
+            return marshaller.unmarshal(reader);
+        } catch (final Exception e) {
+            //Swallow. null is returned when the model is not valid.
+            return null;
+        }
     }
 
-    StringReader toStringReader(final String xml) {
-        return new StringReader(xml);
+    List<Path> getPMMLDocumentPaths(final Metadata metadata) {
+        return pathsHelper.getPMMLModelsPaths(getProject(metadata));
     }
 
-    private List<String> getOtherDMNDiagramsXML(final Metadata metadata) {
-        final List<Path> diagramPaths = pathsHelper.getDMNModelsPaths(getProject(metadata));
-        return diagramPaths
-                .stream()
-                .filter(path -> !Objects.equals(metadata.getPath(), path))
-                .map(path -> loadPath(path).orElse(null))
-                .filter(Objects::nonNull)
-                .map(dmnIOHelper::isAsString)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
+    StringReader toStringReader(final String xml) {
+        return new StringReader(xml);
     }
 
     @Override
@@ -379,4 +511,71 @@ public class DMNMarshallerImportsHelperStandaloneImpl implements DMNMarshallerIm
     org.uberfire.java.nio.file.Path convertPath(final Path path) {
         return Paths.convert(path);
     }
+
+    static class ProjectModels {
+
+        private final List<CachedModel> models;
+
+        private final Map<String, List<CachedModel>> modelsByNamespace;
+
+        ProjectModels(final List<CachedModel> models) {
+            this.models = models;
+            this.modelsByNamespace = models
+                    .stream()
+                    .filter(model -> model.getNamespace() != null)
+                    .collect(Collectors.groupingBy(CachedModel::getNamespace));
+        }
+
+        List<CachedModel> getModels() {
+            return models;
+        }
+
+        List<CachedModel> getByNamespace(final String namespace) {
+            return modelsByNamespace.getOrDefault(namespace, emptyList());
+        }
+    }
+
+    static class CachedModel {
+
+        private final Path path;
+
+        private final String namespace;
+
+        private final String name;
+
+        private final String xml;
+
+        private final int contentHash;
+
+        CachedModel(final Path path,
+                    final String namespace,
+                    final String name,
+                    final String xml) {
+            this.path = path;
+            this.namespace = namespace;
+            this.name = name;
+            this.xml = xml;
+            this.contentHash = xml.hashCode();
+        }
+
+        Path getPath() {
+            return path;
+        }
+
+        String getNamespace() {
+            return namespace;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        String getXml() {
+            return xml;
+        }
+
+        boolean hasContent(final String content) {
+            return contentHash == content.hashCode() && xml.equals(content);
+        }
+    }
 }
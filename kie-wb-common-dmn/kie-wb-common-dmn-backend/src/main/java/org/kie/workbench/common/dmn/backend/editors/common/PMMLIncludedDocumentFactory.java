@@ -16,15 +16,28 @@
 
 package org.kie.workbench.common.dmn.backend.editors.common;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.Reader;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
 import javax.inject.Inject;
 import javax.inject.Named;
 
@@ -35,13 +48,54 @@ import org.kie.workbench.common.dmn.api.editors.included.PMMLDocumentMetadata;
 import org.kie.workbench.common.dmn.api.editors.included.PMMLIncludedModel;
 import org.kie.workbench.common.dmn.api.editors.included.PMMLModelMetadata;
 import org.kie.workbench.common.dmn.api.editors.included.PMMLParameterMetadata;
+import org.kie.workbench.common.dmn.backend.DMNMarshallerStandalone;
 import org.uberfire.backend.server.util.Paths;
 import org.uberfire.backend.vfs.Path;
 import org.uberfire.io.IOService;
+import org.uberfire.workbench.events.ResourceAddedEvent;
+import org.uberfire.workbench.events.ResourceBatchChangesEvent;
+import org.uberfire.workbench.events.ResourceChange;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
+import org.uberfire.workbench.events.ResourceRenamed;
+import org.uberfire.workbench.events.ResourceRenamedEvent;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
 
+/**
+ * Provides the metadata and the content of the PMML documents included by the DMN models.
+ * <p>
+ * The digest of the content of each path is kept until the file changes. The parsed PMML information, which is
+ * small, is cached by that digest, so the documents are not parsed again while they do not change, nor when they
+ * change back to a cached content. The raw content is only cached for the readers of the documents, and that cache
+ * is bounded by the total size of the documents rather than by their number.
+ */
 @ApplicationScoped
 public class PMMLIncludedDocumentFactory {
 
+    static final String PMML_EXTENSION = ".pmml";
+
+    static final int MAX_CACHED_PMML_INFOS = 256;
+
+    static final String CONTENT_CACHE_SIZE = "org.kie.workbench.dmn.pmml.content.cache.size";
+
+    static final long MAX_CACHED_CONTENT_BYTES = Long.parseLong(System.getProperty(CONTENT_CACHE_SIZE, "16777216"));
+
+    private final Map<String, Optional<PMMLInfo<PMMLModelInfo>>> pmmlInfos = Collections.synchronizedMap(
+            new LinkedHashMap<String, Optional<PMMLInfo<PMMLModelInfo>>>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<String, Optional<PMMLInfo<PMMLModelInfo>>> eldest) {
+                    return size() > MAX_CACHED_PMML_INFOS;
+                }
+            });
+
+    // The documents may be tens of megabytes, so the most recently used ones are kept up to a total size.
+    private final LinkedHashMap<String, byte[]> contents = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long cachedContentBytes;
+
+    private final Map<String, String> digests = new ConcurrentHashMap<>();
+
+    private final AtomicLong evictions = new AtomicLong();
+
     private IOService ioService;
 
     public PMMLIncludedDocumentFactory() {
@@ -63,14 +117,145 @@ public class PMMLIncludedDocumentFactory {
         return Optional.ofNullable(loadPMMLInfo(path)).map(pmml -> convertPMMLInfo(path, pmml, modelName)).orElse(emptyPMMLDocumentMetadata(path, modelName));
     }
 
+    /**
+     * Returns a reader of the content of the PMML document, if it can be read. The content is decoded with the
+     * encoding declared by the document.
+     */
+    public Optional<Reader> getDocumentReader(final Path path) {
+        final String digest = digests.get(path.toURI());
+        final byte[] cached = digest != null ? getCachedContent(digest) : null;
+        if (cached != null) {
+            return newReader(cached);
+        }
+        return readDocument(path).flatMap(document -> {
+            cacheContent(document.digest, document.content);
+            return newReader(document.content);
+        });
+    }
+
+    public void onResourceAdded(@Observes final ResourceAddedEvent event) {
+        evict(event.getPath());
+    }
+
+    public void onResourceUpdated(@Observes final ResourceUpdatedEvent event) {
+        evict(event.getPath());
+    }
+
+    public void onResourceDeleted(@Observes final ResourceDeletedEvent event) {
+        evict(event.getPath());
+    }
+
+    public void onResourceRenamed(@Observes final ResourceRenamedEvent event) {
+        evict(event.getPath());
+        evict(event.getDestinationPath());
+    }
+
+    public void onBatchResourceChanges(@Observes final ResourceBatchChangesEvent event) {
+        for (final Map.Entry<Path, Collection<ResourceChange>> entry : event.getBatch().entrySet()) {
+            evict(entry.getKey());
+            for (final ResourceChange change : entry.getValue()) {
+                if (change instanceof ResourceRenamed) {
+                    evict(((ResourceRenamed) change).getDestinationPath());
+                }
+            }
+        }
+    }
+
+    void evict(final Path path) {
+        if (path == null || path.getFileName() == null || !path.getFileName().endsWith(PMML_EXTENSION)) {
+            return;
+        }
+        evictions.incrementAndGet();
+        digests.remove(path.toURI());
+    }
+
     PMMLInfo<PMMLModelInfo> loadPMMLInfo(final Path path) {
-        try (InputStream io = ioService.newInputStream(Paths.convert(path))) {
+        final String digest = digests.get(path.toURI());
+        final Optional<PMMLInfo<PMMLModelInfo>> cached = digest != null ? pmmlInfos.get(digest) : null;
+        if (cached != null) {
+            return cached.orElse(null);
+        }
+        return readDocument(path).flatMap(document -> {
+            final Optional<PMMLInfo<PMMLModelInfo>> pmmlInfo = Optional.ofNullable(parse(document.content));
+            pmmlInfos.put(document.digest, pmmlInfo);
+            return pmmlInfo;
+        }).orElse(null);
+    }
+
+    PMMLInfo<PMMLModelInfo> parse(final byte[] content) {
+        try (InputStream io = new ByteArrayInputStream(content)) {
             return PMMLInfo.from(io);
         } catch (Exception e) {
             return null;
         }
     }
 
+    private Optional<Document> readDocument(final Path path) {
+        // The digest is kept only if the document did not change while being read.
+        final long evictionsBefore = evictions.get();
+        final byte[] content = readContent(path);
+        if (content == null) {
+            return Optional.empty();
+        }
+        final Document document = new Document(digest(content), content);
+        if (evictions.get() == evictionsBefore) {
+            digests.put(path.toURI(), document.digest);
+        }
+        return Optional.of(document);
+    }
+
+    byte[] readContent(final Path path) {
+        try (InputStream io = ioService.newInputStream(Paths.convert(path));
+             ByteArrayOutputStream content = new ByteArrayOutputStream()) {
+            final byte[] buffer = new byte[8192];
+            int length;
+            while ((length = io.read(buffer)) != -1) {
+                content.write(buffer, 0, length);
+            }
+            return content.toByteArray();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private byte[] getCachedContent(final String digest) {
+        synchronized (contents) {
+            return contents.get(digest);
+        }
+    }
+
+    private void cacheContent(final String digest,
+                              final byte[] content) {
+        if (content.length > MAX_CACHED_CONTENT_BYTES) {
+            return;
+        }
+        synchronized (contents) {
+            final byte[] previous = contents.put(digest, content);
+            cachedContentBytes += content.length - (previous != null ? previous.length : 0);
+            final Iterator<byte[]> eldest = contents.values().iterator();
+            while (cachedContentBytes > MAX_CACHED_CONTENT_BYTES && eldest.hasNext()) {
+                cachedContentBytes -= eldest.next().length;
+                eldest.remove();
+            }
+        }
+    }
+
+    private static Optional<Reader> newReader(final byte[] content) {
+        try {
+            return Optional.of(DMNMarshallerStandalone.newDocumentReader(new ByteArrayInputStream(content)));
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static String digest(final byte[] content) {
+        try {
+            return Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     private PMMLDocumentMetadata emptyPMMLDocumentMetadata(final Path path) {
         return new PMMLDocumentMetadata(path.toURI(),
                                         DMNImportTypes.PMML.getDefaultNamespace(),
@@ -117,4 +302,16 @@ public class PMMLIncludedDocumentFactory {
     private PMMLParameterMetadata convertInputFieldName(final String name) {
         return new PMMLParameterMetadata(name);
     }
+
+    private static class Document {
+
+        private final String digest;
+        private final byte[] content;
+
+        private Document(final String digest,
+                         final byte[] content) {
+            this.digest = digest;
+            this.content = content;
+        }
+    }
 }
@@ -85,7 +85,14 @@ public class DMNIncludedModelsServiceImpl implements DMNIncludedModelsService {
     @Override
     public List<DMNIncludedNode> loadNodesFromImports(final WorkspaceProject workspaceProject,
                                                       final List<DMNIncludedModel> includedModels) {
-        return getDMNModelsPaths(workspaceProject)
+        // Just the included models are loaded, instead of every DMN model of the project.
+        final List<String> namespaces = includedModels
+                .stream()
+                .map(DMNIncludedModel::getNamespace)
+                .collect(Collectors.toList());
+        return importsHelper
+                .getDMNModelsPathsByNamespaces(workspaceProject,
+                                               namespaces)
                 .stream()
                 .map(path -> includedNodesFilter.getNodesFromImports(path,
                                                                      includedModels))
@@ -135,10 +142,6 @@ public class DMNIncludedModelsServiceImpl implements DMNIncludedModelsService {
         return pathsHelper.getModelsPaths(workspaceProject);
     }
 
-    private List<Path> getDMNModelsPaths(final WorkspaceProject workspaceProject) {
-        return pathsHelper.getDMNModelsPaths(workspaceProject);
-    }
-
     private List<Path> getPMMLModelsPaths(final WorkspaceProject workspaceProject) {
         return pathsHelper.getPMMLModelsPaths(workspaceProject);
     }
@@ -16,12 +16,17 @@
 package org.kie.workbench.common.dmn.backend.editors.types;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
-import javax.enterprise.context.Dependent;
+import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 
 import org.guvnor.common.services.project.model.WorkspaceProject;
@@ -42,10 +47,28 @@ import org.kie.workbench.common.services.datamodel.util.PrimitiveUtilities;
 import org.kie.workbench.common.services.shared.project.KieModule;
 import org.kie.workbench.common.services.shared.project.KieModuleService;
 
+/**
+ * Converts the fact types of the DataModelOracle of a module to the data objects the DMN editor imports.
+ * <p>
+ * The data objects are cached by module, along with the DataModelOracle they were converted from. The DataModelOracle
+ * cache of the module builds a new oracle whenever the module changes, so the cached data objects are reused, without
+ * loading the module classes again, as long as the oracle of the module is the same. The data objects are mutable, so
+ * each call returns copies of the cached ones.
+ */
 @Service
-@Dependent
+@ApplicationScoped
 public class DataObjectsServiceImpl implements DataObjectsService {
 
+    static final int MAX_CACHED_MODULES = 16;
+
+    private final Map<String, CachedDataObjects> modulesDataObjects = Collections.synchronizedMap(
+            new LinkedHashMap<String, CachedDataObjects>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<String, CachedDataObjects> eldest) {
+                    return size() > MAX_CACHED_MODULES;
+                }
+            });
+
     private DataModelService dataModelService;
     private ModuleClassLoaderHelper moduleClassLoaderHelper;
     private KieModuleService moduleService;
@@ -65,50 +88,79 @@ public class DataObjectsServiceImpl implements DataObjectsService {
 
     @Override
     public List<DataObject> loadDataObjects(final WorkspaceProject workspaceProject) {
+        final String moduleKey = workspaceProject.getRootPath().toURI();
+        final ModuleDataModelOracle dmo = dataModelService.getModuleDataModel(workspaceProject.getRootPath());
+        final CachedDataObjects cached = modulesDataObjects.get(moduleKey);
+        if (cached != null && cached.dmo == dmo) {
+            return copyDataObjects(cached.dataObjects);
+        }
+
         final KieModule module = moduleService.resolveModule(workspaceProject.getRootPath());
         final ClassLoader classLoader = moduleClassLoaderHelper.getModuleClassLoader(module);
+        final List<DataObject> dataObjects = convertDataObjects(dmo, classLoader);
+        modulesDataObjects.put(moduleKey, new CachedDataObjects(dmo, dataObjects));
+        return copyDataObjects(dataObjects);
+    }
 
-        final ModuleDataModelOracle dmo = dataModelService.getModuleDataModel(workspaceProject.getRootPath());
+    private static List<DataObject> copyDataObjects(final List<DataObject> dataObjects) {
+        return dataObjects.stream().map(DataObjectsServiceImpl::copyDataObject).collect(Collectors.toList());
+    }
+
+    private static DataObject copyDataObject(final DataObject dataObject) {
+        final DataObject copy = new DataObject(dataObject.getClassType());
+        copy.setProperties(dataObject.getProperties().stream().map(DataObjectsServiceImpl::copyProperty).collect(Collectors.toList()));
+        return copy;
+    }
+
+    private static DataObjectProperty copyProperty(final DataObjectProperty property) {
+        final DataObjectProperty copy = new DataObjectProperty();
+        copy.setType(property.getType());
+        copy.setProperty(property.getProperty());
+        copy.setList(property.isList());
+        return copy;
+    }
+
+    private List<DataObject> convertDataObjects(final ModuleDataModelOracle dmo,
+                                                final ClassLoader classLoader) {
         final String[] types = DataModelOracleUtilities.getFactTypes(dmo);
         final Map<String, ModelField[]> typesModelFields = dmo.getModuleModelFields();
         final Map<String, String> parametersType = dmo.getModuleFieldParametersType();
+        final TypeConverter typeConverter = new TypeConverter(new HashSet<>(Arrays.asList(types)), classLoader);
 
         final List<DataObject> dataObjects = Arrays.stream(types).map(DataObject::new).collect(Collectors.toList());
-        dataObjects.forEach(dataObject -> convertProperties(dataObject, dataObjects, typesModelFields, classLoader, parametersType));
+        dataObjects.forEach(dataObject -> convertProperties(dataObject, typesModelFields, typeConverter, parametersType));
         return dataObjects;
     }
 
     private void convertProperties(final DataObject dataObject,
-                                   final List<DataObject> dataObjects,
                                    final Map<String, ModelField[]> typesModelFields,
-                                   final ClassLoader classLoader,
+                                   final TypeConverter typeConverter,
                                    final Map<String, String> parametersType) {
         final ModelField[] typeModelFields = typesModelFields.getOrDefault(dataObject.getClassType(), new ModelField[]{});
         dataObject.setProperties(Arrays.stream(typeModelFields)
                                          .filter(typeModelField -> !Objects.equals(typeModelField.getName(), DataType.TYPE_THIS))
-                                         .map(typeModelField -> convertProperty(typeModelField, dataObjects, classLoader, parametersType, dataObject))
+                                         .map(typeModelField -> convertProperty(typeModelField, typeConverter, parametersType, dataObject))
                                          .collect(Collectors.toList()));
     }
 
     private DataObjectProperty convertProperty(final ModelField field,
-                                               final List<DataObject> dataObjects,
-                                               final ClassLoader classLoader,
+                                               final TypeConverter typeConverter,
                                                final Map<String, String> parametersType,
                                                final DataObject dataObject) {
         final DataObjectProperty dataObjectProperty = new DataObjectProperty();
 
-        dataObjectProperty.setList(isList(field.getClassName(), classLoader));
+        dataObjectProperty.setList(typeConverter.isList(field.getClassName()));
         if (dataObjectProperty.isList()) {
             final String parametersKey = dataObject.getClassType() + "#" + field.getName();
             if (!parametersType.containsKey(parametersKey)) {
-                dataObjectProperty.setType(convertDataType(field.getClassName(), dataObjects, classLoader));
+                dataObjectProperty.setType(typeConverter.convertDataType(field.getClassName()));
             } else {
                 final String type = parametersType.get(parametersKey);
-                final String listType = convertDataType(type, dataObjects, classLoader);
+                final String listType = typeConverter.convertDataType(type);
                 dataObjectProperty.setType(listType);
             }
         } else {
-            dataObjectProperty.setType(convertDataType(field.getClassName(), dataObjects, classLoader));
+            dataObjectProperty.setType(typeConverter.convertDataType(field.getClassName()));
         }
 
         dataObjectProperty.setProperty(field.getName());
@@ -126,12 +178,10 @@ public class DataObjectsServiceImpl implements DataObjectsService {
     }
 
     private String convertDataType(final String typeName,
-                                   final List<DataObject> dataObjects,
+                                   final Set<String> factTypes,
                                    final ClassLoader classLoader) {
-        for (DataObject dataObject : dataObjects) {
-            if (Objects.equals(typeName, dataObject.getClassType())) {
-                return typeName;
-            }
+        if (factTypes.contains(typeName)) {
+            return typeName;
         }
 
         try {
@@ -177,4 +227,41 @@ public class DataObjectsServiceImpl implements DataObjectsService {
         }
         return BuiltInType.ANY;
     }
+
+    private static class CachedDataObjects {
+
+        private final ModuleDataModelOracle dmo;
+        private final List<DataObject> dataObjects;
+
+        private CachedDataObjects(final ModuleDataModelOracle dmo,
+                                  final List<DataObject> dataObjects) {
+            this.dmo = dmo;
+            this.dataObjects = dataObjects;
+        }
+    }
+
+    /**
+     * Converts the types of the fields of the fact types, each type name once, since most fields share few types.
+     */
+    private class TypeConverter {
+
+        private final Set<String> factTypes;
+        private final ClassLoader classLoader;
+        private final Map<String, Boolean> lists = new HashMap<>();
+        private final Map<String, String> dataTypes = new HashMap<>();
+
+        private TypeConverter(final Set<String> factTypes,
+                              final ClassLoader classLoader) {
+            this.factTypes = factTypes;
+            this.classLoader = classLoader;
+        }
+
+        private boolean isList(final String typeName) {
+            return lists.computeIfAbsent(typeName, t -> DataObjectsServiceImpl.this.isList(t, classLoader));
+        }
+
+        private String convertDataType(final String typeName) {
+            return dataTypes.computeIfAbsent(typeName, t -> DataObjectsServiceImpl.this.convertDataType(t, factTypes, classLoader));
+        }
+    }
 }
@@ -20,11 +20,18 @@ import java.io.IOException;
 import java.io.Reader;
 import java.io.StringReader;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
@@ -44,9 +51,9 @@ import org.kie.workbench.common.dmn.api.definition.model.Import;
 import org.kie.workbench.common.dmn.api.graph.DMNDiagramUtils;
 import org.kie.workbench.common.dmn.api.validation.DMNDomainValidator;
 import org.kie.workbench.common.dmn.backend.DMNMarshallerStandalone;
-import org.kie.workbench.common.dmn.backend.common.DMNIOHelper;
 import org.kie.workbench.common.dmn.backend.common.DMNMarshallerImportsHelperStandalone;
 import org.kie.workbench.common.dmn.backend.definition.v1_1.ImportConverter;
+import org.kie.workbench.common.dmn.backend.editors.common.PMMLIncludedDocumentFactory;
 import org.kie.workbench.common.stunner.core.definition.adapter.binding.BindableAdapterUtils;
 import org.kie.workbench.common.stunner.core.diagram.Diagram;
 import org.kie.workbench.common.stunner.core.diagram.Metadata;
@@ -56,28 +63,44 @@ import org.kie.workbench.common.stunner.core.validation.Violation;
 import org.uberfire.backend.vfs.Path;
 import org.uberfire.java.nio.file.Paths;
 
+/**
+ * Validates the DMN diagrams using the DMN validator, along with the DMN models they import.
+ * <p>
+ * The violations are cached by the digest of the marshalled model and the imported models, so validating again a
+ * diagram which did not change since the last validation does not compile and analyze all the models again.
+ */
 @Service
 @ApplicationScoped
 public class DMNDomainValidatorImpl implements DMNDomainValidator {
 
     static final String DEFAULT_UUID = "uuid";
 
+    static final int MAX_CACHED_RESULTS = 64;
+
+    private final Map<String, List<DomainViolation>> results = Collections.synchronizedMap(
+            new LinkedHashMap<String, List<DomainViolation>>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<String, List<DomainViolation>> eldest) {
+                    return size() > MAX_CACHED_RESULTS;
+                }
+            });
+
     private DMNValidator dmnValidator;
 
     private DMNMarshallerStandalone dmnMarshaller;
     private DMNDiagramUtils dmnDiagramUtils;
     private DMNMarshallerImportsHelperStandalone importsHelper;
-    private final DMNIOHelper dmnIOHelper;
+    private final PMMLIncludedDocumentFactory pmmlDocumentFactory;
 
     @Inject
     public DMNDomainValidatorImpl(final DMNMarshallerStandalone dmnMarshaller,
                                   final DMNDiagramUtils dmnDiagramUtils,
                                   final DMNMarshallerImportsHelperStandalone importsHelper,
-                                  final DMNIOHelper dmnIOHelper) {
+                                  final PMMLIncludedDocumentFactory pmmlDocumentFactory) {
         this.dmnMarshaller = dmnMarshaller;
         this.dmnDiagramUtils = dmnDiagramUtils;
         this.importsHelper = importsHelper;
-        this.dmnIOHelper = dmnIOHelper;
+        this.pmmlDocumentFactory = pmmlDocumentFactory;
     }
 
     @PostConstruct
@@ -110,25 +133,48 @@ public class DMNDomainValidatorImpl implements DMNDomainValidator {
     @Override
     public Collection<DomainViolation> validate(final Diagram diagram,
                                                 final String diagramXml) {
+        final Definitions uiDefinitions = dmnDiagramUtils.getDefinitions(diagram);
+        final List<Import> uiImports = uiDefinitions.getImport();
+        final List<org.kie.dmn.model.api.Import> dmnImports = uiImports.stream().map(ImportConverter::dmnFromWb).collect(Collectors.toList());
+        final Metadata metadata = diagram.getMetadata();
+
+        final Map<org.kie.dmn.model.api.Import, String> importedDiagramsXML = importsHelper.getImportXML(metadata, dmnImports);
+
+        final String key = digest(diagramXml, importedDiagramsXML.values());
+        final List<DomainViolation> cached = results.get(key);
+        if (cached != null) {
+            return new ArrayList<>(cached);
+        }
+        // The PMML documents are read while validating, so the results are cached only when no document was read.
+        final AtomicBoolean importsResolved = new AtomicBoolean();
+        final Collection<DomainViolation> violations = validate(metadata, diagramXml, importedDiagramsXML.values(), importsResolved);
+        if (!importsResolved.get()) {
+            results.put(key, new ArrayList<>(violations));
+        }
+        return violations;
+    }
+
+    private Collection<DomainViolation> validate(final Metadata metadata,
+                                                 final String diagramXml,
+                                                 final Collection<String> importedDiagramsXML,
+                                                 final AtomicBoolean importsResolved) {
+        final DMNValidator.ValidatorBuilder.ValidatorImportReaderResolver resolver = getValidatorImportReaderResolver(metadata);
         final List<Reader> dmnXMLReaders = new ArrayList<>();
         try {
             dmnXMLReaders.add(getStringReader(diagramXml));
 
             // Load Readers for all other imported DMN models.
-            final Definitions uiDefinitions = dmnDiagramUtils.getDefinitions(diagram);
-            final List<Import> uiImports = uiDefinitions.getImport();
-            final List<org.kie.dmn.model.api.Import> dmnImports = uiImports.stream().map(ImportConverter::dmnFromWb).collect(Collectors.toList());
-            final Metadata metadata = diagram.getMetadata();
-
-            final Map<org.kie.dmn.model.api.Import, String> importedDiagramsXML = importsHelper.getImportXML(metadata, dmnImports);
-            importedDiagramsXML.values().forEach(importedDiagramXML -> dmnXMLReaders.add(getStringReader(importedDiagramXML)));
+            importedDiagramsXML.forEach(importedDiagramXML -> dmnXMLReaders.add(getStringReader(importedDiagramXML)));
 
             final Reader[] aDMNXMLReaders = new Reader[]{};
             final List<DMNMessage> messages = dmnValidator
                     .validateUsing(DMNValidator.Validation.VALIDATE_MODEL,
                                    DMNValidator.Validation.VALIDATE_COMPILATION,
                                    DMNValidator.Validation.ANALYZE_DECISION_TABLE)
-                    .usingImports(getValidatorImportReaderResolver(metadata))
+                    .usingImports((modelNamespace, modelName, locationURI) -> {
+                        importsResolved.set(true);
+                        return resolver.newReader(modelNamespace, modelName, locationURI);
+                    })
                     .theseModels(dmnXMLReaders.toArray(aDMNXMLReaders));
 
             return convert(messages);
@@ -149,9 +195,9 @@ public class DMNDomainValidatorImpl implements DMNDomainValidator {
 
             final Path modelPath = importsHelper.getDMNModelPath(metadata, modelNamespace, modelName);
             final URI pmmlURI = getPMMLURI(modelPath, locationURI);
-            final String pmmlXML = importsHelper.loadPath(getPath(pmmlURI)).map(dmnIOHelper::isAsString).orElse("");
 
-            return getStringReader(pmmlXML);
+            // The content of the PMML documents is cached until they change.
+            return pmmlDocumentFactory.getDocumentReader(getPath(pmmlURI)).orElseGet(() -> getStringReader(""));
         };
     }
 
@@ -166,6 +212,25 @@ public class DMNDomainValidatorImpl implements DMNDomainValidator {
         return new StringReader(xml);
     }
 
+    private static String digest(final String diagramXml,
+                                 final Collection<String> importedDiagramsXML) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(diagramXml.getBytes(StandardCharsets.UTF_8));
+            // The imported models are not ordered, so the digest does not depend on it.
+            importedDiagramsXML
+                    .stream()
+                    .sorted()
+                    .forEach(importedDiagramXML -> {
+                        digest.update((byte) 0);
+                        digest.update(importedDiagramXML.getBytes(StandardCharsets.UTF_8));
+                    });
+            return Base64.getEncoder().encodeToString(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     private Collection<DomainViolation> convert(final List<DMNMessage> messages) {
         return messages.stream().map(this::convert).collect(Collectors.toList());
     }
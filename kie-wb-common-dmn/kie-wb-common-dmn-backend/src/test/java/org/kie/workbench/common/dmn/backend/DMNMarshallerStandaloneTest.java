@@ -17,11 +17,15 @@
 package org.kie.workbench.common.dmn.backend;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.Reader;
 import java.io.StringReader;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -241,6 +245,75 @@ public class DMNMarshallerStandaloneTest {
         assertFalse(dmnResult.getMessages().toString(), dmnResult.hasErrors());
     }
 
+    @Test
+    public void testMarshallToOutputStream() throws IOException {
+        final DMNMarshallerStandalone m = getDMNMarshaller();
+        final Graph<?, ?> g = m.unmarshall(createMetadata(), getClass().getResourceAsStream("/Loan Pre-Qualification.dmn"));
+        final DiagramImpl diagram = createDiagram();
+        diagram.setGraph(g);
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        m.marshall(diagram, output);
+
+        final Definitions original = getMarshaller().unmarshal(new InputStreamReader(getClass().getResourceAsStream("/Loan Pre-Qualification.dmn"),
+                                                                                       StandardCharsets.UTF_8));
+        final Definitions marshalled = getMarshaller().unmarshal(new String(output.toByteArray(), StandardCharsets.UTF_8));
+        assertEquals(original.getNamespace(), marshalled.getNamespace());
+        assertEquals(getDrgElementIds(original), getDrgElementIds(marshalled));
+        assertEquals(1, marshalled.getDMNDI().getDMNDiagram().size());
+
+        final Graph<?, ?> roundTripped = m.unmarshall(createMetadata(), new ByteArrayInputStream(output.toByteArray()));
+        assertEquals(StreamSupport.stream(g.nodes().spliterator(), false).count(),
+                     StreamSupport.stream(roundTripped.nodes().spliterator(), false).count());
+    }
+
+    @Test
+    public void testNewDocumentReaderUsesTheDeclaredEncoding() throws IOException {
+        final String xml = "<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?><definitions name=\"Pr\u00e9qualification\"/>";
+
+        final Reader reader = DMNMarshallerStandalone.newDocumentReader(new ByteArrayInputStream(xml.getBytes(StandardCharsets.ISO_8859_1)));
+
+        assertEquals(xml, readAll(reader));
+    }
+
+    @Test
+    public void testNewDocumentReaderSkipsTheUTF8ByteOrderMark() throws IOException {
+        final String xml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?><definitions name=\"Pr\u00e9qualification\"/>";
+        final ByteArrayOutputStream document = new ByteArrayOutputStream();
+        document.write(new byte[]{(byte) 0xEF, (byte) 0xBB, (byte) 0xBF});
+        document.write(xml.getBytes(StandardCharsets.UTF_8));
+
+        final Reader reader = DMNMarshallerStandalone.newDocumentReader(new ByteArrayInputStream(document.toByteArray()));
+
+        assertEquals(xml, readAll(reader));
+    }
+
+    @Test
+    public void testNewDocumentReaderWithoutXMLDeclaration() throws IOException {
+        final String xml = "<definitions name=\"Pr\u00e9qualification\"/>";
+
+        final Reader reader = DMNMarshallerStandalone.newDocumentReader(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(xml, readAll(reader));
+    }
+
+    private static String readAll(final Reader reader) throws IOException {
+        final StringBuilder result = new StringBuilder();
+        final char[] buffer = new char[256];
+        int read;
+        while ((read = reader.read(buffer)) != -1) {
+            result.append(buffer, 0, read);
+        }
+        return result.toString();
+    }
+
+    private static List<String> getDrgElementIds(final Definitions definitions) {
+        return definitions.getDrgElement()
+                .stream()
+                .map(org.kie.dmn.model.api.DRGElement::getId)
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
     @Test
     public void test_DecisionTableInputOutputClausesWhenEmpty() throws IOException {
         DMNRuntime runtime = roundTripUnmarshalMarshalThenUnmarshalDMN(this.getClass().getResourceAsStream("/qGslQdo2.dmn"));
@@ -19,13 +19,16 @@ package org.kie.workbench.common.dmn.backend.common;
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.Reader;
 import java.io.StringReader;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Scanner;
+import java.util.stream.Collectors;
 
 import javax.xml.XMLConstants;
 import javax.xml.namespace.QName;
@@ -55,6 +58,10 @@ import org.mockito.junit.MockitoJUnitRunner;
 import org.uberfire.backend.vfs.Path;
 import org.uberfire.io.IOService;
 import org.uberfire.java.nio.IOException;
+import org.uberfire.rpc.SessionInfo;
+import org.uberfire.workbench.events.ResourceAddedEvent;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
@@ -67,6 +74,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.uberfire.backend.vfs.PathFactory.PathImpl;
@@ -112,18 +120,17 @@ public class DMNMarshallerImportsHelperStandaloneImplTest {
         final Import import2 = mock(Import.class);
         final Import import3 = mock(Import.class);
         final List<Import> imports = asList(import1, import2, import3);
-        final Definitions definitions1 = mock(Definitions.class);
-        final Definitions definitions2 = mock(Definitions.class);
-        final Definitions definitions3 = mock(Definitions.class);
-        final List<Definitions> definitions = asList(definitions1, definitions2, definitions3);
-
-        when(definitions1.getNamespace()).thenReturn("://namespace1");
-        when(definitions2.getNamespace()).thenReturn("://namespace2");
-        when(definitions3.getNamespace()).thenReturn("://namespace3");
+        final Path path1 = makePath("../file1.dmn");
+        final Path path2 = makePath("../file2.dmn");
+        final Path path3 = makePath("../file3.dmn");
+        final Definitions definitions1 = mockModel(path1, "<dmn1/>", "://namespace1", "model1");
+        final Definitions definitions3 = mockModel(path3, "<dmn3/>", "://namespace3", "model3");
+
+        mockModel(path2, "<dmn2/>", "://namespace2", "model2");
         when(import1.getNamespace()).thenReturn("://namespace1");
         when(import2.getNamespace()).thenReturn("://namespace2-diff");
         when(import3.getNamespace()).thenReturn("://namespace3");
-        doReturn(definitions).when(helper).getOtherDMNDiagramsDefinitions(metadata);
+        when(pathsHelper.getDMNModelsPaths(any())).thenReturn(asList(path1, path2, path3));
 
         final Map<Import, Definitions> importDefinitions = helper.getImportDefinitions(metadata, imports);
 
@@ -173,7 +180,7 @@ public class DMNMarshallerImportsHelperStandaloneImplTest {
     }
 
     @Test
-    public void testGetImportXML() throws java.io.IOException {
+    public void testGetImportXML() {
         final String xml1 = "<some xml/>";
         final String xml2 = "<some other xml/>";
 
@@ -183,35 +190,10 @@ public class DMNMarshallerImportsHelperStandaloneImplTest {
         final Path path1 = makePath("../file1.dmn");
         final Path path2 = makePath("../file2.dmn");
 
-        //Mock loading of XML files in Project
-        final InputStream inputStream1 = mock(InputStream.class);
-        final InputStream inputStream2 = mock(InputStream.class);
-        final InputStreamReader inputStreamReader1 = mock(InputStreamReader.class);
-        final InputStreamReader inputStreamReader2 = mock(InputStreamReader.class);
-        final List<Path> paths = asList(path1, path2);
-
-        when(pathsHelper.getDMNModelsPaths(any())).thenReturn(paths);
-        when(dmnIOHelper.isAsString(inputStream1)).thenReturn(xml1);
-        when(dmnIOHelper.isAsString(inputStream2)).thenReturn(xml2);
-
-        doReturn(Optional.of(inputStream1)).when(helper).loadPath(path1);
-        doReturn(Optional.of(inputStream2)).when(helper).loadPath(path2);
-        doReturn(inputStreamReader1).when(helper).toInputStreamReader(inputStream1);
-        doReturn(inputStreamReader2).when(helper).toInputStreamReader(inputStream2);
-
-        //Mock retrieval of Definitions from XML files in Project
-        final StringReader stringReader1 = mock(StringReader.class);
-        final StringReader stringReader2 = mock(StringReader.class);
-        final Definitions definitions1 = mock(Definitions.class);
-        final Definitions definitions2 = mock(Definitions.class);
-
-        doReturn(stringReader1).when(helper).toStringReader(xml1);
-        doReturn(stringReader2).when(helper).toStringReader(xml2);
-        when(marshaller.unmarshal(stringReader1)).thenReturn(definitions1);
-        when(marshaller.unmarshal(stringReader2)).thenReturn(definitions2);
+        mockModel(path1, xml1, "://namespace1", "model1");
+        mockModel(path2, xml2, "://namespace2-not-imported", "model2");
+        when(pathsHelper.getDMNModelsPaths(any())).thenReturn(asList(path1, path2));
         when(import1.getNamespace()).thenReturn("://namespace1");
-        when(definitions1.getNamespace()).thenReturn("://namespace1");
-        when(definitions2.getNamespace()).thenReturn("://namespace2-not-imported");
 
         final List<Import> imports = Collections.singletonList(import1);
 
@@ -221,6 +203,127 @@ public class DMNMarshallerImportsHelperStandaloneImplTest {
         assertEquals(xml1, importXML.get(import1));
     }
 
+    @Test
+    public void testGetImportXMLWhenModelsAreCached() {
+        final Metadata metadata = mock(Metadata.class);
+        final Import import1 = mock(Import.class);
+        final Path path1 = makePath("../file1.dmn");
+        final Path path2 = makePath("../file2.dmn");
+        final List<Import> imports = Collections.singletonList(import1);
+
+        mockModel(path1, "<some xml/>", "://namespace1", "model1");
+        mockModel(path2, "<some other xml/>", "://namespace2", "model2");
+        when(pathsHelper.getDMNModelsPaths(any())).thenReturn(asList(path1, path2));
+        when(import1.getNamespace()).thenReturn("://namespace1");
+
+        helper.getImportXML(metadata, imports);
+        final Map<Import, String> importXML = helper.getImportXML(metadata, imports);
+
+        assertEquals("<some xml/>", importXML.get(import1));
+        verify(pathsHelper).getDMNModelsPaths(any());
+        verify(helper).loadPath(path1);
+        verify(helper).loadPath(path2);
+        verify(marshaller, times(2)).unmarshal(any(Reader.class));
+    }
+
+    @Test
+    public void testGetImportXMLWhenModelIsUpdated() {
+        final Metadata metadata = mock(Metadata.class);
+        final Import import1 = mock(Import.class);
+        final Path path1 = makePath("../file1.dmn");
+        final Path path2 = makePath("../file2.dmn");
+        final List<Import> imports = Collections.singletonList(import1);
+
+        mockModel(path1, "<some xml/>", "://namespace1", "model1");
+        mockModel(path2, "<some other xml/>", "://namespace2", "model2");
+        when(pathsHelper.getDMNModelsPaths(any())).thenReturn(asList(path1, path2));
+        when(import1.getNamespace()).thenReturn("://namespace1");
+
+        helper.getImportXML(metadata, imports);
+        mockModel(path1, "<some updated xml/>", "://namespace1", "model1");
+        helper.onResourceUpdated(new ResourceUpdatedEvent(path1, "message", mock(SessionInfo.class)));
+        final Map<Import, String> importXML = helper.getImportXML(metadata, imports);
+
+        assertEquals("<some updated xml/>", importXML.get(import1));
+        verify(pathsHelper, times(2)).getDMNModelsPaths(any());
+        verify(helper, times(2)).loadPath(path1);
+        verify(helper).loadPath(path2);
+    }
+
+    @Test
+    public void testGetImportXMLWhenModelIsUpdatedWithSameContent() {
+        final Metadata metadata = mock(Metadata.class);
+        final Import import1 = mock(Import.class);
+        final Path path1 = makePath("../file1.dmn");
+        final List<Import> imports = Collections.singletonList(import1);
+
+        mockModel(path1, "<some xml/>", "://namespace1", "model1");
+        when(pathsHelper.getDMNModelsPaths(any())).thenReturn(singletonList(path1));
+        when(import1.getNamespace()).thenReturn("://namespace1");
+
+        helper.getImportXML(metadata, imports);
+        helper.onResourceUpdated(new ResourceUpdatedEvent(path1, "message", mock(SessionInfo.class)));
+        final Map<Import, String> importXML = helper.getImportXML(metadata, imports);
+
+        assertEquals("<some xml/>", importXML.get(import1));
+        verify(helper, times(2)).loadPath(path1);
+        verify(marshaller).unmarshal(any(Reader.class));
+    }
+
+    @Test
+    public void testGetImportXMLWhenModelIsDeletedAndAddedBack() {
+        final Metadata metadata = mock(Metadata.class);
+        final Import import1 = mock(Import.class);
+        final Path path1 = makePath("../file1.dmn");
+        final List<Import> imports = Collections.singletonList(import1);
+
+        mockModel(path1, "<some xml/>", "://namespace1", "model1");
+        when(pathsHelper.getDMNModelsPaths(any())).thenReturn(singletonList(path1));
+        when(import1.getNamespace()).thenReturn("://namespace1");
+
+        helper.getImportXML(metadata, imports);
+        helper.onResourceDeleted(new ResourceDeletedEvent(path1, "message", mock(SessionInfo.class)));
+        assertEquals(0, helper.getCachedModelsCount());
+
+        helper.onResourceAdded(new ResourceAddedEvent(path1, "message", mock(SessionInfo.class)));
+        final Map<Import, String> importXML = helper.getImportXML(metadata, imports);
+
+        assertEquals("<some xml/>", importXML.get(import1));
+        verify(marshaller, times(2)).unmarshal(any(Reader.class));
+    }
+
+    @Test
+    public void testCachedModelsAreBounded() {
+        final Metadata metadata = mock(Metadata.class);
+        final List<Path> paths = new ArrayList<>();
+        for (int i = 0; i <= DMNMarshallerImportsHelperStandaloneImpl.MAX_CACHED_MODELS; i++) {
+            final Path path = makePath("../file" + i + ".dmn");
+            mockModel(path, "<dmn" + i + "/>", "://namespace" + i, "model" + i);
+            paths.add(path);
+        }
+        when(pathsHelper.getDMNModelsPaths(any())).thenReturn(paths);
+
+        assertEquals(paths, getPaths(helper.getOtherDMNModels(metadata)));
+        assertEquals(DMNMarshallerImportsHelperStandaloneImpl.MAX_CACHED_MODELS, helper.getCachedModelsCount());
+    }
+
+    @Test
+    public void testModelLoadedWhileSomeModelChangedIsNotCached() {
+        final Metadata metadata = mock(Metadata.class);
+        final Path path1 = makePath("../file1.dmn");
+        final Path path2 = makePath("../file2.dmn");
+
+        mockModel(path1, "<dmn1/>", "://namespace1", "model1");
+        when(pathsHelper.getDMNModelsPaths(any())).thenReturn(singletonList(path1));
+        when(dmnIOHelper.isAsString(any(InputStream.class))).thenAnswer(invocation -> {
+            helper.onResourceUpdated(new ResourceUpdatedEvent(path2, "message", mock(SessionInfo.class)));
+            return "<dmn1/>";
+        });
+
+        assertEquals(singletonList(path1), getPaths(helper.getOtherDMNModels(metadata)));
+        assertEquals(0, helper.getCachedModelsCount());
+    }
+
     @Test
     public void testGetImportedDRGElements() {
 
@@ -371,78 +474,69 @@ public class DMNMarshallerImportsHelperStandaloneImplTest {
     }
 
     @Test
-    public void testGetOtherDMNDiagramsDefinitions() {
+    public void testGetOtherDMNModels() {
 
         final Metadata metadata = mock(Metadata.class);
         final Path path1 = makePath("../file1.dmn");
         final Path path2 = makePath("../file2.dmn");
         final Path path3 = makePath("../file3.dmn");
         final Path path4 = makePath("../file4.dmn");
-        final InputStream inputStream1 = mock(InputStream.class);
-        final InputStream inputStream2 = mock(InputStream.class);
-        final InputStream inputStream3 = mock(InputStream.class);
-        final InputStreamReader inputStreamReader1 = mock(InputStreamReader.class);
-        final InputStreamReader inputStreamReader2 = mock(InputStreamReader.class);
-        final InputStreamReader inputStreamReader3 = mock(InputStreamReader.class);
-        final Definitions definitions1 = mock(Definitions.class);
-        final Definitions definitions2 = mock(Definitions.class);
-        final Definitions definitions3 = mock(Definitions.class);
         final List<Path> paths = asList(path1, path2, path3, path4);
 
+        mockModel(path1, "<dmn1/>", "://namespace1", "model1");
+        mockModel(path2, "<dmn2/>", "://namespace2", "model2");
+        mockModel(path3, "<dmn3/>", "://namespace3", "model3");
         when(pathsHelper.getDMNModelsPaths(any())).thenReturn(paths);
         when(metadata.getPath()).thenReturn(path2);
-        doReturn(Optional.of(inputStream1)).when(helper).loadPath(path1);
-        doReturn(Optional.of(inputStream2)).when(helper).loadPath(path2);
-        doReturn(Optional.of(inputStream3)).when(helper).loadPath(path3);
-        doReturn(inputStreamReader1).when(helper).toInputStreamReader(inputStream1);
-        doReturn(inputStreamReader2).when(helper).toInputStreamReader(inputStream2);
-        doReturn(inputStreamReader3).when(helper).toInputStreamReader(inputStream3);
         doReturn(Optional.empty()).when(helper).loadPath(path4);
-        when(marshaller.unmarshal(inputStreamReader1)).thenReturn(definitions1);
-        when(marshaller.unmarshal(inputStreamReader2)).thenReturn(definitions2);
-        when(marshaller.unmarshal(inputStreamReader3)).thenReturn(definitions3);
 
-        final List<Definitions> actualDefinitions = helper.getOtherDMNDiagramsDefinitions(metadata);
-        final List<Definitions> expectedDefinitions = asList(definitions1, definitions3);
+        final List<Path> actualPaths = getPaths(helper.getOtherDMNModels(metadata));
+        final List<Path> expectedPaths = asList(path1, path3);
 
-        assertEquals(expectedDefinitions, actualDefinitions);
+        assertEquals(expectedPaths, actualPaths);
     }
 
     @Test
-    public void testGetOtherDMNDiagramsDefinitionsWhenProjectCannotBeFound() {
+    public void testGetOtherDMNModelsWhenProjectCannotBeFound() {
 
         final Metadata metadata = mock(Metadata.class);
         final Path path1 = makePath("../file1.dmn");
         final Path path2 = makePath("../file2.dmn");
         final Path path3 = makePath("../file3.dmn");
-        final InputStream inputStream1 = mock(InputStream.class);
-        final InputStream inputStream2 = mock(InputStream.class);
-        final InputStream inputStream3 = mock(InputStream.class);
-        final InputStreamReader inputStreamReader1 = mock(InputStreamReader.class);
-        final InputStreamReader inputStreamReader2 = mock(InputStreamReader.class);
-        final InputStreamReader inputStreamReader3 = mock(InputStreamReader.class);
-        final Definitions definitions1 = mock(Definitions.class);
-        final Definitions definitions2 = mock(Definitions.class);
-        final Definitions definitions3 = mock(Definitions.class);
         final List<Path> paths = asList(path1, path2, path3);
 
+        mockModel(path1, "<dmn1/>", "://namespace1", "model1");
+        mockModel(path2, "<dmn2/>", "://namespace2", "model2");
+        mockModel(path3, "<dmn3/>", "://namespace3", "model3");
         when(projectService.resolveProject(any(Path.class))).thenThrow(new NullPointerException());
         when(pathsHelper.getDMNModelsPaths(any())).thenReturn(paths);
         when(metadata.getPath()).thenReturn(path2);
-        doReturn(Optional.of(inputStream1)).when(helper).loadPath(path1);
-        doReturn(Optional.of(inputStream2)).when(helper).loadPath(path2);
-        doReturn(Optional.of(inputStream3)).when(helper).loadPath(path3);
-        doReturn(inputStreamReader1).when(helper).toInputStreamReader(inputStream1);
-        doReturn(inputStreamReader2).when(helper).toInputStreamReader(inputStream2);
-        doReturn(inputStreamReader3).when(helper).toInputStreamReader(inputStream3);
-        when(marshaller.unmarshal(inputStreamReader1)).thenReturn(definitions1);
-        when(marshaller.unmarshal(inputStreamReader2)).thenReturn(definitions2);
-        when(marshaller.unmarshal(inputStreamReader3)).thenReturn(definitions3);
-
-        final List<Definitions> actualDefinitions = helper.getOtherDMNDiagramsDefinitions(metadata);
-        final List<Definitions> expectedDefinitions = asList(definitions1, definitions3);
-
-        assertEquals(expectedDefinitions, actualDefinitions);
+
+        final List<Path> actualPaths = getPaths(helper.getOtherDMNModels(metadata));
+        final List<Path> expectedPaths = asList(path1, path3);
+
+        assertEquals(expectedPaths, actualPaths);
+    }
+
+    @Test
+    public void testGetOtherDMNModelsWhenModelIsAdded() {
+
+        final Metadata metadata = mock(Metadata.class);
+        final Path path1 = makePath("../file1.dmn");
+        final Path path2 = makePath("../file2.dmn");
+
+        mockModel(path1, "<dmn1/>", "://namespace1", "model1");
+        mockModel(path2, "<dmn2/>", "://namespace2", "model2");
+        when(pathsHelper.getDMNModelsPaths(any())).thenReturn(singletonList(path1));
+
+        assertEquals(singletonList(path1), getPaths(helper.getOtherDMNModels(metadata)));
+
+        when(pathsHelper.getDMNModelsPaths(any())).thenReturn(asList(path1, path2));
+        helper.onResourceAdded(new ResourceAddedEvent(path2, "message", mock(SessionInfo.class)));
+
+        assertEquals(asList(path1, path2), getPaths(helper.getOtherDMNModels(metadata)));
+        verify(helper).loadPath(path1);
+        verify(helper).loadPath(path2);
     }
 
     @Test
@@ -479,40 +573,22 @@ public class DMNMarshallerImportsHelperStandaloneImplTest {
     @Test
     public void testGetImportedItemDefinitionsByNamespace() {
 
-        final WorkspaceProject workspaceProject = mock(WorkspaceProject.class);
+        final WorkspaceProject workspaceProject = makeProject("default://project");
         final String modelName = "model1";
         final String namespace = "://namespace1";
         final Path path1 = makePath("../file1.dmn");
         final Path path2 = makePath("../file2.dmn");
         final Path path3 = makePath("../file3.dmn");
         final Path path4 = makePath("../file4.dmn");
-        final InputStream inputStream1 = mock(InputStream.class);
-        final InputStream inputStream2 = mock(InputStream.class);
-        final InputStream inputStream3 = mock(InputStream.class);
-        final InputStreamReader inputStreamReader1 = mock(InputStreamReader.class);
-        final InputStreamReader inputStreamReader2 = mock(InputStreamReader.class);
-        final InputStreamReader inputStreamReader3 = mock(InputStreamReader.class);
-        final Definitions definitions1 = mock(Definitions.class);
-        final Definitions definitions2 = mock(Definitions.class);
-        final Definitions definitions3 = mock(Definitions.class);
         final ItemDefinition itemDefinition1 = mock(ItemDefinition.class);
         final ItemDefinition itemDefinition2 = mock(ItemDefinition.class);
         final List<Path> paths = asList(path1, path2, path3, path4);
+        final Definitions definitions1 = mockModel(path1, "<dmn1/>", "://namespace1", "model1");
 
+        mockModel(path2, "<dmn2/>", "://namespace2", "model2");
+        mockModel(path3, "<dmn3/>", "://namespace3", "model3");
         when(pathsHelper.getDMNModelsPaths(any())).thenReturn(paths);
-        doReturn(Optional.of(inputStream1)).when(helper).loadPath(path1);
-        doReturn(Optional.of(inputStream2)).when(helper).loadPath(path2);
-        doReturn(Optional.of(inputStream3)).when(helper).loadPath(path3);
-        doReturn(inputStreamReader1).when(helper).toInputStreamReader(inputStream1);
-        doReturn(inputStreamReader2).when(helper).toInputStreamReader(inputStream2);
-        doReturn(inputStreamReader3).when(helper).toInputStreamReader(inputStream3);
         doReturn(Optional.empty()).when(helper).loadPath(path4);
-        when(marshaller.unmarshal(inputStreamReader1)).thenReturn(definitions1);
-        when(marshaller.unmarshal(inputStreamReader2)).thenReturn(definitions2);
-        when(marshaller.unmarshal(inputStreamReader3)).thenReturn(definitions3);
-        when(definitions1.getNamespace()).thenReturn("://namespace1");
-        when(definitions2.getNamespace()).thenReturn("://namespace2");
-        when(definitions3.getNamespace()).thenReturn("://namespace3");
         when(definitions1.getItemDefinition()).thenReturn(asList(itemDefinition1, itemDefinition2));
 
         final List<ItemDefinition> actualItemDefinitions = helper.getImportedItemDefinitionsByNamespace(workspaceProject, modelName, namespace);
@@ -521,27 +597,39 @@ public class DMNMarshallerImportsHelperStandaloneImplTest {
         assertEquals(expectedItemDefinitions, actualItemDefinitions);
     }
 
+    @Test
+    public void testGetDMNModelsPathsByNamespaces() {
+
+        final WorkspaceProject workspaceProject = makeProject("default://project");
+        final Path path1 = makePath("../file1.dmn");
+        final Path path2 = makePath("../file2.dmn");
+        final Path path3 = makePath("../file3.dmn");
+
+        mockModel(path1, "<dmn1/>", "://namespace1", "model1");
+        mockModel(path2, "<dmn2/>", "://namespace2", "model2");
+        mockModel(path3, "<dmn3/>", "://namespace3", "model3");
+        when(pathsHelper.getDMNModelsPaths(workspaceProject)).thenReturn(asList(path1, path2, path3));
+
+        final List<Path> actualPaths = helper.getDMNModelsPathsByNamespaces(workspaceProject, asList("://namespace3", "://namespace1", "://namespace1"));
+
+        assertEquals(asList(path3, path1), actualPaths);
+    }
+
     @Test
     public void testGetModelPath() {
 
         final Metadata metadata = mock(Metadata.class);
-        final WorkspaceProject workspaceProject = mock(WorkspaceProject.class);
+        final WorkspaceProject workspaceProject = makeProject("default://project");
         final Path metadataPath = mock(Path.class);
-        final Path path1 = mock(Path.class);
-        final Path path2 = mock(Path.class);
-        final Path path3 = mock(Path.class);
-        final Definitions definitions1 = mock(Definitions.class);
-        final Definitions definitions2 = mock(Definitions.class);
+        final Path path1 = makePath("../file1.dmn");
+        final Path path2 = makePath("../file2.dmn");
+        final Path path3 = makePath("../file3.dmn");
         final String modelNamespace = "0000-1111-2222-3333";
         final String modelName = "model name";
 
-        doReturn(Optional.of(definitions1)).when(helper).getDefinitionsByPath(path1);
-        doReturn(Optional.of(definitions2)).when(helper).getDefinitionsByPath(path2);
-        doReturn(Optional.empty()).when(helper).getDefinitionsByPath(path3);
-        when(definitions1.getNamespace()).thenReturn("0000-0000-0000-0000");
-        when(definitions2.getNamespace()).thenReturn("0000-1111-2222-3333");
-        when(definitions1.getName()).thenReturn("modll name");
-        when(definitions2.getName()).thenReturn("model name");
+        mockModel(path1, "<dmn1/>", "0000-0000-0000-0000", "modll name");
+        mockModel(path2, "<dmn2/>", "0000-1111-2222-3333", "model name");
+        doReturn(Optional.empty()).when(helper).loadPath(path3);
         when(metadata.getPath()).thenReturn(metadataPath);
         when(projectService.resolveProject(metadataPath)).thenReturn(workspaceProject);
         when(pathsHelper.getDMNModelsPaths(workspaceProject)).thenReturn(asList(path1, path2, path3));
@@ -563,11 +651,48 @@ public class DMNMarshallerImportsHelperStandaloneImplTest {
                 .hasMessageContaining("A path for the DMN model with namespace [0000-1111-2222-3333] could not be found.");
     }
 
+    private Definitions mockModel(final Path path,
+                                  final String xml,
+                                  final String namespace,
+                                  final String name) {
+        final InputStream inputStream = mock(InputStream.class);
+        final StringReader stringReader = mock(StringReader.class);
+        final Definitions definitions = mock(Definitions.class);
+
+        doReturn(Optional.of(inputStream)).when(helper).loadPath(path);
+        when(dmnIOHelper.isAsString(inputStream)).thenReturn(xml);
+        doReturn(stringReader).when(helper).toStringReader(xml);
+        when(marshaller.unmarshal(stringReader)).thenReturn(definitions);
+        when(definitions.getNamespace()).thenReturn(namespace);
+        when(definitions.getName()).thenReturn(name);
+
+        return definitions;
+    }
+
+    private List<Path> getPaths(final List<DMNMarshallerImportsHelperStandaloneImpl.CachedModel> models) {
+        return models
+                .stream()
+                .map(DMNMarshallerImportsHelperStandaloneImpl.CachedModel::getPath)
+                .collect(Collectors.toList());
+    }
+
+    private WorkspaceProject makeProject(final String uri) {
+
+        final WorkspaceProject workspaceProject = mock(WorkspaceProject.class);
+        final Path rootPath = mock(Path.class);
+
+        when(workspaceProject.getRootPath()).thenReturn(rootPath);
+        when(rootPath.toURI()).thenReturn(uri);
+
+        return workspaceProject;
+    }
+
     private Path makePath(final String uri) {
 
         final PathImpl path = spy(new PathImpl());
 
         doReturn(uri).when(path).toURI();
+        doReturn(uri.substring(uri.lastIndexOf('/') + 1)).when(path).getFileName();
 
         return path;
     }
@@ -16,11 +16,16 @@
 
 package org.kie.workbench.common.dmn.backend.editors.common;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+import org.apache.commons.io.IOUtils;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -36,6 +41,8 @@ import org.mockito.junit.MockitoJUnitRunner;
 import org.uberfire.backend.vfs.Path;
 import org.uberfire.io.IOService;
 import org.uberfire.java.nio.file.NoSuchFileException;
+import org.uberfire.rpc.SessionInfo;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
 
 import static java.util.Comparator.comparing;
 import static java.util.Comparator.naturalOrder;
@@ -43,7 +50,10 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.Silent.class)
@@ -65,9 +75,16 @@ public class PMMLIncludedDocumentFactoryTest {
 
     private static final int INPUT_FIELDS_COUNT = 5;
 
+    private static final byte[] CONTENT = "<PMML/>".getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] UPDATED_CONTENT = "<PMML version=\"4.4\"/>".getBytes(StandardCharsets.UTF_8);
+
     @Mock
     private IOService ioService;
 
+    @Mock
+    private SessionInfo sessionInfo;
+
     private PMMLIncludedDocumentFactory factory;
 
     @Before
@@ -155,6 +172,105 @@ public class PMMLIncludedDocumentFactoryTest {
         assertThat(document.getModels()).isEmpty();
     }
 
+    @Test
+    public void testLoadPMMLInfoIsCachedUntilChanged() {
+        final Path path = makePath("file.pmml");
+        final PMMLInfo<PMMLModelInfo> pmmlInfo = makePMMLInfo();
+        final PMMLInfo<PMMLModelInfo> updatedPMMLInfo = makePMMLInfo();
+        doReturn(CONTENT).when(factory).readContent(path);
+        doReturn(pmmlInfo).when(factory).parse(CONTENT);
+        doReturn(updatedPMMLInfo).when(factory).parse(UPDATED_CONTENT);
+
+        assertThat(factory.loadPMMLInfo(path)).isSameAs(pmmlInfo);
+        assertThat(factory.loadPMMLInfo(path)).isSameAs(pmmlInfo);
+        verify(factory, times(1)).readContent(path);
+
+        // The same content is read again, but not parsed again.
+        factory.onResourceUpdated(new ResourceUpdatedEvent(path, "message", sessionInfo));
+        assertThat(factory.loadPMMLInfo(path)).isSameAs(pmmlInfo);
+        verify(factory, times(2)).readContent(path);
+        verify(factory, times(1)).parse(CONTENT);
+
+        doReturn(UPDATED_CONTENT).when(factory).readContent(path);
+        factory.onResourceUpdated(new ResourceUpdatedEvent(path, "message", sessionInfo));
+        assertThat(factory.loadPMMLInfo(path)).isSameAs(updatedPMMLInfo);
+        verify(factory, times(3)).readContent(path);
+    }
+
+    @Test
+    public void testLoadPMMLInfoIsNotEvictedByOtherFiles() {
+        final Path path = makePath("file.pmml");
+        final PMMLInfo<PMMLModelInfo> pmmlInfo = makePMMLInfo();
+        doReturn(CONTENT).when(factory).readContent(path);
+        doReturn(pmmlInfo).when(factory).parse(CONTENT);
+
+        assertThat(factory.loadPMMLInfo(path)).isSameAs(pmmlInfo);
+        factory.onResourceUpdated(new ResourceUpdatedEvent(makePath("model.dmn"), "message", sessionInfo));
+
+        assertThat(factory.loadPMMLInfo(path)).isSameAs(pmmlInfo);
+        verify(factory, times(1)).readContent(path);
+    }
+
+    @Test
+    public void testLoadPMMLInfoWhenItCannotBeRead() {
+        final Path path = makePath("file.pmml");
+        doReturn(null).when(factory).readContent(path);
+
+        assertThat(factory.loadPMMLInfo(path)).isNull();
+        assertThat(factory.loadPMMLInfo(path)).isNull();
+        verify(factory, times(2)).readContent(path);
+        verify(factory, never()).parse(any());
+    }
+
+    @Test
+    public void testGetDocumentReader() throws IOException {
+        final Path path = makePath("file.pmml");
+        doReturn(CONTENT).when(factory).readContent(path);
+
+        assertThat(IOUtils.toString(factory.getDocumentReader(path).get())).isEqualTo("<PMML/>");
+        assertThat(IOUtils.toString(factory.getDocumentReader(path).get())).isEqualTo("<PMML/>");
+        verify(factory, times(1)).readContent(path);
+    }
+
+    @Test
+    public void testGetDocumentReaderWithTheDeclaredEncoding() throws IOException {
+        final Path path = makePath("file.pmml");
+        final String document = "<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?><PMML description=\"\u00e9\"/>";
+        doReturn(document.getBytes(StandardCharsets.ISO_8859_1)).when(factory).readContent(path);
+
+        final Optional<Reader> reader = factory.getDocumentReader(path);
+
+        assertThat(reader).isPresent();
+        assertThat(IOUtils.toString(reader.get())).isEqualTo(document);
+    }
+
+    @Test
+    public void testGetDocumentReaderCacheIsBoundedByTheContentSize() throws IOException {
+        final Path path = makePath("file.pmml");
+        final Path otherPath = makePath("other.pmml");
+        final byte[] content = new byte[(int) (PMMLIncludedDocumentFactory.MAX_CACHED_CONTENT_BYTES / 2) + 1];
+        final byte[] otherContent = new byte[content.length];
+        otherContent[0] = 1;
+        doReturn(content).when(factory).readContent(path);
+        doReturn(otherContent).when(factory).readContent(otherPath);
+
+        assertThat(factory.getDocumentReader(path)).isPresent();
+        assertThat(factory.getDocumentReader(otherPath)).isPresent();
+        assertThat(factory.getDocumentReader(otherPath)).isPresent();
+        assertThat(factory.getDocumentReader(path)).isPresent();
+
+        // The two documents do not fit together, so the least recently used one is read again.
+        verify(factory, times(1)).readContent(otherPath);
+        verify(factory, times(2)).readContent(path);
+    }
+
+    private Path makePath(final String fileName) {
+        final Path path = mock(Path.class);
+        when(path.getFileName()).thenReturn(fileName);
+        when(path.toURI()).thenReturn("default://master@repo/project/src/main/resources/" + fileName);
+        return path;
+    }
+
     private PMMLInfo<PMMLModelInfo> makePMMLInfo() {
         return new PMMLInfo<>(Collections.singletonList(makePMMLModelInfo()),
                               new PMMLInfo.PMMLHeaderInfo(NAMESPACE,
@@ -149,7 +149,10 @@ public class DMNIncludedModelsServiceImplTest {
         final List<DMNIncludedModel> includedModels = asList(includedModel1, includedModel2, includedModel3);
         final List<Path> paths = asList(path1, path2, path3);
 
-        when(pathsHelper.getDMNModelsPaths(workspaceProject)).thenReturn(paths);
+        when(includedModel1.getNamespace()).thenReturn("://namespace1");
+        when(includedModel2.getNamespace()).thenReturn("://namespace2");
+        when(includedModel3.getNamespace()).thenReturn("://namespace3");
+        when(importsHelper.getDMNModelsPathsByNamespaces(workspaceProject, asList("://namespace1", "://namespace2", "://namespace3"))).thenReturn(paths);
         when(includedNodesFilter.getNodesFromImports(path1, includedModels)).thenReturn(path1Nodes);
         when(includedNodesFilter.getNodesFromImports(path2, includedModels)).thenReturn(path2Nodes);
         when(includedNodesFilter.getNodesFromImports(path3, includedModels)).thenReturn(path3Nodes);
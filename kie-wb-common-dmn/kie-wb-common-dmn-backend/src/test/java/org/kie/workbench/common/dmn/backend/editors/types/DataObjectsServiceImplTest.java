@@ -39,6 +39,7 @@ import org.kie.soup.project.datamodel.oracle.FieldAccessorsAndMutators;
 import org.kie.soup.project.datamodel.oracle.ModelField;
 import org.kie.soup.project.datamodel.oracle.ModuleDataModelOracle;
 import org.kie.workbench.common.dmn.api.editors.types.DataObject;
+import org.kie.workbench.common.dmn.api.editors.types.DataObjectProperty;
 import org.kie.workbench.common.dmn.api.property.dmn.types.BuiltInType;
 import org.kie.workbench.common.dmn.backend.editors.types.classes.APerson;
 import org.kie.workbench.common.dmn.backend.editors.types.classes.BPet;
@@ -52,6 +53,9 @@ import org.mockito.junit.MockitoJUnitRunner;
 import org.uberfire.backend.vfs.Path;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -88,6 +92,7 @@ public class DataObjectsServiceImplTest {
         dataModelOracle.addModulePackageNames(Collections.singletonList(APerson.class.getPackage().getName()));
 
         when(workspaceProject.getRootPath()).thenReturn(projectRootPath);
+        when(projectRootPath.toURI()).thenReturn("default://master@myRepository/project");
         when(dataModelService.getModuleDataModel(projectRootPath)).thenReturn(dataModelOracle);
         when(moduleService.resolveModule(projectRootPath)).thenReturn(kieModule);
         when(moduleClassLoaderHelper.getModuleClassLoader(kieModule)).thenReturn(Thread.currentThread().getContextClassLoader());
@@ -511,6 +516,69 @@ public class DataObjectsServiceImplTest {
         assertThat(dataObjects).isEmpty();
     }
 
+    @Test
+    public void testLoadDataObjects_CachedUntilDataModelChanges() {
+        dataModelOracle.addModuleModelFields(Collections.singletonMap(BPet.class.getName(),
+                                                                      new ModelField[]{
+                                                                              newModelField("name",
+                                                                                            String.class.getName(),
+                                                                                            String.class.getSimpleName())
+                                                                      }));
+
+        final List<DataObject> dataObjects = service.loadDataObjects(workspaceProject);
+        final List<DataObject> cachedDataObjects = service.loadDataObjects(workspaceProject);
+
+        assertThat(cachedDataObjects).isNotSameAs(dataObjects);
+        assertThat(cachedDataObjects).extracting(DataObject::getClassType).containsExactly(BPet.class.getName());
+        assertThat(cachedDataObjects.get(0).getProperties())
+                .extracting(DataObjectProperty::getProperty, DataObjectProperty::getType)
+                .containsExactly(tuple("name", BuiltInType.STRING.getName()));
+        verify(moduleClassLoaderHelper, times(1)).getModuleClassLoader(kieModule);
+
+        // The DataModelOracle cache builds a new oracle when the module changes.
+        final ModuleDataModelOracle changedDataModelOracle = new ModuleDataModelOracleImpl();
+        changedDataModelOracle.addModulePackageNames(Collections.singletonList(APerson.class.getPackage().getName()));
+        changedDataModelOracle.addModuleModelFields(Collections.singletonMap(CFamily.class.getName(),
+                                                                             new ModelField[]{
+                                                                                     newModelField(DataType.TYPE_THIS,
+                                                                                                   CFamily.class.getName(),
+                                                                                                   CFamily.class.getSimpleName())
+                                                                             }));
+        when(dataModelService.getModuleDataModel(projectRootPath)).thenReturn(changedDataModelOracle);
+
+        final List<DataObject> changedDataObjects = service.loadDataObjects(workspaceProject);
+
+        assertThat(changedDataObjects).hasSize(1);
+        assertThat(changedDataObjects.get(0).getClassType()).isEqualTo(CFamily.class.getName());
+        verify(moduleClassLoaderHelper, times(2)).getModuleClassLoader(kieModule);
+    }
+
+    @Test
+    public void testLoadDataObjects_CachedDataObjectsAreNotShared() {
+        dataModelOracle.addModuleModelFields(Collections.singletonMap(BPet.class.getName(),
+                                                                      new ModelField[]{
+                                                                              newModelField("name",
+                                                                                            String.class.getName(),
+                                                                                            String.class.getSimpleName())
+                                                                      }));
+
+        final List<DataObject> dataObjects = service.loadDataObjects(workspaceProject);
+        dataObjects.get(0).setClassType("tPet");
+        dataObjects.get(0).getProperties().get(0).setType("tName");
+        dataObjects.get(0).getProperties().add(new DataObjectProperty());
+
+        final List<DataObject> cachedDataObjects = service.loadDataObjects(workspaceProject);
+        cachedDataObjects.get(0).getProperties().clear();
+
+        final List<DataObject> otherCachedDataObjects = service.loadDataObjects(workspaceProject);
+        assertThat(otherCachedDataObjects).extracting(DataObject::getClassType).containsExactly(BPet.class.getName());
+        assertThat(otherCachedDataObjects.get(0).getProperties())
+                .extracting(DataObjectProperty::getProperty, DataObjectProperty::getType)
+                .containsExactly(tuple("name", BuiltInType.STRING.getName()));
+        assertThat(cachedDataObjects.get(0).getClassType()).isEqualTo(BPet.class.getName());
+        verify(moduleClassLoaderHelper, times(1)).getModuleClassLoader(kieModule);
+    }
+
     private ModelField newModelField(final String name,
                                      final String className,
                                      final String type) {
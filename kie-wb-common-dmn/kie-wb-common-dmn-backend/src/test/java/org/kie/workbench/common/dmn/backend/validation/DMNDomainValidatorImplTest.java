@@ -17,7 +17,6 @@
 package org.kie.workbench.common.dmn.backend.validation;
 
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.Reader;
 import java.io.StringReader;
 import java.net.URI;
@@ -47,8 +46,8 @@ import org.kie.workbench.common.dmn.api.definition.model.Definitions;
 import org.kie.workbench.common.dmn.api.definition.model.Import;
 import org.kie.workbench.common.dmn.api.graph.DMNDiagramUtils;
 import org.kie.workbench.common.dmn.backend.DMNMarshallerStandalone;
-import org.kie.workbench.common.dmn.backend.common.DMNIOHelper;
 import org.kie.workbench.common.dmn.backend.common.DMNMarshallerImportsHelperStandalone;
+import org.kie.workbench.common.dmn.backend.editors.common.PMMLIncludedDocumentFactory;
 import org.kie.workbench.common.stunner.core.diagram.Diagram;
 import org.kie.workbench.common.stunner.core.diagram.Metadata;
 import org.kie.workbench.common.stunner.core.validation.DomainViolation;
@@ -69,6 +68,7 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -104,7 +104,7 @@ public class DMNDomainValidatorImplTest {
     private Consumer<Collection<DomainViolation>> resultConsumer;
 
     @Mock
-    private DMNIOHelper dmnIOHelper;
+    private PMMLIncludedDocumentFactory pmmlDocumentFactory;
 
     @Mock
     private DMNValidator.ValidatorBuilder.ValidatorImportReaderResolver resolver;
@@ -115,6 +115,9 @@ public class DMNDomainValidatorImplTest {
     @Captor
     private ArgumentCaptor<StringReader> readerArgumentCaptor;
 
+    @Captor
+    private ArgumentCaptor<DMNValidator.ValidatorBuilder.ValidatorImportReaderResolver> resolverArgumentCaptor;
+
     private Definitions definitions;
 
     private List<DMNMessage> validationMessages;
@@ -129,7 +132,7 @@ public class DMNDomainValidatorImplTest {
         this.domainValidator = spy(new DMNDomainValidatorImpl(dmnMarshaller,
                                                               dmnDiagramUtils,
                                                               importsHelper,
-                                                              dmnIOHelper));
+                                                              pmmlDocumentFactory));
 
         doReturn(dmnValidator).when(domainValidator).getDMNValidator();
         domainValidator.setupValidator();
@@ -137,7 +140,7 @@ public class DMNDomainValidatorImplTest {
         when(dmnMarshaller.marshall(diagram)).thenReturn(DMN_XML);
         when(dmnDiagramUtils.getDefinitions(diagram)).thenReturn(definitions);
         when(dmnValidator.validateUsing(any())).thenReturn(dmnValidatorBuilder);
-        when(dmnValidatorBuilder.usingImports(resolver)).thenReturn(dmnValidatorBuilder);
+        when(dmnValidatorBuilder.usingImports(any())).thenReturn(dmnValidatorBuilder);
         when(dmnValidatorBuilder.theseModels(Mockito.<Reader>any())).thenReturn(validationMessages);
         when(diagram.getMetadata()).thenReturn(metadata);
     }
@@ -176,11 +179,9 @@ public class DMNDomainValidatorImplTest {
         final Path modelPath = mock(Path.class);
         final URI pmmlURI = URI.create(locationURI);
         final Path pmmlPath = mock(Path.class);
-        final InputStream inputStream = mock(InputStream.class);
 
         when(importsHelper.getDMNModelPath(metadata, modelNamespace, modelName)).thenReturn(modelPath);
-        when(importsHelper.loadPath(pmmlPath)).thenReturn(Optional.of(inputStream));
-        when(dmnIOHelper.isAsString(inputStream)).thenReturn(pmmlXML);
+        when(pmmlDocumentFactory.getDocumentReader(pmmlPath)).thenReturn(Optional.of(new StringReader(pmmlXML)));
 
         doReturn(pmmlURI).when(domainValidator).getPMMLURI(modelPath, locationURI);
         doReturn(pmmlPath).when(domainValidator).getPath(pmmlURI);
@@ -191,6 +192,27 @@ public class DMNDomainValidatorImplTest {
         assertContent(expectedReader, actualReader);
     }
 
+    @Test
+    public void testGetValidatorImportReaderResolverWhenDocumentIsMissing() {
+
+        final String modelNamespace = "0000-1111-2222-3333";
+        final String modelName = "model.dmn";
+        final String locationURI = "file.pmml";
+        final Path modelPath = mock(Path.class);
+        final URI pmmlURI = URI.create(locationURI);
+        final Path pmmlPath = mock(Path.class);
+
+        when(importsHelper.getDMNModelPath(metadata, modelNamespace, modelName)).thenReturn(modelPath);
+        when(pmmlDocumentFactory.getDocumentReader(pmmlPath)).thenReturn(Optional.empty());
+
+        doReturn(pmmlURI).when(domainValidator).getPMMLURI(modelPath, locationURI);
+        doReturn(pmmlPath).when(domainValidator).getPath(pmmlURI);
+
+        final Reader actualReader = domainValidator.getValidatorImportReaderResolver(metadata).newReader(modelNamespace, modelName, locationURI);
+
+        assertContent(new StringReader(""), actualReader);
+    }
+
     @Test
     @SuppressWarnings("unchecked")
     public void testBasicValidation() throws IOException {
@@ -209,7 +231,7 @@ public class DMNDomainValidatorImplTest {
                                            DMNValidator.Validation.VALIDATE_COMPILATION,
                                            DMNValidator.Validation.ANALYZE_DECISION_TABLE);
         verify(domainValidator).getStringReader(DMN_XML);
-        verify(dmnValidatorBuilder).usingImports(resolver);
+        verifyUsingImports();
         verify(dmnValidatorBuilder).theseModels(readerArgumentCaptor.capture());
         assertThat(readerArgumentCaptor.getAllValues()).containsExactly(stringReader);
 
@@ -245,13 +267,50 @@ public class DMNDomainValidatorImplTest {
                                            DMNValidator.Validation.ANALYZE_DECISION_TABLE);
         verify(domainValidator).getStringReader(DMN_XML);
         verify(domainValidator).getStringReader(IMPORTED_DMN_XML);
-        verify(dmnValidatorBuilder).usingImports(resolver);
+        verifyUsingImports();
         verify(dmnValidatorBuilder).theseModels(readerArgumentCaptor.capture());
         assertThat(readerArgumentCaptor.getAllValues()).containsExactly(stringReader1, stringReader2);
 
         verify(resultConsumer).accept(Collections.emptyList());
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testValidationCachedByContent() {
+        final List<Collection<DomainViolation>> results = new ArrayList<>();
+
+        doReturn(resolver).when(domainValidator).getValidatorImportReaderResolver(metadata);
+        validationMessages.add(makeDMNMessage(DMNMessage.Severity.ERROR, "error", null));
+
+        domainValidator.validate(diagram, results::add);
+        domainValidator.validate(diagram, results::add);
+
+        verify(dmnValidatorBuilder, times(1)).theseModels(Mockito.<Reader>any());
+        assertEquals(results.get(0), results.get(1));
+        assertThat(results.get(1)).hasSize(1);
+
+        when(dmnMarshaller.marshall(diagram)).thenReturn("<Some changed XML/>");
+        domainValidator.validate(diagram, results::add);
+
+        verify(dmnValidatorBuilder, times(2)).theseModels(Mockito.<Reader>any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testValidationNotCachedWhenImportsAreResolved() {
+        doReturn(resolver).when(domainValidator).getValidatorImportReaderResolver(metadata);
+        // The validator reads a PMML document while validating.
+        when(dmnValidatorBuilder.usingImports(any())).thenAnswer(i -> {
+            ((DMNValidator.ValidatorBuilder.ValidatorImportReaderResolver) i.getArguments()[0]).newReader("namespace", "model", "file.pmml");
+            return dmnValidatorBuilder;
+        });
+
+        domainValidator.validate(diagram, resultConsumer);
+        domainValidator.validate(diagram, resultConsumer);
+
+        verify(dmnValidatorBuilder, times(2)).theseModels(Mockito.<Reader>any());
+    }
+
     @Test
     public void testValidationMessageConversion() {
         final String dmnElementUUID = "element-uuid";
@@ -294,6 +353,12 @@ public class DMNDomainValidatorImplTest {
         assertThat(domainViolation2.getUUID()).isEqualTo(dmnElementUUID);
     }
 
+    private void verifyUsingImports() {
+        verify(dmnValidatorBuilder, Mockito.atLeastOnce()).usingImports(resolverArgumentCaptor.capture());
+        resolverArgumentCaptor.getValue().newReader("namespace", "model", "file.pmml");
+        verify(resolver, Mockito.atLeastOnce()).newReader("namespace", "model", "file.pmml");
+    }
+
     private DMNMessage makeDMNMessage(final DMNMessage.Severity severity,
                                       final String text,
                                       final DMNModelInstrumentedBase source) {
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.dmn.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.kie.workbench.common.dmn.api.DMNDefinitionSet;
+import org.kie.workbench.common.dmn.api.factory.DMNGraphFactoryImpl;
+import org.kie.workbench.common.dmn.backend.DMNMarshallerStandalone;
+import org.kie.workbench.common.dmn.backend.common.DMNMarshallerImportsHelperStandalone;
+import org.kie.workbench.common.dmn.backend.producers.DMNMarshallerProducer;
+import org.kie.workbench.common.stunner.core.backend.StunnerTestingGraphBackendAPI;
+import org.kie.workbench.common.stunner.core.backend.service.XMLEncoderDiagramMetadataMarshaller;
+import org.kie.workbench.common.stunner.core.definition.adapter.binding.BindableAdapterUtils;
+import org.kie.workbench.common.stunner.core.diagram.Diagram;
+import org.kie.workbench.common.stunner.core.diagram.Metadata;
+import org.kie.workbench.common.stunner.core.diagram.MetadataImpl;
+import org.kie.workbench.common.stunner.core.graph.Graph;
+import org.kie.workbench.common.stunner.core.graph.processing.index.map.MapIndexBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unmarshalling and marshalling of generated DMN models with a large decision table. The diagram is marshalled
+ * either as a string, which is then written, or straight to the output stream, as the DMN document is serialized.
+ * The GC profiler, enabled by default when running them with "mvn exec:exec", reports the allocations of each mode.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class DmnMarshallingBenchmark {
+
+    /**
+     * Rules of the generated decision table
+     */
+    @Param({"1000", "10000", "50000"})
+    public int rules;
+
+    /**
+     * How the diagram is marshalled: to a string or to the output stream
+     */
+    @Param({"string", "stream"})
+    public String output;
+
+    private DMNMarshallerStandalone marshaller;
+    private StunnerTestingGraphBackendAPI api;
+    private byte[] model;
+    private Diagram<Graph, Metadata> diagram;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() throws IOException {
+        api = StunnerTestingGraphBackendAPI.build(DMNDefinitionSet.class);
+        api.getFactoryManager().registry().register(new DMNGraphFactoryImpl(api.getDefinitionManager(),
+                                                                            api.getFactoryManager(),
+                                                                            api.commandManager,
+                                                                            api.commandFactory,
+                                                                            new MapIndexBuilder()));
+        marshaller = new DMNMarshallerStandalone(new XMLEncoderDiagramMetadataMarshaller(),
+                                                 api.getFactoryManager(),
+                                                 mock(DMNMarshallerImportsHelperStandalone.class),
+                                                 new DMNMarshallerProducer().get());
+        model = DmnModelGenerator.generate(rules);
+        diagram = api.getFactoryManager().newDiagram("generated",
+                                                     getDefinitionSetId(),
+                                                     newMetadata());
+        diagram.setGraph(unmarshall());
+    }
+
+    @Benchmark
+    public Graph unmarshall() throws IOException {
+        return marshaller.unmarshall(newMetadata(),
+                                     new ByteArrayInputStream(model));
+    }
+
+    @Benchmark
+    public void marshall(final Blackhole blackhole) throws IOException {
+        // Stands for the file the diagram is saved to, the written bytes are just consumed.
+        final OutputStream outputStream = new BlackholeOutputStream(blackhole);
+        if ("stream".equals(output)) {
+            marshaller.marshall(diagram,
+                                outputStream);
+        } else {
+            outputStream.write(marshaller.marshall(diagram).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static Metadata newMetadata() {
+        return new MetadataImpl.MetadataImplBuilder(getDefinitionSetId()).build();
+    }
+
+    private static String getDefinitionSetId() {
+        return BindableAdapterUtils.getDefinitionSetId(DMNDefinitionSet.class);
+    }
+
+    private static class BlackholeOutputStream extends OutputStream {
+
+        private final Blackhole blackhole;
+
+        private BlackholeOutputStream(final Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void write(final int b) {
+            blackhole.consume(b);
+        }
+
+        @Override
+        public void write(final byte[] b,
+                          final int off,
+                          final int len) {
+            blackhole.consume(b);
+        }
+    }
+}
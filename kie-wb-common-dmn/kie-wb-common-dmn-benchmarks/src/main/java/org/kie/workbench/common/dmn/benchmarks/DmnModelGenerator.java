@@ -0,0 +1,106 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.dmn.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Generates DMN 1.2 models of any size: two input data and a decision, which requires both of them, whose
+ * expression is a decision table with the given number of rules.
+ */
+public class DmnModelGenerator {
+
+    private static final String NAMESPACE = "https://kiegroup.org/dmn/generated";
+
+    public static byte[] generate(final int rules) {
+        final StringBuilder model = new StringBuilder();
+        model.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>")
+                .append("<dmn:definitions xmlns:dmn=\"http://www.omg.org/spec/DMN/20180521/MODEL/\"")
+                .append(" xmlns:dmndi=\"http://www.omg.org/spec/DMN/20180521/DMNDI/\"")
+                .append(" xmlns:dc=\"http://www.omg.org/spec/DMN/20180521/DC/\"")
+                .append(" xmlns:di=\"http://www.omg.org/spec/DMN/20180521/DI/\"")
+                .append(" xmlns:kie=\"http://www.drools.org/kie/dmn/1.2\"")
+                .append(" xmlns=\"").append(NAMESPACE).append("\"")
+                .append(" id=\"_generated\" name=\"generated\" namespace=\"").append(NAMESPACE).append("\">");
+
+        inputData(model, "age");
+        inputData(model, "score");
+
+        model.append("<dmn:decision id=\"_rating\" name=\"rating\">")
+                .append("<dmn:variable id=\"_rating_variable\" name=\"rating\" typeRef=\"string\"/>")
+                .append("<dmn:informationRequirement id=\"_rating_age\"><dmn:requiredInput href=\"#_age\"/></dmn:informationRequirement>")
+                .append("<dmn:informationRequirement id=\"_rating_score\"><dmn:requiredInput href=\"#_score\"/></dmn:informationRequirement>")
+                .append("<dmn:decisionTable id=\"_rating_table\" hitPolicy=\"FIRST\" preferredOrientation=\"Rule-as-Row\">")
+                .append("<dmn:input id=\"_input_age\" label=\"age\">")
+                .append("<dmn:inputExpression id=\"_input_age_expression\" typeRef=\"number\"><dmn:text>age</dmn:text></dmn:inputExpression>")
+                .append("</dmn:input>")
+                .append("<dmn:input id=\"_input_score\" label=\"score\">")
+                .append("<dmn:inputExpression id=\"_input_score_expression\" typeRef=\"number\"><dmn:text>score</dmn:text></dmn:inputExpression>")
+                .append("</dmn:input>")
+                .append("<dmn:output id=\"_output_rating\" name=\"rating\" typeRef=\"string\"/>");
+        for (int i = 0; i < rules; i++) {
+            model.append("<dmn:rule id=\"_rule_").append(i).append("\">")
+                    .append("<dmn:inputEntry id=\"_rule_").append(i).append("_age\"><dmn:text>[")
+                    .append(i).append("..").append(i + 1).append(")</dmn:text></dmn:inputEntry>")
+                    .append("<dmn:inputEntry id=\"_rule_").append(i).append("_score\"><dmn:text>&gt;= ")
+                    .append(i % 1000).append("</dmn:text></dmn:inputEntry>")
+                    .append("<dmn:outputEntry id=\"_rule_").append(i).append("_rating\"><dmn:text>\"rating ")
+                    .append(i).append("\"</dmn:text></dmn:outputEntry>")
+                    .append("</dmn:rule>");
+        }
+        model.append("</dmn:decisionTable>")
+                .append("</dmn:decision>");
+
+        model.append("<dmndi:DMNDI><dmndi:DMNDiagram id=\"_generated_diagram\">");
+        shape(model, "age", 100, 300);
+        shape(model, "score", 300, 300);
+        shape(model, "rating", 200, 100);
+        edge(model, "_rating_age", 150, 300, 250, 150);
+        edge(model, "_rating_score", 350, 300, 250, 150);
+        model.append("</dmndi:DMNDiagram></dmndi:DMNDI>")
+                .append("</dmn:definitions>");
+        return model.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void inputData(final StringBuilder model,
+                                  final String name) {
+        model.append("<dmn:inputData id=\"_").append(name).append("\" name=\"").append(name).append("\">")
+                .append("<dmn:variable id=\"_").append(name).append("_variable\" name=\"").append(name)
+                .append("\" typeRef=\"number\"/>")
+                .append("</dmn:inputData>");
+    }
+
+    private static void shape(final StringBuilder model,
+                              final String name,
+                              final int x,
+                              final int y) {
+        model.append("<dmndi:DMNShape id=\"dmnshape-_").append(name).append("\" dmnElementRef=\"_").append(name).append("\">")
+                .append("<dc:Bounds x=\"").append(x).append("\" y=\"").append(y).append("\" width=\"100\" height=\"50\"/>")
+                .append("</dmndi:DMNShape>");
+    }
+
+    private static void edge(final StringBuilder model,
+                             final String id,
+                             final int sourceX,
+                             final int sourceY,
+                             final int targetX,
+                             final int targetY) {
+        model.append("<dmndi:DMNEdge id=\"dmnedge-").append(id).append("\" dmnElementRef=\"").append(id).append("\">")
+                .append("<di:waypoint x=\"").append(sourceX).append("\" y=\"").append(sourceY).append("\"/>")
+                .append("<di:waypoint x=\"").append(targetX).append("\" y=\"").append(targetY).append("\"/>")
+                .append("</dmndi:DMNEdge>");
+    }
+}
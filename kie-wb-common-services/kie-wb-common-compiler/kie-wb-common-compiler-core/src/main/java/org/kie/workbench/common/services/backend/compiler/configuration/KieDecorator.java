@@ -21,5 +21,9 @@ public enum KieDecorator {
     ENABLE_INCREMENTAL_BUILD,
     UPDATE_JGIT_BEFORE_BUILD,
     STORE_KIE_OBJECTS,
-    ENABLE_LOGGING
+    ENABLE_LOGGING,
+    /**
+     * Serves unchanged projects from the on disk compilation cache, requires STORE_KIE_OBJECTS
+     */
+    ENABLE_PERSISTENT_CACHE
 }
@@ -0,0 +1,446 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.compiler.impl.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.Serializable;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.kie.workbench.common.services.backend.compiler.CompilationRequest;
+import org.kie.workbench.common.services.backend.compiler.configuration.MavenCLIArgs;
+import org.kie.workbench.common.services.backend.compiler.impl.DefaultKieCompilationResponse;
+import org.kie.workbench.common.services.backend.compiler.impl.DefaultKieCompilationResponseOffProcess;
+import org.kie.workbench.common.services.backend.compiler.impl.kie.KieCompilationResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * On disk cache of the successful {@link KieCompilationResponse}s, surviving the restarts of the node.
+ * There is an entry for each project directory, maven repository, goals and compiler configuration. An entry is
+ * served only while the hash of the project content (poms included), of the settings.xml and of the dependency
+ * jars is the same of the build that created it, and its compiled classes are still in the target folders.
+ * The entries are kept in a directory accessible only by the owner of the process, next to the .niogit folder of
+ * the workbench, and are deserialized accepting only the classes of a compilation response.
+ */
+public class PersistentCompilationCache {
+
+    public static final String COMPILER_CACHE_DIR = "org.kie.workbench.compiler.cache.dir";
+    public static final String NIOGIT_DIR = "org.uberfire.nio.git.dir";
+    public static final String DEFAULT_COMPILER_CACHE_DIR_NAME = ".compiler-cache";
+
+    private static final Logger logger = LoggerFactory.getLogger(PersistentCompilationCache.class);
+    private static final String ENTRY_EXT = ".kcr";
+    private static final String GIT_DIR = ".git";
+    private static final String TARGET_DIR = "target";
+    private static final Set<PosixFilePermission> OWNER_ONLY = PosixFilePermissions.fromString("rwx------");
+    private static final int MAX_HASHED_PROJECTS = 100;
+    private static final List<String> ALLOWED_PACKAGES = Arrays.asList("java.lang.",
+                                                                       "java.util.",
+                                                                       "org.kie.",
+                                                                       "org.drools.",
+                                                                       "org.appformer.maven.support.");
+    private static final Set<String> ALLOWED_CLASSES = Collections.singleton("java.net.URI");
+
+    private final Path cacheDir;
+    //Digests of the files of the last hashed projects, a file is read again only when its size or mtime change
+    private final Map<Path, Map<Path, FileDigest>> fileDigests = Collections.synchronizedMap(new LinkedHashMap<Path, Map<Path, FileDigest>>(16,
+                                                                                                                                          0.75f,
+                                                                                                                                          true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Path, Map<Path, FileDigest>> eldest) {
+            return size() > MAX_HASHED_PROJECTS;
+        }
+    });
+
+    public PersistentCompilationCache() {
+        this(Paths.get(System.getProperty(COMPILER_CACHE_DIR,
+                                          Paths.get(System.getProperty(NIOGIT_DIR,
+                                                                       System.getProperty("user.dir")),
+                                                    DEFAULT_COMPILER_CACHE_DIR_NAME).toString())));
+    }
+
+    public PersistentCompilationCache(final Path cacheDir) {
+        this.cacheDir = cacheDir;
+    }
+
+    public Path getCacheDir() {
+        return cacheDir;
+    }
+
+    /**
+     * @return The key of the entry of the build, the same for every content of the project
+     */
+    public String getKey(final CompilationRequest req,
+                         final String compilerConfiguration) {
+        final MessageDigest digest = newDigest();
+        update(digest,
+               getProjectDir(req).toString());
+        update(digest,
+               req.getMavenRepo());
+        update(digest,
+               String.join(" ",
+                           req.getOriginalArgs()));
+        update(digest,
+               String.valueOf(req.skipProjectDependenciesCreationList()));
+        update(digest,
+               compilerConfiguration);
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Hash of everything a build reads from the project directory: every file except the target folders and the
+     * git metadata, plus the alternate settings.xml. The files unchanged since the previous hash of the project are
+     * not read again.
+     */
+    public String getContentHash(final CompilationRequest req) throws IOException {
+        final MessageDigest digest = newDigest();
+        final Path projectDir = getProjectDir(req);
+        final List<Path> files;
+        try (Stream<Path> stream = Files.walk(projectDir)) {
+            files = stream.filter(Files::isRegularFile)
+                    .filter(file -> isSource(projectDir.relativize(file)))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+        final Map<Path, FileDigest> previousDigests = fileDigests.getOrDefault(projectDir,
+                                                                               Collections.emptyMap());
+        //Only the current files are kept, the deleted ones are dropped
+        final Map<Path, FileDigest> currentDigests = new HashMap<>();
+        for (Path file : files) {
+            final FileDigest fileDigest = getFileDigest(file,
+                                                        previousDigests.get(file));
+            currentDigests.put(file,
+                               fileDigest);
+            update(digest,
+                   projectDir.relativize(file).toString());
+            update(digest,
+                   fileDigest.hash);
+        }
+        fileDigests.put(projectDir,
+                        currentDigests);
+        for (String arg : req.getOriginalArgs()) {
+            if (arg.startsWith(MavenCLIArgs.ALTERNATE_USER_SETTINGS)) {
+                final Path settings = Paths.get(arg.substring(MavenCLIArgs.ALTERNATE_USER_SETTINGS.length()));
+                if (Files.isRegularFile(settings)) {
+                    digest.update(Files.readAllBytes(settings));
+                }
+            }
+        }
+        return toHex(digest.digest());
+    }
+
+    private static FileDigest getFileDigest(final Path file,
+                                            final FileDigest previous) throws IOException {
+        final BasicFileAttributes attributes = Files.readAttributes(file,
+                                                                    BasicFileAttributes.class);
+        final long size = attributes.size();
+        final long lastModified = attributes.lastModifiedTime().toMillis();
+        if (previous != null && previous.size == size && previous.lastModified == lastModified) {
+            return previous;
+        }
+        return new FileDigest(size,
+                              lastModified,
+                              toHex(newDigest().digest(Files.readAllBytes(file))));
+    }
+
+    public Optional<KieCompilationResponse> get(final String key,
+                                                final String contentHash,
+                                                final CompilationRequest req) {
+        final Path file = cacheDir.resolve(key + ENTRY_EXT);
+        if (!Files.isRegularFile(file) || !isPrivate(cacheDir)) {
+            return Optional.empty();
+        }
+        try {
+            final Entry entry = read(file);
+            if (!entry.contentHash.equals(contentHash)) {
+                return Optional.empty();
+            }
+            final DefaultKieCompilationResponseOffProcess res = entry.response;
+            if (!getDependenciesHash(res.getDependencies()).equals(entry.dependenciesHash)) {
+                logger.debug("Dependencies of the cached build {} changed", key);
+                return Optional.empty();
+            }
+            for (String target : res.getTargetContent()) {
+                if (!Files.exists(Paths.get(target))) {
+                    logger.debug("Target content of the cached build {} has been removed", key);
+                    return Optional.empty();
+                }
+            }
+            return Optional.of(new DefaultKieCompilationResponse(res.isSuccessful(),
+                                                                 res.getKieModuleMetaInfo().orElse(null),
+                                                                 res.getKieModule().orElse(null),
+                                                                 res.getProjectClassLoaderStore(),
+                                                                 //No Maven run took place, the output of the cached build would be misleading
+                                                                 Collections.emptyList(),
+                                                                 res.getTargetContent(),
+                                                                 res.getDependencies(),
+                                                                 req.getInfo().getPrjPath(),
+                                                                 res.getEventTypeClasses(),
+                                                                 req.getRequestUUID()));
+        } catch (Exception e) {
+            //Corrupted or written by an incompatible version, the next build replaces it
+            logger.warn("Unable to read the cached build {}: {}", file, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public void put(final String key,
+                    final String contentHash,
+                    final KieCompilationResponse res) {
+        final Path file = cacheDir.resolve(key + ENTRY_EXT);
+        try {
+            final DefaultKieCompilationResponseOffProcess response = new DefaultKieCompilationResponseOffProcess(res);
+            final Entry entry = new Entry(contentHash,
+                                          getDependenciesHash(response.getDependencies()),
+                                          response);
+            final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            try (ObjectOutputStream out = new ObjectOutputStream(bos)) {
+                out.writeObject(entry);
+            }
+            if (!createPrivateDirectory(cacheDir)) {
+                return;
+            }
+            //Readers never see a partially written entry
+            final Path tmp = Files.createTempFile(cacheDir, key, ".tmp");
+            Files.write(tmp, bos.toByteArray());
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (Exception e) {
+            logger.warn("Unable to store the build {} in the compilation cache: {}", key, e.getMessage());
+        }
+    }
+
+    public void remove(final String key) {
+        try {
+            Files.deleteIfExists(cacheDir.resolve(key + ENTRY_EXT));
+        } catch (IOException e) {
+            logger.warn("Unable to remove the build {} from the compilation cache: {}", key, e.getMessage());
+        }
+    }
+
+    private Entry read(final Path file) throws IOException, ClassNotFoundException {
+        try (InputStream in = Files.newInputStream(file);
+             ObjectInputStream ois = new AllowListObjectInputStream(in)) {
+            return (Entry) ois.readObject();
+        }
+    }
+
+    /**
+     * Creates the directory accessible only by its owner, an existing directory is used only if it is private
+     */
+    private static boolean createPrivateDirectory(final Path dir) throws IOException {
+        if (!Files.exists(dir)) {
+            if (Files.getFileStore(Files.createDirectories(dir.getParent())).supportsFileAttributeView(PosixFileAttributeView.class)) {
+                Files.createDirectory(dir,
+                                      PosixFilePermissions.asFileAttribute(OWNER_ONLY));
+            } else {
+                Files.createDirectory(dir);
+            }
+        }
+        return isPrivate(dir);
+    }
+
+    private static boolean isPrivate(final Path dir) {
+        try {
+            final PosixFileAttributeView view = Files.getFileAttributeView(dir,
+                                                                           PosixFileAttributeView.class);
+            if (view == null) {
+                return true;
+            }
+            if (!view.getOwner().getName().equals(System.getProperty("user.name"))) {
+                logger.warn("Compilation cache {} is not owned by the user of the process, it is not used", dir);
+                return false;
+            }
+            if (!OWNER_ONLY.containsAll(view.readAttributes().permissions())) {
+                logger.warn("Compilation cache {} is accessible by other users, it is not used", dir);
+                return false;
+            }
+            return true;
+        } catch (IOException e) {
+            logger.warn("Unable to check the permissions of the compilation cache {}: {}", dir, e.getMessage());
+            return false;
+        }
+    }
+
+    static boolean isAllowedClass(final String className) {
+        String name = className;
+        if (name.startsWith("[")) {
+            name = name.replaceFirst("^\\[+",
+                                     "");
+            //Arrays of primitives
+            if (name.length() == 1) {
+                return true;
+            }
+            name = name.substring(1,
+                                  name.length() - 1);
+        }
+        if (ALLOWED_CLASSES.contains(name)) {
+            return true;
+        }
+        for (String allowedPackage : ALLOWED_PACKAGES) {
+            if (name.startsWith(allowedPackage)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Hash of the location, size and modification time of every dependency jar, a released jar never changes
+     * while a SNAPSHOT can be deployed again
+     */
+    String getDependenciesHash(final List<String> dependencies) {
+        final MessageDigest digest = newDigest();
+        for (String dependency : dependencies) {
+            update(digest,
+                   dependency);
+            try {
+                final Path path = dependency.startsWith("file:") ? Paths.get(URI.create(dependency)) : Paths.get(dependency);
+                if (Files.exists(path)) {
+                    update(digest,
+                           Files.size(path) + ":" + Files.getLastModifiedTime(path).toMillis());
+                } else {
+                    update(digest,
+                           "missing");
+                }
+            } catch (Exception e) {
+                update(digest,
+                       "unresolved");
+            }
+        }
+        return toHex(digest.digest());
+    }
+
+    private static boolean isSource(final Path relativePath) {
+        for (Path segment : relativePath) {
+            final String name = segment.toString();
+            if (name.equals(TARGET_DIR) || name.equals(GIT_DIR)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Path getProjectDir(final CompilationRequest req) {
+        return Paths.get(req.getInfo().getPrjPath().toAbsolutePath().toString());
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void update(final MessageDigest digest,
+                               final String value) {
+        digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static String toHex(final byte[] bytes) {
+        final StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+
+    private static class Entry implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String contentHash;
+        private final String dependenciesHash;
+        private final DefaultKieCompilationResponseOffProcess response;
+
+        private Entry(final String contentHash,
+                      final String dependenciesHash,
+                      final DefaultKieCompilationResponseOffProcess response) {
+            this.contentHash = contentHash;
+            this.dependenciesHash = dependenciesHash;
+            this.response = response;
+        }
+    }
+
+    private static class FileDigest {
+
+        private final long size;
+        private final long lastModified;
+        private final String hash;
+
+        private FileDigest(final long size,
+                           final long lastModified,
+                           final String hash) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.hash = hash;
+        }
+    }
+
+    /**
+     * Refuses the classes that are not part of a compilation response, proxies included
+     */
+    private static class AllowListObjectInputStream extends ObjectInputStream {
+
+        private AllowListObjectInputStream(final InputStream in) throws IOException {
+            super(in);
+        }
+
+        @Override
+        protected Class<?> resolveClass(final ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            if (!isAllowedClass(desc.getName())) {
+                throw new InvalidClassException(desc.getName(),
+                                                "Not allowed in a compilation cache entry");
+            }
+            return super.resolveClass(desc);
+        }
+
+        @Override
+        protected Class<?> resolveProxyClass(final String[] interfaces) throws IOException {
+            throw new InvalidClassException(String.join(",",
+                                                        interfaces),
+                                            "Not allowed in a compilation cache entry");
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.compiler.impl.decorators;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.kie.workbench.common.services.backend.compiler.AFCompiler;
+import org.kie.workbench.common.services.backend.compiler.CompilationRequest;
+import org.kie.workbench.common.services.backend.compiler.CompilationResponse;
+import org.kie.workbench.common.services.backend.compiler.impl.DefaultKieCompilationResponse;
+import org.kie.workbench.common.services.backend.compiler.impl.cache.PersistentCompilationCache;
+import org.kie.workbench.common.services.backend.compiler.impl.kie.KieCompilationResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.uberfire.java.nio.file.Path;
+
+/***
+ * Before decorator that serves a build from the {@link PersistentCompilationCache} when the project content, settings
+ * and dependencies did not change since the last successful build, and stores the successful builds of the
+ * decorated compiler. Builds with overridden resources are not cached. Only the entries of the last
+ * {@link #MAX_TRACKED_BUILDS} builds of the compiler are kept, the older ones are removed from the cache.
+ */
+public class PersistentCacheDecorator<T extends CompilationResponse, C extends AFCompiler<T>> implements CompilerDecorator<T> {
+
+    static final int MAX_TRACKED_BUILDS = 100;
+
+    private static final Logger logger = LoggerFactory.getLogger(PersistentCacheDecorator.class);
+
+    private final C compiler;
+    private final PersistentCompilationCache cache;
+    private final String compilerConfiguration;
+    //Keys of the cached builds of the compiler, removed from the cache when they are no longer tracked
+    private final Map<String, Boolean> keys = Collections.synchronizedMap(new LinkedHashMap<String, Boolean>(16,
+                                                                                                              0.75f,
+                                                                                                              true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, Boolean> eldest) {
+            if (size() > MAX_TRACKED_BUILDS) {
+                cache.remove(eldest.getKey());
+                return true;
+            }
+            return false;
+        }
+    });
+
+    /**
+     * @param compilerConfiguration Identifies the decorators of the compiler, builds of differently decorated
+     * compilers do not share cached entries
+     */
+    public PersistentCacheDecorator(final C compiler,
+                                    final PersistentCompilationCache cache,
+                                    final String compilerConfiguration) {
+        this.compiler = compiler;
+        this.cache = cache;
+        this.compilerConfiguration = compilerConfiguration;
+    }
+
+    //for test
+    public C getCompiler() {
+        return compiler;
+    }
+
+    @Override
+    public Boolean cleanInternalCache() {
+        synchronized (keys) {
+            keys.keySet().forEach(cache::remove);
+            keys.clear();
+        }
+        return compiler.cleanInternalCache();
+    }
+
+    @Override
+    public T compile(final CompilationRequest req) {
+        final String key = cache.getKey(req,
+                                        compilerConfiguration);
+        keys.put(key,
+                 Boolean.TRUE);
+        final String contentHash;
+        try {
+            contentHash = cache.getContentHash(req);
+        } catch (IOException e) {
+            logger.warn("Unable to hash the content of {}, building without cache: {}", req.getInfo().getPrjPath(), e.getMessage());
+            return compiler.compile(req);
+        }
+
+        final Optional<KieCompilationResponse> cached = cache.get(key,
+                                                                  contentHash,
+                                                                  req);
+        if (cached.isPresent()) {
+            logger.debug("Build of {} served from the compilation cache", req.getInfo().getPrjPath());
+            return (T) cached.get();
+        }
+
+        final T res = compiler.compile(req);
+        if (res.isSuccessful() && res instanceof DefaultKieCompilationResponse) {
+            cache.put(key,
+                      contentHash,
+                      (KieCompilationResponse) res);
+        }
+        return res;
+    }
+
+    @Override
+    public T compile(final CompilationRequest req,
+                     final Map<Path, InputStream> override) {
+        //The overridden resources end up in the target folders, the next build must not trust them
+        final String key = cache.getKey(req,
+                                        compilerConfiguration);
+        cache.remove(key);
+        return compiler.compile(req,
+                                override);
+    }
+}
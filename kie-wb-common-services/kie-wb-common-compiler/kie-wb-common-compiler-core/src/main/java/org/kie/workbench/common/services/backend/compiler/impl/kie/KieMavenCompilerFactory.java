@@ -16,15 +16,18 @@
 package org.kie.workbench.common.services.backend.compiler.impl.kie;
 
 import java.util.Set;
+import java.util.TreeSet;
 
 import org.kie.workbench.common.services.backend.compiler.AFCompiler;
 import org.kie.workbench.common.services.backend.compiler.CompilationResponse;
 import org.kie.workbench.common.services.backend.compiler.configuration.KieDecorator;
 import org.kie.workbench.common.services.backend.compiler.impl.BaseMavenCompiler;
+import org.kie.workbench.common.services.backend.compiler.impl.cache.PersistentCompilationCache;
 import org.kie.workbench.common.services.backend.compiler.impl.decorators.ClasspathDepsAfterDecorator;
 import org.kie.workbench.common.services.backend.compiler.impl.decorators.JGITCompilerBeforeDecorator;
 import org.kie.workbench.common.services.backend.compiler.impl.decorators.KieAfterDecorator;
 import org.kie.workbench.common.services.backend.compiler.impl.decorators.OutputLogAfterDecorator;
+import org.kie.workbench.common.services.backend.compiler.impl.decorators.PersistentCacheDecorator;
 
 /***
  * Factory to create compilers with correct order of decorators to build Kie Projects
@@ -32,6 +35,9 @@ import org.kie.workbench.common.services.backend.compiler.impl.decorators.Output
  */
 public class KieMavenCompilerFactory {
 
+    //Shared by the compilers, it keeps the digests of the files of the projects built
+    private static final PersistentCompilationCache PERSISTENT_CACHE = new PersistentCompilationCache();
+
     private KieMavenCompilerFactory() {
     }
 
@@ -58,6 +64,11 @@ public class KieMavenCompilerFactory {
         }
         if (decorators.contains(KieDecorator.STORE_KIE_OBJECTS)) {
             compiler = new KieAfterDecorator(compiler);
+            if (decorators.contains(KieDecorator.ENABLE_PERSISTENT_CACHE)) {
+                compiler = new PersistentCacheDecorator(compiler,
+                                                        PERSISTENT_CACHE,
+                                                        new TreeSet<>(decorators).toString());
+            }
         }
         if (decorators.contains(KieDecorator.UPDATE_JGIT_BEFORE_BUILD)) {
             compiler = new JGITCompilerBeforeDecorator(compiler);
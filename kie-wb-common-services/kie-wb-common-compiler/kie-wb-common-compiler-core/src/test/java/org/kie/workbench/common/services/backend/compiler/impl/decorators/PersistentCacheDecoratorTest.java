@@ -0,0 +1,270 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.compiler.impl.decorators;
+
+import java.io.File;
+import java.io.InputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.workbench.common.services.backend.compiler.AFCompiler;
+import org.kie.workbench.common.services.backend.compiler.CompilationRequest;
+import org.kie.workbench.common.services.backend.compiler.configuration.MavenCLIArgs;
+import org.kie.workbench.common.services.backend.compiler.impl.DefaultCompilationRequest;
+import org.kie.workbench.common.services.backend.compiler.impl.DefaultKieCompilationResponse;
+import org.kie.workbench.common.services.backend.compiler.impl.WorkspaceCompilationInfo;
+import org.kie.workbench.common.services.backend.compiler.impl.cache.PersistentCompilationCache;
+import org.kie.workbench.common.services.backend.compiler.impl.kie.KieCompilationResponse;
+import org.uberfire.java.nio.file.Path;
+import org.uberfire.java.nio.file.Paths;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+public class PersistentCacheDecoratorTest {
+
+    private java.nio.file.Path tmpRoot;
+    private java.nio.file.Path project;
+    private java.nio.file.Path compiledClass;
+    private PersistentCompilationCache cache;
+    private CountingCompiler compiler;
+
+    @Before
+    public void setUp() throws Exception {
+        tmpRoot = Files.createTempDirectory("persistent-cache");
+        project = Files.createDirectories(tmpRoot.resolve("project"));
+        Files.write(project.resolve("pom.xml"), "<project/>".getBytes(StandardCharsets.UTF_8));
+        Files.createDirectories(project.resolve("src/main/java/dummy"));
+        Files.write(project.resolve("src/main/java/dummy/Dummy.java"), "package dummy; public class Dummy {}".getBytes(StandardCharsets.UTF_8));
+        compiledClass = Files.createDirectories(project.resolve("target/classes/dummy")).resolve("Dummy.class");
+        Files.write(compiledClass, new byte[]{1, 2, 3});
+
+        cache = new PersistentCompilationCache(tmpRoot.resolve("cache"));
+        compiler = new CountingCompiler();
+    }
+
+    @After
+    public void tearDown() {
+        FileUtils.deleteQuietly(tmpRoot.toFile());
+    }
+
+    @Test
+    public void unchangedProjectIsServedFromCacheTest() {
+        final PersistentCacheDecorator<KieCompilationResponse, CountingCompiler> decorator = newDecorator();
+
+        final KieCompilationResponse first = decorator.compile(newRequest());
+        final CompilationRequest secondRequest = newRequest();
+        final KieCompilationResponse second = decorator.compile(secondRequest);
+
+        assertThat(compiler.builds.get()).isEqualTo(1);
+        assertThat(second.isSuccessful()).isTrue();
+        assertThat(second.getTargetContent()).isEqualTo(first.getTargetContent());
+        assertThat(first.getMavenOutput()).containsExactly("BUILD SUCCESS");
+        assertThat(second.getMavenOutput()).isEmpty();
+        assertThat(((DefaultKieCompilationResponse) second).getRequestUUID()).isEqualTo(secondRequest.getRequestUUID());
+    }
+
+    @Test
+    public void cacheSurvivesANewCompilerTest() {
+        newDecorator().compile(newRequest());
+
+        final KieCompilationResponse res = newDecorator().compile(newRequest());
+
+        assertThat(compiler.builds.get()).isEqualTo(1);
+        assertThat(res.isSuccessful()).isTrue();
+    }
+
+    @Test
+    public void changedSourceIsBuiltTest() throws Exception {
+        final PersistentCacheDecorator<KieCompilationResponse, CountingCompiler> decorator = newDecorator();
+        decorator.compile(newRequest());
+
+        Files.write(project.resolve("src/main/java/dummy/Dummy.java"), "package dummy; public class Dummy { int i; }".getBytes(StandardCharsets.UTF_8));
+        decorator.compile(newRequest());
+
+        assertThat(compiler.builds.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void removedTargetContentIsBuiltTest() throws Exception {
+        final PersistentCacheDecorator<KieCompilationResponse, CountingCompiler> decorator = newDecorator();
+        decorator.compile(newRequest());
+
+        Files.delete(compiledClass);
+        decorator.compile(newRequest());
+
+        assertThat(compiler.builds.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void differentCompilerConfigurationIsBuiltTest() {
+        newDecorator().compile(newRequest());
+
+        new PersistentCacheDecorator<>(compiler, cache, "[ENABLE_LOGGING, STORE_KIE_OBJECTS]").compile(newRequest());
+
+        assertThat(compiler.builds.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void failedBuildIsNotCachedTest() {
+        compiler.successful = false;
+        final PersistentCacheDecorator<KieCompilationResponse, CountingCompiler> decorator = newDecorator();
+        decorator.compile(newRequest());
+        decorator.compile(newRequest());
+
+        assertThat(compiler.builds.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void cleanInternalCacheRemovesEntriesTest() {
+        final PersistentCacheDecorator<KieCompilationResponse, CountingCompiler> decorator = newDecorator();
+        decorator.compile(newRequest());
+
+        decorator.cleanInternalCache();
+        decorator.compile(newRequest());
+
+        assertThat(compiler.builds.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void entriesOfTheOldestBuildsAreRemovedTest() throws Exception {
+        final PersistentCacheDecorator<KieCompilationResponse, CountingCompiler> decorator = newDecorator();
+        decorator.compile(newRequest("m2-oldest"));
+        for (int i = 0; i < PersistentCacheDecorator.MAX_TRACKED_BUILDS; i++) {
+            decorator.compile(newRequest("m2-" + i));
+        }
+
+        try (Stream<java.nio.file.Path> entries = Files.list(cache.getCacheDir())) {
+            assertThat(entries.count()).isEqualTo(PersistentCacheDecorator.MAX_TRACKED_BUILDS);
+        }
+        decorator.compile(newRequest("m2-oldest"));
+
+        assertThat(compiler.builds.get()).isEqualTo(PersistentCacheDecorator.MAX_TRACKED_BUILDS + 2);
+    }
+
+    @Test
+    public void deletedSourceIsBuiltTest() throws Exception {
+        final PersistentCacheDecorator<KieCompilationResponse, CountingCompiler> decorator = newDecorator();
+        decorator.compile(newRequest());
+
+        Files.delete(project.resolve("src/main/java/dummy/Dummy.java"));
+        decorator.compile(newRequest());
+
+        assertThat(compiler.builds.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void cacheDirIsAccessibleOnlyByTheOwnerTest() throws Exception {
+        assumeTrue(isPosix());
+        newDecorator().compile(newRequest());
+
+        assertThat(Files.getPosixFilePermissions(cache.getCacheDir())).isEqualTo(PosixFilePermissions.fromString("rwx------"));
+    }
+
+    @Test
+    public void cacheDirAccessibleByOtherUsersIsNotUsedTest() throws Exception {
+        assumeTrue(isPosix());
+        final PersistentCacheDecorator<KieCompilationResponse, CountingCompiler> decorator = newDecorator();
+        decorator.compile(newRequest());
+
+        Files.setPosixFilePermissions(cache.getCacheDir(),
+                                      PosixFilePermissions.fromString("rwxrwxrwx"));
+        decorator.compile(newRequest());
+
+        assertThat(compiler.builds.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void entryWithNotAllowedClassesIsNotReadTest() throws Exception {
+        final PersistentCacheDecorator<KieCompilationResponse, CountingCompiler> decorator = newDecorator();
+        final CompilationRequest req = newRequest();
+        decorator.compile(req);
+
+        final java.nio.file.Path entry = cache.getCacheDir().resolve(cache.getKey(req,
+                                                                                  "[STORE_KIE_OBJECTS]") + ".kcr");
+        try (ObjectOutputStream out = new ObjectOutputStream(Files.newOutputStream(entry))) {
+            out.writeObject(new File(project.toString()));
+        }
+        final KieCompilationResponse res = decorator.compile(newRequest());
+
+        assertThat(compiler.builds.get()).isEqualTo(2);
+        assertThat(res.getMavenOutput()).containsExactly("BUILD SUCCESS");
+    }
+
+    private boolean isPosix() {
+        return FileSystems.getDefault().supportedFileAttributeViews().contains("posix");
+    }
+
+    private PersistentCacheDecorator<KieCompilationResponse, CountingCompiler> newDecorator() {
+        return new PersistentCacheDecorator<>(compiler, cache, "[STORE_KIE_OBJECTS]");
+    }
+
+    private CompilationRequest newRequest() {
+        return newRequest("m2");
+    }
+
+    private CompilationRequest newRequest(final String mavenRepo) {
+        return new DefaultCompilationRequest(tmpRoot.resolve(mavenRepo).toString(),
+                                             new WorkspaceCompilationInfo(Paths.get(project.toUri())),
+                                             new String[]{MavenCLIArgs.COMPILE},
+                                             Boolean.FALSE);
+    }
+
+    private class CountingCompiler implements AFCompiler<KieCompilationResponse> {
+
+        private final AtomicInteger builds = new AtomicInteger();
+        private boolean successful = true;
+
+        @Override
+        public KieCompilationResponse compile(final CompilationRequest req) {
+            builds.incrementAndGet();
+            if (!successful) {
+                return new DefaultKieCompilationResponse(Boolean.FALSE,
+                                                         Collections.singletonList("BUILD FAILURE"),
+                                                         req.getInfo().getPrjPath(),
+                                                         req.getRequestUUID());
+            }
+            return new DefaultKieCompilationResponse(Boolean.TRUE,
+                                                     Collections.singletonList("BUILD SUCCESS"),
+                                                     Collections.singletonList(compiledClass.toString()),
+                                                     Collections.emptyList(),
+                                                     req.getInfo().getPrjPath(),
+                                                     req.getRequestUUID());
+        }
+
+        @Override
+        public KieCompilationResponse compile(final CompilationRequest req,
+                                              final Map<Path, InputStream> override) {
+            return compile(req);
+        }
+
+        @Override
+        public Boolean cleanInternalCache() {
+            return Boolean.TRUE;
+        }
+    }
+}
@@ -26,6 +26,7 @@ import org.kie.workbench.common.services.backend.compiler.impl.decorators.Classp
 import org.kie.workbench.common.services.backend.compiler.impl.decorators.JGITCompilerBeforeDecorator;
 import org.kie.workbench.common.services.backend.compiler.impl.decorators.KieAfterDecorator;
 import org.kie.workbench.common.services.backend.compiler.impl.decorators.OutputLogAfterDecorator;
+import org.kie.workbench.common.services.backend.compiler.impl.decorators.PersistentCacheDecorator;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -138,4 +139,20 @@ public class KieMavenCompilerFactoryTest {
         AFCompiler baseMavenCompiler = ((ClasspathDepsAfterDecorator) classpathAfter).getCompiler();
         assertThat(baseMavenCompiler).isInstanceOf(BaseMavenCompiler.class);
     }
+
+    @Test
+    public void persistentCacheBeforeKieAfterDecoratorTest() {
+        AFCompiler jgitBefore = KieMavenCompilerFactory.getCompiler(EnumSet.of(KieDecorator.UPDATE_JGIT_BEFORE_BUILD, KieDecorator.STORE_KIE_OBJECTS, KieDecorator.ENABLE_PERSISTENT_CACHE));
+        assertThat(jgitBefore).isInstanceOf(JGITCompilerBeforeDecorator.class);
+        AFCompiler persistentCache = ((JGITCompilerBeforeDecorator) jgitBefore).getCompiler();
+        assertThat(persistentCache).isInstanceOf(PersistentCacheDecorator.class);
+        AFCompiler kieAfterDecorator = ((PersistentCacheDecorator) persistentCache).getCompiler();
+        assertThat(kieAfterDecorator).isInstanceOf(KieAfterDecorator.class);
+    }
+
+    @Test
+    public void persistentCacheRequiresKieObjectsTest() {
+        AFCompiler compiler = KieMavenCompilerFactory.getCompiler(EnumSet.of(KieDecorator.ENABLE_PERSISTENT_CACHE));
+        assertThat(compiler).isInstanceOf(BaseMavenCompiler.class);
+    }
 }
@@ -15,6 +15,8 @@
  */
 package org.kie.workbench.common.services.backend.compiler.offprocess;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.kie.workbench.common.services.backend.compiler.impl.kie.KieCompilationResponse;
 
 /***
@@ -29,4 +31,16 @@ public interface ClientIPC {
      */
     KieCompilationResponse getResponse(String uuid);
 
+    /***
+     * Non blocking method to retrieve a KieCompilationResponse from an external process still running the build,
+     * the future is completed as soon as the response is available on the queue
+     * @param uuid
+     * @return
+     */
+    CompletableFuture<KieCompilationResponse> getResponseAsync(String uuid);
+
+    /***
+     * Stops reading the queue, the requests still waiting for a response are cancelled
+     */
+    void close();
 }
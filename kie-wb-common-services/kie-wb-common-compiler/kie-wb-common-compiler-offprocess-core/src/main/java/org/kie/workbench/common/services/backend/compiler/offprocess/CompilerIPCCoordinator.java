@@ -25,4 +25,8 @@ public interface CompilerIPCCoordinator<T extends CompilationResponse> {
      */
     T compile(final CompilationRequest req);
 
+    /**
+     * Releases the client reading the responses and the compiler processes, if pooled
+     */
+    void close();
 }
@@ -18,10 +18,16 @@ package org.kie.workbench.common.services.backend.compiler.offprocess.impl;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import net.openhft.chronicle.bytes.Bytes;
 import net.openhft.chronicle.queue.ExcerptTailer;
-import net.openhft.chronicle.queue.TailerDirection;
 import net.openhft.chronicle.wire.DocumentContext;
 import net.openhft.chronicle.wire.Wire;
 import org.kie.workbench.common.services.backend.compiler.impl.DefaultKieCompilationResponse;
@@ -32,99 +38,185 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /***
- * Client to access the result of the build executed in a separated process
+ * Client to access the result of the build executed in a separated process.
+ * A single background tailer reads every document appended to the queue once: it completes the future of the
+ * request waiting for it, or records the excerpt index by UUID so a later lookup is a direct read of that excerpt.
+ * All the tailers are used only by the background thread.
+ * The indexes of the responses never requested are dropped once the queue rolled twice past their cycle, the indexes
+ * of the previous cycle are kept because their responses could have been written just before the roll.
  */
-
 public class ClientIPCImpl implements ClientIPC {
 
-    private ResponseSharedMap map;
+    private static final long POLL_INTERVAL_MILLIS = 50;
+
     private QueueProvider provider;
     private Logger logger = LoggerFactory.getLogger(ClientIPCImpl.class);
+    private Map<String, CompletableFuture<KieCompilationResponse>> pendingResponses = new ConcurrentHashMap<>();
+    private Map<String, Long> excerptIndexes = new ConcurrentHashMap<>();
+    private ScheduledExecutorService tailerExecutor;
+    private ExcerptTailer tailer;
+    private ExcerptTailer lookupTailer;
+    private int lastReadCycle = Integer.MIN_VALUE;
 
-    public ClientIPCImpl(ResponseSharedMap map, QueueProvider provider) {
-        this.map = map;
+    public ClientIPCImpl(QueueProvider provider) {
         this.provider = provider;
+        this.tailerExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "offprocess-response-tailer-" + provider.getQueueName());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.tailerExecutor.execute(this::initTailers);
+        this.tailerExecutor.scheduleWithFixedDelay(this::readNewDocuments, POLL_INTERVAL_MILLIS, POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
     }
 
+    @Override
     public KieCompilationResponse getResponse(String uuid) {
-        if(isLoaded(uuid)) {
-            return (KieCompilationResponse)map.getResponse(uuid);
-        }else {
+        CompletableFuture<KieCompilationResponse> future = pendingResponses.computeIfAbsent(uuid, key -> new CompletableFuture<>());
+        try {
+            //the build process is already completed, so its response is on the queue if it has been written
+            tailerExecutor.submit(() -> lookup(uuid)).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.error(e.getMessage(), e);
+        } catch (ExecutionException e) {
+            logger.error(e.getMessage(), e);
+        } finally {
+            pendingResponses.remove(uuid);
+        }
+        if (future.isDone() && !future.isCompletedExceptionally()) {
+            return future.join();
+        } else {
             return new DefaultKieCompilationResponse(false, "");
         }
     }
 
-    private boolean isLoaded(String uuid) {
-        ExcerptTailer tailer = provider.getQueue().createTailer();
-        DefaultKieCompilationResponseOffProcess res = readThisDocument(tailer);
-        DefaultKieCompilationResponse kres = new DefaultKieCompilationResponse(res);
-        if (uuid.equals(kres.getRequestUUID())) {
-            if (!map.contains(kres.getRequestUUID())) {
-                map.addResponse(uuid, kres);
-                return true;
+    @Override
+    public CompletableFuture<KieCompilationResponse> getResponseAsync(String uuid) {
+        CompletableFuture<KieCompilationResponse> future = pendingResponses.computeIfAbsent(uuid, key -> new CompletableFuture<>());
+        future.whenComplete((res, error) -> pendingResponses.remove(uuid, future));
+        //the response could have been read before this request
+        tailerExecutor.execute(() -> lookup(uuid));
+        return future;
+    }
+
+    @Override
+    public void close() {
+        tailerExecutor.shutdownNow();
+        pendingResponses.values().forEach(future -> future.cancel(false));
+        pendingResponses.clear();
+        excerptIndexes.clear();
+    }
+
+    private void initTailers() {
+        tailer = provider.getQueue().createTailer();
+        //documents already on the queue belong to builds requested before this client existed
+        tailer.toEnd();
+        lookupTailer = provider.getQueue().createTailer();
+    }
+
+    private void lookup(String uuid) {
+        readNewDocuments();
+        Long index = excerptIndexes.remove(uuid);
+        CompletableFuture<KieCompilationResponse> future = pendingResponses.get(uuid);
+        if (index == null || future == null || future.isDone()) {
+            return;
+        }
+        if (lookupTailer.moveToIndex(index)) {
+            DefaultKieCompilationResponseOffProcess res = readThisDocument(lookupTailer);
+            if (uuid.equals(res.getRequestUUID())) {
+                future.complete(new DefaultKieCompilationResponse(res));
             }
-        } else {
-            //we loop in the queue to find our Response by UUID, from the tail of the queue backward
-            tailer.toEnd();
-            tailer.direction(TailerDirection.BACKWARD);
-            res = loopOverQueue(tailer,uuid, 0l);
+        } else if (logger.isDebugEnabled()) {
+            logger.debug("excerpt index:{} of uuid:{} is no longer on the queue", index, uuid);
         }
+    }
 
-        kres = new DefaultKieCompilationResponse(res);
-        if (!map.contains(kres.getRequestUUID())) {
-            map.addResponse(uuid, new DefaultKieCompilationResponse(res));
-            return true;
-        } else {
-            return false;
+    private void readNewDocuments() {
+        if (tailer == null) {
+            return;
+        }
+        try {
+            while (readNextDocument()) {
+                // keep reading until the end of the queue
+            }
+            purgeIndexesOfPastCycles();
+        } catch (Exception e) {
+            logger.error(e.getMessage(), e);
         }
     }
 
-
-    private DefaultKieCompilationResponseOffProcess loopOverQueue(ExcerptTailer tailer, String uuid, long previousIndex) {
-        long currentIndex = tailer.index();
-        if(logger.isDebugEnabled()) {
-            logger.debug("current index on loopOverQueue:{}", currentIndex);
-        }
-        DefaultKieCompilationResponseOffProcess  res = readThisDocument(tailer);
-        if(uuid.equals(res.getRequestUUID())){
-            return res;
-        }else{
-            if(currentIndex == previousIndex){
-                // No more elements in the queue
-                return new DefaultKieCompilationResponseOffProcess(false, "");
+    private boolean readNextDocument() {
+        try (DocumentContext dc = tailer.readingDocument()) {
+            if (!dc.isPresent()) {
+                return false;
+            }
+            long index = dc.index();
+            if (logger.isDebugEnabled()) {
+                logger.debug("Document Context index:{}", index);
+            }
+            DefaultKieCompilationResponseOffProcess res = deserialize(dc.wire());
+            if (res == null || res.getRequestUUID() == null) {
+                return true;
             }
-            return loopOverQueue(tailer, uuid, currentIndex);
+            CompletableFuture<KieCompilationResponse> future = pendingResponses.get(res.getRequestUUID());
+            if (future != null) {
+                future.complete(new DefaultKieCompilationResponse(res));
+            } else {
+                excerptIndexes.put(res.getRequestUUID(), index);
+            }
+            return true;
+        }
+    }
+
+    private void purgeIndexesOfPastCycles() {
+        int currentCycle = tailer.cycle();
+        if (currentCycle == lastReadCycle) {
+            return;
         }
+        lastReadCycle = currentCycle;
+        purgeIndexesOfPastCycles(currentCycle);
+    }
+
+    void purgeIndexesOfPastCycles(int currentCycle) {
+        // the files of the cycles before the previous one are deleted by the QueueProvider once released by the tailers
+        excerptIndexes.values().removeIf(index -> provider.getRollCycle().toCycle(index) < currentCycle - 1);
+    }
+
+    int getIndexedResponses() {
+        return excerptIndexes.size();
     }
 
     private DefaultKieCompilationResponseOffProcess readThisDocument(ExcerptTailer tailer) {
-        if(logger.isDebugEnabled()) {
+        if (logger.isDebugEnabled()) {
             logger.debug("current index on readThisDocument:{}", tailer.index());
         }
         DefaultKieCompilationResponseOffProcess res = null;
         try (DocumentContext dc = tailer.readingDocument()) {
             if (dc.isPresent()) {
-                if(logger.isDebugEnabled()) {
+                if (logger.isDebugEnabled()) {
                     logger.debug("Document Context index:{}", dc.index());
                 }
-                Wire wire = dc.wire();
-                Bytes bytes = wire.bytes();
-                if (!bytes.isEmpty()) {
-                    try {
-                        Object obj = deserialize(bytes.toByteArray());
-                        res = (DefaultKieCompilationResponseOffProcess) obj;
-                    } catch (Exception e) {
-                        logger.error(e.getMessage(), e);
-                    }
-                }
+                res = deserialize(dc.wire());
             }
         }
-        if(res == null){
+        if (res == null) {
             res = new DefaultKieCompilationResponseOffProcess(false, "");
         }
         return res;
     }
 
+    private DefaultKieCompilationResponseOffProcess deserialize(Wire wire) {
+        Bytes bytes = wire.bytes();
+        if (!bytes.isEmpty()) {
+            try {
+                return (DefaultKieCompilationResponseOffProcess) deserialize(bytes.toByteArray());
+            } catch (Exception e) {
+                logger.error(e.getMessage(), e);
+            }
+        }
+        return null;
+    }
+
     private static Object deserialize(byte[] bytes) throws IOException, ClassNotFoundException {
         try (ByteArrayInputStream b = new ByteArrayInputStream(bytes)) {
             try (ObjectInputStream o = new ObjectInputStream(b)) {
@@ -20,7 +20,13 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.apache.commons.io.IOUtils;
 import org.guvnor.common.services.project.backend.server.utils.configuration.ConfigurationKey;
@@ -36,7 +42,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Coordinator of the build executed in a separate process and the cleint to read the result
+ * Coordinator of the build executed in a separate process and the cleint to read the result.
+ * By default every build forks a new process, when the pool size is set the builds are sent
+ * to a pool of long lived compiler processes instead.
  */
 public class CompilerIPCCoordinatorImpl implements CompilerIPCCoordinator {
 
@@ -44,21 +52,31 @@ public class CompilerIPCCoordinatorImpl implements CompilerIPCCoordinator {
     private static final String placeholder = "<maven_repo>";
     private static final String mavenModuleName = "kie-wb-common-compiler-offprocess-core";
     private static final String classpathFile = "offprocess.classpath.template";
+    public static final String POOL_SIZE = "org.kie.workbench.compiler.offprocess.pool.size";
+    public static final String POOL_WORKER_MAX_BUILDS = "org.kie.workbench.compiler.offprocess.pool.worker.maxBuilds";
+    public static final String POOL_WORKER_MAX_HEAP_PERCENTAGE = "org.kie.workbench.compiler.offprocess.pool.worker.maxHeapPercentage";
+    public static final String POOL_WORKER_IDLE_TIMEOUT = "org.kie.workbench.compiler.offprocess.pool.worker.idleTimeoutMillis";
+    public static final String POOL_BUILD_TIMEOUT = "org.kie.workbench.compiler.offprocess.pool.buildTimeoutMillis";
+    private static final long WORKER_CHECK_INTERVAL_SECONDS = 1;
     private String javaHome;
     private String javaBin;
     private String classpathTemplate;
-    private ResponseSharedMap responseMap;
     private ClientIPC clientIPC;
     private QueueProvider provider;
     private String queueName;
     private String kieVersion;
+    private CompilerWorkerPool workerPool;
+    private long buildTimeoutMillis;
 
     public CompilerIPCCoordinatorImpl(QueueProvider provider) {
+        this(provider, null);
+    }
+
+    CompilerIPCCoordinatorImpl(QueueProvider provider, CompilerWorkerPool.WorkerLauncher workerLauncher) {
         this.kieVersion = getKieVersion();
         this.queueName = provider.getAbsolutePath();
         this.provider = provider;
-        responseMap = new ResponseSharedMap();
-        clientIPC = new ClientIPCImpl(responseMap, provider);
+        clientIPC = new ClientIPCImpl(provider);
         javaHome = System.getProperty("java.home");
         javaBin = javaHome + File.separator + "bin" + File.separator + "java";
         try {
@@ -66,6 +84,14 @@ public class CompilerIPCCoordinatorImpl implements CompilerIPCCoordinator {
         } catch (IOException e) {
             logger.error(e.getMessage(), e);
         }
+        int poolSize = Integer.parseInt(System.getProperty(POOL_SIZE, "0"));
+        if (poolSize > 0) {
+            workerPool = new CompilerWorkerPool(poolSize,
+                                                Integer.parseInt(System.getProperty(POOL_WORKER_MAX_BUILDS, "50")),
+                                                queueName,
+                                                workerLauncher != null ? workerLauncher : this::launchWorker);
+            buildTimeoutMillis = Long.parseLong(System.getProperty(POOL_BUILD_TIMEOUT, "1800000"));
+        }
     }
 
     @Override
@@ -75,6 +101,13 @@ public class CompilerIPCCoordinatorImpl implements CompilerIPCCoordinator {
                              getAlternateSettings(req.getOriginalArgs()),  req.getRequestUUID());
     }
 
+    @Override
+    public void close() {
+        clientIPC.close();
+        if (workerPool != null) {
+            workerPool.shutdown();
+        }
+    }
 
     private String getKieVersion(){
         ConfigurationPropertiesStrategy prop = new ConfigurationPropertiesStrategy();
@@ -93,6 +126,9 @@ public class CompilerIPCCoordinatorImpl implements CompilerIPCCoordinator {
     }
 
     private CompilationResponse internalBuild(String mavenRepo, String projectPath, String alternateSettingsAbsPath, String uuid) {
+        if (workerPool != null) {
+            return pooledBuild(mavenRepo, projectPath, alternateSettingsAbsPath, uuid);
+        }
         String classpath = classpathTemplate.replace(placeholder, mavenRepo);
         try {
             invokeServerBuild(mavenRepo, projectPath, uuid, classpath, alternateSettingsAbsPath, queueName);
@@ -106,6 +142,68 @@ public class CompilerIPCCoordinatorImpl implements CompilerIPCCoordinator {
         }
     }
 
+    private CompilationResponse pooledBuild(String mavenRepo, String projectPath, String alternateSettingsAbsPath, String uuid) {
+        CompletableFuture<KieCompilationResponse> response = clientIPC.getResponseAsync(uuid);
+        CompilerWorker worker = null;
+        try {
+            worker = workerPool.acquire(mavenRepo, projectPath);
+            worker.submit(uuid, projectPath, alternateSettingsAbsPath);
+            long deadline = System.currentTimeMillis() + buildTimeoutMillis;
+            while (true) {
+                try {
+                    return response.get(WORKER_CHECK_INTERVAL_SECONDS, TimeUnit.SECONDS);
+                } catch (TimeoutException e) {
+                    if (!worker.isAlive()) {
+                        // the response, if any, has been written before the worker exited
+                        return getCompilationResponse(uuid);
+                    }
+                    if (System.currentTimeMillis() > deadline) {
+                        // the worker is stuck on this build, it is replaced by the pool on the next acquire
+                        logger.error("No response of the compiler worker within {} ms for the build:{}", buildTimeoutMillis, uuid);
+                        worker.kill();
+                        break;
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.error(e.getMessage(), e);
+        } catch (Exception e) {
+            logger.error(e.getMessage(), e);
+        } finally {
+            response.cancel(false);
+            if (worker != null) {
+                workerPool.release(worker);
+            }
+        }
+        return new DefaultKieCompilationResponse(false, "");
+    }
+
+    private Process launchWorker(String mavenRepo, String requestQueuePath) throws IOException {
+        String classpath = classpathTemplate.replace(placeholder, mavenRepo);
+        ProcessBuilder workerPb = new ProcessBuilder(getJavaCommand(mavenRepo,
+                                                                    classpath,
+                                                                    ServerWorkerIPCImpl.class,
+                                                                    requestQueuePath,
+                                                                    queueName,
+                                                                    System.getProperty(POOL_WORKER_MAX_HEAP_PERCENTAGE, "75"),
+                                                                    System.getProperty(POOL_WORKER_IDLE_TIMEOUT, "600000")));
+        workerPb.redirectErrorStream(true);
+        workerPb.inheritIO();
+        return workerPb.start();
+    }
+
+    private String[] getJavaCommand(String mavenRepo, String classpath, Class<?> mainClass, String... args) {
+        List<String> command = new ArrayList<>(Arrays.asList(javaBin,
+                                                             "-cp",
+                                                             getClasspathIncludedCurrentModuleDep(mavenRepo, classpath),
+                                                             "-Dorg.uberfire.nio.git.daemon.enabled=false",
+                                                             "-Dorg.uberfire.nio.ssh.daemon.enabled=false",
+                                                             mainClass.getCanonicalName()));
+        command.addAll(Arrays.asList(args));
+        return command.toArray(new String[0]);
+    }
+
     private CompilationResponse getCompilationResponse(String uuid) {
         KieCompilationResponse res = clientIPC.getResponse(uuid);
         if (res != null) {
@@ -116,20 +214,14 @@ public class CompilerIPCCoordinatorImpl implements CompilerIPCCoordinator {
     }
 
     private void invokeServerBuild(String mavenRepo, String projectPath, String uuid, String classpath, String alternateSettingsAbsPath, String queueName) throws Exception {
-        String[] commandArrayServer =
-                {
-                        javaBin,
-                        "-cp",
-                        getClasspathIncludedCurrentModuleDep(mavenRepo, classpath),
-                        "-Dorg.uberfire.nio.git.daemon.enabled=false",
-                        "-Dorg.uberfire.nio.ssh.daemon.enabled=false",
-                        ServerIPCImpl.class.getCanonicalName(),
-                        uuid,
-                        projectPath,
-                        mavenRepo,
-                        alternateSettingsAbsPath,
-                        queueName
-                };
+        String[] commandArrayServer = getJavaCommand(mavenRepo,
+                                                     classpath,
+                                                     ServerIPCImpl.class,
+                                                     uuid,
+                                                     projectPath,
+                                                     mavenRepo,
+                                                     alternateSettingsAbsPath,
+                                                     queueName);
         if (logger.isDebugEnabled()) {
             logger.debug("************************** \n Invoking server in a separate process with args: \n{} \n{} \n{} \n{} \n{} \n{} \n{} \n{} \n**************************", commandArrayServer);
         }
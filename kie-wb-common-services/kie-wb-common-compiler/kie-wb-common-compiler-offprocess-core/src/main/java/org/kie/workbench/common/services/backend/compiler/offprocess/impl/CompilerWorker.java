@@ -0,0 +1,115 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.compiler.offprocess.impl;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/***
+ * Handle of a long lived compiler process of the CompilerWorkerPool, the busy state and the counters are guarded
+ * by the pool
+ */
+class CompilerWorker {
+
+    private final Process process;
+    private final QueueProvider requestQueue;
+    private final String mavenRepo;
+    private String lastProjectPath;
+    private int builds;
+    private boolean busy;
+    private final Logger logger = LoggerFactory.getLogger(CompilerWorker.class);
+
+    CompilerWorker(Process process,
+                   QueueProvider requestQueue,
+                   String mavenRepo) {
+        this.process = process;
+        this.requestQueue = requestQueue;
+        this.mavenRepo = mavenRepo;
+    }
+
+    void submit(String uuid, String workingDir, String alternateSettingsAbsPath) {
+        requestQueue.getQueue().acquireAppender().writeDocument(wire -> wire
+                .write(ServerWorkerIPCImpl.TYPE).text(ServerWorkerIPCImpl.TYPE_BUILD)
+                .write(ServerWorkerIPCImpl.UUID).text(uuid)
+                .write(ServerWorkerIPCImpl.WORKING_DIR).text(workingDir)
+                .write(ServerWorkerIPCImpl.MAVEN_REPO).text(mavenRepo)
+                .write(ServerWorkerIPCImpl.SETTINGS).text(alternateSettingsAbsPath));
+    }
+
+    void requestStop() {
+        if (!process.isAlive()) {
+            return;
+        }
+        try {
+            requestQueue.getQueue().acquireAppender().writeDocument(wire -> wire
+                    .write(ServerWorkerIPCImpl.TYPE).text(ServerWorkerIPCImpl.TYPE_STOP));
+        } catch (Exception e) {
+            logger.warn("Unable to request the stop of the compiler worker on queue:{}", requestQueue.getAbsolutePath(), e);
+        }
+    }
+
+    void awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        process.waitFor(timeout, unit);
+    }
+
+    void kill() {
+        if (process.isAlive()) {
+            process.destroyForcibly();
+        }
+    }
+
+    void destroy() {
+        if (process.isAlive()) {
+            process.destroyForcibly();
+        }
+        requestQueue.cleanQueue();
+        FileUtils.deleteQuietly(new File(requestQueue.getAbsolutePath()));
+    }
+
+    boolean isAlive() {
+        return process.isAlive();
+    }
+
+    boolean isExhausted(int maxBuilds) {
+        return !process.isAlive() || builds >= maxBuilds;
+    }
+
+    void assign(String projectPath) {
+        busy = true;
+        builds++;
+        lastProjectPath = projectPath;
+    }
+
+    void release() {
+        busy = false;
+    }
+
+    boolean isBusy() {
+        return busy;
+    }
+
+    String getMavenRepo() {
+        return mavenRepo;
+    }
+
+    String getLastProjectPath() {
+        return lastProjectPath;
+    }
+}
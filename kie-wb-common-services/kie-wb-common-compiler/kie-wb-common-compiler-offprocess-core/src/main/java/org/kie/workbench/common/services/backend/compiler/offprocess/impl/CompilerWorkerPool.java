@@ -0,0 +1,171 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.compiler.offprocess.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/***
+ * Pool of long lived compiler processes (see ServerWorkerIPCImpl).
+ * A build goes to an idle worker started with the same maven repo, preferring the one that built the same project
+ * last time; a worker is replaced when its process exited (heap threshold or idle timeout) or after the max number
+ * of builds.
+ */
+class CompilerWorkerPool {
+
+    private static final long STOP_TIMEOUT_SECONDS = 30;
+
+    private final int size;
+    private final int maxBuildsPerWorker;
+    private final WorkerLauncher launcher;
+    private final String requestQueuesBasePath;
+    private final List<CompilerWorker> workers = new ArrayList<>();
+    private final AtomicInteger workerCounter = new AtomicInteger();
+    private final ExecutorService reaper;
+    private final Thread shutdownHook;
+    private final Logger logger = LoggerFactory.getLogger(CompilerWorkerPool.class);
+
+    CompilerWorkerPool(int size,
+                       int maxBuildsPerWorker,
+                       String requestQueuesBasePath,
+                       WorkerLauncher launcher) {
+        this.size = size;
+        this.maxBuildsPerWorker = maxBuildsPerWorker;
+        this.requestQueuesBasePath = requestQueuesBasePath;
+        this.launcher = launcher;
+        this.reaper = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "offprocess-compiler-worker-reaper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.shutdownHook = new Thread(this::shutdown);
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    CompilerWorker acquire(String mavenRepo, String projectPath) throws IOException, InterruptedException {
+        synchronized (workers) {
+            while (true) {
+                CompilerWorker worker = findIdleWorker(mavenRepo, projectPath);
+                if (worker != null && worker.isExhausted(maxBuildsPerWorker)) {
+                    retire(worker);
+                    worker = null;
+                }
+                if (worker == null && workers.size() >= size) {
+                    // the idle workers, if any, were started for another maven repo
+                    workers.stream().filter(w -> !w.isBusy()).findFirst().ifPresent(this::retire);
+                }
+                if (worker == null && workers.size() < size) {
+                    worker = start(mavenRepo);
+                }
+                if (worker != null) {
+                    worker.assign(projectPath);
+                    return worker;
+                }
+                workers.wait();
+            }
+        }
+    }
+
+    void release(CompilerWorker worker) {
+        synchronized (workers) {
+            worker.release();
+            workers.notifyAll();
+        }
+    }
+
+    void shutdown() {
+        synchronized (workers) {
+            for (CompilerWorker worker : new ArrayList<>(workers)) {
+                workers.remove(worker);
+                worker.requestStop();
+                worker.destroy();
+            }
+        }
+        reaper.shutdown();
+        if (Thread.currentThread() != shutdownHook) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (IllegalStateException e) {
+                // the JVM is already shutting down
+            }
+        }
+    }
+
+    private CompilerWorker findIdleWorker(String mavenRepo, String projectPath) {
+        CompilerWorker candidate = null;
+        for (CompilerWorker worker : workers) {
+            if (worker.isBusy() || !worker.getMavenRepo().equals(mavenRepo)) {
+                continue;
+            }
+            if (projectPath.equals(worker.getLastProjectPath())) {
+                return worker;
+            }
+            if (candidate == null) {
+                candidate = worker;
+            }
+        }
+        return candidate;
+    }
+
+    private CompilerWorker start(String mavenRepo) throws IOException {
+        String requestQueuePath = requestQueuesBasePath + "-worker-" + workerCounter.incrementAndGet();
+        FileUtils.deleteQuietly(new File(requestQueuePath));
+        QueueProvider requestQueue = new QueueProvider(requestQueuePath, true);
+        try {
+            Process process = launcher.launch(mavenRepo, requestQueuePath);
+            CompilerWorker worker = new CompilerWorker(process, requestQueue, mavenRepo);
+            workers.add(worker);
+            logger.info("Started compiler worker on queue:{}", requestQueuePath);
+            return worker;
+        } catch (IOException e) {
+            requestQueue.cleanQueue();
+            FileUtils.deleteQuietly(new File(requestQueuePath));
+            throw e;
+        }
+    }
+
+    private void retire(CompilerWorker worker) {
+        workers.remove(worker);
+        worker.requestStop();
+        reaper.execute(() -> {
+            try {
+                worker.awaitTermination(STOP_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                worker.destroy();
+            }
+        });
+    }
+
+    /***
+     * Starts the process of a worker reading its requests from the given queue
+     */
+    interface WorkerLauncher {
+
+        Process launch(String mavenRepo, String requestQueuePath) throws IOException;
+    }
+}
@@ -16,21 +16,32 @@
 package org.kie.workbench.common.services.backend.compiler.offprocess.impl;
 
 import java.io.File;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
 
 import net.openhft.chronicle.queue.ChronicleQueue;
 import net.openhft.chronicle.queue.ChronicleQueueBuilder;
+import net.openhft.chronicle.queue.RollCycle;
+import net.openhft.chronicle.queue.RollCycles;
 import net.openhft.chronicle.queue.impl.single.SingleChronicleQueue;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /***
- * Provider of the Chronicle Queue
+ * Provider of the Chronicle Queue.
+ * The queue rolls every hour, the reading side (the one initialized with the queue name under the tmp dir) deletes
+ * the files released by its tailers once the queue rolled twice past their cycle: the file of the previous cycle is
+ * kept because it could hold responses written just before the roll and not read yet.
  */
 public class QueueProvider {
 
+    private static final RollCycle ROLL_CYCLE = RollCycles.HOURLY;
+
     private SingleChronicleQueue queue;
     private String basePath;
     private String queueName;
+    private final Map<Integer, File> releasedFiles = new TreeMap<>();
     private Logger logger = LoggerFactory.getLogger(QueueProvider.class);
 
     public QueueProvider(String queueName) {
@@ -49,20 +60,47 @@ public class QueueProvider {
 
     private void initName(String name) {
         basePath = name;
-        queue = ChronicleQueueBuilder.single(basePath).build();
+        queue = ChronicleQueueBuilder.single(basePath).rollCycle(ROLL_CYCLE).build();
         logger.info(queue.toString());
     }
 
     private void init(String name) {
         basePath = System.getProperty("java.io.tmpdir") + File.separator + name;
-        queue = ChronicleQueueBuilder.single(basePath).build();
+        queue = ChronicleQueueBuilder.single(basePath).rollCycle(ROLL_CYCLE).storeFileListener(this::purgeReleasedFile).build();
         logger.info(queue.toString());
     }
 
+    private void purgeReleasedFile(int cycle, File file) {
+        if (queue == null || queue.isClosed()) {
+            return;
+        }
+        synchronized (releasedFiles) {
+            releasedFiles.put(cycle, file);
+            int currentCycle = queue.cycle();
+            Iterator<Map.Entry<Integer, File>> it = releasedFiles.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<Integer, File> released = it.next();
+                if (released.getKey() >= currentCycle - 1) {
+                    break;
+                }
+                it.remove();
+                if (released.getValue().delete()) {
+                    logger.debug("Purged consumed queue file:{}", released.getValue());
+                } else if (released.getValue().exists()) {
+                    logger.warn("Unable to purge consumed queue file:{}", released.getValue());
+                }
+            }
+        }
+    }
+
     public ChronicleQueue getQueue() {
         return queue;
     }
 
+    public RollCycle getRollCycle() {
+        return ROLL_CYCLE;
+    }
+
     public String getAbsolutePath() {
         return basePath;
     }
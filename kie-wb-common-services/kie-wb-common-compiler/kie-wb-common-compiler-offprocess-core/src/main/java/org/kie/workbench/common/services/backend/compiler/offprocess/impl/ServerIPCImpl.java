@@ -62,35 +62,35 @@ public class ServerIPCImpl {
         Thread.currentThread().setName(threadName);// restore the previous name to avoid the override of the maven output
     }
 
-    private static void checksQueueNameLenght(String queueName) {
+    static void checksQueueNameLenght(String queueName) {
         if(StringUtils.isEmpty(queueName) || queueName.length() < 5){
             logger.error("uuid too short, less than 5 chars:{}", queueName);
             throw new RuntimeException("uuid too short less than 5 chars:" + queueName);
         }
     }
 
-    private static void checksMavenRepo(String mavenRepo) {
+    static void checksMavenRepo(String mavenRepo) {
         if(!new File(mavenRepo).isDirectory()){
             logger.error("mavenRepo dir doesn't exists:{}",mavenRepo);
             throw new RuntimeException("MavenRepo dir  doesn't exists:"+mavenRepo);
         }
     }
 
-    private static void checksUUIDLength(String uuid) {
+    static void checksUUIDLength(String uuid) {
         if(StringUtils.isEmpty(uuid) || uuid.length() < 10){
             logger.error("uuid too short, less than 10 chars:{}", uuid);
             throw new RuntimeException("uuid too short less than 10 chars:" + uuid);
         }
     }
 
-    private static void checksSettingFile(String alternateSettingsAbsPath) {
+    static void checksSettingFile(String alternateSettingsAbsPath) {
         if(StringUtils.isNotEmpty(alternateSettingsAbsPath) && !new File(alternateSettingsAbsPath).exists()){
             logger.error("SettingsAbsPath doesn't exists:{}",alternateSettingsAbsPath);
             throw new RuntimeException("SettingsAbsPath doesn't exists:"+alternateSettingsAbsPath);
         }
     }
 
-    private static void checksWorkingDir(String workingDir) {
+    static void checksWorkingDir(String workingDir) {
         if(!new File(workingDir).exists()){
             logger.error("Working dir doesn't exists:{}",workingDir);
             throw new RuntimeException("Working dir doesn't exists:"+workingDir);
@@ -114,6 +114,10 @@ public class ServerIPCImpl {
         writeOnQueue(bytez, provider);
     }
 
+    static void writeFailure(String uuid, QueueProvider provider) throws IOException {
+        writeOnQueue(serialize(new DefaultKieCompilationResponseOffProcess(false, uuid)), provider);
+    }
+
     private static void writeOnQueue(byte[] bytez, QueueProvider provider) {
         if(logger.isDebugEnabled()) {
             logger.debug("write On Queue");
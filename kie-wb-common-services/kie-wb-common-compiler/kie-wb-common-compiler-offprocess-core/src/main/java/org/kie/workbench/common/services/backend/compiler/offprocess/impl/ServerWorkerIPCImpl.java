@@ -0,0 +1,205 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.compiler.offprocess.impl;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import net.openhft.chronicle.queue.ExcerptTailer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/***
+ * Class invoked through the main method by the CompilerWorkerPool to run a long lived compiler process.
+ * The worker reads the build requests from its own queue and writes every response on the shared response queue,
+ * it exits when asked to stop, when its heap usage passes the configured threshold after a build
+ * or when no request arrives within the idle timeout.
+ * The arguments and every request are validated as the ServerIPCImpl does, an invalid request is answered
+ * with a failed response.
+ */
+public class ServerWorkerIPCImpl {
+
+    static final String TYPE = "type";
+    static final String TYPE_BUILD = "build";
+    static final String TYPE_STOP = "stop";
+    static final String UUID = "uuid";
+    static final String WORKING_DIR = "workingDir";
+    static final String MAVEN_REPO = "mavenRepo";
+    static final String SETTINGS = "settings";
+
+    private static final long MAX_PAUSE_MILLIS = 100;
+    private static Logger logger = LoggerFactory.getLogger(ServerWorkerIPCImpl.class);
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 4) {
+            logger.error("Wrong number of params:{}", args.length);
+            throw new RuntimeException("Wrong number of params:" + args.length);
+        }
+        ServerIPCImpl.checksQueueNameLenght(args[0]);
+        ServerIPCImpl.checksQueueNameLenght(args[1]);
+        int maxHeapPercentage = Integer.parseInt(args[2]);
+        checksMaxHeapPercentage(maxHeapPercentage);
+        long idleTimeoutMillis = Long.parseLong(args[3]);
+        checksIdleTimeout(idleTimeoutMillis);
+        QueueProvider requestProvider = new QueueProvider(args[0], true);
+        QueueProvider responseProvider = new QueueProvider(args[1], true);
+        try {
+            serve(requestProvider, responseProvider, maxHeapPercentage, idleTimeoutMillis);
+        } finally {
+            requestProvider.cleanQueue();
+            responseProvider.cleanQueue();
+        }
+        System.exit(0);
+    }
+
+    static void serve(QueueProvider requestProvider, QueueProvider responseProvider, int maxHeapPercentage, long idleTimeoutMillis) throws Exception {
+        serve(requestProvider, responseProvider, maxHeapPercentage, idleTimeoutMillis, ServerIPCImpl::execute);
+    }
+
+    static void serve(QueueProvider requestProvider, QueueProvider responseProvider, int maxHeapPercentage, long idleTimeoutMillis, BuildExecutor executor) throws Exception {
+        ExcerptTailer tailer = requestProvider.getQueue().createTailer();
+        String threadName = Thread.currentThread().getName();
+        long lastRequest = System.currentTimeMillis();
+        long pause = 1;
+        while (true) {
+            WorkerRequest request = new WorkerRequest();
+            boolean read = tailer.readDocument(wire -> {
+                request.type = wire.read(TYPE).text();
+                if (TYPE_BUILD.equals(request.type)) {
+                    request.uuid = wire.read(UUID).text();
+                    request.workingDir = wire.read(WORKING_DIR).text();
+                    request.mavenRepo = wire.read(MAVEN_REPO).text();
+                    request.settings = wire.read(SETTINGS).text();
+                }
+            });
+            if (!read) {
+                if (System.currentTimeMillis() - lastRequest > idleTimeoutMillis) {
+                    logger.info("Compiler worker idle for more than {} ms, exiting", idleTimeoutMillis);
+                    return;
+                }
+                Thread.sleep(pause);
+                pause = Math.min(pause * 2, MAX_PAUSE_MILLIS);
+                continue;
+            }
+            pause = 1;
+            if (TYPE_STOP.equals(request.type)) {
+                logger.info("Compiler worker stop requested");
+                return;
+            }
+            if (!TYPE_BUILD.equals(request.type)) {
+                logger.warn("Unknown request type:{}", request.type);
+                continue;
+            }
+            try {
+                checksRequest(request);
+            } catch (RuntimeException e) {
+                logger.error(e.getMessage(), e);
+                if (request.uuid != null) {
+                    writeFailure(request.uuid, responseProvider);
+                }
+                continue;
+            }
+            try {
+                executor.execute(request.workingDir, request.mavenRepo, request.settings, request.uuid, responseProvider);
+            } catch (Exception e) {
+                logger.error(e.getMessage(), e);
+                // the coordinator waits for a response to every build request
+                writeFailure(request.uuid, responseProvider);
+            } finally {
+                Thread.currentThread().setName(threadName);// restore the previous name to avoid the override of the maven output
+            }
+            lastRequest = System.currentTimeMillis();
+            if (isHeapOverThreshold(maxHeapPercentage)) {
+                logger.info("Compiler worker heap over {}% of the max heap, exiting", maxHeapPercentage);
+                return;
+            }
+        }
+    }
+
+    private static void writeFailure(String uuid, QueueProvider responseProvider) {
+        try {
+            ServerIPCImpl.writeFailure(uuid, responseProvider);
+        } catch (Exception e) {
+            logger.error("Unable to write the failed response of the build:{}", uuid, e);
+        }
+    }
+
+    private static void checksMaxHeapPercentage(int maxHeapPercentage) {
+        if (maxHeapPercentage <= 0 || maxHeapPercentage > 100) {
+            logger.error("Max heap percentage out of range:{}", maxHeapPercentage);
+            throw new RuntimeException("Max heap percentage out of range:" + maxHeapPercentage);
+        }
+    }
+
+    private static void checksIdleTimeout(long idleTimeoutMillis) {
+        if (idleTimeoutMillis <= 0) {
+            logger.error("Idle timeout not positive:{}", idleTimeoutMillis);
+            throw new RuntimeException("Idle timeout not positive:" + idleTimeoutMillis);
+        }
+    }
+
+    private static void checksRequest(WorkerRequest request) {
+        ServerIPCImpl.checksUUIDLength(request.uuid);
+        ServerIPCImpl.checksWorkingDir(request.workingDir);
+        ServerIPCImpl.checksMavenRepo(request.mavenRepo);
+        ServerIPCImpl.checksSettingFile(request.settings);
+    }
+
+    /**
+     * Checks the usage of the old generation after the last collection, the garbage not collected yet is not counted.
+     * When the collector has no old generation pool, the usage after collection of all the heap pools is checked.
+     */
+    private static boolean isHeapOverThreshold(int maxHeapPercentage) {
+        List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP && pool.isValid() && pool.getCollectionUsage() != null)
+                .collect(Collectors.toList());
+        List<MemoryPoolMXBean> oldGenPools = heapPools.stream()
+                .filter(pool -> pool.getName().contains("Old") || pool.getName().contains("Tenured"))
+                .collect(Collectors.toList());
+        long used = 0;
+        long max = 0;
+        for (MemoryPoolMXBean pool : oldGenPools.isEmpty() ? heapPools : oldGenPools) {
+            MemoryUsage collectionUsage = pool.getCollectionUsage();
+            used += collectionUsage.getUsed();
+            max += collectionUsage.getMax() > 0 ? collectionUsage.getMax() : pool.getUsage().getMax();
+        }
+        if (max <= 0) {
+            max = Runtime.getRuntime().maxMemory();
+        }
+        return used * 100 > max * maxHeapPercentage;
+    }
+
+    /***
+     * Runs a build request and writes its response on the response queue
+     */
+    interface BuildExecutor {
+
+        void execute(String workingDir, String mavenRepo, String settings, String uuid, QueueProvider responseProvider) throws Exception;
+    }
+
+    private static class WorkerRequest {
+
+        private String type;
+        private String uuid;
+        private String workingDir;
+        private String mavenRepo;
+        private String settings;
+    }
+}
@@ -26,4 +26,9 @@ public interface CompilerOffprocessService<T extends CompilationResponse> {
      * Async compile a project starting from the main POM
      */
     CompletableFuture<T> compile(final CompilationRequest req);
+
+    /**
+     * Releases the resources used to run the builds in separate processes
+     */
+    void close();
 }
@@ -48,4 +48,9 @@ public class CompilerOffprocessServiceImpl implements CompilerOffprocessService
     public CompletableFuture compile(CompilationRequest req) {
         return CompletableFuture.supplyAsync(() -> (compilerCoordinator.compile(req)), executor);
     }
+
+    @Override
+    public void close() {
+        compilerCoordinator.close();
+    }
 }
@@ -18,6 +18,7 @@ package org.kie.workbench.common.services.backend.compiler.offprocess;
 import java.util.UUID;
 
 import net.openhft.chronicle.core.io.IOTools;
+import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -45,6 +46,7 @@ public class CompilerChronicleCoordinatorTest {
     private static String alternateSettingsAbsPath;
     private static String queueName = "offprocess-queue-test";
     private static QueueProvider queueProvider;
+    private CompilerIPCCoordinator compiler;
 
     @BeforeClass
     public static void setup() throws Exception{
@@ -64,9 +66,16 @@ public class CompilerChronicleCoordinatorTest {
         IOTools.shallowDeleteDirWithFiles(queueProvider.getAbsolutePath());
     }
 
+    @After
+    public void tearDown() {
+        if (compiler != null) {
+            compiler.close();
+        }
+    }
+
     @Test
     public void offProcessOneBuildTest() {
-        CompilerIPCCoordinator compiler = new CompilerIPCCoordinatorImpl(queueProvider);
+        compiler = new CompilerIPCCoordinatorImpl(queueProvider);
         WorkspaceCompilationInfo info = new WorkspaceCompilationInfo(prjPath);
         String uuid = UUID.randomUUID().toString();
         CompilationRequest req = new DefaultCompilationRequest(mavenRepo,
@@ -87,7 +96,7 @@ public class CompilerChronicleCoordinatorTest {
 
     @Test
     public void offProcessTwoBuildTest() {
-        CompilerIPCCoordinator compiler = new CompilerIPCCoordinatorImpl(queueProvider);
+        compiler = new CompilerIPCCoordinatorImpl(queueProvider);
         WorkspaceCompilationInfo info = new WorkspaceCompilationInfo(prjPath);
 
         // First Build
@@ -123,4 +132,31 @@ public class CompilerChronicleCoordinatorTest {
         DefaultKieCompilationResponse secondKres = (DefaultKieCompilationResponse) secondRes;
         assertThat(secondUuid).isEqualToIgnoringCase(secondKres.getRequestUUID());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void offProcessPooledBuildsTest() {
+        System.setProperty(CompilerIPCCoordinatorImpl.POOL_SIZE, "1");
+        try {
+            compiler = new CompilerIPCCoordinatorImpl(queueProvider);
+            WorkspaceCompilationInfo info = new WorkspaceCompilationInfo(prjPath);
+            for (int i = 0; i < 2; i++) {
+                String uuid = UUID.randomUUID().toString();
+                CompilationRequest req = new DefaultCompilationRequest(mavenRepo,
+                                                                       info,
+                                                                       new String[]{
+                                                                               MavenCLIArgs.COMPILE,
+                                                                               MavenCLIArgs.ALTERNATE_USER_SETTINGS + alternateSettingsAbsPath
+                                                                       },
+                                                                       Boolean.FALSE, uuid);
+                CompilationResponse res = compiler.compile(req);
+                logger.info("offProcessPooledBuildsTest build {} completed", i);
+                assertThat(res).isNotNull();
+                assertThat(res.isSuccessful()).isTrue();
+                DefaultKieCompilationResponse kres = (DefaultKieCompilationResponse) res;
+                assertThat(uuid).isEqualToIgnoringCase(kres.getRequestUUID());
+            }
+        } finally {
+            System.clearProperty(CompilerIPCCoordinatorImpl.POOL_SIZE);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.compiler.offprocess.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.queue.ExcerptAppender;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.kie.workbench.common.services.backend.compiler.impl.DefaultKieCompilationResponse;
+import org.kie.workbench.common.services.backend.compiler.impl.DefaultKieCompilationResponseOffProcess;
+import org.kie.workbench.common.services.backend.compiler.impl.kie.KieCompilationResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ClientIPCImplTest {
+
+    private static final long TIMEOUT_MILLIS = 10000;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private QueueProvider provider;
+    private ClientIPCImpl client;
+
+    @Before
+    public void setUp() throws IOException {
+        provider = new QueueProvider(temporaryFolder.newFolder("offprocess-queue").getAbsolutePath(), true);
+        client = new ClientIPCImpl(provider);
+        // the tailers are initialized on the background thread before any lookup, the responses written after
+        // this one are read by the client
+        assertThat(client.getResponse(UUID.randomUUID().toString()).isSuccessful()).isFalse();
+    }
+
+    @After
+    public void tearDown() {
+        client.close();
+        provider.cleanQueue();
+    }
+
+    @Test
+    public void responseWrittenBeforeTheRequestIsIndexed() throws Exception {
+        String uuid = UUID.randomUUID().toString();
+        writeResponse(uuid);
+        awaitIndexedResponses(1);
+
+        KieCompilationResponse res = client.getResponse(uuid);
+
+        assertThat(res.isSuccessful()).isTrue();
+        assertThat(((DefaultKieCompilationResponse) res).getRequestUUID()).isEqualTo(uuid);
+        assertThat(client.getIndexedResponses()).isZero();
+    }
+
+    @Test
+    public void responseWrittenAfterTheRequestCompletesIt() throws Exception {
+        String uuid = UUID.randomUUID().toString();
+        CompletableFuture<KieCompilationResponse> future = client.getResponseAsync(uuid);
+        writeResponse(UUID.randomUUID().toString());
+        writeResponse(uuid);
+
+        KieCompilationResponse res = future.get(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+
+        assertThat(res.isSuccessful()).isTrue();
+        assertThat(((DefaultKieCompilationResponse) res).getRequestUUID()).isEqualTo(uuid);
+        awaitIndexedResponses(1);
+    }
+
+    @Test
+    public void responseNeverWrittenIsAFailure() {
+        assertThat(client.getResponse(UUID.randomUUID().toString()).isSuccessful()).isFalse();
+    }
+
+    @Test
+    public void indexesOfThePreviousCycleAreKept() throws Exception {
+        String uuid = UUID.randomUUID().toString();
+        int cycle = writeResponse(uuid);
+        awaitIndexedResponses(1);
+
+        client.purgeIndexesOfPastCycles(cycle + 1);
+
+        assertThat(client.getIndexedResponses()).isEqualTo(1);
+        assertThat(client.getResponse(uuid).isSuccessful()).isTrue();
+    }
+
+    @Test
+    public void indexesOlderThanThePreviousCycleArePurged() throws Exception {
+        String uuid = UUID.randomUUID().toString();
+        int cycle = writeResponse(uuid);
+        awaitIndexedResponses(1);
+
+        client.purgeIndexesOfPastCycles(cycle + 2);
+
+        assertThat(client.getIndexedResponses()).isZero();
+        assertThat(client.getResponse(uuid).isSuccessful()).isFalse();
+    }
+
+    @Test
+    public void closeCancelsThePendingRequests() {
+        CompletableFuture<KieCompilationResponse> future = client.getResponseAsync(UUID.randomUUID().toString());
+
+        client.close();
+
+        assertThat(future.isCancelled()).isTrue();
+    }
+
+    private int writeResponse(String uuid) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(new DefaultKieCompilationResponseOffProcess(true, uuid));
+        }
+        ExcerptAppender appender = provider.getQueue().acquireAppender();
+        appender.writeBytes(Bytes.allocateDirect(bytes.toByteArray()));
+        return provider.getRollCycle().toCycle(appender.lastIndexAppended());
+    }
+
+    private void awaitIndexedResponses(int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (client.getIndexedResponses() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(client.getIndexedResponses()).isEqualTo(expected);
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.compiler.offprocess.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.kie.workbench.common.services.backend.compiler.CompilationResponse;
+import org.kie.workbench.common.services.backend.compiler.impl.DefaultCompilationRequest;
+import org.kie.workbench.common.services.backend.compiler.impl.DefaultKieCompilationResponse;
+import org.kie.workbench.common.services.backend.compiler.impl.WorkspaceCompilationInfo;
+import org.uberfire.java.nio.file.Paths;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CompilerIPCCoordinatorImplTest {
+
+    private static final long IDLE_TIMEOUT_MILLIS = 60000;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private QueueProvider provider;
+    private CompilerIPCCoordinatorImpl coordinator;
+    private File project;
+    private File mavenRepo;
+
+    @Before
+    public void setUp() throws IOException {
+        provider = new QueueProvider(temporaryFolder.newFolder("offprocess-queue").getAbsolutePath(), true);
+        project = temporaryFolder.newFolder("project");
+        mavenRepo = temporaryFolder.newFolder("repository");
+        System.setProperty(CompilerIPCCoordinatorImpl.POOL_SIZE, "1");
+    }
+
+    @After
+    public void tearDown() {
+        System.clearProperty(CompilerIPCCoordinatorImpl.POOL_SIZE);
+        System.clearProperty(CompilerIPCCoordinatorImpl.POOL_BUILD_TIMEOUT);
+        if (coordinator != null) {
+            coordinator.close();
+        }
+        provider.cleanQueue();
+    }
+
+    @Test
+    public void failedBuildOfTheWorkerIsAFailedResponse() {
+        System.setProperty(CompilerIPCCoordinatorImpl.POOL_BUILD_TIMEOUT, "60000");
+        coordinator = new CompilerIPCCoordinatorImpl(provider, (repo, requestQueuePath) -> new InProcessWorker(() -> {
+            QueueProvider requestProvider = new QueueProvider(requestQueuePath, true);
+            QueueProvider responseProvider = new QueueProvider(provider.getAbsolutePath(), true);
+            ServerWorkerIPCImpl.serve(requestProvider, responseProvider, 100, IDLE_TIMEOUT_MILLIS, (workingDir, repository, settings, requestUUID, responses) -> {
+                throw new IllegalStateException("build failed");
+            });
+        }));
+        String uuid = UUID.randomUUID().toString();
+
+        CompilationResponse res = coordinator.compile(request(uuid));
+
+        assertThat(res.isSuccessful()).isFalse();
+        // the failure is the response written by the worker, not the one of the build timeout
+        assertThat(((DefaultKieCompilationResponse) res).getRequestUUID()).isEqualTo(uuid);
+    }
+
+    @Test
+    public void missingResponseOfTheWorkerIsAFailureAfterTheBuildTimeout() throws InterruptedException {
+        System.setProperty(CompilerIPCCoordinatorImpl.POOL_BUILD_TIMEOUT, "1000");
+        InProcessWorker[] workers = new InProcessWorker[1];
+        coordinator = new CompilerIPCCoordinatorImpl(provider, (repo, requestQueuePath) -> {
+            // a worker that never answers
+            workers[0] = new InProcessWorker(() -> Thread.sleep(IDLE_TIMEOUT_MILLIS));
+            return workers[0];
+        });
+
+        CompilationResponse res = coordinator.compile(request(UUID.randomUUID().toString()));
+
+        assertThat(res.isSuccessful()).isFalse();
+        assertThat(((DefaultKieCompilationResponse) res).getRequestUUID()).isEmpty();
+        assertThat(workers[0].waitFor(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private DefaultCompilationRequest request(String uuid) {
+        return new DefaultCompilationRequest(mavenRepo.getAbsolutePath(),
+                                             new WorkspaceCompilationInfo(Paths.get("file://" + project.getAbsolutePath())),
+                                             new String[]{},
+                                             Boolean.FALSE,
+                                             uuid);
+    }
+
+    private interface WorkerBody {
+
+        void run() throws Exception;
+    }
+
+    /***
+     * A compiler worker running on a thread of the test JVM
+     */
+    private static class InProcessWorker extends Process {
+
+        private final Thread thread;
+
+        private InProcessWorker(WorkerBody body) {
+            thread = new Thread(() -> {
+                try {
+                    body.run();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }, "in-process-compiler-worker");
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        @Override
+        public OutputStream getOutputStream() {
+            return new ByteArrayOutputStream();
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return new ByteArrayInputStream(new byte[0]);
+        }
+
+        @Override
+        public InputStream getErrorStream() {
+            return new ByteArrayInputStream(new byte[0]);
+        }
+
+        @Override
+        public int waitFor() throws InterruptedException {
+            thread.join();
+            return 0;
+        }
+
+        @Override
+        public boolean waitFor(long timeout, TimeUnit unit) throws InterruptedException {
+            thread.join(unit.toMillis(timeout));
+            return !thread.isAlive();
+        }
+
+        @Override
+        public int exitValue() {
+            if (thread.isAlive()) {
+                throw new IllegalThreadStateException("running");
+            }
+            return 0;
+        }
+
+        @Override
+        public void destroy() {
+            thread.interrupt();
+        }
+
+        @Override
+        public boolean isAlive() {
+            return thread.isAlive();
+        }
+    }
+}
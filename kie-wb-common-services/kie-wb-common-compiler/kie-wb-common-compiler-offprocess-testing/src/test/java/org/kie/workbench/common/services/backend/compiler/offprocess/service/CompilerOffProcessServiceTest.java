@@ -88,5 +88,6 @@ public class CompilerOffProcessServiceTest {
         assertThat(res.getMavenOutput()).isNotEmpty();
         DefaultKieCompilationResponse kres = (DefaultKieCompilationResponse) res;
         assertThat(uuid).isEqualToIgnoringCase( kres.getRequestUUID());
+        service.close();
     }
 }
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.compiler.service.executors;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces equivalent build requests: at most one build per key is running at any time and every request
+ * received while it runs is served by a single trailing build, started as soon as the running one completes.
+ * The trailing build is needed because those requests could carry changes the running build did not see, so it
+ * runs the build of the most recent of them.
+ */
+class BuildCoalescer<T> {
+
+    private final Executor executor;
+    private final Map<Key, InFlightBuild<T>> inFlightBuilds = new HashMap<>();
+
+    BuildCoalescer(final Executor executor) {
+        this.executor = executor;
+    }
+
+    CompletableFuture<T> submit(final Key key,
+                                final Supplier<T> build) {
+        synchronized (inFlightBuilds) {
+            final InFlightBuild<T> current = inFlightBuilds.get(key);
+            if (current == null) {
+                final InFlightBuild<T> started = new InFlightBuild<>(new CompletableFuture<>());
+                inFlightBuilds.put(key, started);
+                start(key, started, build);
+                return started.result;
+            }
+            if (current.trailing == null) {
+                current.trailing = new CompletableFuture<>();
+            }
+            current.trailingBuild = build;
+            return current.trailing;
+        }
+    }
+
+    int inFlightBuilds() {
+        synchronized (inFlightBuilds) {
+            return inFlightBuilds.size();
+        }
+    }
+
+    /**
+     * Always called holding the lock of the in flight builds. When the executor rejects the build, the key is
+     * released and the callers of this build and of its trailing build, if any, get the rejection.
+     */
+    private void start(final Key key,
+                       final InFlightBuild<T> build,
+                       final Supplier<T> supplier) {
+        final CompletableFuture<T> running;
+        try {
+            running = CompletableFuture.supplyAsync(supplier, executor);
+        } catch (RejectedExecutionException e) {
+            inFlightBuilds.remove(key, build);
+            build.result.completeExceptionally(e);
+            if (build.trailing != null) {
+                build.trailing.completeExceptionally(e);
+            }
+            return;
+        }
+        running.whenComplete((result, error) -> {
+            synchronized (inFlightBuilds) {
+                if (build.trailing == null) {
+                    inFlightBuilds.remove(key);
+                } else {
+                    final InFlightBuild<T> next = new InFlightBuild<>(build.trailing);
+                    inFlightBuilds.put(key, next);
+                    start(key, next, build.trailingBuild);
+                }
+            }
+            if (error != null) {
+                build.result.completeExceptionally(error);
+            } else {
+                build.result.complete(result);
+            }
+        });
+    }
+
+    private static class InFlightBuild<T> {
+
+        private final CompletableFuture<T> result;
+        private CompletableFuture<T> trailing;
+        private Supplier<T> trailingBuild;
+
+        private InFlightBuild(final CompletableFuture<T> result) {
+            this.result = result;
+        }
+    }
+
+    /**
+     * Identifies equivalent builds, i.e. same project, maven repository, settings, dependencies flag and goals.
+     */
+    static class Key {
+
+        private final Object[] parts;
+
+        Key(final Object... parts) {
+            this.parts = parts;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            return Arrays.deepEquals(parts, ((Key) o).parts);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.deepHashCode(parts);
+        }
+
+        @Override
+        public String toString() {
+            return Arrays.deepToString(parts);
+        }
+    }
+}
@@ -33,15 +33,18 @@ import org.kie.workbench.common.services.backend.compiler.impl.kie.KieMavenCompi
 import org.uberfire.java.nio.file.Path;
 
 /**
- * Implementation for a local build requested by a local execution (Contains NIO Objects)
+ * Implementation for a local build requested by a local execution (Contains NIO Objects).
+ * Equivalent builds requested while one is running are coalesced, builds with overridden resources are not.
  */
 public class DefaultLocalExecutor implements CompilerExecutor {
 
     private ExecutorService executor;
     private LRUCache<Path, CompilerAggregateEntryCache> compilerCacheForLocalInvocation;
+    private BuildCoalescer<KieCompilationResponse> buildCoalescer;
 
     public DefaultLocalExecutor(ExecutorService executorService) {
         executor = executorService;
+        buildCoalescer = new BuildCoalescer<>(executorService);
         compilerCacheForLocalInvocation = new LRUCache<Path, CompilerAggregateEntryCache>() {
         };
     }
@@ -77,7 +80,8 @@ public class DefaultLocalExecutor implements CompilerExecutor {
                                                                                    KieDecorator.UPDATE_JGIT_BEFORE_BUILD,
                                                                                    KieDecorator.STORE_KIE_OBJECTS,
                                                                                    KieDecorator.STORE_BUILD_CLASSPATH,
-                                                                                   KieDecorator.ENABLE_INCREMENTAL_BUILD));
+                                                                                   KieDecorator.ENABLE_INCREMENTAL_BUILD,
+                                                                                   KieDecorator.ENABLE_PERSISTENT_CACHE));
         WorkspaceCompilationInfo info = new WorkspaceCompilationInfo(workingDir);
         return new CompilerAggregateEntryCache(compiler,
                                                info);
@@ -88,36 +92,36 @@ public class DefaultLocalExecutor implements CompilerExecutor {
                                                                     String settingXML,
                                                                     boolean skipProjectDepCreation,
                                                                     String goal) {
-        WorkspaceCompilationInfo info = new WorkspaceCompilationInfo(projectPath);
-        AFCompiler compiler = getCompiler(projectPath);
-        CompilationRequest req;
+        final String[] args;
         if (settingXML != null) {
-            req = getDefaultRequest(mavenRepoPath,
-                                    info,
-                                    skipProjectDepCreation,
-                                    new String[]{MavenCLIArgs.ALTERNATE_USER_SETTINGS + settingXML, goal});
+            args = new String[]{MavenCLIArgs.ALTERNATE_USER_SETTINGS + settingXML, goal};
         } else {
-            req = getDefaultRequest(mavenRepoPath,
-                                    info,
-                                    skipProjectDepCreation,
-                                    new String[]{goal});
+            args = new String[]{goal};
         }
-        return CompletableFuture.supplyAsync(() -> ((KieCompilationResponse) compiler.compile(req)),
-                                             executor);
+        return internalBuild(projectPath,
+                             mavenRepoPath,
+                             skipProjectDepCreation,
+                             args);
     }
 
     private CompletableFuture<KieCompilationResponse> internalBuild(Path projectPath,
                                                                     String mavenRepoPath,
                                                                     boolean skipProjectDepCreation,
                                                                     String[] args) {
-        WorkspaceCompilationInfo info = new WorkspaceCompilationInfo(projectPath);
-        AFCompiler compiler = getCompiler(projectPath);
-        CompilationRequest req = getDefaultRequest(mavenRepoPath,
-                                                   info,
-                                                   skipProjectDepCreation,
-                                                   args);
-        return CompletableFuture.supplyAsync(() -> ((KieCompilationResponse) compiler.compile(req)),
-                                             executor);
+        final BuildCoalescer.Key key = new BuildCoalescer.Key(projectPath,
+                                                              mavenRepoPath,
+                                                              skipProjectDepCreation,
+                                                              args);
+        return buildCoalescer.submit(key,
+                                     () -> {
+                                         WorkspaceCompilationInfo info = new WorkspaceCompilationInfo(projectPath);
+                                         AFCompiler compiler = getCompiler(projectPath);
+                                         CompilationRequest req = getDefaultRequest(mavenRepoPath,
+                                                                                    info,
+                                                                                    skipProjectDepCreation,
+                                                                                    args);
+                                         return (KieCompilationResponse) compiler.compile(req);
+                                     });
     }
 
     private CompletableFuture<KieCompilationResponse> internalBuild(Path projectPath,
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.compiler.service.executors;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class BuildCoalescerTest {
+
+    private ExecutorService executorService;
+    private BuildCoalescer<Integer> coalescer;
+    private AtomicInteger runs;
+    private CountDownLatch release;
+
+    @Before
+    public void setUp() {
+        executorService = Executors.newFixedThreadPool(4);
+        coalescer = new BuildCoalescer<>(executorService);
+        runs = new AtomicInteger();
+        release = new CountDownLatch(1);
+    }
+
+    @After
+    public void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void requestsReceivedDuringABuildShareOneTrailingBuild() throws Exception {
+        final CompletableFuture<Integer> first = coalescer.submit(key("compile"), blockingBuild());
+        final CompletableFuture<Integer> second = coalescer.submit(key("compile"), blockingBuild());
+        final CompletableFuture<Integer> third = coalescer.submit(key("compile"), blockingBuild());
+        release.countDown();
+
+        assertThat(first.get()).isEqualTo(1);
+        assertThat(second.get()).isEqualTo(2);
+        assertThat(third).isSameAs(second);
+        assertThat(runs.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void trailingBuildRunsTheMostRecentRequest() throws Exception {
+        final CompletableFuture<Integer> first = coalescer.submit(key("compile"), blockingBuild());
+        final CompletableFuture<Integer> second = coalescer.submit(key("compile"), () -> 20);
+        final CompletableFuture<Integer> third = coalescer.submit(key("compile"), () -> 30);
+        release.countDown();
+
+        assertThat(first.get()).isEqualTo(1);
+        assertThat(second.get()).isEqualTo(30);
+        assertThat(third.get()).isEqualTo(30);
+    }
+
+    @Test
+    public void differentKeysAreNotCoalesced() throws Exception {
+        final CompletableFuture<Integer> compile = coalescer.submit(key("compile"), blockingBuild());
+        final CompletableFuture<Integer> install = coalescer.submit(key("install"), blockingBuild());
+        assertThat(coalescer.inFlightBuilds()).isEqualTo(2);
+        release.countDown();
+
+        compile.get();
+        install.get();
+        assertThat(runs.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void keyIsReleasedWhenBuildCompletes() throws Exception {
+        release.countDown();
+        coalescer.submit(key("compile"), blockingBuild()).get();
+        coalescer.submit(key("compile"), blockingBuild()).get();
+
+        assertThat(runs.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void failuresAreReportedToTheCallersOfTheFailedBuild() throws Exception {
+        final CompletableFuture<Integer> first = coalescer.submit(key("compile"), () -> {
+            await();
+            throw new IllegalStateException("build failed");
+        });
+        final CompletableFuture<Integer> second = coalescer.submit(key("compile"), failingBuild());
+        final CompletableFuture<Integer> third = coalescer.submit(key("compile"), failingBuild());
+        final CompletableFuture<Integer> fourth = coalescer.submit(key("compile"), blockingBuild());
+        release.countDown();
+
+        assertThatThrownBy(first::get).isInstanceOf(ExecutionException.class);
+        // The trailing build runs the most recent request, which succeeds.
+        assertThat(second.get()).isEqualTo(1);
+        assertThat(third).isSameAs(second);
+        assertThat(fourth).isSameAs(second);
+    }
+
+    @Test
+    public void failuresOfTheTrailingBuildAreReportedToEveryWaitingCaller() {
+        final CompletableFuture<Integer> first = coalescer.submit(key("compile"), blockingBuild());
+        final CompletableFuture<Integer> second = coalescer.submit(key("compile"), blockingBuild());
+        final CompletableFuture<Integer> third = coalescer.submit(key("compile"), failingBuild());
+        release.countDown();
+
+        assertThatThrownBy(second::get).isInstanceOf(ExecutionException.class);
+        assertThatThrownBy(third::get).isInstanceOf(ExecutionException.class);
+        assertThat(first.join()).isEqualTo(1);
+    }
+
+    @Test
+    public void rejectedBuildsReleaseTheKey() throws Exception {
+        final BuildCoalescer<Integer> rejecting = new BuildCoalescer<>(command -> {
+            throw new RejectedExecutionException("rejected");
+        });
+
+        final CompletableFuture<Integer> rejected = rejecting.submit(key("compile"), blockingBuild());
+
+        assertThatThrownBy(rejected::get).hasCauseInstanceOf(RejectedExecutionException.class);
+        assertThat(rejecting.inFlightBuilds()).isZero();
+        final CompletableFuture<Integer> next = rejecting.submit(key("compile"), blockingBuild());
+        assertThat(next).isNotSameAs(rejected);
+        assertThatThrownBy(next::get).hasCauseInstanceOf(RejectedExecutionException.class);
+    }
+
+    @Test
+    public void rejectedTrailingBuildsAreReportedToTheWaitingCallers() throws Exception {
+        final AtomicInteger accepted = new AtomicInteger(1);
+        final BuildCoalescer<Integer> rejecting = new BuildCoalescer<>(command -> {
+            if (accepted.getAndDecrement() <= 0) {
+                throw new RejectedExecutionException("rejected");
+            }
+            executorService.execute(command);
+        });
+
+        final CompletableFuture<Integer> first = rejecting.submit(key("compile"), blockingBuild());
+        final CompletableFuture<Integer> trailing = rejecting.submit(key("compile"), blockingBuild());
+        release.countDown();
+
+        assertThat(first.get()).isEqualTo(1);
+        assertThatThrownBy(trailing::get).hasCauseInstanceOf(RejectedExecutionException.class);
+        assertThat(rejecting.inFlightBuilds()).isZero();
+    }
+
+    private BuildCoalescer.Key key(final String goal) {
+        return new BuildCoalescer.Key("/project", "/repository", Boolean.FALSE, new String[]{goal});
+    }
+
+    private Supplier<Integer> blockingBuild() {
+        return () -> {
+            await();
+            return runs.incrementAndGet();
+        };
+    }
+
+    private Supplier<Integer> failingBuild() {
+        return () -> {
+            throw new IllegalStateException("build failed");
+        };
+    }
+
+    private void await() {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -16,9 +16,6 @@
 package org.kie.workbench.common.services.datamodel.backend.server.builder.projects;
 
 import java.io.IOException;
-import java.lang.reflect.Field;
-import java.lang.reflect.ParameterizedType;
-import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
@@ -30,10 +27,7 @@ import java.util.function.Function;
 import org.kie.soup.project.datamodel.commons.oracle.ModuleDataModelOracleImpl;
 import org.kie.soup.project.datamodel.oracle.Annotation;
 import org.kie.soup.project.datamodel.oracle.MethodInfo;
-import org.kie.soup.project.datamodel.oracle.ModelField;
 import org.kie.soup.project.datamodel.oracle.TypeSource;
-import org.kie.workbench.common.services.datamodel.backend.server.builder.util.AnnotationUtils;
-import org.kie.workbench.common.services.datamodel.backend.server.builder.util.BlackLists;
 
 /**
  * Builder for Fact Types originating from a .class
@@ -43,6 +37,7 @@ public class ClassFactBuilder extends BaseFactBuilder {
     private final Map<String, List<MethodInfo>> methodInformation = new HashMap<String, List<MethodInfo>>();
     private final Map<String, String> fieldParametersType = new HashMap<String, String>();
 
+    private final ClassFactMetaData metaData;
     private final List<String> superTypes;
     private final Set<Annotation> annotations = new LinkedHashSet<Annotation>();
     private final Map<String, Set<Annotation>> fieldAnnotations = new HashMap<String, Set<Annotation>>();
@@ -69,8 +64,9 @@ public class ClassFactBuilder extends BaseFactBuilder {
               clazz,
               isEvent,
               typeSourceResolver);
-        this.superTypes = getSuperTypes(clazz);
-        this.annotations.addAll(AnnotationUtils.getClassAnnotations(clazz));
+        this.metaData = builder.getClassFactMetaData(clazz);
+        this.superTypes = new ArrayList<String>(metaData.getSuperTypes());
+        this.annotations.addAll(metaData.getAnnotations());
         loadClassFields(clazz, discoveredFieldFactBuilders);
     }
 
@@ -84,17 +80,6 @@ public class ClassFactBuilder extends BaseFactBuilder {
         oracle.addModuleTypeFieldsAnnotations(buildTypeFieldsAnnotations());
     }
 
-    private List<String> getSuperTypes(final Class<?> clazz) {
-        ArrayList<String> strings = new ArrayList<String>();
-        Class<?> superType = clazz.getSuperclass();
-        while (superType != null) {
-            strings.add(superType.getName());
-            superType = superType.getSuperclass();
-        }
-
-        return strings;
-    }
-
     private void loadClassFields(final Class<?> clazz,
                                  final Map<String, FactBuilder> discoveredFieldFactBuilders) throws IOException {
         if (clazz == null) {
@@ -103,78 +88,80 @@ public class ClassFactBuilder extends BaseFactBuilder {
 
         final String factType = getType();
 
-        //Get all getters and setters for the class. This does not handle delegated properties
-        //- FIELDS need a getter ("getXXX", "isXXX") or setter ("setXXX") or are public properties
-        //- METHODS are any accessor that does not have a getter or setter
-        final ClassFieldInspector inspector = new ClassFieldInspector(clazz);
-        final Set<String> fieldNames = inspector.getFieldNames();
-
-        for (final String fieldName : fieldNames) {
-            final ClassFieldInspector.FieldInfo f = inspector.getFieldTypesFieldInfo().get(fieldName);
-            addParametricTypeForField(factType,
-                                      fieldName,
-                                      f.getGenericType());
-
-            final Class<?> returnType = f.getReturnType();
-            final String genericReturnType = typeSystemConverter.translateClassToGenericType(returnType);
+        for (final ClassFactMetaData.FieldMetaData f : metaData.getFields()) {
+            final String fieldName = f.getName();
+            if (f.getParametricType() != null) {
+                fieldParametersType.put(factType + "#" + fieldName,
+                                        f.getParametricType());
+            }
 
-            addField(new ModelField(fieldName,
-                                    returnType.getName(),
-                                    ModelField.FIELD_CLASS_TYPE.REGULAR_CLASS,
-                                    f.getOrigin(),
-                                    f.getAccessorAndMutator(),
-                                    genericReturnType));
+            addField(f.getModelField());
 
-            addEnumsForField(factType,
-                             fieldName,
-                             returnType);
+            if (f.getEnumValues() != null) {
+                getDataModelBuilder().addEnum(factType,
+                                              fieldName,
+                                              f.getEnumValues());
+            }
 
             //To prevent recursion we keep track of all ClassFactBuilder's created and re-use where applicable
-            if (BlackLists.isReturnTypeBlackListed(returnType)) {
+            if (f.isReturnTypeBlackListed()) {
                 continue;
             }
 
-            discoverFieldFactBuilder(genericReturnType, returnType, discoveredFieldFactBuilders);
+            discoverFieldFactBuilder(f.getModelField().getType(),
+                                     f.getReturnTypeName(),
+                                     clazz,
+                                     discoveredFieldFactBuilders);
 
             // Check types on generic arguments
-            if (f.getGenericType() instanceof ParameterizedType) {
-                ParameterizedType parameterizedType = (ParameterizedType) f.getGenericType();
-
-                for (Type parameterType : parameterizedType.getActualTypeArguments()) {
-                    if (discoveredFieldFactBuilders.containsKey(parameterType.getTypeName())) {
-                        continue;
-                    }
-
-                    if (parameterType instanceof Class) {
-                        Class<?> parameterClazz = (Class<?>) parameterType;
-                        discoverFieldFactBuilder(parameterClazz.getName(),
-                                                 parameterClazz,
-                                                 discoveredFieldFactBuilders);
-                    }
+            for (String parameterTypeName : f.getParameterTypeNames()) {
+                if (discoveredFieldFactBuilders.containsKey(parameterTypeName)) {
+                    continue;
                 }
+                discoverFieldFactBuilder(parameterTypeName,
+                                         parameterTypeName,
+                                         clazz,
+                                         discoveredFieldFactBuilders);
             }
 
             Set<Annotation> fieldAnnotations = f.getAnnotations();
             if (fieldAnnotations != null && !fieldAnnotations.isEmpty()) {
-                this.fieldAnnotations.put(fieldName, f.getAnnotations());
+                this.fieldAnnotations.put(fieldName, new LinkedHashSet<Annotation>(fieldAnnotations));
             }
         }
 
         //Methods for use in Expressions and ActionCallMethod's
-        ClassMethodInspector methodInspector = new ClassMethodInspector(clazz,
-                                                                        typeSystemConverter);
-
-        final List<MethodInfo> methodInformation = methodInspector.getMethodInfos();
-        for (final MethodInfo mi : methodInformation) {
-            final String genericType = mi.getParametricReturnType();
-            if (genericType != null) {
-                final String qualifiedFactFieldName = factType + "#" + mi.getNameWithParameters();
-                this.fieldParametersType.put(qualifiedFactFieldName,
-                                             genericType);
-            }
+        for (Map.Entry<String, String> e : metaData.getMethodParametersType().entrySet()) {
+            this.fieldParametersType.put(factType + "#" + e.getKey(),
+                                         e.getValue());
         }
         this.methodInformation.put(factType,
-                                   methodInformation);
+                                   new ArrayList<>(metaData.getMethodInformation()));
+    }
+
+    //The metadata can be shared with other modules so it only knows the name of the field types, these are
+    //resolved by the ClassLoader of the Fact Type's class
+    private void discoverFieldFactBuilder(final String genericTypeName,
+                                          final String typeName,
+                                          final Class<?> clazz,
+                                          final Map<String, FactBuilder> discoveredFieldFactBuilders) throws IOException {
+        if (discoveredFieldFactBuilders.containsKey(genericTypeName)) {
+            discoverFieldFactBuilder(genericTypeName,
+                                     (Class<?>) null,
+                                     discoveredFieldFactBuilders);
+            return;
+        }
+        final Class<?> type;
+        try {
+            type = Class.forName(typeName,
+                                 false,
+                                 clazz.getClassLoader());
+        } catch (ClassNotFoundException | LinkageError e) {
+            return;
+        }
+        discoverFieldFactBuilder(genericTypeName,
+                                 type,
+                                 discoveredFieldFactBuilders);
     }
 
     protected void discoverFieldFactBuilder(final String genericTypeName,
@@ -196,60 +183,6 @@ public class ClassFactBuilder extends BaseFactBuilder {
         }
     }
 
-    private void addEnumsForField(final String className,
-                                  final String fieldName,
-                                  final Class<?> fieldClazz) {
-        if (fieldClazz.isEnum()) {
-            final Field[] enumFields = fieldClazz.getDeclaredFields();
-            final List<String> enumValues = new ArrayList<String>();
-            for (final Field enumField : enumFields) {
-                if (enumField.isEnumConstant()) {
-                    String shortName = fieldClazz.getName().substring(fieldClazz.getName().lastIndexOf(".") + 1) + "." + enumField.getName();
-                    if (shortName.contains("$")) {
-                        shortName = shortName.replaceAll("\\$",
-                                                         ".");
-                    }
-                    enumValues.add(shortName + "=" + shortName);
-                }
-            }
-            final String a[] = new String[enumValues.size()];
-            enumValues.toArray(a);
-            getDataModelBuilder().addEnum(className,
-                                          fieldName,
-                                          a);
-        }
-    }
-
-    private void addParametricTypeForField(final String className,
-                                           final String fieldName,
-                                           final Type type) {
-        final String qualifiedFactFieldName = className + "#" + fieldName;
-        final String parametricType = getParametricType(type);
-        if (parametricType != null) {
-            fieldParametersType.put(qualifiedFactFieldName,
-                                    parametricType);
-        }
-    }
-
-    private String getParametricType(final Type type) {
-        if (type instanceof ParameterizedType) {
-            final ParameterizedType pt = (ParameterizedType) type;
-            Type parameter = null;
-            for (final Type t : pt.getActualTypeArguments()) {
-                parameter = t;
-            }
-            if (parameter != null) {
-                if (parameter instanceof Class<?>) {
-                    return ((Class<?>) parameter).getName();
-                }
-                return null;
-            } else {
-                return null;
-            }
-        }
-        return null;
-    }
-
     private Map<String, List<String>> buildSuperTypes() {
         final Map<String, List<String>> loadableSuperTypes = new HashMap<String, List<String>>();
         loadableSuperTypes.put(getType(),
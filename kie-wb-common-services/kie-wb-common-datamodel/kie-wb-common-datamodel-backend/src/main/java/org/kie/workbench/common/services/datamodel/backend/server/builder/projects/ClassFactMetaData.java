@@ -0,0 +1,213 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.datamodel.backend.server.builder.projects;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.kie.soup.project.datamodel.oracle.Annotation;
+import org.kie.soup.project.datamodel.oracle.MethodInfo;
+import org.kie.soup.project.datamodel.oracle.ModelField;
+import org.kie.workbench.common.services.datamodel.backend.server.builder.util.AnnotationUtils;
+import org.kie.workbench.common.services.datamodel.backend.server.builder.util.BlackLists;
+
+/**
+ * Result of the reflection over a Fact Type's class, fields and methods. It holds names rather than classes, so
+ * it does not retain the ClassLoader of the class and can be shared by the builders of different modules.
+ */
+public class ClassFactMetaData {
+
+    private static final ClassToGenericClassConverter TYPE_SYSTEM_CONVERTER = new JavaTypeSystemTranslator();
+
+    private final List<String> superTypes;
+    private final Set<Annotation> annotations;
+    private final List<FieldMetaData> fields = new ArrayList<>();
+    private final List<MethodInfo> methodInformation;
+    private final Map<String, String> methodParametersType = new HashMap<>();
+
+    public ClassFactMetaData(final Class<?> clazz) {
+        this.superTypes = Collections.unmodifiableList(getSuperTypes(clazz));
+        this.annotations = Collections.unmodifiableSet(new LinkedHashSet<>(AnnotationUtils.getClassAnnotations(clazz)));
+
+        //Get all getters and setters for the class. This does not handle delegated properties
+        //- FIELDS need a getter ("getXXX", "isXXX") or setter ("setXXX") or are public properties
+        //- METHODS are any accessor that does not have a getter or setter
+        final ClassFieldInspector inspector = new ClassFieldInspector(clazz);
+        for (final String fieldName : inspector.getFieldNames()) {
+            fields.add(new FieldMetaData(fieldName,
+                                         inspector.getFieldTypesFieldInfo().get(fieldName)));
+        }
+
+        //Methods for use in Expressions and ActionCallMethod's
+        final ClassMethodInspector methodInspector = new ClassMethodInspector(clazz,
+                                                                              TYPE_SYSTEM_CONVERTER);
+        this.methodInformation = Collections.unmodifiableList(methodInspector.getMethodInfos());
+        for (final MethodInfo mi : methodInformation) {
+            final String genericType = mi.getParametricReturnType();
+            if (genericType != null) {
+                methodParametersType.put(mi.getNameWithParameters(),
+                                         genericType);
+            }
+        }
+    }
+
+    private static List<String> getSuperTypes(final Class<?> clazz) {
+        final List<String> strings = new ArrayList<>();
+        Class<?> superType = clazz.getSuperclass();
+        while (superType != null) {
+            strings.add(superType.getName());
+            superType = superType.getSuperclass();
+        }
+        return strings;
+    }
+
+    public List<String> getSuperTypes() {
+        return superTypes;
+    }
+
+    public Set<Annotation> getAnnotations() {
+        return annotations;
+    }
+
+    public List<FieldMetaData> getFields() {
+        return Collections.unmodifiableList(fields);
+    }
+
+    public List<MethodInfo> getMethodInformation() {
+        return methodInformation;
+    }
+
+    /**
+     * @return Parametric return types of the methods, keyed by method name with parameters
+     */
+    public Map<String, String> getMethodParametersType() {
+        return Collections.unmodifiableMap(methodParametersType);
+    }
+
+    public static class FieldMetaData {
+
+        private final String name;
+        private final ModelField modelField;
+        private final String parametricType;
+        private final String[] enumValues;
+        private final boolean returnTypeBlackListed;
+        private final String returnTypeName;
+        private final List<String> parameterTypeNames = new ArrayList<>();
+        private final Set<Annotation> annotations;
+
+        private FieldMetaData(final String name,
+                              final ClassFieldInspector.FieldInfo info) {
+            final Class<?> returnType = info.getReturnType();
+            this.name = name;
+            this.modelField = new ModelField(name,
+                                             returnType.getName(),
+                                             ModelField.FIELD_CLASS_TYPE.REGULAR_CLASS,
+                                             info.getOrigin(),
+                                             info.getAccessorAndMutator(),
+                                             TYPE_SYSTEM_CONVERTER.translateClassToGenericType(returnType));
+            this.parametricType = getParametricType(info.getGenericType());
+            this.enumValues = getEnumValues(returnType);
+            this.returnTypeBlackListed = BlackLists.isReturnTypeBlackListed(returnType);
+            this.returnTypeName = returnType.getName();
+            if (info.getGenericType() instanceof ParameterizedType) {
+                for (Type parameterType : ((ParameterizedType) info.getGenericType()).getActualTypeArguments()) {
+                    if (parameterType instanceof Class) {
+                        parameterTypeNames.add(((Class<?>) parameterType).getName());
+                    }
+                }
+            }
+            this.annotations = info.getAnnotations();
+        }
+
+        private static String getParametricType(final Type type) {
+            if (type instanceof ParameterizedType) {
+                final ParameterizedType pt = (ParameterizedType) type;
+                Type parameter = null;
+                for (final Type t : pt.getActualTypeArguments()) {
+                    parameter = t;
+                }
+                if (parameter instanceof Class<?>) {
+                    return ((Class<?>) parameter).getName();
+                }
+            }
+            return null;
+        }
+
+        private static String[] getEnumValues(final Class<?> fieldClazz) {
+            if (!fieldClazz.isEnum()) {
+                return null;
+            }
+            final List<String> enumValues = new ArrayList<>();
+            for (final Field enumField : fieldClazz.getDeclaredFields()) {
+                if (enumField.isEnumConstant()) {
+                    String shortName = fieldClazz.getName().substring(fieldClazz.getName().lastIndexOf(".") + 1) + "." + enumField.getName();
+                    if (shortName.contains("$")) {
+                        shortName = shortName.replaceAll("\\$",
+                                                         ".");
+                    }
+                    enumValues.add(shortName + "=" + shortName);
+                }
+            }
+            return enumValues.toArray(new String[enumValues.size()]);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public ModelField getModelField() {
+            return modelField;
+        }
+
+        public String getParametricType() {
+            return parametricType;
+        }
+
+        /**
+         * @return The enum values when the field is an enum, null otherwise
+         */
+        public String[] getEnumValues() {
+            return enumValues == null ? null : enumValues.clone();
+        }
+
+        public boolean isReturnTypeBlackListed() {
+            return returnTypeBlackListed;
+        }
+
+        public String getReturnTypeName() {
+            return returnTypeName;
+        }
+
+        /**
+         * @return Class names of the generic arguments of the field, e.g. the element type of a List
+         */
+        public List<String> getParameterTypeNames() {
+            return Collections.unmodifiableList(parameterTypeNames);
+        }
+
+        public Set<Annotation> getAnnotations() {
+            return annotations;
+        }
+    }
+}
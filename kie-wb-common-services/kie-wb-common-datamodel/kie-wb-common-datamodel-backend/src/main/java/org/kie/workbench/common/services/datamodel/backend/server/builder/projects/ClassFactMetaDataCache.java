@@ -0,0 +1,115 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.datamodel.backend.server.builder.projects;
+
+import java.net.URL;
+import java.security.CodeSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A LRU cache of {@link ClassFactMetaData} for the classes that are the same in every module using them: JDK classes
+ * and classes of released dependency jars. A jar within a maven repository is identified by its GAV, so these
+ * classes are keyed by the jar location plus the class name. Classes of the modules themselves and of SNAPSHOT
+ * dependencies can change between builds and are introspected every time.
+ */
+public class ClassFactMetaDataCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClassFactMetaDataCache.class);
+
+    protected static final String FACT_METADATA_CACHE_SIZE = "org.kie.datamodel.fact.metadata.cache.size";
+    protected static final String DEFAULT_FACT_METADATA_CACHE_SIZE = "10000";
+    protected static final int MAX_ENTRIES = Integer.parseInt(validateCacheSize(System.getProperty(FACT_METADATA_CACHE_SIZE,
+                                                                                                 DEFAULT_FACT_METADATA_CACHE_SIZE)));
+
+    private final Map<String, ClassFactMetaData> entries;
+
+    public ClassFactMetaDataCache() {
+        this(MAX_ENTRIES);
+    }
+
+    public ClassFactMetaDataCache(final int maxEntries) {
+        this.entries = new LinkedHashMap<String, ClassFactMetaData>(16,
+                                                                    0.75f,
+                                                                    true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, ClassFactMetaData> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    protected static String validateCacheSize(final String value) {
+        if (value == null || value.length() == 0 || !value.matches("^[0-9]+$")) {
+            logger.error("Illeagal Argument : Property {} should be a positive integer", FACT_METADATA_CACHE_SIZE);
+            return DEFAULT_FACT_METADATA_CACHE_SIZE;
+        }
+        return value;
+    }
+
+    public ClassFactMetaData get(final Class<?> clazz) {
+        final String key = getKey(clazz);
+        if (key == null) {
+            return new ClassFactMetaData(clazz);
+        }
+        synchronized (entries) {
+            final ClassFactMetaData metaData = entries.get(key);
+            if (metaData != null) {
+                return metaData;
+            }
+        }
+        //Introspect outside of the lock, a concurrent introspection of the same class keeps the first result
+        final ClassFactMetaData metaData = new ClassFactMetaData(clazz);
+        synchronized (entries) {
+            final ClassFactMetaData existing = entries.putIfAbsent(key,
+                                                                   metaData);
+            return existing == null ? metaData : existing;
+        }
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * @return The key of the class or null when its metadata should not be shared
+     */
+    static String getKey(final Class<?> clazz) {
+        if (clazz.getClassLoader() == null) {
+            return "jdk!" + clazz.getName();
+        }
+        final CodeSource codeSource;
+        try {
+            codeSource = clazz.getProtectionDomain().getCodeSource();
+        } catch (SecurityException e) {
+            return null;
+        }
+        final URL location = codeSource == null ? null : codeSource.getLocation();
+        if (location == null) {
+            return null;
+        }
+        final String jar = location.toExternalForm();
+        if (!jar.endsWith(".jar") || jar.contains("-SNAPSHOT")) {
+            return null;
+        }
+        return jar + "!" + clazz.getName();
+    }
+}
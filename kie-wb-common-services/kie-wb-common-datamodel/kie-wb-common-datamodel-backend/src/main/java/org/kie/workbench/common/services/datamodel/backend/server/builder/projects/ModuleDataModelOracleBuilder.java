@@ -21,6 +21,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 import org.kie.soup.project.datamodel.commons.oracle.ModuleDataModelOracleImpl;
@@ -46,12 +47,24 @@ public final class ModuleDataModelOracleBuilder {
 
     private MVELEvaluator evaluator;
 
+    private final ClassFactMetaDataCache classFactMetaDataCache;
+    private final Map<Class<?>, ClassFactMetaData> classFactMetaData = new ConcurrentHashMap<>();
+
     public static ModuleDataModelOracleBuilder newModuleOracleBuilder(MVELEvaluator evaluator) {
-        return new ModuleDataModelOracleBuilder(evaluator);
+        return new ModuleDataModelOracleBuilder(evaluator,
+                                                new ClassFactMetaDataCache());
+    }
+
+    public static ModuleDataModelOracleBuilder newModuleOracleBuilder(MVELEvaluator evaluator,
+                                                                      ClassFactMetaDataCache classFactMetaDataCache) {
+        return new ModuleDataModelOracleBuilder(evaluator,
+                                                classFactMetaDataCache);
     }
 
-    private ModuleDataModelOracleBuilder(MVELEvaluator evaluator) {
+    private ModuleDataModelOracleBuilder(MVELEvaluator evaluator,
+                                         ClassFactMetaDataCache classFactMetaDataCache) {
         this.evaluator = evaluator;
+        this.classFactMetaDataCache = classFactMetaDataCache;
     }
 
     //Used by tests
@@ -108,6 +121,32 @@ public final class ModuleDataModelOracleBuilder {
         return this;
     }
 
+    /**
+     * Reflects over the given classes in parallel, on the common fork-join pool, so the Fact Types added later
+     * find their metadata ready. Classes that fail introspection are skipped here; the failure is reported when
+     * the class is added.
+     */
+    public ModuleDataModelOracleBuilder introspectClasses(final Collection<Class<?>> classes) {
+        classes.parallelStream().forEach(clazz -> {
+            try {
+                getClassFactMetaData(clazz);
+            } catch (Throwable e) {
+                //Reported by addClass
+            }
+        });
+        return this;
+    }
+
+    ClassFactMetaData getClassFactMetaData(final Class<?> clazz) {
+        ClassFactMetaData metaData = classFactMetaData.get(clazz);
+        if (metaData == null) {
+            metaData = classFactMetaDataCache.get(clazz);
+            classFactMetaData.put(clazz,
+                                  metaData);
+        }
+        return metaData;
+    }
+
     public ModuleDataModelOracleBuilder addEnum(final String factType,
                                                 final String fieldName,
                                                 final String[] values) {
@@ -15,6 +15,13 @@
 
 package org.kie.workbench.common.services.datamodel.backend.server.cache;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Observes;
 import javax.inject.Inject;
@@ -22,24 +29,33 @@ import javax.inject.Named;
 
 import org.guvnor.common.services.backend.cache.LRUCache;
 import org.guvnor.common.services.project.builder.events.InvalidateDMOModuleCacheEvent;
+import org.guvnor.common.services.project.model.Package;
 import org.kie.soup.commons.validation.PortablePreconditions;
 import org.kie.soup.project.datamodel.oracle.ModuleDataModelOracle;
 import org.kie.workbench.common.services.backend.builder.service.BuildInfoService;
 import org.kie.workbench.common.services.shared.project.KieModule;
 import org.kie.workbench.common.services.shared.project.KieModuleService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.uberfire.backend.vfs.Path;
 
 /**
- * A simple LRU cache for Module DataModelOracles
+ * A simple LRU cache for Module DataModelOracles. Only one DataModelOracle per Module is built at a time.
+ * Changes to Java classes of a Module update the fact types of its cached DataModelOracle, other changes evict it.
  */
 @ApplicationScoped
 @Named("ModuleDataModelOracleCache")
 public class LRUModuleDataModelOracleCache
         extends LRUCache<KieModule, ModuleDataModelOracle> {
 
+    private static final Logger log = LoggerFactory.getLogger(LRUModuleDataModelOracleCache.class);
+
     private ModuleDataModelOracleBuilderProvider builderProvider;
     private KieModuleService moduleService;
     private BuildInfoService buildInfoService;
+    private final Map<KieModule, CompletableFuture<ModuleDataModelOracle>> inFlightBuilds = new ConcurrentHashMap<>();
+    //Changed fact types of the Modules, with the resource of their class
+    private final Map<KieModule, Map<String, Path>> changedFactTypes = new ConcurrentHashMap<>();
 
     public LRUModuleDataModelOracleCache() {
     }
@@ -60,20 +76,121 @@ public class LRUModuleDataModelOracleCache
         final KieModule module = moduleService.resolveModule(resourcePath);
 
         //If resource was not within a Module there's nothing to invalidate
-        if (module != null) {
+        if (module == null) {
+            return;
+        }
+
+        //A change to a Java class only affects its fact type and dependents, these are updated on the next request.
+        //The Builder may not have processed the change yet, hence the update is not done here
+        final String factType = getFactType(resourcePath);
+        if (factType != null) {
+            changedFactTypes.computeIfAbsent(module,
+                                             m -> new ConcurrentHashMap<>()).put(factType,
+                                                                                 resourcePath);
+        } else {
             invalidateCache(module);
         }
     }
 
-    //Check the ModuleOracle for the Module has been created, otherwise create one!
+    private String getFactType(final Path resourcePath) {
+        final String fileName = resourcePath.getFileName();
+        if (!fileName.endsWith(".java")) {
+            return null;
+        }
+        final Package pkg = moduleService.resolvePackage(resourcePath);
+        if (pkg == null || pkg.getPackageMainSrcPath() == null || !resourcePath.toURI().startsWith(pkg.getPackageMainSrcPath().toURI())) {
+            return null;
+        }
+        final String className = fileName.substring(0,
+                                                    fileName.length() - ".java".length());
+        return pkg.getPackageName().isEmpty() ? className : pkg.getPackageName() + "." + className;
+    }
+
+    @Override
+    public void invalidateCache(final KieModule module) {
+        //A build in progress may have read the invalidated resources, so its result is not cached
+        inFlightBuilds.remove(module);
+        changedFactTypes.remove(module);
+        super.invalidateCache(module);
+    }
+
+    //Check the ModuleOracle for the Module has been created and is up to date, otherwise create or update one!
+    //Concurrent requests for the same Module wait for a single build
     public ModuleDataModelOracle assertModuleDataModelOracle(final KieModule module) {
-        ModuleDataModelOracle moduleOracle = getEntry(module);
-        if (moduleOracle == null) {
-            moduleOracle = makeModuleOracle(module);
-            setEntry(module,
-                     moduleOracle);
+        final ModuleDataModelOracle moduleOracle = getEntry(module);
+        if (moduleOracle != null && !changedFactTypes.containsKey(module)) {
+            return moduleOracle;
+        }
+
+        final CompletableFuture<ModuleDataModelOracle> build = new CompletableFuture<>();
+        final CompletableFuture<ModuleDataModelOracle> inFlightBuild = inFlightBuilds.putIfAbsent(module,
+                                                                                                  build);
+        if (inFlightBuild != null) {
+            return join(inFlightBuild);
+        }
+
+        try {
+            //The entry could have been set by a build that completed after the first check
+            ModuleDataModelOracle builtOracle = getEntry(module);
+            //Taken before the build, the changes notified later are applied by the next request
+            final Map<String, Path> factTypes = takeChangedFactTypes(module);
+            if (builtOracle == null) {
+                builtOracle = makeModuleOracle(module);
+            } else if (!factTypes.isEmpty()) {
+                builtOracle = updateModuleOracle(module,
+                                                 builtOracle,
+                                                 factTypes);
+            }
+            if (inFlightBuilds.get(module) == build) {
+                setEntry(module,
+                         builtOracle);
+            }
+            build.complete(builtOracle);
+            return builtOracle;
+        } catch (RuntimeException | Error e) {
+            build.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightBuilds.remove(module,
+                                  build);
+        }
+    }
+
+    private ModuleDataModelOracle join(final CompletableFuture<ModuleDataModelOracle> build) {
+        try {
+            return build.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private Map<String, Path> takeChangedFactTypes(final KieModule module) {
+        final Map<String, Path> factTypes = changedFactTypes.remove(module);
+        return factTypes == null ? Collections.emptyMap() : new HashMap<>(factTypes);
+    }
+
+    //The build the fact types are read from has applied the last changes of their classes: a Builder that has not,
+    //the incremental build being pending or disabled, is built again
+    private ModuleDataModelOracle updateModuleOracle(final KieModule module,
+                                                     final ModuleDataModelOracle moduleOracle,
+                                                     final Map<String, Path> factTypes) {
+        try {
+            return builderProvider.newBuilder(module,
+                                              buildInfoService.getBuildInfo(module,
+                                                                            factTypes.values())).update(moduleOracle,
+                                                                                                        factTypes.keySet());
+        } catch (RuntimeException e) {
+            log.warn("DataModelOracle of module {} could not be updated, it is rebuilt: {}",
+                     module.getModuleName(),
+                     e.getMessage());
+            return makeModuleOracle(module);
         }
-        return moduleOracle;
     }
 
     private ModuleDataModelOracle makeModuleOracle(final KieModule module) {
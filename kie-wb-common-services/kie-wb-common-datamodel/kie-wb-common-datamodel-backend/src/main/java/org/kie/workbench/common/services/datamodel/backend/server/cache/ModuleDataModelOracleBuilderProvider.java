@@ -15,19 +15,25 @@
  */
 package org.kie.workbench.common.services.datamodel.backend.server.cache;
 
-import java.io.IOException;
-import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import javax.inject.Inject;
 
 import org.kie.scanner.KieModuleMetaData;
+import org.kie.soup.project.datamodel.commons.oracle.ModuleDataModelOracleImpl;
 import org.kie.soup.project.datamodel.commons.util.RawMVELEvaluator;
 import org.kie.soup.project.datamodel.imports.Import;
+import org.kie.soup.project.datamodel.oracle.ModelField;
 import org.kie.soup.project.datamodel.oracle.ModuleDataModelOracle;
 import org.kie.soup.project.datamodel.oracle.TypeSource;
 import org.kie.workbench.common.services.backend.builder.core.TypeSourceResolver;
 import org.kie.workbench.common.services.backend.builder.service.BuildInfo;
+import org.kie.workbench.common.services.datamodel.backend.server.builder.projects.ClassFactMetaDataCache;
 import org.kie.workbench.common.services.datamodel.backend.server.builder.projects.ModuleDataModelOracleBuilder;
 import org.kie.workbench.common.services.shared.project.KieModule;
 import org.kie.workbench.common.services.shared.project.ProjectImportsService;
@@ -45,6 +51,9 @@ public class ModuleDataModelOracleBuilderProvider {
     private ProjectImportsService importsService;
     private PackageNameWhiteListService packageNameWhiteListService;
 
+    //Fact metadata of the JDK and released dependencies, shared by the modules
+    private final ClassFactMetaDataCache classFactMetaDataCache = new ClassFactMetaDataCache();
+
     public ModuleDataModelOracleBuilderProvider() {
         //CDI proxy
     }
@@ -69,7 +78,8 @@ public class ModuleDataModelOracleBuilderProvider {
 
     class InnerBuilder {
 
-        private final ModuleDataModelOracleBuilder pdBuilder = ModuleDataModelOracleBuilder.newModuleOracleBuilder(new RawMVELEvaluator());
+        private final ModuleDataModelOracleBuilder pdBuilder = ModuleDataModelOracleBuilder.newModuleOracleBuilder(new RawMVELEvaluator(),
+                                                                                                               classFactMetaDataCache);
 
         private final KieModule project;
         private final KieModuleMetaData kieModuleMetaData;
@@ -85,29 +95,191 @@ public class ModuleDataModelOracleBuilderProvider {
 
         public ModuleDataModelOracle build() {
 
-            addFromKieModuleMetadata();
+            final Map<Class<?>, Boolean> classes = new LinkedHashMap<>();
+
+            loadFromKieModuleMetadata(classes);
 
-            addExternalImports();
+            loadExternalImports(classes);
+
+            //The reflection over the classes is the expensive part, do it in parallel before adding them
+            pdBuilder.introspectClasses(classes.keySet());
+
+            for (final Map.Entry<Class<?>, Boolean> e : classes.entrySet()) {
+                addClass(e.getKey(),
+                         e.getValue());
+            }
 
             return pdBuilder.build();
         }
 
+        /**
+         * Rebuilds the given fact types, and the fact types depending on them, of a DataModelOracle of the Module.
+         * The other fact types are copied from it into a new DataModelOracle, the given one is left untouched for its
+         * readers: only the introspection of the unchanged classes is saved. A change of the Module packages requires
+         * a full build.
+         */
+        public ModuleDataModelOracle update(final ModuleDataModelOracle moduleOracle,
+                                            final Set<String> changedFactTypes) {
+            final WhiteList packageNames = getFilteredPackageNames();
+            if (!new HashSet<>(moduleOracle.getModulePackageNames()).equals(new HashSet<>(packageNames))) {
+                return build();
+            }
+
+            final Set<String> factTypes = getDependentFactTypes(moduleOracle,
+                                                                changedFactTypes);
+            final Set<String> loadedFactTypes = new HashSet<>();
+            final Map<Class<?>, Boolean> classes = new LinkedHashMap<>();
+            for (final String packageName : packageNames) {
+                for (final String className : kieModuleMetaData.getClasses(packageName)) {
+                    final String factType = packageName.isEmpty() ? className : packageName + "." + className;
+                    if (isFactType(factTypes,
+                                   factType)) {
+                        loadClass(packageName,
+                                  className,
+                                  classes);
+                        loadedFactTypes.add(factType);
+                    }
+                }
+            }
+
+            //Fact types outside of the white listed packages are only known as the type of a field
+            for (final String factType : factTypes) {
+                if (!loadedFactTypes.contains(factType)) {
+                    loadFieldClass(factType,
+                                   classes);
+                }
+            }
+
+            pdBuilder.introspectClasses(classes.keySet());
+            for (final Map.Entry<Class<?>, Boolean> e : classes.entrySet()) {
+                addClass(e.getKey(),
+                         e.getValue());
+            }
+
+            return merge(moduleOracle,
+                         pdBuilder.build(),
+                         factTypes);
+        }
+
+        //Sub-classes inherit the fields of the changed types, fields of the changed types define enums and types
+        private Set<String> getDependentFactTypes(final ModuleDataModelOracle moduleOracle,
+                                                  final Set<String> changedFactTypes) {
+            final Set<String> factTypes = new HashSet<>(changedFactTypes);
+            for (final Map.Entry<String, ModelField[]> e : moduleOracle.getModuleModelFields().entrySet()) {
+                for (final ModelField field : e.getValue()) {
+                    if (isFactType(changedFactTypes,
+                                   field.getClassName())) {
+                        factTypes.add(e.getKey());
+                        break;
+                    }
+                }
+            }
+            for (final Map.Entry<String, List<String>> e : moduleOracle.getModuleSuperTypes().entrySet()) {
+                for (final String superType : e.getValue()) {
+                    if (isFactType(changedFactTypes,
+                                   superType)) {
+                        factTypes.add(e.getKey());
+                        break;
+                    }
+                }
+            }
+            return factTypes;
+        }
+
+        //Nested classes are defined by the same source file
+        private boolean isFactType(final Set<String> factTypes,
+                                   final String type) {
+            final int nestedClassIndex = type.indexOf("$");
+            return factTypes.contains(type) || (nestedClassIndex > 0 && factTypes.contains(type.substring(0,
+                                                                                                          nestedClassIndex)));
+        }
+
+        private ModuleDataModelOracle merge(final ModuleDataModelOracle moduleOracle,
+                                            final ModuleDataModelOracle updates,
+                                            final Set<String> factTypes) {
+            final ModuleDataModelOracleImpl oracle = new ModuleDataModelOracleImpl();
+            oracle.addModulePackageNames(moduleOracle.getModulePackageNames());
+            oracle.addModuleModelFields(merge(moduleOracle.getModuleModelFields(),
+                                              updates.getModuleModelFields(),
+                                              factTypes));
+            oracle.addModuleFieldParametersType(merge(moduleOracle.getModuleFieldParametersType(),
+                                                      updates.getModuleFieldParametersType(),
+                                                      factTypes));
+            oracle.addModuleJavaEnumDefinitions(merge(moduleOracle.getModuleJavaEnumDefinitions(),
+                                                      updates.getModuleJavaEnumDefinitions(),
+                                                      factTypes));
+            oracle.addModuleMethodInformation(merge(moduleOracle.getModuleMethodInformation(),
+                                                    updates.getModuleMethodInformation(),
+                                                    factTypes));
+            oracle.addModuleCollectionTypes(merge(moduleOracle.getModuleCollectionTypes(),
+                                                  updates.getModuleCollectionTypes(),
+                                                  factTypes));
+            oracle.addModuleEventTypes(merge(moduleOracle.getModuleEventTypes(),
+                                             updates.getModuleEventTypes(),
+                                             factTypes));
+            oracle.addModuleTypeSources(merge(moduleOracle.getModuleTypeSources(),
+                                              updates.getModuleTypeSources(),
+                                              factTypes));
+            oracle.addModuleSuperTypes(merge(moduleOracle.getModuleSuperTypes(),
+                                             updates.getModuleSuperTypes(),
+                                             factTypes));
+            oracle.addModuleTypeAnnotations(merge(moduleOracle.getModuleTypeAnnotations(),
+                                                  updates.getModuleTypeAnnotations(),
+                                                  factTypes));
+            oracle.addModuleTypeFieldsAnnotations(merge(moduleOracle.getModuleTypeFieldsAnnotations(),
+                                                        updates.getModuleTypeFieldsAnnotations(),
+                                                        factTypes));
+            return oracle;
+        }
+
+        //Entries are keyed by fact type or by fact type and member, i.e. "factType#member"
+        private <T> Map<String, T> merge(final Map<String, T> current,
+                                         final Map<String, T> updates,
+                                         final Set<String> factTypes) {
+            final Map<String, T> merged = new HashMap<>();
+            current.forEach((key, value) -> {
+                if (!isFactType(factTypes,
+                                getFactType(key))) {
+                    merged.put(key,
+                               value);
+                }
+            });
+            updates.forEach((key, value) -> {
+                if (isFactType(factTypes,
+                               getFactType(key)) || !merged.containsKey(key)) {
+                    merged.put(key,
+                               value);
+                }
+            });
+            return merged;
+        }
+
+        private String getFactType(final String key) {
+            final int memberIndex = key.indexOf("#");
+            return memberIndex < 0 ? key : key.substring(0,
+                                                         memberIndex);
+        }
+
         /**
          * The availability of these classes is checked in Builder and failed fast. Here we load them into the DMO
          */
-        private void addExternalImports() {
+        private void loadExternalImports(final Map<Class<?>, Boolean> classes) {
             if (Files.exists(Paths.convert(project.getImportsPath()))) {
                 for (final Import item : getImports()) {
-                    addClass(item);
+                    loadClass(item,
+                              classes);
                 }
             }
         }
 
-        private void addFromKieModuleMetadata() {
+        private void loadFromKieModuleMetadata(final Map<Class<?>, Boolean> classes) {
             for (final String packageName : getFilteredPackageNames()) {
                 pdBuilder.addPackage(packageName);
-                addClasses(packageName,
-                           kieModuleMetaData.getClasses(packageName));
+                for (final String className : kieModuleMetaData.getClasses(packageName)) {
+                    loadClass(packageName,
+                              className,
+                              classes);
+                }
             }
         }
 
@@ -119,34 +291,48 @@ public class ModuleDataModelOracleBuilderProvider {
                                                                   kieModuleMetaData.getPackages());
         }
 
-        private void addClasses(final String packageName,
-                                final Collection<String> classes) {
-            for (final String className : classes) {
-                addClass(packageName,
-                         className);
-            }
-        }
-
-        private void addClass(final Import item) {
+        private void loadClass(final Import item,
+                               final Map<Class<?>, Boolean> classes) {
             try {
-                Class clazz = this.getClass().getClassLoader().loadClass(item.getType());
-                pdBuilder.addClass(clazz,
-                                   false,
-                                   this::resolveTypeSource);
+                final Class clazz = this.getClass().getClassLoader().loadClass(item.getType());
+                classes.put(clazz,
+                            false);
             } catch (ClassNotFoundException cnfe) {
                 //Class resolution would have happened in Builder and reported as warnings so log error here at debug level to avoid flooding logs
                 log.debug(cnfe.getMessage());
-            } catch (IOException ioe) {
-                log.debug(ioe.getMessage());
             }
         }
 
-        private void addClass(final String packageName, final String className) {
+        private void loadClass(final String packageName,
+                               final String className,
+                               final Map<Class<?>, Boolean> classes) {
             try {
                 final Class clazz = kieModuleMetaData.getClass(packageName,
                                                                className);
+                classes.put(clazz,
+                            kieModuleMetaData.getTypeMetaInfo(clazz).isEvent());
+            } catch (Throwable e) {
+                //Class resolution would have happened in Builder and reported as warnings so log error here at debug level to avoid flooding logs
+                log.debug(e.getMessage());
+            }
+        }
+
+        private void loadFieldClass(final String factType,
+                                    final Map<Class<?>, Boolean> classes) {
+            try {
+                classes.put(kieModuleMetaData.getClassLoader().loadClass(factType),
+                            false);
+            } catch (ClassNotFoundException | LinkageError e) {
+                //The class was deleted, its fact type is removed
+                log.debug(e.getMessage());
+            }
+        }
+
+        private void addClass(final Class<?> clazz,
+                              final boolean isEvent) {
+            try {
                 pdBuilder.addClass(clazz,
-                                   kieModuleMetaData.getTypeMetaInfo(clazz).isEvent(),
+                                   isEvent,
                                    this::resolveTypeSource);
             } catch (Throwable e) {
                 //Class resolution would have happened in Builder and reported as warnings so log error here at debug level to avoid flooding logs
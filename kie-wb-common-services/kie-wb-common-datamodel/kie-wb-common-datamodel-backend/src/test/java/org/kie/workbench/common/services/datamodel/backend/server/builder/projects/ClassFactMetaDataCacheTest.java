@@ -0,0 +1,99 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.datamodel.backend.server.builder.projects;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import org.junit.Test;
+import org.kie.soup.project.datamodel.commons.util.RawMVELEvaluator;
+import org.kie.soup.project.datamodel.oracle.ModuleDataModelOracle;
+import org.kie.soup.project.datamodel.oracle.TypeSource;
+import org.kie.workbench.common.services.datamodel.backend.server.testclasses.Product;
+import org.kie.workbench.common.services.datamodel.backend.server.testclasses.superclasses.PapaSmurf;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ClassFactMetaDataCacheTest {
+
+    @Test
+    public void testJdkClassesAreShared() {
+        final ClassFactMetaDataCache cache = new ClassFactMetaDataCache();
+
+        final ClassFactMetaData metaData = cache.get(BigDecimal.class);
+
+        assertSame(metaData,
+                   cache.get(BigDecimal.class));
+        assertEquals(1,
+                     cache.size());
+    }
+
+    @Test
+    public void testModuleClassesAreNotShared() {
+        final ClassFactMetaDataCache cache = new ClassFactMetaDataCache();
+
+        assertNull(ClassFactMetaDataCache.getKey(Product.class));
+        assertNotSame(cache.get(Product.class),
+                      cache.get(Product.class));
+        assertEquals(0,
+                     cache.size());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsEvicted() {
+        final ClassFactMetaDataCache cache = new ClassFactMetaDataCache(2);
+
+        final ClassFactMetaData bigDecimal = cache.get(BigDecimal.class);
+        cache.get(Integer.class);
+        cache.get(BigDecimal.class);
+        cache.get(String.class);
+
+        assertEquals(2,
+                     cache.size());
+        assertSame(bigDecimal,
+                   cache.get(BigDecimal.class));
+    }
+
+    @Test
+    public void testSharedMetaDataBuildsSameFacts() throws Exception {
+        final ClassFactMetaDataCache cache = new ClassFactMetaDataCache();
+        final ModuleDataModelOracle oracle1 = buildOracle(cache);
+        final ModuleDataModelOracle oracle2 = buildOracle(cache);
+
+        assertEquals(oracle1.getModuleModelFields().keySet(),
+                     oracle2.getModuleModelFields().keySet());
+        assertTrue(oracle2.getModuleModelFields().containsKey(PapaSmurf.class.getName()));
+        assertEquals(oracle1.getModuleModelFields().get(PapaSmurf.class.getName()).length,
+                     oracle2.getModuleModelFields().get(PapaSmurf.class.getName()).length);
+        assertEquals(oracle1.getModuleSuperTypes(),
+                     oracle2.getModuleSuperTypes());
+    }
+
+    private ModuleDataModelOracle buildOracle(final ClassFactMetaDataCache cache) throws Exception {
+        final ModuleDataModelOracleBuilder builder = ModuleDataModelOracleBuilder.newModuleOracleBuilder(new RawMVELEvaluator(),
+                                                                                                         cache);
+        builder.introspectClasses(Arrays.<Class<?>>asList(PapaSmurf.class,
+                                                           BigDecimal.class));
+        builder.addClass(PapaSmurf.class,
+                         false,
+                         type -> TypeSource.JAVA_PROJECT);
+        return builder.build();
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.datamodel.backend.server.cache;
+
+import org.guvnor.common.services.project.builder.events.InvalidateDMOModuleCacheEvent;
+import org.guvnor.common.services.project.model.Package;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.soup.project.datamodel.oracle.ModuleDataModelOracle;
+import org.kie.workbench.common.services.backend.builder.service.BuildInfo;
+import org.kie.workbench.common.services.backend.builder.service.BuildInfoService;
+import org.kie.workbench.common.services.shared.project.KieModule;
+import org.kie.workbench.common.services.shared.project.KieModuleService;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.rpc.SessionInfo;
+
+import static java.util.Collections.singleton;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class LRUModuleDataModelOracleCacheTest {
+
+    private static final String SRC_PATH = "default://main@myrepo/project/src/main/java/";
+
+    @Mock
+    private ModuleDataModelOracleBuilderProvider builderProvider;
+
+    @Mock
+    private ModuleDataModelOracleBuilderProvider.InnerBuilder builder;
+
+    @Mock
+    private KieModuleService moduleService;
+
+    @Mock
+    private BuildInfoService buildInfoService;
+
+    @Mock
+    private BuildInfo buildInfo;
+
+    @Mock
+    private SessionInfo sessionInfo;
+
+    @Mock
+    private KieModule module;
+
+    @Mock
+    private ModuleDataModelOracle oracle;
+
+    @Mock
+    private ModuleDataModelOracle updatedOracle;
+
+    @Mock
+    private ModuleDataModelOracle rebuiltOracle;
+
+    private LRUModuleDataModelOracleCache cache;
+
+    @Before
+    public void setup() {
+        cache = new LRUModuleDataModelOracleCache(builderProvider,
+                                                  moduleService,
+                                                  buildInfoService);
+        when(buildInfoService.getBuildInfo(module)).thenReturn(buildInfo);
+        when(builderProvider.newBuilder(module,
+                                        buildInfo)).thenReturn(builder);
+        when(builder.build()).thenReturn(oracle,
+                                         rebuiltOracle);
+    }
+
+    @Test
+    public void testJavaChangeUpdatesTheChangedFactType() {
+        assertThat(cache.assertModuleDataModelOracle(module)).isSameAs(oracle);
+        when(buildInfoService.getBuildInfo(eq(module),
+                                           any())).thenReturn(buildInfo);
+        when(builder.update(oracle,
+                            singleton("org.test.Smurf"))).thenReturn(updatedOracle);
+
+        final InvalidateDMOModuleCacheEvent change = javaChange("org.test",
+                                                                "Smurf");
+        cache.invalidateModuleCache(change);
+
+        assertThat(cache.getEntry(module)).isSameAs(oracle);
+        assertThat(cache.assertModuleDataModelOracle(module)).isSameAs(updatedOracle);
+        assertThat(cache.assertModuleDataModelOracle(module)).isSameAs(updatedOracle);
+        verify(builder).build();
+        verify(builder).update(oracle,
+                               singleton("org.test.Smurf"));
+        //The fact type is read from a build that has applied the change of its class
+        verify(buildInfoService).getBuildInfo(eq(module),
+                                              argThat(resources -> resources.size() == 1 && resources.contains(change.getResourcePath())));
+    }
+
+    @Test
+    public void testChangesOfTheSameClassAreAppliedOnce() {
+        assertThat(cache.assertModuleDataModelOracle(module)).isSameAs(oracle);
+        when(buildInfoService.getBuildInfo(eq(module),
+                                           any())).thenReturn(buildInfo);
+        when(builder.update(oracle,
+                            singleton("org.test.Smurf"))).thenReturn(updatedOracle);
+
+        cache.invalidateModuleCache(javaChange("org.test",
+                                               "Smurf"));
+        cache.invalidateModuleCache(javaChange("org.test",
+                                               "Smurf"));
+
+        assertThat(cache.assertModuleDataModelOracle(module)).isSameAs(updatedOracle);
+        verify(builder).update(oracle,
+                               singleton("org.test.Smurf"));
+    }
+
+    @Test
+    public void testFailedUpdateRebuildsTheOracle() {
+        assertThat(cache.assertModuleDataModelOracle(module)).isSameAs(oracle);
+        when(buildInfoService.getBuildInfo(eq(module),
+                                           any())).thenReturn(buildInfo);
+        when(builder.update(oracle,
+                            singleton("org.test.Smurf"))).thenThrow(new IllegalStateException("update failed"));
+
+        cache.invalidateModuleCache(javaChange("org.test",
+                                               "Smurf"));
+
+        assertThat(cache.assertModuleDataModelOracle(module)).isSameAs(rebuiltOracle);
+        verify(builder,
+               times(2)).build();
+    }
+
+    @Test
+    public void testOtherChangesRebuildTheOracle() {
+        assertThat(cache.assertModuleDataModelOracle(module)).isSameAs(oracle);
+
+        cache.invalidateModuleCache(javaChange("org.test",
+                                               "Smurf"));
+        final Path pomPath = mock(Path.class);
+        when(pomPath.getFileName()).thenReturn("pom.xml");
+        cache.invalidateModuleCache(event(pomPath));
+
+        assertThat(cache.getEntry(module)).isNull();
+        assertThat(cache.assertModuleDataModelOracle(module)).isSameAs(rebuiltOracle);
+        verify(builder,
+               times(2)).build();
+        verify(builder,
+               never()).update(any(),
+                               any());
+    }
+
+    @Test
+    public void testJavaChangeOutsideOfTheSourcesRebuildsTheOracle() {
+        assertThat(cache.assertModuleDataModelOracle(module)).isSameAs(oracle);
+        final Path resourcePath = path("Smurf.java",
+                                       "default://main@myrepo/project/src/test/java/org/test/Smurf.java");
+        final Package pkg = mock(Package.class);
+        final Path packagePath = mock(Path.class);
+        when(packagePath.toURI()).thenReturn(SRC_PATH + "org/test");
+        when(pkg.getPackageMainSrcPath()).thenReturn(packagePath);
+        when(moduleService.resolvePackage(resourcePath)).thenReturn(pkg);
+
+        cache.invalidateModuleCache(event(resourcePath));
+
+        assertThat(cache.assertModuleDataModelOracle(module)).isSameAs(rebuiltOracle);
+        verify(builder,
+               never()).update(any(),
+                               any());
+    }
+
+    private InvalidateDMOModuleCacheEvent javaChange(final String packageName,
+                                                     final String className) {
+        final String packageUri = SRC_PATH + packageName.replace('.',
+                                                                 '/');
+        final Path resourcePath = path(className + ".java",
+                                       packageUri + "/" + className + ".java");
+        final Package pkg = mock(Package.class);
+        final Path packagePath = mock(Path.class);
+        when(packagePath.toURI()).thenReturn(packageUri);
+        when(pkg.getPackageName()).thenReturn(packageName);
+        when(pkg.getPackageMainSrcPath()).thenReturn(packagePath);
+        when(moduleService.resolvePackage(resourcePath)).thenReturn(pkg);
+        return event(resourcePath);
+    }
+
+    private InvalidateDMOModuleCacheEvent event(final Path resourcePath) {
+        when(moduleService.resolveModule(resourcePath)).thenReturn(module);
+        return new InvalidateDMOModuleCacheEvent(sessionInfo,
+                                                 module,
+                                                 resourcePath);
+    }
+
+    private Path path(final String fileName,
+                      final String uri) {
+        final Path path = mock(Path.class);
+        when(path.getFileName()).thenReturn(fileName);
+        when(path.toURI()).thenReturn(uri);
+        return path;
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.datamodel.backend.server.cache;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.drools.core.rule.TypeMetaInfo;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.scanner.KieModuleMetaData;
+import org.kie.soup.project.datamodel.commons.oracle.ModuleDataModelOracleImpl;
+import org.kie.soup.project.datamodel.oracle.FieldAccessorsAndMutators;
+import org.kie.soup.project.datamodel.oracle.ModelField;
+import org.kie.soup.project.datamodel.oracle.ModuleDataModelOracle;
+import org.kie.workbench.common.services.backend.builder.core.TypeSourceResolver;
+import org.kie.workbench.common.services.backend.builder.service.BuildInfo;
+import org.kie.workbench.common.services.datamodel.backend.server.testclasses.superclasses.PapaSmurf;
+import org.kie.workbench.common.services.datamodel.backend.server.testclasses.superclasses.Smurf;
+import org.kie.workbench.common.services.shared.project.KieModule;
+import org.kie.workbench.common.services.shared.project.ProjectImportsService;
+import org.kie.workbench.common.services.shared.whitelist.PackageNameWhiteListService;
+import org.kie.workbench.common.services.shared.whitelist.WhiteList;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ModuleDataModelOracleBuilderProviderTest {
+
+    private static final String PACKAGE_NAME = Smurf.class.getPackage().getName();
+    private static final String OTHER_FACT_TYPE = "org.other.Gargamel";
+
+    @Mock
+    private PackageNameWhiteListService packageNameWhiteListService;
+
+    @Mock
+    private ProjectImportsService importsService;
+
+    @Mock
+    private KieModule module;
+
+    @Mock
+    private BuildInfo buildInfo;
+
+    @Mock
+    private KieModuleMetaData kieModuleMetaData;
+
+    @Mock
+    private TypeMetaInfo typeMetaInfo;
+
+    private ModuleDataModelOracleBuilderProvider provider;
+
+    @Before
+    public void setup() {
+        provider = new ModuleDataModelOracleBuilderProvider(packageNameWhiteListService,
+                                                            importsService);
+        final List<String> packageNames = singletonList(PACKAGE_NAME);
+        when(buildInfo.getKieModuleMetaDataIgnoringErrors()).thenReturn(kieModuleMetaData);
+        when(buildInfo.getTypeSourceResolver(kieModuleMetaData)).thenReturn(new TypeSourceResolver(kieModuleMetaData,
+                                                                                                   Collections.emptySet()));
+        when(kieModuleMetaData.getPackages()).thenReturn(packageNames);
+        when(packageNameWhiteListService.filterPackageNames(module,
+                                                            packageNames)).thenReturn(new WhiteList(packageNames));
+    }
+
+    @Test
+    public void testUpdateRebuildsTheChangedFactTypes() {
+        mockClasses(PapaSmurf.class);
+        final ModuleDataModelOracle moduleOracle = moduleOracle(PACKAGE_NAME);
+
+        final ModuleDataModelOracle updated = provider.newBuilder(module,
+                                                                  buildInfo).update(moduleOracle,
+                                                                                    singleton(PapaSmurf.class.getName()));
+
+        assertThat(updated).isNotSameAs(moduleOracle);
+        assertThat(fieldNames(updated,
+                              PapaSmurf.class.getName())).contains("this").doesNotContain("stale");
+        //The other fact types are copied
+        assertThat(fieldNames(updated,
+                              Smurf.class.getName())).containsExactly("stale");
+        assertThat(updated.getModuleModelFields().get(OTHER_FACT_TYPE)).isSameAs(moduleOracle.getModuleModelFields().get(OTHER_FACT_TYPE));
+        assertThat(updated.getModulePackageNames()).containsExactly(PACKAGE_NAME);
+        //The current oracle is left untouched for its readers
+        assertThat(fieldNames(moduleOracle,
+                              PapaSmurf.class.getName())).containsExactly("stale");
+    }
+
+    @Test
+    public void testUpdateRebuildsTheSubTypesOfTheChangedFactTypes() {
+        mockClasses(Smurf.class,
+                    PapaSmurf.class);
+        final ModuleDataModelOracle moduleOracle = moduleOracle(PACKAGE_NAME);
+
+        final ModuleDataModelOracle updated = provider.newBuilder(module,
+                                                                  buildInfo).update(moduleOracle,
+                                                                                    singleton(Smurf.class.getName()));
+
+        assertThat(fieldNames(updated,
+                              Smurf.class.getName())).contains("this").doesNotContain("stale");
+        assertThat(fieldNames(updated,
+                              PapaSmurf.class.getName())).contains("this").doesNotContain("stale");
+        assertThat(updated.getModuleSuperTypes().get(PapaSmurf.class.getName())).contains(Smurf.class.getName());
+        assertThat(fieldNames(updated,
+                              OTHER_FACT_TYPE)).containsExactly("stale");
+    }
+
+    @Test
+    public void testUpdateRemovesTheDeletedFactTypes() {
+        when(kieModuleMetaData.getClasses(PACKAGE_NAME)).thenReturn(Collections.emptyList());
+        when(kieModuleMetaData.getClassLoader()).thenReturn(getClass().getClassLoader());
+        final String deletedFactType = PACKAGE_NAME + ".Azrael";
+        final ModuleDataModelOracleImpl moduleOracle = moduleOracle(PACKAGE_NAME);
+        final Map<String, ModelField[]> modelFields = new HashMap<>();
+        modelFields.put(deletedFactType,
+                        new ModelField[]{field("stale")});
+        moduleOracle.addModuleModelFields(modelFields);
+
+        final ModuleDataModelOracle updated = provider.newBuilder(module,
+                                                                  buildInfo).update(moduleOracle,
+                                                                                    singleton(deletedFactType));
+
+        assertThat(updated.getModuleModelFields()).doesNotContainKey(deletedFactType);
+        assertThat(updated.getModuleModelFields()).containsKeys(Smurf.class.getName(),
+                                                                PapaSmurf.class.getName(),
+                                                                OTHER_FACT_TYPE);
+    }
+
+    private void mockClasses(final Class<?>... changedClasses) {
+        when(kieModuleMetaData.getClasses(PACKAGE_NAME)).thenReturn(Arrays.asList(Smurf.class.getSimpleName(),
+                                                                                  PapaSmurf.class.getSimpleName()));
+        when(kieModuleMetaData.getTypeMetaInfo(any())).thenReturn(typeMetaInfo);
+        for (Class<?> changedClass : changedClasses) {
+            doReturn(changedClass).when(kieModuleMetaData).getClass(PACKAGE_NAME,
+                                                                    changedClass.getSimpleName());
+        }
+    }
+
+    private ModuleDataModelOracleImpl moduleOracle(final String packageName) {
+        final ModuleDataModelOracleImpl oracle = new ModuleDataModelOracleImpl();
+        oracle.addModulePackageNames(singletonList(packageName));
+        final Map<String, ModelField[]> modelFields = new HashMap<>();
+        modelFields.put(Smurf.class.getName(),
+                        new ModelField[]{field("stale")});
+        modelFields.put(PapaSmurf.class.getName(),
+                        new ModelField[]{field("stale")});
+        modelFields.put(OTHER_FACT_TYPE,
+                        new ModelField[]{field("stale")});
+        oracle.addModuleModelFields(modelFields);
+        final Map<String, List<String>> superTypes = new HashMap<>();
+        superTypes.put(PapaSmurf.class.getName(),
+                       singletonList(Smurf.class.getName()));
+        oracle.addModuleSuperTypes(superTypes);
+        return oracle;
+    }
+
+    private ModelField field(final String name) {
+        return new ModelField(name,
+                              String.class.getName(),
+                              ModelField.FIELD_CLASS_TYPE.REGULAR_CLASS,
+                              ModelField.FIELD_ORIGIN.SELF,
+                              FieldAccessorsAndMutators.BOTH,
+                              String.class.getSimpleName());
+    }
+
+    private String[] fieldNames(final ModuleDataModelOracle oracle,
+                                final String factType) {
+        return Arrays.stream(oracle.getModuleModelFields().get(factType)).map(ModelField::getName).toArray(String[]::new);
+    }
+}
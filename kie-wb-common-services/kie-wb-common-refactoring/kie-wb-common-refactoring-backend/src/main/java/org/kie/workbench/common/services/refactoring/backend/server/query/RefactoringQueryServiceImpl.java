@@ -34,8 +34,6 @@ import javax.inject.Named;
 
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.Sort;
-import org.apache.lucene.search.TopFieldDocs;
-import org.apache.lucene.search.TotalHitCountCollector;
 import org.jboss.errai.bus.server.annotations.Service;
 import org.kie.soup.commons.validation.PortablePreconditions;
 import org.kie.workbench.common.services.refactoring.backend.server.query.response.ResponseBuilder;
@@ -107,16 +105,21 @@ public class RefactoringQueryServiceImpl implements RefactoringQueryService {
         final Sort sort = namedQuery.getSortOrder();
 
         try {
-            List<KObject> found = config.getIndexProvider().findByQuery(Collections.EMPTY_LIST,
-                                                                        query,
-                                                                        sort,
-                                                                        0);
-
-            if (request.distinctResults()) {
-                found = distinct(found);
+            if (Boolean.TRUE.equals(request.distinctResults())) {
+                //Duplicates can only be told apart reading the documents, counted without copying them
+                return (int) config.getIndexProvider().findByQuery(Collections.emptyList(),
+                                                                   query,
+                                                                   sort,
+                                                                   0)
+                        .stream()
+                        .map(RefactoringQueryServiceImpl::generateUniqueIdentifierForKObject)
+                        .distinct()
+                        .count();
             }
 
-            return found.size();
+            //Lucene counts the hits without loading any document
+            return (int) config.getIndexProvider().findHitsByQuery(Collections.emptyList(),
+                                                                   query);
         } catch (final Exception ex) {
             String message = "Error during Query!";
             logger.error(message,
@@ -163,15 +166,11 @@ public class RefactoringQueryServiceImpl implements RefactoringQueryService {
         final int pageSize = request.getPageSize();
         final int startIndex = request.getStartRowIndex();
 
-        List<KObject> kObjects
-                = search(query,
-                         sort,
-                         () -> (startIndex),
-                         // start index of docs to get
-                         (numHits) -> (numHits - startIndex > pageSize ? pageSize : numHits - startIndex),
-                         request.distinctResults()
-                         // num docs to add to response
-        );
+        List<KObject> kObjects = searchPage(query,
+                                            sort,
+                                            startIndex,
+                                            pageSize,
+                                            Boolean.TRUE.equals(request.distinctResults()));
 
         if (!kObjects.isEmpty()) {
             final ResponseBuilder responseBuilder = namedQuery.getResponseBuilder();
@@ -251,6 +250,44 @@ public class RefactoringQueryServiceImpl implements RefactoringQueryService {
         }
     }
 
+    /**
+     * Only the documents up to the end of the requested page are loaded. When duplicates have to be removed the
+     * number of documents needed is unknown, so the limit is doubled until the page is complete or there are no more
+     * hits.
+     */
+    private List<KObject> searchPage(final Query query,
+                                     final Sort sort,
+                                     final int startIndex,
+                                     final int pageSize,
+                                     final boolean distinct) {
+        final int pageEnd = startIndex + pageSize;
+        if (pageSize <= 0 || pageEnd <= 0) {
+            return Collections.emptyList();
+        }
+
+        try {
+            int limit = pageEnd;
+            while (true) {
+                final List<KObject> found = config.getIndexProvider().findByQuery(Collections.emptyList(),
+                                                                                  query,
+                                                                                  sort,
+                                                                                  limit);
+                final boolean exhausted = found.size() < limit;
+                final List<KObject> hits = distinct ? distinct(found) : found;
+                if (exhausted || hits.size() >= pageEnd || limit > Integer.MAX_VALUE / 2) {
+                    return hits.subList(Math.min(startIndex,
+                                                 hits.size()),
+                                        Math.min(pageEnd,
+                                                 hits.size()));
+                }
+                limit *= 2;
+            }
+        } catch (final Exception ex) {
+            throw new RuntimeException("Error during Query!",
+                                       ex);
+        }
+    }
+
     /* (non-Javadoc)
      * @see org.kie.workbench.common.services.refactoring.service.RefactoringQueryService#queryToPageResponse(org.kie.workbench.common.services.refactoring.service.impact.QueryOperationRequest)
      */
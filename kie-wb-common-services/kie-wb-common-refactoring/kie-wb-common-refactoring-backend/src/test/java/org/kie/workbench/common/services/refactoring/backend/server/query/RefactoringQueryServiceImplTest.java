@@ -0,0 +1,168 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.refactoring.backend.server.query;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import org.apache.lucene.search.Query;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.services.refactoring.backend.server.query.response.ResponseBuilder;
+import org.kie.workbench.common.services.refactoring.model.query.RefactoringPageRequest;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.uberfire.ext.metadata.MetadataConfig;
+import org.uberfire.ext.metadata.model.KObject;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class RefactoringQueryServiceImplTest {
+
+    private static final String QUERY_NAME = "query";
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private MetadataConfig config;
+
+    @Mock
+    private NamedQueries namedQueries;
+
+    @Mock
+    private NamedQuery namedQuery;
+
+    @Mock
+    private ResponseBuilder responseBuilder;
+
+    @Mock
+    private Query query;
+
+    private RefactoringQueryServiceImpl service;
+
+    @Before
+    public void setUp() {
+        when(namedQueries.findNamedQuery(QUERY_NAME)).thenReturn(namedQuery);
+        when(namedQuery.toQuery(any())).thenReturn(query);
+        service = new RefactoringQueryServiceImpl(config,
+                                                  namedQueries);
+        service.init();
+    }
+
+    @Test
+    public void testQueryHitCountDoesNotLoadDocuments() {
+        when(config.getIndexProvider().findHitsByQuery(any(),
+                                                       eq(query))).thenReturn(42L);
+
+        assertEquals(42,
+                     service.queryHitCount(new RefactoringPageRequest(QUERY_NAME,
+                                                                      new HashSet<>(),
+                                                                      0,
+                                                                      null)));
+        verify(config.getIndexProvider(),
+               never()).findByQuery(any(),
+                                    any(),
+                                    any(),
+                                    anyInt());
+    }
+
+    @Test
+    public void testQueryHitCountDistinct() {
+        final List<KObject> found = Arrays.asList(kObject("a"),
+                                                  kObject("a"),
+                                                  kObject("b"));
+        when(config.getIndexProvider().findByQuery(any(),
+                                                   eq(query),
+                                                   any(),
+                                                   eq(0))).thenReturn(found);
+
+        assertEquals(2,
+                     service.queryHitCount(new RefactoringPageRequest(QUERY_NAME,
+                                                                      new HashSet<>(),
+                                                                      0,
+                                                                      null,
+                                                                      Boolean.TRUE)));
+    }
+
+    @Test
+    public void testQueryLoadsDocumentsUpToThePageEnd() {
+        final List<KObject> found = Arrays.asList(mock(KObject.class),
+                                                  mock(KObject.class),
+                                                  mock(KObject.class),
+                                                  mock(KObject.class),
+                                                  mock(KObject.class));
+        when(namedQuery.getResponseBuilder()).thenReturn(responseBuilder);
+        when(config.getIndexProvider().findByQuery(any(),
+                                                   eq(query),
+                                                   any(),
+                                                   eq(5))).thenReturn(found);
+
+        service.query(new RefactoringPageRequest(QUERY_NAME,
+                                                 new HashSet<>(),
+                                                 2,
+                                                 3));
+
+        verify(responseBuilder).buildResponse(3,
+                                              2,
+                                              found.subList(2,
+                                                            5));
+    }
+
+    @Test
+    public void testDistinctQueryLoadsMoreDocumentsUntilThePageIsComplete() {
+        final KObject a = kObject("a");
+        final KObject b = kObject("b");
+        when(namedQuery.getResponseBuilder()).thenReturn(responseBuilder);
+        when(config.getIndexProvider().findByQuery(any(),
+                                                   eq(query),
+                                                   any(),
+                                                   eq(2))).thenReturn(Arrays.asList(a,
+                                                                                    a));
+        when(config.getIndexProvider().findByQuery(any(),
+                                                   eq(query),
+                                                   any(),
+                                                   eq(4))).thenReturn(Arrays.asList(a,
+                                                                                    a,
+                                                                                    b));
+
+        service.query(new RefactoringPageRequest(QUERY_NAME,
+                                                 new HashSet<>(),
+                                                 0,
+                                                 2,
+                                                 Boolean.TRUE));
+
+        verify(responseBuilder).buildResponse(2,
+                                              0,
+                                              Arrays.asList(a,
+                                                            b));
+    }
+
+    private KObject kObject(final String key) {
+        final KObject kObject = mock(KObject.class);
+        when(kObject.getClusterId()).thenReturn("cluster");
+        when(kObject.getKey()).thenReturn(key);
+        return kObject;
+    }
+}
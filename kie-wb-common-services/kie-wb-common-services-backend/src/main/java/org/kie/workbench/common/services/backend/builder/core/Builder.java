@@ -21,12 +21,15 @@ import java.io.InputStream;
 import java.io.Serializable;
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.LongConsumer;
 import java.util.function.Predicate;
 
 import org.appformer.maven.support.DependencyFilter;
@@ -110,10 +113,15 @@ public class Builder implements Serializable {
     private final DirectoryStream.Filter<Path> dotFileFilter = new DotFileFilter();
     private final Set<String> javaResources = new HashSet<String>();
     private final Predicate<String> classFilter;
-    private KieBuilder kieBuilder;
+    private volatile KieBuilder kieBuilder;
     private LRUModuleDependenciesClassLoaderCache dependenciesClassLoaderCache;
     private LRUPomModelCache pomModelCache;
     private PackageNameWhiteListService packageNameWhiteListService;
+    private volatile long dependenciesRetainedBytesEstimate;
+    private volatile long retainedBytesEstimate;
+    private volatile LongConsumer retainedBytesListener;
+    //Build messages and KieModule of the last build, published by the writers holding the kieFileSystem monitor
+    private volatile LastBuild lastBuild;
 
     public Builder(final Module project,
                    final IOService ioService,
@@ -230,6 +238,7 @@ public class Builder implements Serializable {
                                            pomModel);
                 }
             }
+            publishLastBuild();
         }
 
         //Add validate messages from external helpers
@@ -265,6 +274,10 @@ public class Builder implements Serializable {
                                                                                                    DependencyFilter.COMPILE_FILTER);
         updateDependenciesClassLoader(project,
                                       kieModuleMetaData);
+        dependenciesRetainedBytesEstimate = RetainedSizeEstimator.sizeOf(kieModuleMetaData.getClassLoader().getParent());
+        synchronized (kieFileSystem) {
+            publishLastBuild();
+        }
 
         results.addAllBuildMessages(verifyClasses(kieModuleMetaData));
 
@@ -548,6 +561,7 @@ public class Builder implements Serializable {
             for (Message message : incrementalResults.getRemovedMessages()) {
                 handles.remove(Handles.RESOURCE_PATH + "/" + getBaseFileName(message.getPath()));
             }
+            publishLastBuild();
         } catch (LinkageError e) {
             final String msg = MessageFormat.format(ERROR_CLASS_NOT_FOUND,
                                                     e.getLocalizedMessage());
@@ -567,29 +581,28 @@ public class Builder implements Serializable {
         }
     }
 
+    /**
+     * The returned KieModule is the one the incremental builds update in place, not a copy of the last build.
+     */
     public org.kie.api.builder.KieModule getKieModule() {
-        //Kie classes are only available once built
-        if (!isBuilt()) {
-            build();
-        }
-        synchronized (kieFileSystem) {
-            return kieBuilder.getKieModule();
+        final LastBuild lastBuild = getLastBuild();
+        if (lastBuild.hasErrors()) {
+            throw new RuntimeException("Unable to get KieModule, Errors Existed: " + lastBuild.getMessages());
         }
+        return lastBuild.getKieModule();
     }
 
     public org.kie.api.builder.KieModule getKieModuleIgnoringErrors() {
-        //Kie classes are only available once built
-        if (!isBuilt()) {
-            build();
-        }
-        synchronized (kieFileSystem) {
-            return ((InternalKieBuilder) kieBuilder).getKieModuleIgnoringErrors();
-        }
+        return getLastBuild().getKieModule();
     }
 
     public KieModuleMetaData getKieModuleMetaDataIgnoringErrors() {
-        return KieModuleMetaData.Factory.newKieModuleMetaData(getKieModuleIgnoringErrors(),
-                                                              DependencyFilter.COMPILE_FILTER);
+        getLastBuild();
+        //The KieModule is the one the incremental builds update in place, it is read under the monitor
+        synchronized (kieFileSystem) {
+            return KieModuleMetaData.Factory.newKieModuleMetaData(lastBuild.getKieModule(),
+                                                                  DependencyFilter.COMPILE_FILTER);
+        }
     }
 
     public TypeSourceResolver getTypeSourceResolver(KieModuleMetaData kieModuleMetaData) {
@@ -605,7 +618,7 @@ public class Builder implements Serializable {
             results = build();
         } else {
             results = new BuildResults();
-            results.addAllBuildMessages(convertMessages(kieBuilder.getResults().getMessages(),
+            results.addAllBuildMessages(convertMessages(getLastBuild().getMessages(),
                                                         handles));
         }
         //It's impossible to retrieve a KieContainer if the KieModule contains errors
@@ -614,14 +627,17 @@ public class Builder implements Serializable {
             // create the KieContainer from KieRepository. This holds the most recent KieModule (for the ReleaseId) that was built with
             // kieBuilder.buildAll() which *may* be a KieModule created during asset validation and hence will lack many assets.
             // See https://bugzilla.redhat.com/show_bug.cgi?id=1202551
-            final org.kie.api.builder.KieModule kieModule = kieBuilder.getKieModule();
-            final ReleaseId releaseId = kieModule.getReleaseId();
-            final org.drools.compiler.kie.builder.impl.KieProject kieProject = new KieModuleKieProject((InternalKieModule) kieBuilder.getKieModule(),
-                                                                                                       null);
-            final KieContainer kieContainer = new KieContainerImpl(kieProject,
-                                                                   KieServices.Factory.get().getRepository(),
-                                                                   releaseId);
-            return kieContainer;
+            //The KieModule the incremental builds update in place is read under the monitor
+            synchronized (kieFileSystem) {
+                final org.kie.api.builder.KieModule kieModule = getKieModule();
+                final ReleaseId releaseId = kieModule.getReleaseId();
+                final org.drools.compiler.kie.builder.impl.KieProject kieProject = new KieModuleKieProject((InternalKieModule) kieModule,
+                                                                                                           null);
+                final KieContainer kieContainer = new KieContainerImpl(kieProject,
+                                                                       KieServices.Factory.get().getRepository(),
+                                                                       releaseId);
+                return kieContainer;
+            }
         } else {
             return null;
         }
@@ -631,6 +647,104 @@ public class Builder implements Serializable {
         return kieBuilder != null;
     }
 
+    /**
+     * Whether the last full or incremental build has the current content of the resource, i.e. its last change has
+     * been applied to this Builder. A deleted resource is up to date once it has been removed from the build.
+     */
+    public boolean isUpToDate(final Path resource) {
+        checkNotNull("resource",
+                     resource);
+        if (!isBuilt()) {
+            return false;
+        }
+        synchronized (kieFileSystem) {
+            final byte[] builtContent = kieFileSystem.read(destinationPath(resource));
+            if (!ioService.exists(resource)) {
+                return builtContent == null;
+            }
+            return builtContent != null && Arrays.equals(builtContent,
+                                                         ioService.readAllBytes(resource));
+        }
+    }
+
+    /**
+     * Estimation of the bytes retained by this Builder, updated after every full or incremental build.
+     * @see RetainedSizeEstimator
+     */
+    public long getRetainedBytesEstimate() {
+        return retainedBytesEstimate;
+    }
+
+    /**
+     * Notified with the new estimation of the retained bytes after every full or incremental build.
+     */
+    void setRetainedBytesListener(final LongConsumer retainedBytesListener) {
+        this.retainedBytesListener = retainedBytesListener;
+    }
+
+    /**
+     * Readers of the build messages never wait for the kieFileSystem monitor once the first build has completed. The
+     * KieModule is not copied per build: it is the instance the incremental builds update in place, so the readers
+     * going through its content (KieContainer, KieModuleMetaData) still hold the monitor while doing so.
+     */
+    private LastBuild getLastBuild() {
+        final LastBuild current = lastBuild;
+        if (current != null) {
+            return current;
+        }
+        //Kie classes are only available once built
+        if (!isBuilt()) {
+            build();
+        }
+        synchronized (kieFileSystem) {
+            if (lastBuild == null) {
+                publishLastBuild();
+            }
+            return lastBuild;
+        }
+    }
+
+    /**
+     * Must be invoked holding the kieFileSystem monitor, after the KieBuilder completed a full or incremental build.
+     */
+    private void publishLastBuild() {
+        final org.kie.api.builder.KieModule kieModule = ((InternalKieBuilder) kieBuilder).getKieModuleIgnoringErrors();
+        lastBuild = new LastBuild(kieModule,
+                                  kieBuilder.getResults().getMessages());
+        retainedBytesEstimate = RetainedSizeEstimator.estimate(kieFileSystem,
+                                                               kieModule) + dependenciesRetainedBytesEstimate;
+        final LongConsumer listener = retainedBytesListener;
+        if (listener != null) {
+            listener.accept(retainedBytesEstimate);
+        }
+    }
+
+    private static class LastBuild {
+
+        private final org.kie.api.builder.KieModule kieModule;
+        private final List<Message> messages;
+        private final boolean hasErrors;
+
+        private LastBuild(final org.kie.api.builder.KieModule kieModule,
+                              final List<Message> messages) {
+            this.kieModule = kieModule;
+            this.messages = Collections.unmodifiableList(new ArrayList<>(messages));
+            this.hasErrors = this.messages.stream().anyMatch(message -> Message.Level.ERROR.equals(message.getLevel()));
+        }
+
+        private org.kie.api.builder.KieModule getKieModule() {
+            return kieModule;
+        }
+
+        private List<Message> getMessages() {
+            return messages;
+        }
+
+        private boolean hasErrors() {
+            return hasErrors;
+        }
+    }
+
     private void visitPaths(final DirectoryStream<Path> directoryStream) {
         for (final Path path : directoryStream) {
             if (Files.isDirectory(path)) {
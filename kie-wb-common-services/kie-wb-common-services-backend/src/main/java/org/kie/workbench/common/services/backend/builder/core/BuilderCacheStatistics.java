@@ -0,0 +1,98 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.builder.core;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.guvnor.common.services.project.model.Module;
+
+/**
+ * Counters of the {@link LRUBuilderCache}: hits, misses, evictions by reason and the estimated weight of every
+ * cached module.
+ */
+public class BuilderCacheStatistics {
+
+    public enum EvictionReason {
+        /**
+         * More entries than {@code org.kie.builder.cache.size}
+         */
+        SIZE,
+        /**
+         * The weight of the entries exceeded {@code org.kie.builder.cache.memory.budget}
+         */
+        MEMORY_BUDGET,
+        /**
+         * The entry was not accessed for longer than {@code org.kie.builder.cache.idle.expiry}
+         */
+        IDLE_EXPIRY,
+        /**
+         * The module changed
+         */
+        INVALIDATED
+    }
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final Map<EvictionReason, AtomicLong> evictions = new EnumMap<>(EvictionReason.class);
+    private final Map<Module, Long> weights;
+
+    BuilderCacheStatistics(final Map<Module, Long> weights) {
+        for (EvictionReason reason : EvictionReason.values()) {
+            evictions.put(reason,
+                          new AtomicLong());
+        }
+        this.weights = weights;
+    }
+
+    void recordHit() {
+        hits.incrementAndGet();
+    }
+
+    void recordMiss() {
+        misses.incrementAndGet();
+    }
+
+    void recordEviction(final EvictionReason reason) {
+        evictions.get(reason).incrementAndGet();
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public long getEvictionCount(final EvictionReason reason) {
+        return evictions.get(reason).get();
+    }
+
+    /**
+     * @return A snapshot of the estimated retained bytes of every cached module
+     */
+    public Map<Module, Long> getWeights() {
+        return Collections.unmodifiableMap(new HashMap<>(weights));
+    }
+
+    public long getTotalWeight() {
+        return weights.values().stream().mapToLong(Long::longValue).sum();
+    }
+}
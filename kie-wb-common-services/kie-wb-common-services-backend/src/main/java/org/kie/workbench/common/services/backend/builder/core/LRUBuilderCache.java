@@ -16,7 +16,12 @@
 package org.kie.workbench.common.services.backend.builder.core;
 
 import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
 import java.util.function.Predicate;
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -28,25 +33,31 @@ import javax.inject.Inject;
 import javax.inject.Named;
 
 import org.guvnor.common.services.backend.cache.LRUCache;
+import org.guvnor.common.services.backend.file.JavaFileFilter;
 import org.guvnor.common.services.project.builder.events.InvalidateDMOModuleCacheEvent;
 import org.guvnor.common.services.project.builder.service.BuildValidationHelper;
 import org.guvnor.common.services.project.model.Module;
 import org.guvnor.common.services.project.model.POM;
 import org.kie.soup.commons.validation.PortablePreconditions;
 import org.kie.workbench.common.services.backend.builder.JavaSourceFilter;
+import org.kie.workbench.common.services.backend.builder.core.BuilderCacheStatistics.EvictionReason;
 import org.kie.workbench.common.services.backend.whitelist.PackageNameWhiteListServiceImpl;
 import org.kie.workbench.common.services.shared.project.KieModuleService;
 import org.kie.workbench.common.services.shared.project.ProjectImportsService;
 import org.kie.workbench.common.services.shared.whitelist.PackageNameWhiteListService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.uberfire.backend.server.util.Paths;
 import org.uberfire.io.IOService;
+import org.uberfire.java.nio.file.DirectoryStream;
+import org.uberfire.java.nio.file.Path;
 
 import static java.util.stream.Collectors.toCollection;
 import static java.util.stream.StreamSupport.stream;
 
 /**
- * A simple LRU cache for Builders
+ * A LRU cache for Builders. Besides the max number of entries, the entries can be evicted when their estimated
+ * retained bytes exceed a memory budget (least recently used first) and when they are not accessed for a while.
  */
 @ApplicationScoped
 public class LRUBuilderCache extends LRUCache<Module, Builder> {
@@ -56,6 +67,18 @@ public class LRUBuilderCache extends LRUCache<Module, Builder> {
     protected static final String DEFAULT_BUILDER_CACHE_SIZE = "20";
     protected static final int MAX_ENTRIES = Integer.parseInt(validateCacheSize(System.getProperty(BUILDER_CACHE_SIZE,
                                                                                                  DEFAULT_BUILDER_CACHE_SIZE)));
+    protected static final String BUILDER_CACHE_MEMORY_BUDGET = "org.kie.builder.cache.memory.budget";
+    protected static final String BUILDER_CACHE_IDLE_EXPIRY = "org.kie.builder.cache.idle.expiry";
+    protected static final String DISABLED = "0";
+    protected static final long MEMORY_BUDGET = Long.parseLong(validateNonNegative(BUILDER_CACHE_MEMORY_BUDGET,
+                                                                                   System.getProperty(BUILDER_CACHE_MEMORY_BUDGET,
+                                                                                                      DISABLED)));
+    protected static final long IDLE_EXPIRY = Long.parseLong(validateNonNegative(BUILDER_CACHE_IDLE_EXPIRY,
+                                                                                 System.getProperty(BUILDER_CACHE_IDLE_EXPIRY,
+                                                                                                    DISABLED)));
+    protected static final String INCREMENTAL_BUILD = "build.enable-incremental";
+
+    private static final DirectoryStream.Filter<Path> JAVA_FILE_FILTER = new JavaFileFilter();
 
     private final List<BuildValidationHelper> buildValidationHelpers = new ArrayList<>();
     private final List<Predicate<String>> classFilters = new ArrayList<>();
@@ -67,6 +90,13 @@ public class LRUBuilderCache extends LRUCache<Module, Builder> {
     private LRUPomModelCache pomModelCache;
     private PackageNameWhiteListServiceImpl packageNameWhiteListService;
     private Instance<Predicate<String>> classFilterBeans;
+    //Most recently used last, mirrors the entries of the underlying cache and guards their eviction
+    private final Map<Module, TrackedBuilder> trackedBuilders = new LinkedHashMap<>();
+    private final Map<Module, Long> weights = new ConcurrentHashMap<>();
+    private final BuilderCacheStatistics statistics = new BuilderCacheStatistics(weights);
+    private long memoryBudget = MEMORY_BUDGET;
+    private long idleExpiry = IDLE_EXPIRY;
+    private LongSupplier clock = System::currentTimeMillis;
 
     public LRUBuilderCache() {
         //CDI proxy
@@ -114,14 +144,224 @@ public class LRUBuilderCache extends LRUCache<Module, Builder> {
         return value;
     }
 
+    protected static String validateNonNegative(final String property,
+                                                final String value) {
+        if (value == null || value.length() == 0 || !value.matches("^[0-9]+$")) {
+            logger.error("Illeagal Argument : Property {} should be a positive integer", property);
+            return DISABLED;
+        }
+        return value;
+    }
+
+    void setMemoryBudget(final long memoryBudget) {
+        this.memoryBudget = memoryBudget;
+    }
+
+    void setIdleExpiry(final long idleExpiry) {
+        this.idleExpiry = idleExpiry;
+    }
+
+    void setClock(final LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    public BuilderCacheStatistics getStatistics() {
+        return statistics;
+    }
+
+    @Override
+    public Builder getEntry(final Module module) {
+        synchronized (trackedBuilders) {
+            final Builder builder = super.getEntry(module);
+            final TrackedBuilder tracked = trackedBuilders.get(module);
+            if (builder == null) {
+                if (tracked != null) {
+                    untrack(module,
+                            EvictionReason.SIZE);
+                }
+                statistics.recordMiss();
+                return null;
+            }
+            if (tracked != null && isIdle(tracked,
+                                          clock.getAsLong())) {
+                super.invalidateCache(module);
+                untrack(module,
+                        EvictionReason.IDLE_EXPIRY);
+                statistics.recordMiss();
+                return null;
+            }
+            statistics.recordHit();
+            touch(module,
+                  builder);
+            return builder;
+        }
+    }
+
+    @Override
+    public void setEntry(final Module module,
+                         final Builder builder) {
+        synchronized (trackedBuilders) {
+            super.setEntry(module,
+                           builder);
+            touch(module,
+                  builder);
+            weights.put(module,
+                        builder.getRetainedBytesEstimate());
+            builder.setRetainedBytesListener(weight -> updateWeight(module,
+                                                                    builder,
+                                                                    weight));
+            evict(module);
+        }
+    }
+
+    @Override
+    public void invalidateCache(final Module module) {
+        synchronized (trackedBuilders) {
+            super.invalidateCache(module);
+            if (trackedBuilders.containsKey(module)) {
+                untrack(module,
+                        EvictionReason.INVALIDATED);
+            }
+        }
+    }
+
+    @Override
+    public void invalidateCache() {
+        synchronized (trackedBuilders) {
+            super.invalidateCache();
+            trackedBuilders.keySet().forEach(module -> statistics.recordEviction(EvictionReason.INVALIDATED));
+            trackedBuilders.clear();
+            weights.clear();
+        }
+    }
+
+    private void updateWeight(final Module module,
+                              final Builder builder,
+                              final long weight) {
+        synchronized (trackedBuilders) {
+            final TrackedBuilder tracked = trackedBuilders.get(module);
+            //The builder could have been evicted or replaced meanwhile
+            if (tracked == null || tracked.builder != builder) {
+                return;
+            }
+            weights.put(module,
+                        weight);
+            evict(module);
+        }
+    }
+
+    private void touch(final Module module,
+                       final Builder builder) {
+        trackedBuilders.remove(module);
+        trackedBuilders.put(module,
+                            new TrackedBuilder(builder,
+                                               clock.getAsLong()));
+    }
+
+    private boolean isIdle(final TrackedBuilder tracked,
+                           final long now) {
+        return idleExpiry > 0 && now - tracked.lastAccess > idleExpiry;
+    }
+
+    /**
+     * Must be invoked holding the trackedBuilders monitor, after an entry has been set or its weight updated.
+     * Evicts, least recently used first, the entries over the max number of entries, the idle entries and the ones
+     * exceeding the memory budget. The given module has just been set or updated and is never evicted. The access
+     * order of the underlying cache is left untouched.
+     */
+    private void evict(final Module accessed) {
+        final long now = clock.getAsLong();
+        long totalWeight = 0;
+        final Iterator<Map.Entry<Module, TrackedBuilder>> iterator = trackedBuilders.entrySet().iterator();
+        int entries = trackedBuilders.size();
+        while (iterator.hasNext()) {
+            final Map.Entry<Module, TrackedBuilder> tracked = iterator.next();
+            final Module module = tracked.getKey();
+            if (module.equals(accessed)) {
+                totalWeight += weights.getOrDefault(module,
+                                                    0L);
+            } else if (entries > MAX_ENTRIES) {
+                //Already evicted by the underlying cache, the invalidation is a no-op then
+                iterator.remove();
+                entries--;
+                evict(module,
+                      EvictionReason.SIZE);
+            } else if (isIdle(tracked.getValue(),
+                              now)) {
+                iterator.remove();
+                entries--;
+                evict(module,
+                      EvictionReason.IDLE_EXPIRY);
+            } else {
+                totalWeight += weights.getOrDefault(module,
+                                                    0L);
+            }
+        }
+        if (memoryBudget <= 0 || totalWeight <= memoryBudget) {
+            return;
+        }
+        final Iterator<Module> lru = trackedBuilders.keySet().iterator();
+        while (lru.hasNext() && totalWeight > memoryBudget) {
+            final Module module = lru.next();
+            if (module.equals(accessed)) {
+                continue;
+            }
+            totalWeight -= weights.getOrDefault(module,
+                                                0L);
+            lru.remove();
+            evict(module,
+                  EvictionReason.MEMORY_BUDGET);
+        }
+    }
+
+    private void untrack(final Module module,
+                         final EvictionReason reason) {
+        trackedBuilders.remove(module);
+        weights.remove(module);
+        statistics.recordEviction(reason);
+    }
+
+    private void evict(final Module module,
+                       final EvictionReason reason) {
+        super.invalidateCache(module);
+        weights.remove(module);
+        statistics.recordEviction(reason);
+        logger.debug("Builder of module {} evicted: {}",
+                     module.getModuleName(),
+                     reason);
+    }
+
     public void invalidateProjectCache(@Observes final InvalidateDMOModuleCacheEvent event) {
         PortablePreconditions.checkNotNull("event",
                                            event);
         final Module project = event.getModule();
 
         //If resource was not within a Module there's nothing to invalidate
-        if (project != null) {
-            invalidateCache(project);
+        if (project == null) {
+            return;
+        }
+
+        //A change to a Java class is applied to the built Builder by the incremental build of the resource change,
+        //unless the incremental builds are disabled. The readers needing the change check it has been applied
+        if (isJavaResource(event.getResourcePath()) && isIncrementalBuildEnabled() && isBuilt(project)) {
+            return;
+        }
+        invalidateCache(project);
+    }
+
+    private boolean isIncrementalBuildEnabled() {
+        return Boolean.parseBoolean(System.getProperty(INCREMENTAL_BUILD));
+    }
+
+    private boolean isJavaResource(final org.uberfire.backend.vfs.Path resourcePath) {
+        return resourcePath != null && JAVA_FILE_FILTER.accept(Paths.convert(resourcePath));
+    }
+
+    private boolean isBuilt(final Module module) {
+        synchronized (trackedBuilders) {
+            //Peeks the entry, the access order and the statistics are left untouched
+            final TrackedBuilder tracked = trackedBuilders.get(module);
+            return tracked != null && tracked.builder.isBuilt();
         }
     }
 
@@ -166,4 +406,16 @@ public class LRUBuilderCache extends LRUCache<Module, Builder> {
         return classFilters.stream().reduce(o -> true,
                                             (p1, p2) -> p1.and(p2));
     }
+
+    private static class TrackedBuilder {
+
+        private final Builder builder;
+        private final long lastAccess;
+
+        private TrackedBuilder(final Builder builder,
+                               final long lastAccess) {
+            this.builder = builder;
+            this.lastAccess = lastAccess;
+        }
+    }
 }
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.builder.core;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Collection;
+
+import org.drools.compiler.compiler.io.memory.MemoryFileSystem;
+import org.drools.compiler.kie.builder.impl.InternalKieModule;
+import org.drools.compiler.kie.builder.impl.KieFileSystemImpl;
+import org.kie.api.builder.KieFileSystem;
+import org.kie.api.builder.KieModule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Rough estimation of the heap retained by a {@link Builder}: the sources of its KieFileSystem, the resources of
+ * the built KieModule and the jars of the dependencies ClassLoader, whose size is taken as a proxy of the class
+ * metadata they load.
+ */
+final class RetainedSizeEstimator {
+
+    private static final Logger logger = LoggerFactory.getLogger(RetainedSizeEstimator.class);
+
+    private RetainedSizeEstimator() {
+    }
+
+    static long estimate(final KieFileSystem kieFileSystem,
+                         final KieModule kieModule) {
+        long size = 0;
+        if (kieFileSystem instanceof KieFileSystemImpl) {
+            final MemoryFileSystem mfs = ((KieFileSystemImpl) kieFileSystem).getMfs();
+            size += sizeOf(mfs.getFileNames(),
+                           mfs::getBytes);
+        }
+        if (kieModule instanceof InternalKieModule) {
+            final InternalKieModule internalKieModule = (InternalKieModule) kieModule;
+            size += sizeOf(internalKieModule.getFileNames(),
+                           internalKieModule::getBytes);
+        }
+        return size;
+    }
+
+    static long sizeOf(final ClassLoader classLoader) {
+        if (!(classLoader instanceof URLClassLoader)) {
+            return 0;
+        }
+        long size = 0;
+        for (URL url : ((URLClassLoader) classLoader).getURLs()) {
+            if ("file".equals(url.getProtocol())) {
+                try {
+                    size += new File(url.toURI()).length();
+                } catch (Exception e) {
+                    logger.debug("Unable to estimate the size of {}", url, e);
+                }
+            }
+        }
+        return size;
+    }
+
+    private static long sizeOf(final Collection<String> fileNames,
+                               final ContentProvider contentProvider) {
+        long size = 0;
+        for (String fileName : fileNames) {
+            final byte[] bytes = contentProvider.getBytes(fileName);
+            if (bytes != null) {
+                size += bytes.length;
+            }
+        }
+        return size;
+    }
+
+    private interface ContentProvider {
+
+        byte[] getBytes(String fileName);
+    }
+}
@@ -16,6 +16,8 @@
 
 package org.kie.workbench.common.services.backend.builder.service;
 
+import java.util.Collection;
+
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 
@@ -23,6 +25,8 @@ import org.guvnor.common.services.project.builder.service.BuildService;
 import org.guvnor.common.services.project.model.Module;
 import org.kie.workbench.common.services.backend.builder.core.Builder;
 import org.kie.workbench.common.services.backend.builder.core.LRUBuilderCache;
+import org.uberfire.backend.server.util.Paths;
+import org.uberfire.backend.vfs.Path;
 
 /**
  * Service for providing access to the build information for a given project.
@@ -61,4 +65,21 @@ public class BuildInfoService {
         }
         return new BuildInfoImpl(result[0]);
     }
+
+    /**
+     * Gets the BuildInfo for a given module, built from the current content of the given resources. A cached build
+     * that has not applied their last changes yet (the incremental build is pending, or disabled) is discarded and
+     * the module is built again.
+     * @param module The module for getting the BuildInfo.
+     * @param resources The changed resources of the module.
+     * @return the BuildInfo for the given module.
+     */
+    public BuildInfo getBuildInfo(final Module module,
+                                  final Collection<Path> resources) {
+        final Builder builder = builderCache.getBuilder(module);
+        if (builder != null && builder.isBuilt() && !resources.stream().allMatch(resource -> builder.isUpToDate(Paths.convert(resource)))) {
+            builderCache.invalidateCache(module);
+        }
+        return getBuildInfo(module);
+    }
 }
\ No newline at end of file
@@ -16,7 +16,9 @@
 
 package org.kie.workbench.common.services.backend.builder.core;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.InputStream;
 import java.net.URL;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
@@ -24,6 +26,9 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 
 import com.google.common.io.Resources;
@@ -445,6 +450,101 @@ public class BuilderTest
                      addedMessages.size());
     }
 
+    @Test
+    public void testReadersWaitForTheIncrementalBuildInProgress() throws Exception {
+        final URL url = this.getClass().getResource("/GuvnorM2RepoDependencyExample1");
+        final SimpleFileSystemProvider p = new SimpleFileSystemProvider();
+        final org.uberfire.java.nio.file.Path path = p.getPath(url.toURI());
+
+        final Module module = moduleService.resolveModule(Paths.convert(path));
+
+        final Builder builder = new Builder(module,
+                                            ioService,
+                                            moduleService,
+                                            importsService,
+                                            new ArrayList<>(),
+                                            dependenciesClassLoaderCache,
+                                            pomModelCache,
+                                            getPackageNameWhiteListService(),
+                                            alwaysTrue);
+        assertNotNull(builder.getKieContainer());
+
+        //The content of the updated resource is read by the incremental build, while holding the build lock
+        final org.uberfire.java.nio.file.Path rule2 = p.getPath(this.getClass().getResource("/GuvnorM2RepoDependencyExample1/src/main/resources/rule2.drl").toURI());
+        final CountDownLatch updateStarted = new CountDownLatch(1);
+        final CountDownLatch releaseUpdate = new CountDownLatch(1);
+        final InputStream content = new ByteArrayInputStream(("package org.kie.workbench.common.services.builder.tests.test1\n" +
+                "rule R2\nwhen\nBean()\nthen\nend\n" +
+                "rule R3\nwhen\nBean()\nthen\nend\n").getBytes()) {
+            @Override
+            public synchronized int read(final byte[] b,
+                                         final int off,
+                                         final int len) {
+                updateStarted.countDown();
+                try {
+                    releaseUpdate.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.read(b,
+                                  off,
+                                  len);
+            }
+        };
+        final CompletableFuture<IncrementalBuildResults> update = CompletableFuture.supplyAsync(() -> builder.updateResource(rule2,
+                                                                                                                              content));
+        assertTrue(updateStarted.await(10,
+                                       TimeUnit.SECONDS));
+
+        final CompletableFuture<KieContainer> container = CompletableFuture.supplyAsync(builder::getKieContainer);
+        final CompletableFuture<KieModuleMetaData> metaData = CompletableFuture.supplyAsync(builder::getKieModuleMetaDataIgnoringErrors);
+        Thread.sleep(200);
+        assertFalse(container.isDone());
+        assertFalse(metaData.isDone());
+
+        releaseUpdate.countDown();
+        assertTrue(update.get(30,
+                              TimeUnit.SECONDS).getErrorMessages().isEmpty());
+        assertNotNull(container.get(30,
+                                    TimeUnit.SECONDS).getKieBase().getRule("org.kie.workbench.common.services.builder.tests.test1",
+                                                                           "R3"));
+        assertNotNull(metaData.get(30,
+                                   TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testIsUpToDateOnceTheCurrentContentIsBuilt() throws Exception {
+        final URL url = this.getClass().getResource("/GuvnorM2RepoDependencyExample1");
+        final SimpleFileSystemProvider p = new SimpleFileSystemProvider();
+        final org.uberfire.java.nio.file.Path path = p.getPath(url.toURI());
+
+        final Module module = moduleService.resolveModule(Paths.convert(path));
+
+        final Builder builder = new Builder(module,
+                                            ioService,
+                                            moduleService,
+                                            importsService,
+                                            new ArrayList<>(),
+                                            dependenciesClassLoaderCache,
+                                            pomModelCache,
+                                            getPackageNameWhiteListService(),
+                                            alwaysTrue);
+        final org.uberfire.java.nio.file.Path rule2 = p.getPath(this.getClass().getResource("/GuvnorM2RepoDependencyExample1/src/main/resources/rule2.drl").toURI());
+        assertFalse(builder.isUpToDate(rule2));
+
+        builder.build();
+        assertTrue(builder.isUpToDate(rule2));
+
+        //The build has a content that is not the one of the file system, as if a later change had not been applied yet
+        builder.updateResource(rule2,
+                               new ByteArrayInputStream(("package org.kie.workbench.common.services.builder.tests.test1\n" +
+                                       "rule R3\nwhen\nBean()\nthen\nend\n").getBytes()));
+        assertFalse(builder.isUpToDate(rule2));
+
+        builder.updateResource(rule2);
+        assertTrue(builder.isUpToDate(rule2));
+    }
+
     private PackageNameWhiteListService getPackageNameWhiteListService() {
         return new PackageNameWhiteListServiceImpl(ioService,
                                                    mock(KieModuleService.class),
@@ -15,16 +15,63 @@
  */
 package org.kie.workbench.common.services.backend.builder.core;
 
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+
+import org.guvnor.common.services.project.builder.events.InvalidateDMOModuleCacheEvent;
+import org.guvnor.common.services.project.model.Module;
+import org.junit.After;
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.kie.workbench.common.services.backend.builder.core.BuilderCacheStatistics.EvictionReason;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
-
+import org.uberfire.backend.vfs.PathFactory;
+import org.uberfire.rpc.SessionInfo;
 
 import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
 public class LRUBuilderCacheTest {
 
+    @Mock
+    private Module module1;
+
+    @Mock
+    private Module module2;
+
+    @Mock
+    private Module module3;
+
+    @Mock
+    private Builder builder1;
+
+    @Mock
+    private Builder builder2;
+
+    @Mock
+    private Builder builder3;
+
+    private AtomicLong now = new AtomicLong();
+
+    private LRUBuilderCache cache;
+
+    @Before
+    public void setUp() {
+        cache = new LRUBuilderCache();
+        cache.setClock(now::get);
+    }
+
+    @After
+    public void tearDown() {
+        System.clearProperty(LRUBuilderCache.INCREMENTAL_BUILD);
+    }
+
     @Test
     public void testValidateCacheSize() {
         assertEquals(LRUBuilderCache.validateCacheSize("10"), "10");
@@ -34,4 +81,145 @@ public class LRUBuilderCacheTest {
         assertEquals(LRUBuilderCache.validateCacheSize(null), LRUBuilderCache.DEFAULT_BUILDER_CACHE_SIZE);
     }
 
+    @Test
+    public void testValidateNonNegative() {
+        assertEquals("1024", LRUBuilderCache.validateNonNegative("property", "1024"));
+        assertEquals(LRUBuilderCache.DISABLED, LRUBuilderCache.validateNonNegative("property", "-1"));
+        assertEquals(LRUBuilderCache.DISABLED, LRUBuilderCache.validateNonNegative("property", "1g"));
+        assertEquals(LRUBuilderCache.DISABLED, LRUBuilderCache.validateNonNegative("property", null));
+    }
+
+    @Test
+    public void testHitsAndMisses() {
+        assertNull(cache.getEntry(module1));
+        cache.setEntry(module1, builder1);
+        assertSame(builder1, cache.getEntry(module1));
+
+        assertEquals(1, cache.getStatistics().getHitCount());
+        assertEquals(1, cache.getStatistics().getMissCount());
+    }
+
+    @Test
+    public void testMemoryBudgetEvictsLeastRecentlyUsed() {
+        when(builder1.getRetainedBytesEstimate()).thenReturn(60L);
+        when(builder2.getRetainedBytesEstimate()).thenReturn(30L);
+        when(builder3.getRetainedBytesEstimate()).thenReturn(30L);
+        cache.setMemoryBudget(100);
+
+        cache.setEntry(module1, builder1);
+        cache.setEntry(module2, builder2);
+        cache.getEntry(module1);
+        cache.setEntry(module3, builder3);
+
+        assertNull(cache.getBuilder(module2));
+        assertSame(builder1, cache.getBuilder(module1));
+        assertSame(builder3, cache.getBuilder(module3));
+        assertEquals(1, cache.getStatistics().getEvictionCount(EvictionReason.MEMORY_BUDGET));
+        assertEquals(90, cache.getStatistics().getTotalWeight());
+        assertEquals(Long.valueOf(60), cache.getStatistics().getWeights().get(module1));
+    }
+
+    @Test
+    public void testMemoryBudgetIsEnforcedWhenTheWeightIsUpdated() {
+        when(builder2.getRetainedBytesEstimate()).thenReturn(60L);
+        cache.setMemoryBudget(100);
+
+        cache.setEntry(module1, builder1);
+        cache.setEntry(module2, builder2);
+        assertEquals(0, cache.getStatistics().getEvictionCount(EvictionReason.MEMORY_BUDGET));
+
+        // The first build of builder1 completes
+        getRetainedBytesListener(builder1).accept(70L);
+
+        assertNull(cache.getBuilder(module2));
+        assertSame(builder1, cache.getBuilder(module1));
+        assertEquals(1, cache.getStatistics().getEvictionCount(EvictionReason.MEMORY_BUDGET));
+        assertEquals(70, cache.getStatistics().getTotalWeight());
+    }
+
+    @Test
+    public void testWeightOfAReplacedBuilderIsIgnored() {
+        cache.setMemoryBudget(100);
+        cache.setEntry(module1, builder1);
+        final LongConsumer replacedListener = getRetainedBytesListener(builder1);
+        cache.setEntry(module1, builder2);
+
+        replacedListener.accept(1000L);
+
+        assertSame(builder2, cache.getBuilder(module1));
+        assertEquals(0, cache.getStatistics().getTotalWeight());
+        assertEquals(0, cache.getStatistics().getEvictionCount(EvictionReason.MEMORY_BUDGET));
+    }
+
+    @Test
+    public void testLookupsDoNotEvictOtherEntries() {
+        cache.setIdleExpiry(1000);
+
+        cache.setEntry(module1, builder1);
+        cache.setEntry(module2, builder2);
+        now.set(1200);
+
+        assertNull(cache.getEntry(module1));
+        assertEquals(1, cache.getStatistics().getEvictionCount(EvictionReason.IDLE_EXPIRY));
+        assertEquals(Long.valueOf(0), cache.getStatistics().getWeights().get(module2));
+    }
+
+    @Test
+    public void testIdleEntriesExpire() {
+        cache.setIdleExpiry(1000);
+
+        cache.setEntry(module1, builder1);
+        now.set(500);
+        cache.setEntry(module2, builder2);
+        now.set(1200);
+
+        assertNull(cache.getEntry(module1));
+        assertSame(builder2, cache.getEntry(module2));
+        assertEquals(1, cache.getStatistics().getEvictionCount(EvictionReason.IDLE_EXPIRY));
+    }
+
+    @Test
+    public void testInvalidation() {
+        cache.setEntry(module1, builder1);
+        cache.invalidateCache(module1);
+
+        assertNull(cache.getEntry(module1));
+        assertEquals(1, cache.getStatistics().getEvictionCount(EvictionReason.INVALIDATED));
+        assertTrue(cache.getStatistics().getWeights().isEmpty());
+    }
+
+    @Test
+    public void testJavaChangeKeepsTheBuiltBuilderWhenIncrementalBuildsAreEnabled() {
+        System.setProperty(LRUBuilderCache.INCREMENTAL_BUILD, "true");
+        when(builder1.isBuilt()).thenReturn(true);
+        cache.setEntry(module1, builder1);
+
+        cache.invalidateProjectCache(javaChange(module1));
+
+        assertSame(builder1, cache.getEntry(module1));
+    }
+
+    @Test
+    public void testJavaChangeInvalidatesTheBuilderWhenIncrementalBuildsAreDisabled() {
+        //the Builder would never apply the change
+        System.setProperty(LRUBuilderCache.INCREMENTAL_BUILD, "false");
+        cache.setEntry(module1, builder1);
+
+        cache.invalidateProjectCache(javaChange(module1));
+
+        assertNull(cache.getEntry(module1));
+    }
+
+    private InvalidateDMOModuleCacheEvent javaChange(final Module module) {
+        return new InvalidateDMOModuleCacheEvent(mock(SessionInfo.class),
+                                                 module,
+                                                 PathFactory.newPath("Smurf.java",
+                                                                     "file:///project/src/main/java/org/test/Smurf.java"));
+    }
+
+    private LongConsumer getRetainedBytesListener(final Builder builder) {
+        final ArgumentCaptor<LongConsumer> listener = ArgumentCaptor.forClass(LongConsumer.class);
+        verify(builder).setRetainedBytesListener(listener.capture());
+        return listener.getValue();
+    }
 }
@@ -16,6 +16,7 @@
 
 package org.kie.workbench.common.services.backend.builder.service;
 
+import java.util.Collections;
 import java.util.function.Consumer;
 
 import org.guvnor.common.services.project.model.Module;
@@ -28,6 +29,9 @@ import org.mockito.Mock;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.mockito.stubbing.Answer;
+import org.uberfire.backend.server.util.Paths;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.backend.vfs.PathFactory;
 
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
@@ -52,6 +56,9 @@ public class BuildInfoServiceTest {
     @Mock
     private Builder builderNotBuilt;
 
+    @Mock
+    private Builder staleBuilder;
+
     @Before
     public void setUp() {
         buildInfoService = new BuildInfoService(buildService, cache);
@@ -85,6 +92,47 @@ public class BuildInfoServiceTest {
         testBuildIsRequired();
     }
 
+    @Test
+    public void testGetBuildInfoOfChangedResourcesAppliedByTheBuilder() {
+        final Path resource = PathFactory.newPath("Smurf.java",
+                                                  "file:///project/src/main/java/org/test/Smurf.java");
+        when(cache.getBuilder(module)).thenReturn(builder);
+        when(builder.isBuilt()).thenReturn(true);
+        when(builder.isUpToDate(Paths.convert(resource))).thenReturn(true);
+
+        BuildInfo result = buildInfoService.getBuildInfo(module,
+                                                         Collections.singleton(resource));
+
+        assertEquals(new BuildInfoImpl(builder),
+                     result);
+        verify(cache, never()).invalidateCache(module);
+        verify(buildService, never()).build(eq(module), any(Consumer.class));
+    }
+
+    @Test
+    public void testGetBuildInfoOfChangedResourcesNotAppliedByTheBuilder() {
+        //the incremental build of the change is still pending, or incremental builds are disabled
+        final Path resource = PathFactory.newPath("Smurf.java",
+                                                  "file:///project/src/main/java/org/test/Smurf.java");
+        //the stale builder is invalidated
+        when(cache.getBuilder(module)).thenReturn(staleBuilder,
+                                                  null);
+        when(staleBuilder.isBuilt()).thenReturn(true);
+        when(staleBuilder.isUpToDate(Paths.convert(resource))).thenReturn(false);
+        doAnswer(invocation -> {
+            ((Consumer) invocation.getArguments()[1]).accept(builder);
+            return null;
+        }).when(buildService).build(eq(module), any(Consumer.class));
+
+        BuildInfo result = buildInfoService.getBuildInfo(module,
+                                                         Collections.singleton(resource));
+
+        assertEquals(new BuildInfoImpl(builder),
+                     result);
+        verify(cache).invalidateCache(module);
+        verify(buildService).build(eq(module), any(Consumer.class));
+    }
+
     private void testBuildIsRequired() {
         doAnswer(new Answer<Void>() {
             public Void answer(InvocationOnMock invocation) {
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.benchmarks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.io.FileUtils;
+import org.kie.workbench.common.services.backend.compiler.TestUtilMaven;
+import org.uberfire.java.nio.file.Files;
+import org.uberfire.java.nio.file.Path;
+import org.uberfire.java.nio.file.Paths;
+
+/**
+ * Fixture projects of the benchmarks, the ones of the compiler and Builder tests. They are copied into
+ * target/classes/projects like the compiler tests filter theirs into target/test-classes, so the benchmarks have to
+ * run from the benchmarks module directory.
+ */
+public final class BenchmarkProjects {
+
+    public static final String KJAR_2_SINGLE_RESOURCES = "kjar-2-single-resources";
+    public static final String DUMMY_KIE_INCREMENTAL = "dummy_kie_incremental";
+    public static final String BUILDER_MODULE = "GuvnorM2RepoDependencyExample1";
+
+    private static final String PROJECTS_DIR = "target/classes/projects";
+
+    private BenchmarkProjects() {
+    }
+
+    /**
+     * Copies a fixture project into a new temporary directory, so benchmarks never change the fixtures
+     * @return The root of the copied project
+     */
+    public static Path copyToTempDirectory(final String project) throws IOException {
+        final Path source = Paths.get(PROJECTS_DIR,
+                                      project).toAbsolutePath();
+        if (!Files.isDirectory(source)) {
+            throw new IllegalStateException("Fixture project " + source + " not found, the benchmarks must run from the kie-wb-common-services-benchmarks directory.");
+        }
+        final Path target = Files.createTempDirectory("kie-benchmark").resolve(project);
+        FileUtils.copyDirectory(source.toFile(),
+                                target.toFile());
+        return target;
+    }
+
+    public static void delete(final Path project) {
+        if (project != null) {
+            FileUtils.deleteQuietly(project.getParent().toFile());
+        }
+    }
+
+    /**
+     * Appends a comment to a source file, a change every compiler and builder has to process again
+     */
+    public static void touch(final Path file,
+                             final int revision) throws IOException {
+        FileUtils.writeStringToFile(file.toFile(),
+                                    "\n// revision " + revision,
+                                    StandardCharsets.UTF_8,
+                                    true);
+    }
+
+    public static String getMavenRepo() throws Exception {
+        return TestUtilMaven.getMavenRepo();
+    }
+
+    public static String getSettingsFile() {
+        return TestUtilMaven.getSettingsFile();
+    }
+}
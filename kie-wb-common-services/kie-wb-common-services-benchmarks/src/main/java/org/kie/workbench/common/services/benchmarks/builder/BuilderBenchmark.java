@@ -0,0 +1,202 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.benchmarks.builder;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.context.spi.CreationalContext;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.BeanManager;
+
+import org.guvnor.common.services.project.builder.model.BuildResults;
+import org.guvnor.common.services.project.builder.model.IncrementalBuildResults;
+import org.guvnor.common.services.project.model.Module;
+import org.jboss.weld.environment.se.Weld;
+import org.kie.workbench.common.services.backend.builder.core.Builder;
+import org.kie.workbench.common.services.backend.builder.core.LRUModuleDependenciesClassLoaderCache;
+import org.kie.workbench.common.services.backend.builder.core.LRUPomModelCache;
+import org.kie.workbench.common.services.benchmarks.BenchmarkProjects;
+import org.kie.workbench.common.services.shared.project.KieModuleService;
+import org.kie.workbench.common.services.shared.project.ProjectImportsService;
+import org.kie.workbench.common.services.shared.whitelist.PackageNameWhiteListService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.uberfire.backend.server.util.Paths;
+import org.uberfire.io.IOService;
+import org.uberfire.java.nio.file.Path;
+import org.uberfire.java.nio.fs.file.SimpleFileSystemProvider;
+import org.uberfire.workbench.events.ResourceChange;
+import org.uberfire.workbench.events.ResourceUpdated;
+
+/**
+ * Builds of a kjar by the workbench {@link Builder}, running in the same Weld SE environment as the services
+ * backend tests:
+ * <ul>
+ * <li>cold: a new Builder builds the module with empty dependencies ClassLoader and POM caches</li>
+ * <li>warm: a full build() of a Builder that already built the module</li>
+ * <li>incremental: applyBatchResourceChanges() of a changed DRL on a Builder that already built the module</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BuilderBenchmark {
+
+    private static final String CHANGED_RESOURCE = "src/main/resources/rule2.drl";
+
+    @State(Scope.Benchmark)
+    public static class WeldState {
+
+        Weld weld;
+        IOService ioService;
+        KieModuleService moduleService;
+        ProjectImportsService importsService;
+        LRUModuleDependenciesClassLoaderCache dependenciesClassLoaderCache;
+        LRUPomModelCache pomModelCache;
+        PackageNameWhiteListService packageNameWhiteListService;
+
+        Path project;
+        Module module;
+
+        @Setup(Level.Trial)
+        public void setUp() throws Exception {
+            weld = new Weld(BuilderBenchmark.class.getCanonicalName());
+            final BeanManager beanManager = weld.initialize().getBeanManager();
+
+            ioService = getReference(beanManager,
+                                     IOService.class);
+            moduleService = getReference(beanManager,
+                                         KieModuleService.class);
+            importsService = getReference(beanManager,
+                                          ProjectImportsService.class);
+            dependenciesClassLoaderCache = getReference(beanManager,
+                                                        LRUModuleDependenciesClassLoaderCache.class);
+            pomModelCache = getReference(beanManager,
+                                         LRUPomModelCache.class);
+            packageNameWhiteListService = getReference(beanManager,
+                                                       PackageNameWhiteListService.class);
+
+            project = BenchmarkProjects.copyToTempDirectory(BenchmarkProjects.BUILDER_MODULE);
+            module = moduleService.resolveModule(Paths.convert(new SimpleFileSystemProvider().getPath(project.toUri())));
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            if (weld != null) {
+                weld.shutdown();
+            }
+            BenchmarkProjects.delete(project);
+        }
+
+        Builder newBuilder() {
+            return new Builder(module,
+                               ioService,
+                               moduleService,
+                               importsService,
+                               new ArrayList<>(),
+                               dependenciesClassLoaderCache,
+                               pomModelCache,
+                               packageNameWhiteListService,
+                               className -> true);
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T getReference(final BeanManager beanManager,
+                                          final Class<T> clazz) {
+            final Bean<T> bean = (Bean<T>) beanManager.getBeans(clazz).iterator().next();
+            final CreationalContext<T> cc = beanManager.createCreationalContext(bean);
+            return (T) beanManager.getReference(bean,
+                                                clazz,
+                                                cc);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ColdState {
+
+        @Setup(Level.Invocation)
+        public void setUp(final WeldState weld) {
+            weld.dependenciesClassLoaderCache.invalidateCache(weld.module);
+            weld.pomModelCache.invalidateCache(weld.module);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class WarmState {
+
+        Builder builder;
+
+        @Setup(Level.Trial)
+        public void setUp(final WeldState weld) {
+            builder = weld.newBuilder();
+            builder.build();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class IncrementalState extends WarmState {
+
+        Path resource;
+        Map<org.uberfire.backend.vfs.Path, Collection<ResourceChange>> changes;
+        int revision;
+
+        @Setup(Level.Trial)
+        public void setUpChanges(final WeldState weld) {
+            resource = weld.project.resolve(CHANGED_RESOURCE);
+            final org.uberfire.backend.vfs.Path vfsResource = Paths.convert(new SimpleFileSystemProvider().getPath(resource.toUri()));
+            changes = Collections.singletonMap(vfsResource,
+                                               Collections.singletonList(new ResourceUpdated("")));
+        }
+
+        @Setup(Level.Invocation)
+        public void touchResource() throws Exception {
+            BenchmarkProjects.touch(resource,
+                                    ++revision);
+        }
+    }
+
+    @Benchmark
+    public BuildResults coldBuild(final WeldState weld,
+                                  final ColdState cold) {
+        return weld.newBuilder().build();
+    }
+
+    @Benchmark
+    public BuildResults warmBuild(final WarmState warm) {
+        return warm.builder.build();
+    }
+
+    @Benchmark
+    public IncrementalBuildResults incrementalBuild(final IncrementalState incremental) {
+        return incremental.builder.applyBatchResourceChanges(incremental.changes);
+    }
+}
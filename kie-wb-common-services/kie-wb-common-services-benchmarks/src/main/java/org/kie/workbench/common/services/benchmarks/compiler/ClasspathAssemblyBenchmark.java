@@ -0,0 +1,109 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.benchmarks.compiler;
+
+import java.net.URL;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.kie.workbench.common.services.backend.compiler.AFCompiler;
+import org.kie.workbench.common.services.backend.compiler.CompilationResponse;
+import org.kie.workbench.common.services.backend.compiler.configuration.KieDecorator;
+import org.kie.workbench.common.services.backend.compiler.configuration.MavenCLIArgs;
+import org.kie.workbench.common.services.backend.compiler.impl.DefaultCompilationRequest;
+import org.kie.workbench.common.services.backend.compiler.impl.WorkspaceCompilationInfo;
+import org.kie.workbench.common.services.backend.compiler.impl.classloader.CompilerClassloaderUtils;
+import org.kie.workbench.common.services.backend.compiler.impl.kie.KieMavenCompilerFactory;
+import org.kie.workbench.common.services.benchmarks.BenchmarkProjects;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.uberfire.java.nio.file.Path;
+
+/**
+ * Classpath assembly of {@link CompilerClassloaderUtils}, from the in memory maven build-classpath run to the
+ * ClassLoaders created from the dependencies already stored by a build.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClasspathAssemblyBenchmark {
+
+    private String mavenRepo;
+    private String settings;
+    private Path project;
+    private List<String> dependencies;
+    private List<String> poms;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        mavenRepo = BenchmarkProjects.getMavenRepo();
+        settings = BenchmarkProjects.getSettingsFile();
+        project = BenchmarkProjects.copyToTempDirectory(BenchmarkProjects.KJAR_2_SINGLE_RESOURCES);
+
+        final AFCompiler<CompilationResponse> compiler = KieMavenCompilerFactory.getCompiler(EnumSet.of(KieDecorator.STORE_BUILD_CLASSPATH));
+        final CompilationResponse response = compiler.compile(new DefaultCompilationRequest(mavenRepo,
+                                                                                            new WorkspaceCompilationInfo(project),
+                                                                                            new String[]{MavenCLIArgs.COMPILE, MavenCLIArgs.ALTERNATE_USER_SETTINGS + settings},
+                                                                                            Boolean.FALSE));
+        CompilerBenchmark.assertSuccessful(response);
+        dependencies = response.getDependencies();
+        poms = Collections.singletonList(project.resolve("pom.xml").toAbsolutePath().toString());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkProjects.delete(project);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Optional<ClassLoader> classloaderFromAllDependencies() {
+        return CompilerClassloaderUtils.getClassloaderFromAllDependencies(project.toAbsolutePath().toString(),
+                                                                          mavenRepo,
+                                                                          settings);
+    }
+
+    @Benchmark
+    public Optional<ClassLoader> classloaderFromStoredDependencies() {
+        return CompilerClassloaderUtils.createClassloaderFromStringDeps(dependencies);
+    }
+
+    @Benchmark
+    public List<URL> dependenciesAsUrls() {
+        return CompilerClassloaderUtils.readAllDepsAsUrls(dependencies);
+    }
+
+    @Benchmark
+    public List<URL> targetModulesUrls() {
+        return CompilerClassloaderUtils.getTargetModulesURL(poms);
+    }
+}
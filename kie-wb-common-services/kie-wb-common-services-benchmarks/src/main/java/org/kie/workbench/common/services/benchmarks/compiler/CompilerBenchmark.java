@@ -0,0 +1,168 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.benchmarks.compiler;
+
+import java.util.EnumSet;
+import java.util.concurrent.TimeUnit;
+
+import org.kie.workbench.common.services.backend.compiler.AFCompiler;
+import org.kie.workbench.common.services.backend.compiler.CompilationRequest;
+import org.kie.workbench.common.services.backend.compiler.CompilationResponse;
+import org.kie.workbench.common.services.backend.compiler.configuration.KieDecorator;
+import org.kie.workbench.common.services.backend.compiler.configuration.MavenCLIArgs;
+import org.kie.workbench.common.services.backend.compiler.impl.DefaultCompilationRequest;
+import org.kie.workbench.common.services.backend.compiler.impl.WorkspaceCompilationInfo;
+import org.kie.workbench.common.services.backend.compiler.impl.kie.KieMavenCompilerFactory;
+import org.kie.workbench.common.services.benchmarks.BenchmarkProjects;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.uberfire.java.nio.file.Path;
+
+/**
+ * Maven builds of a kjar through the {@link AFCompiler} decorator chains created by {@link KieMavenCompilerFactory}:
+ * <ul>
+ * <li>cold: a new compiler builds a fresh copy of the project</li>
+ * <li>warm: the same compiler builds again a project without changes</li>
+ * <li>incremental: the same compiler builds again a project with a changed source file</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CompilerBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class CompilerState {
+
+        /**
+         * Decorators of the compiler, NONE is the bare BaseMavenCompiler
+         */
+        @Param({"NONE", "ENABLE_LOGGING", "STORE_KIE_OBJECTS", "STORE_KIE_OBJECTS,STORE_BUILD_CLASSPATH", "ENABLE_INCREMENTAL_BUILD,STORE_KIE_OBJECTS,STORE_BUILD_CLASSPATH", "STORE_KIE_OBJECTS,STORE_BUILD_CLASSPATH,ENABLE_PERSISTENT_CACHE"})
+        public String decorators;
+
+        String mavenRepo;
+        String settings;
+        EnumSet<KieDecorator> kieDecorators;
+
+        @Setup(Level.Trial)
+        public void setUpTrial() throws Exception {
+            mavenRepo = BenchmarkProjects.getMavenRepo();
+            settings = BenchmarkProjects.getSettingsFile();
+            kieDecorators = EnumSet.noneOf(KieDecorator.class);
+            if (!"NONE".equals(decorators)) {
+                for (String decorator : decorators.split(",")) {
+                    kieDecorators.add(KieDecorator.valueOf(decorator.trim()));
+                }
+            }
+        }
+
+        AFCompiler<CompilationResponse> newCompiler() {
+            return KieMavenCompilerFactory.getCompiler(kieDecorators);
+        }
+
+        CompilationRequest newRequest(final Path project) {
+            return new DefaultCompilationRequest(mavenRepo,
+                                                 new WorkspaceCompilationInfo(project),
+                                                 new String[]{MavenCLIArgs.COMPILE, MavenCLIArgs.ALTERNATE_USER_SETTINGS + settings},
+                                                 Boolean.FALSE);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ColdState {
+
+        Path project;
+
+        @Setup(Level.Invocation)
+        public void setUp() throws Exception {
+            project = BenchmarkProjects.copyToTempDirectory(BenchmarkProjects.KJAR_2_SINGLE_RESOURCES);
+        }
+
+        @TearDown(Level.Invocation)
+        public void tearDown() {
+            BenchmarkProjects.delete(project);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class WarmState {
+
+        AFCompiler<CompilationResponse> compiler;
+        CompilationRequest request;
+        Path project;
+        int revision;
+
+        @Setup(Level.Trial)
+        public void setUp(final CompilerState state) throws Exception {
+            project = BenchmarkProjects.copyToTempDirectory(BenchmarkProjects.DUMMY_KIE_INCREMENTAL);
+            compiler = state.newCompiler();
+            request = state.newRequest(project);
+            assertSuccessful(compiler.compile(request));
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            BenchmarkProjects.delete(project);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class IncrementalState extends WarmState {
+
+        @Setup(Level.Invocation)
+        public void touchSource() throws Exception {
+            BenchmarkProjects.touch(project.resolve("src/main/java/dummy/Dummy.java"),
+                                    ++revision);
+        }
+    }
+
+    @Benchmark
+    public CompilationResponse coldBuild(final CompilerState state,
+                                         final ColdState cold) {
+        return assertSuccessful(state.newCompiler().compile(state.newRequest(cold.project)));
+    }
+
+    @Benchmark
+    public CompilationResponse warmBuild(final WarmState warm) {
+        return assertSuccessful(warm.compiler.compile(warm.request));
+    }
+
+    @Benchmark
+    public CompilationResponse incrementalBuild(final IncrementalState incremental) {
+        return assertSuccessful(incremental.compiler.compile(incremental.request));
+    }
+
+    static CompilationResponse assertSuccessful(final CompilationResponse response) {
+        if (!response.isSuccessful()) {
+            throw new IllegalStateException("Benchmark build failed:\n" + String.join("\n",
+                                                                                     response.getMavenOutput()));
+        }
+        return response;
+    }
+}
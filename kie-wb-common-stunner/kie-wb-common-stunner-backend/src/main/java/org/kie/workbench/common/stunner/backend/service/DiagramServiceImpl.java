@@ -130,7 +130,6 @@ public class DiagramServiceImpl
 
     @Override
     protected Metadata doSave(final Diagram diagram,
-                              final String raw,
                               final String metadata) {
         try {
             getIoService().startBatch(backendFileSystemManager.getFileSystem());
@@ -139,9 +138,9 @@ public class DiagramServiceImpl
             final org.uberfire.java.nio.file.Path path =
                     null != dPath ? Paths.convert(dPath) : getDiagramsPath().resolve(name);
             // Serialize the diagram's raw data.
-            LOG.debug("Serializing raw data: {}", raw);
-            getIoService().write(path,
-                                 raw);
+            LOG.debug("Serializing raw data into: {}", path);
+            writeContent(path,
+                         diagram);
             final String metadataFileName = getMetadataFileName(name);
             final org.uberfire.java.nio.file.Path metadataPath =
                     getDiagramsPath().resolve(metadataFileName);
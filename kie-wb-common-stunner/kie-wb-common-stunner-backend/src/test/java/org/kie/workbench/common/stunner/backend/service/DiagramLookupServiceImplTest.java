@@ -16,19 +16,38 @@
 
 package org.kie.workbench.common.stunner.backend.service;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.kie.workbench.common.stunner.core.backend.lookup.impl.VFSLookupManager;
+import org.kie.workbench.common.stunner.core.backend.service.AbstractDiagramLookupService;
 import org.kie.workbench.common.stunner.core.diagram.Diagram;
 import org.kie.workbench.common.stunner.core.diagram.Metadata;
 import org.kie.workbench.common.stunner.core.graph.Graph;
 import org.kie.workbench.common.stunner.core.lookup.diagram.DiagramLookupRequest;
+import org.kie.workbench.common.stunner.core.lookup.diagram.DiagramRepresentation;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.backend.vfs.PathFactory;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
+import org.uberfire.workbench.events.ResourceRenamedEvent;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -37,25 +56,34 @@ public class DiagramLookupServiceImplTest {
     private static final String NAME = "name1";
 
     @Mock
-    private VFSLookupManager<Diagram<Graph, Metadata>> vfsLookupManager;
+    private VFSLookupManager<DiagramRepresentation> vfsLookupManager;
 
     @Mock
     private DiagramServiceImpl diagramService;
 
     @Mock
-    private Diagram<Graph, Metadata> diagram;
+    private DiagramRepresentation diagram;
+
+    @Mock
+    private Path path;
+
+    @Mock
+    private Diagram<Graph, Metadata> pathDiagram;
+
+    @Mock
+    private Metadata pathMetadata;
 
     private DiagramLookupServiceImpl tested;
 
     @Before
     public void setup() {
-        when(diagram.getName()).thenReturn(NAME);
         tested = new DiagramLookupServiceImpl(vfsLookupManager,
                                               diagramService);
     }
 
     @Test
     public void testMatches() {
+        when(diagram.getName()).thenReturn(NAME);
         String criteria = DiagramLookupRequest.CRITERIA_NAME + "=" + NAME;
         String criteria1 = DiagramLookupRequest.CRITERIA_NAME + "=" + "name2";
         String criteria2 = "";
@@ -63,4 +91,112 @@ public class DiagramLookupServiceImplTest {
         assertFalse(tested.matches(criteria1, diagram));
         assertTrue(tested.matches(criteria2, diagram));
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testDiagramRepresentationsAreIndexed() {
+        when(path.toURI()).thenReturn("default://diagrams/diagram1.bpmn");
+        when(pathDiagram.getName()).thenReturn(NAME);
+        when(pathDiagram.getMetadata()).thenReturn(pathMetadata);
+        when(pathMetadata.getTitle()).thenReturn("title1");
+        when(diagramService.getDiagramByPath(path)).thenReturn(pathDiagram);
+        when(vfsLookupManager.setPathAcceptor(any(Predicate.class))).thenReturn(vfsLookupManager);
+        when(vfsLookupManager.getLastModifiedTime(path)).thenReturn(1L, 1L, 2L);
+        tested.init();
+        ArgumentCaptor<Function> itemSupplier = ArgumentCaptor.forClass(Function.class);
+        verify(vfsLookupManager).setItemSupplier(itemSupplier.capture());
+
+        DiagramRepresentation representation1 = (DiagramRepresentation) itemSupplier.getValue().apply(path);
+        assertEquals(NAME, representation1.getName());
+        assertEquals("title1", representation1.getTitle());
+        DiagramRepresentation representation2 = (DiagramRepresentation) itemSupplier.getValue().apply(path);
+        assertSame(representation1, representation2);
+        verify(diagramService, times(1)).getDiagramByPath(path);
+
+        // The file has been updated since.
+        itemSupplier.getValue().apply(path);
+        verify(diagramService, times(2)).getDiagramByPath(path);
+    }
+
+    @Test
+    public void testDeletedDiagramIsRemovedFromTheIndex() {
+        Function<Path, DiagramRepresentation> itemSupplier = indexedItemSupplier();
+        itemSupplier.apply(path);
+
+        tested.onResourceDeleted(new ResourceDeletedEvent(path, "", null));
+        itemSupplier.apply(path);
+
+        verify(diagramService, times(2)).getDiagramByPath(path);
+    }
+
+    @Test
+    public void testDiagramsInRenamedDirectoryAreRemovedFromTheIndex() {
+        Function<Path, DiagramRepresentation> itemSupplier = indexedItemSupplier();
+        itemSupplier.apply(path);
+
+        Path directory = mock(Path.class);
+        when(directory.toURI()).thenReturn("default://diagrams");
+        tested.onResourceRenamed(new ResourceRenamedEvent(directory, mock(Path.class), "", null));
+        itemSupplier.apply(path);
+
+        verify(diagramService, times(2)).getDiagramByPath(path);
+    }
+
+    @Test
+    public void testUpdatedDiagramIsRemovedFromTheIndex() {
+        Function<Path, DiagramRepresentation> itemSupplier = indexedItemSupplier();
+        itemSupplier.apply(path);
+
+        // The last modified time of the file is the same.
+        tested.onResourceUpdated(new ResourceUpdatedEvent(path, "", null));
+        itemSupplier.apply(path);
+
+        verify(diagramService, times(2)).getDiagramByPath(path);
+    }
+
+    @Test
+    public void testIndexCoversTheDiagramsOfALookup() {
+        Function<Path, DiagramRepresentation> itemSupplier = indexedItemSupplier();
+        itemSupplier.apply(path);
+        when(vfsLookupManager.getLastModifiedTime(any())).thenReturn(1L);
+        when(diagramService.getDiagramByPath(any())).thenReturn(pathDiagram);
+        List<Path> paths = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            paths.add(PathFactory.newPath("diagram" + i + ".bpmn", "default://diagrams/diagram" + i + ".bpmn"));
+        }
+
+        paths.forEach(itemSupplier::apply);
+        paths.forEach(itemSupplier::apply);
+
+        paths.forEach(diagram -> verify(diagramService, times(1)).getDiagramByPath(diagram));
+    }
+
+    @Test
+    public void testIndexIsBounded() {
+        Function<Path, DiagramRepresentation> itemSupplier = indexedItemSupplier();
+        itemSupplier.apply(path);
+        when(vfsLookupManager.getLastModifiedTime(any())).thenReturn(1L);
+        when(diagramService.getDiagramByPath(any())).thenReturn(pathDiagram);
+        for (int i = 0; i < AbstractDiagramLookupService.MAX_INDEXED_DIAGRAMS; i++) {
+            itemSupplier.apply(PathFactory.newPath("other" + i + ".bpmn", "default://diagrams/other" + i + ".bpmn"));
+        }
+
+        // The least recently used diagram has been removed from the index.
+        itemSupplier.apply(path);
+        verify(diagramService, times(2)).getDiagramByPath(path);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Function<Path, DiagramRepresentation> indexedItemSupplier() {
+        when(path.toURI()).thenReturn("default://diagrams/diagram1.bpmn");
+        when(pathDiagram.getName()).thenReturn(NAME);
+        when(pathDiagram.getMetadata()).thenReturn(pathMetadata);
+        when(diagramService.getDiagramByPath(path)).thenReturn(pathDiagram);
+        when(vfsLookupManager.setPathAcceptor(any(Predicate.class))).thenReturn(vfsLookupManager);
+        when(vfsLookupManager.getLastModifiedTime(path)).thenReturn(1L);
+        tested.init();
+        ArgumentCaptor<Function> itemSupplier = ArgumentCaptor.forClass(Function.class);
+        verify(vfsLookupManager).setItemSupplier(itemSupplier.capture());
+        return itemSupplier.getValue();
+    }
 }
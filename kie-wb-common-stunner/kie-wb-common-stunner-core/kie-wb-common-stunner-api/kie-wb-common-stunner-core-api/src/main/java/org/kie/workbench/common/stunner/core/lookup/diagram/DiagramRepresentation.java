@@ -76,6 +76,7 @@ public class DiagramRepresentation {
         private final Diagram diagram;
         private final DiagramRepresentation representation;
         private String shapeSetId;
+        private boolean thumbImageData = true;
 
         public DiagramRepresentationBuilder(final Diagram diagram) {
             this.diagram = diagram;
@@ -92,6 +93,14 @@ public class DiagramRepresentation {
             return this;
         }
 
+        /**
+         * The representation is built without the thumbnail image, e.g. to keep only the lightweight header of a diagram.
+         */
+        public DiagramRepresentationBuilder withoutThumbImageData() {
+            this.thumbImageData = false;
+            return this;
+        }
+
         public DiagramRepresentation build() {
             if (null != diagram) {
                 return new DiagramRepresentation(diagram.getName(),
@@ -99,14 +108,14 @@ public class DiagramRepresentation {
                                                  diagram.getMetadata().getDefinitionSetId(),
                                                  null != shapeSetId ? shapeSetId : diagram.getMetadata().getShapeSetId(),
                                                  diagram.getMetadata().getPath(),
-                                                 diagram.getMetadata().getThumbData());
+                                                 thumbImageData ? diagram.getMetadata().getThumbData() : null);
             }
             return new DiagramRepresentation(representation.getName(),
                                              representation.getTitle(),
                                              representation.getDefinitionSetId(),
                                              null != shapeSetId ? shapeSetId : representation.getShapeSetId(),
                                              representation.getPath(),
-                                             representation.getThumbImageData());
+                                             thumbImageData ? representation.getThumbImageData() : null);
         }
     }
 }
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.stunner.core.backend.definition.adapter;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of the accessors for the annotated fields of the domain classes.
+ * The class hierarchy is introspected once for each class and annotation type, the resulting fields are made
+ * accessible and bound to method handles, so reading or writing an annotated field does not walk the declared fields
+ * nor check its accessibility again.
+ * Accessors are kept by a {@link ClassValue} for the lifetime of the class they are computed for. The accessors
+ * reference the fields of that class, hence its class loader stays reachable while the class is: this is meant for
+ * the domain classes of the application, a class loader of a project would be retained by its accessors.
+ */
+public class AnnotatedFieldAccessors {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class,
+                                                                        Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class,
+                                                                        Object.class,
+                                                                        Object.class);
+
+    private static final ClassValue<Map<Class<? extends Annotation>, List<FieldAccessor>>> ACCESSORS =
+            new ClassValue<Map<Class<? extends Annotation>, List<FieldAccessor>>>() {
+                @Override
+                protected Map<Class<? extends Annotation>, List<FieldAccessor>> computeValue(final Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
+    /**
+     * @return The accessors for every field annotated with the given type, in the order of their declaration on each
+     * class of the hierarchy, from the given type to its top parent
+     */
+    public static List<FieldAccessor> getAccessors(final Class<?> type,
+                                                   final Class<? extends Annotation> annotationType) {
+        return ACCESSORS.get(type).computeIfAbsent(annotationType,
+                                                   a -> resolve(type,
+                                                                a));
+    }
+
+    /**
+     * @return The accessor for the first field annotated with the given type declared by the given class, or null
+     */
+    public static FieldAccessor getDeclaredAccessor(final Class<?> type,
+                                                    final Class<? extends Annotation> annotationType) {
+        for (FieldAccessor accessor : getAccessors(type,
+                                                   annotationType)) {
+            if (accessor.getField().getDeclaringClass().equals(type)) {
+                return accessor;
+            }
+        }
+        return null;
+    }
+
+    private static List<FieldAccessor> resolve(final Class<?> type,
+                                               final Class<? extends Annotation> annotationType) {
+        final List<FieldAccessor> result = new ArrayList<>();
+        Class<?> c = type;
+        while (!(c.isAssignableFrom(Object.class))) {
+            for (Field field : c.getDeclaredFields()) {
+                if (null != field.getAnnotation(annotationType)) {
+                    result.add(new FieldAccessor(field));
+                }
+            }
+            c = c.getSuperclass();
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    public static class FieldAccessor {
+
+        private final Field field;
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+
+        FieldAccessor(final Field field) {
+            this.field = field;
+            field.setAccessible(true);
+            this.getter = getter(field);
+            this.setter = setter(field);
+        }
+
+        public Field getField() {
+            return field;
+        }
+
+        @SuppressWarnings("unchecked")
+        public <V> V get(final Object object) throws IllegalAccessException {
+            if (null == getter) {
+                return (V) field.get(object);
+            }
+            try {
+                final Object value = getter.invokeExact(object);
+                return (V) value;
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException(t);
+            }
+        }
+
+        public void set(final Object object,
+                        final Object value) throws IllegalAccessException {
+            if (null == setter) {
+                // Final fields are written reflectively, which reports the illegal access.
+                field.set(object,
+                          value);
+                return;
+            }
+            try {
+                setter.invokeExact(object,
+                                   value);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException(t);
+            }
+        }
+
+        private static MethodHandle getter(final Field field) {
+            try {
+                MethodHandle handle = MethodHandles.lookup().unreflectGetter(field);
+                if (Modifier.isStatic(field.getModifiers())) {
+                    handle = MethodHandles.dropArguments(handle,
+                                                         0,
+                                                         Object.class);
+                }
+                return handle.asType(GETTER_TYPE);
+            } catch (IllegalAccessException e) {
+                return null;
+            }
+        }
+
+        private static MethodHandle setter(final Field field) {
+            if (Modifier.isFinal(field.getModifiers())) {
+                return null;
+            }
+            try {
+                MethodHandle handle = MethodHandles.lookup().unreflectSetter(field);
+                if (Modifier.isStatic(field.getModifiers())) {
+                    handle = MethodHandles.dropArguments(handle,
+                                                         0,
+                                                         Object.class);
+                }
+                return handle.asType(SETTER_TYPE);
+            } catch (IllegalAccessException e) {
+                return null;
+            }
+        }
+    }
+}
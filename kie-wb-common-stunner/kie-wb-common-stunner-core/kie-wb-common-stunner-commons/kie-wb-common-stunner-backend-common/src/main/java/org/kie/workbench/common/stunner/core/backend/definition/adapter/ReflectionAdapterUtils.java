@@ -33,15 +33,18 @@ public class ReflectionAdapterUtils {
     @SuppressWarnings("unchecked")
     public static <T, A extends Annotation, V> V getAnnotatedFieldValue(final T object,
                                                                         final Class<A> annotationType) throws IllegalAccessException {
-        Class<?> c = object.getClass();
-        while (!(c.isAssignableFrom(Object.class))) {
-            V result = getAnnotatedFieldValue(object,
-                                              c,
-                                              annotationType);
+        Class<?> declaringClass = null;
+        for (AnnotatedFieldAccessors.FieldAccessor accessor : AnnotatedFieldAccessors.getAccessors(object.getClass(),
+                                                                                                  annotationType)) {
+            // Only the first annotated field of each class is read.
+            if (accessor.getField().getDeclaringClass().equals(declaringClass)) {
+                continue;
+            }
+            declaringClass = accessor.getField().getDeclaringClass();
+            V result = accessor.get(object);
             if (null != result) {
                 return result;
             }
-            c = c.getSuperclass();
         }
         return null;
     }
@@ -97,17 +100,9 @@ public class ReflectionAdapterUtils {
     public static <T, A extends Annotation, V> V getAnnotatedFieldValue(final T object,
                                                                         final Class<?> sourceType,
                                                                         final Class<A> annotationType) throws IllegalAccessException {
-        V result = null;
-        Field[] fields = sourceType.getDeclaredFields();
-        for (Field field : fields) {
-            A annotation = field.getAnnotation(annotationType);
-            if (null != annotation) {
-                field.setAccessible(true);
-                result = (V) field.get(object);
-                break;
-            }
-        }
-        return result;
+        AnnotatedFieldAccessors.FieldAccessor accessor = AnnotatedFieldAccessors.getDeclaredAccessor(sourceType,
+                                                                                                     annotationType);
+        return null != accessor ? accessor.get(object) : null;
     }
 
     @SuppressWarnings("unchecked")
@@ -22,9 +22,11 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 
 import javax.enterprise.context.Dependent;
@@ -66,6 +68,24 @@ public class BackendDefinitionAdapter<T>
             Property.class
     };
 
+    // The property fields of each definition class, visited once.
+    private static final ClassValue<String[]> PROPERTY_FIELDS = new ClassValue<String[]>() {
+        @Override
+        protected String[] computeValue(final Class<?> type) {
+            final List<String> fields = visitFields(type, field -> null != field.getAnnotation(Property.class));
+            return fields.toArray(new String[fields.size()]);
+        }
+    };
+
+    // The first property field of each meta type for each definition class, visited once.
+    private static final ClassValue<Map<PropertyMetaTypes, Optional<String>>> META_PROPERTY_FIELDS =
+            new ClassValue<Map<PropertyMetaTypes, Optional<String>>>() {
+                @Override
+                protected Map<PropertyMetaTypes, Optional<String>> computeValue(final Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
     @Inject
     public BackendDefinitionAdapter() {
     }
@@ -95,8 +115,7 @@ public class BackendDefinitionAdapter<T>
 
     @Override
     public String[] getPropertyFields(final T pojo) {
-        final List<String> fields = visitFields(pojo.getClass(), field -> null != field.getAnnotation(Property.class));
-        return fields.toArray(new String[fields.size()]);
+        return PROPERTY_FIELDS.get(pojo.getClass()).clone();
     }
 
     private static List<String> visitFields(Class<?> type,
@@ -161,8 +180,13 @@ public class BackendDefinitionAdapter<T>
     @Override
     public String getMetaPropertyField(final T pojo,
                                        final PropertyMetaTypes metaType) {
-        List<String> fields = visitFields(pojo.getClass(), field -> isPropertyOfMetaType(field, metaType));
-        return !fields.isEmpty() ? fields.get(0) : null;
+        return META_PROPERTY_FIELDS.get(pojo.getClass())
+                .computeIfAbsent(metaType,
+                                 type -> {
+                                     List<String> fields = visitFields(pojo.getClass(), field -> isPropertyOfMetaType(field, type));
+                                     return !fields.isEmpty() ? Optional.of(fields.get(0)) : Optional.empty();
+                                 })
+                .orElse(null);
     }
 
     @Override
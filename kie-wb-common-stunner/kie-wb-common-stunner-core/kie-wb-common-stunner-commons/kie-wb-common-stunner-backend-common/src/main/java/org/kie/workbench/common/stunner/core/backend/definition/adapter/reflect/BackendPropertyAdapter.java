@@ -16,11 +16,11 @@
 
 package org.kie.workbench.common.stunner.core.backend.definition.adapter.reflect;
 
-import java.lang.reflect.Field;
-
 import javax.enterprise.context.Dependent;
 
 import org.kie.workbench.common.stunner.core.backend.definition.adapter.AbstractReflectAdapter;
+import org.kie.workbench.common.stunner.core.backend.definition.adapter.AnnotatedFieldAccessors;
+import org.kie.workbench.common.stunner.core.backend.definition.adapter.AnnotatedFieldAccessors.FieldAccessor;
 import org.kie.workbench.common.stunner.core.definition.adapter.PropertyAdapter;
 import org.kie.workbench.common.stunner.core.definition.adapter.binding.BindableAdapterUtils;
 import org.kie.workbench.common.stunner.core.definition.annotation.Property;
@@ -55,63 +55,33 @@ public class BackendPropertyAdapter<T> extends AbstractReflectAdapter<T> impleme
     @Override
     public Object getValue(final T property) {
         if (null != property) {
-            Class<?> c = property.getClass();
-            while (!(c.isAssignableFrom(Object.class))) {
-                Field[] fields = c.getDeclaredFields();
-                for (Field field : fields) {
-                    Value annotation = field.getAnnotation(Value.class);
-                    if (null != annotation) {
-                        try {
-                            return _getValue(field,
-                                             annotation,
-                                             property);
-                        } catch (Exception e) {
-                            LOG.error("Error obtaining annotated value for Property with id " + getId(property),
-                                      e);
-                        }
-                    }
+            for (FieldAccessor accessor : AnnotatedFieldAccessors.getAccessors(property.getClass(),
+                                                                               Value.class)) {
+                try {
+                    return accessor.get(property);
+                } catch (Exception e) {
+                    LOG.error("Error obtaining annotated value for Property with id " + getId(property),
+                              e);
                 }
-                c = c.getSuperclass();
             }
         }
         return null;
     }
 
-    @SuppressWarnings("unchecked")
-    private <V> V _getValue(final Field field,
-                            final Object annotation,
-                            final T property) throws IllegalAccessException {
-        if (null != annotation) {
-            field.setAccessible(true);
-            return (V) field.get(property);
-        }
-        return null;
-    }
-
     @Override
     public void setValue(final T property,
                          final Object value) {
         if (null != property) {
-            Class<?> c = property.getClass();
-            boolean done = false;
-            while (!done && !(c.isAssignableFrom(Object.class))) {
-                Field[] fields = c.getDeclaredFields();
-                for (Field field : fields) {
-                    Value annotation = field.getAnnotation(Value.class);
-                    if (null != annotation) {
-                        try {
-                            field.setAccessible(true);
-                            field.set(property,
-                                      value);
-                            done = true;
-                            break;
-                        } catch (Exception e) {
-                            LOG.error("Error setting value for Property with id [" + getId(property) + "] " +
-                                              "and value [" + (value != null ? value.toString() : "null") + "]");
-                        }
-                    }
+            for (FieldAccessor accessor : AnnotatedFieldAccessors.getAccessors(property.getClass(),
+                                                                               Value.class)) {
+                try {
+                    accessor.set(property,
+                                 value);
+                    return;
+                } catch (Exception e) {
+                    LOG.error("Error setting value for Property with id [" + getId(property) + "] " +
+                                      "and value [" + (value != null ? value.toString() : "null") + "]");
                 }
-                c = c.getSuperclass();
             }
         }
     }
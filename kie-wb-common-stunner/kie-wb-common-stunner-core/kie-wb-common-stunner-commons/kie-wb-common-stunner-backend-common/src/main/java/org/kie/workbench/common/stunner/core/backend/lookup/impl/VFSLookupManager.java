@@ -17,6 +17,7 @@
 package org.kie.workbench.common.stunner.core.backend.lookup.impl;
 
 import java.util.List;
+import java.util.Map;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -32,6 +33,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.uberfire.backend.vfs.DirectoryStream;
 import org.uberfire.backend.vfs.VFSService;
+import org.uberfire.java.nio.file.attribute.FileTime;
 
 @Dependent
 @Typed(VFSLookupManager.class)
@@ -41,6 +43,8 @@ public class VFSLookupManager<T>
     private static final Logger LOG =
             LoggerFactory.getLogger(VFSLookupManager.class.getName());
 
+    private static final String LAST_MODIFIED_TIME = "lastModifiedTime";
+
     private final VFSService vfsService;
     private Predicate<org.uberfire.backend.vfs.Path> pathAcceptor;
     private Function<org.uberfire.backend.vfs.Path, T> itemSupplier;
@@ -91,6 +95,20 @@ public class VFSLookupManager<T>
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Returns the last modified time of the given path in milliseconds, or <code>0</code> if not available.
+     */
+    public long getLastModifiedTime(final org.uberfire.backend.vfs.Path path) {
+        try {
+            final Map<String, ?> attributes = vfsService.readAttributes(path);
+            final Object lastModifiedTime = null != attributes ? attributes.get(LAST_MODIFIED_TIME) : null;
+            return lastModifiedTime instanceof FileTime ? ((FileTime) lastModifiedTime).toMillis() : 0L;
+        } catch (Exception e) {
+            LOG.debug("Cannot read the last modified time for path [" + path + "].", e);
+            return 0L;
+        }
+    }
+
     @Override
     protected boolean matches(final String criteria,
                               final T item) {
@@ -16,6 +16,13 @@
 
 package org.kie.workbench.common.stunner.core.backend.service;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+import javax.enterprise.event.Observes;
+
 import org.kie.workbench.common.stunner.core.backend.lookup.impl.VFSLookupManager;
 import org.kie.workbench.common.stunner.core.diagram.Diagram;
 import org.kie.workbench.common.stunner.core.diagram.Metadata;
@@ -26,21 +33,110 @@ import org.kie.workbench.common.stunner.core.lookup.diagram.DiagramLookupRequest
 import org.kie.workbench.common.stunner.core.lookup.diagram.DiagramRepresentation;
 import org.kie.workbench.common.stunner.core.service.BaseDiagramService;
 import org.kie.workbench.common.stunner.core.service.DiagramLookupService;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.workbench.events.ResourceBatchChangesEvent;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
+import org.uberfire.workbench.events.ResourceRenamedEvent;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
 
+/**
+ * Looks up the diagrams in the VFS.
+ * <p>
+ * Each diagram is unmarshalled only once to build its representation (name, title, definition and shape sets). The
+ * representations are lightweight headers, without thumbnail, kept in an index by path along with the last modified
+ * time of the file, so further lookups only unmarshall the diagrams which have been added or updated since. The ones
+ * of the diagrams (or directories) being updated, deleted or renamed are removed from the index, as the last modified
+ * time of the file may not change on a quick update. The index is bounded to the most recently used representations,
+ * see {@link #INDEX_SIZE}, the bound has to cover the diagrams of a lookup for the index to be of any use.
+ */
 public abstract class AbstractDiagramLookupService<M extends Metadata, D extends Diagram<Graph, M>>
-        extends AbstractLookupManager<D, DiagramRepresentation, DiagramLookupRequest>
+        extends AbstractLookupManager<DiagramRepresentation, DiagramRepresentation, DiagramLookupRequest>
         implements DiagramLookupManager,
                    DiagramLookupService {
 
-    public void initialize(final VFSLookupManager<D> vfsLookupManager) {
+    public static final String INDEX_SIZE = "org.kie.stunner.diagram.lookup.index.size";
+    public static final int MAX_INDEXED_DIAGRAMS = Integer.parseInt(System.getProperty(INDEX_SIZE,
+                                                                                       "4096"));
+    private final Map<String, IndexEntry> index = Collections.synchronizedMap(
+            new LinkedHashMap<String, IndexEntry>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<String, IndexEntry> eldest) {
+                    return size() > MAX_INDEXED_DIAGRAMS;
+                }
+            });
+    private ToLongFunction<Path> lastModifiedTimeSupplier = path -> 0L;
+
+    public void initialize(final VFSLookupManager<DiagramRepresentation> vfsLookupManager) {
+        lastModifiedTimeSupplier = vfsLookupManager::getLastModifiedTime;
         vfsLookupManager
                 .setPathAcceptor(getDiagramService()::accepts)
-                .setItemSupplier(getDiagramService()::getDiagramByPath);
+                .setItemSupplier(this::getDiagramRepresentation);
     }
 
     protected abstract BaseDiagramService<M, D> getDiagramService();
 
-    protected DiagramRepresentation buildResult(final D item) {
-        return new DiagramRepresentation.DiagramRepresentationBuilder(item).build();
+    protected DiagramRepresentation getDiagramRepresentation(final Path path) {
+        final String key = path.toURI();
+        final long lastModifiedTime = lastModifiedTimeSupplier.applyAsLong(path);
+        final IndexEntry entry = index.get(key);
+        if (null != entry && lastModifiedTime > 0 && entry.lastModifiedTime == lastModifiedTime) {
+            return entry.representation;
+        }
+        final DiagramRepresentation representation =
+                new DiagramRepresentation.DiagramRepresentationBuilder(getDiagramService().getDiagramByPath(path))
+                        .withoutThumbImageData()
+                        .build();
+        if (lastModifiedTime > 0) {
+            index.put(key,
+                      new IndexEntry(lastModifiedTime,
+                                     representation));
+        } else {
+            index.remove(key);
+        }
+        return representation;
+    }
+
+    public void onResourceUpdated(@Observes final ResourceUpdatedEvent event) {
+        removeFromIndex(event.getPath());
+    }
+
+    public void onResourceDeleted(@Observes final ResourceDeletedEvent event) {
+        removeFromIndex(event.getPath());
+    }
+
+    public void onResourceRenamed(@Observes final ResourceRenamedEvent event) {
+        removeFromIndex(event.getPath());
+    }
+
+    public void onBatchResourceChanges(@Observes final ResourceBatchChangesEvent event) {
+        event.getBatch().keySet().forEach(this::removeFromIndex);
+    }
+
+    void removeFromIndex(final Path path) {
+        if (null == path || null == path.toURI() || index.isEmpty()) {
+            return;
+        }
+        final String key = path.toURI();
+        final String directory = key.endsWith("/") ? key : key + "/";
+        synchronized (index) {
+            index.keySet().removeIf(indexed -> indexed.equals(key) || indexed.startsWith(directory));
+        }
+    }
+
+    @Override
+    protected DiagramRepresentation buildResult(final DiagramRepresentation item) {
+        return item;
+    }
+
+    private static class IndexEntry {
+
+        private final long lastModifiedTime;
+        private final DiagramRepresentation representation;
+
+        private IndexEntry(final long lastModifiedTime,
+                           final DiagramRepresentation representation) {
+            this.lastModifiedTime = lastModifiedTime;
+            this.representation = representation;
+        }
     }
 }
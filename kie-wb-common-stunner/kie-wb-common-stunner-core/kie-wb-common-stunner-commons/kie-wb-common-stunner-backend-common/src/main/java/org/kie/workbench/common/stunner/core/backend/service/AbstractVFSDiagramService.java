@@ -18,6 +18,7 @@ package org.kie.workbench.common.stunner.core.backend.service;
 
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedHashSet;
@@ -55,6 +56,7 @@ import org.uberfire.java.nio.IOException;
 import org.uberfire.java.nio.base.options.CommentedOption;
 import org.uberfire.java.nio.file.FileAlreadyExistsException;
 import org.uberfire.java.nio.file.FileVisitResult;
+import org.uberfire.java.nio.file.OpenOption;
 import org.uberfire.java.nio.file.SimpleFileVisitor;
 import org.uberfire.java.nio.file.attribute.BasicFileAttributes;
 import org.uberfire.workbench.type.ResourceTypeDefinition;
@@ -117,10 +119,9 @@ public abstract class AbstractVFSDiagramService<M extends Metadata, D extends Di
             final D diagram = factoryManager.newDiagram(name,
                                                         defSetId,
                                                         metadata);
-            final String[] raw = serialize(diagram);
-            getIoService().write(kiePath,
-                                 raw[0],
-                                 new CommentedOption(identity.getIdentifier()));
+            writeContent(kiePath,
+                         diagram,
+                         new CommentedOption(identity.getIdentifier()));
             return convertToBackendPath(kiePath);
         } catch (final Exception e) {
             LOG.error("Cannot create diagram in path [" + kiePath + "]",
@@ -243,17 +244,19 @@ public abstract class AbstractVFSDiagramService<M extends Metadata, D extends Di
 
     protected abstract boolean doDelete(final Path path);
 
+    /**
+     * Saves the diagram and its marshalled metadata. Implementations write the diagram's raw data
+     * with {@link #writeContent(org.uberfire.java.nio.file.Path, Diagram, OpenOption...)}.
+     */
     protected abstract M doSave(final D diagram,
-                                final String raw,
                                 final String metadata);
 
     @SuppressWarnings("unchecked")
     private M register(final D diagram) {
         try {
-            String[] raw = serialize(diagram);
+            final String metadataRaw = getDiagramMarshaller(diagram).getMetadataMarshaller().marshall(diagram.getMetadata());
             return doSave(diagram,
-                          raw[0],
-                          raw[1]);
+                          metadataRaw);
         } catch (Exception e) {
             LOG.error("Error while saving diagram with UUID [" + diagram.getName() + "].",
                       e);
@@ -263,16 +266,36 @@ public abstract class AbstractVFSDiagramService<M extends Metadata, D extends Di
 
     @SuppressWarnings("unchecked")
     protected String[] serialize(final D diagram) throws java.io.IOException {
-        final String defSetId = diagram.getMetadata().getDefinitionSetId();
-        final DefinitionSetService services = getServiceById(defSetId);
         // Serialize using the concrete marshalling service.
-        DiagramMarshaller<Graph, Metadata, Diagram<Graph, Metadata>> marshaller = services.getDiagramMarshaller();
+        final DiagramMarshaller<Graph, Metadata, Diagram<Graph, Metadata>> marshaller = getDiagramMarshaller(diagram);
         final String rawData = marshaller.marshall((Diagram<Graph, Metadata>) diagram);
         final Metadata metadata = diagram.getMetadata();
         final String metadataRaw = marshaller.getMetadataMarshaller().marshall(metadata);
         return new String[]{rawData, metadataRaw};
     }
 
+    /**
+     * Writes the diagram's raw data into the given path. The concrete marshalling service writes the
+     * document straight into the file's output stream, so it is never held in memory as a whole.
+     */
+    @SuppressWarnings("unchecked")
+    protected void writeContent(final org.uberfire.java.nio.file.Path path,
+                                final D diagram,
+                                final OpenOption... options) throws java.io.IOException {
+        try (final OutputStream content = getIoService().newOutputStream(path,
+                                                                         options)) {
+            getDiagramMarshaller(diagram).marshall((Diagram<Graph, Metadata>) diagram,
+                                                   content);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private DiagramMarshaller<Graph, Metadata, Diagram<Graph, Metadata>> getDiagramMarshaller(final D diagram) {
+        final String defSetId = diagram.getMetadata().getDefinitionSetId();
+        final DefinitionSetService services = getServiceById(defSetId);
+        return services.getDiagramMarshaller();
+    }
+
     public boolean contains(final D item) {
         return null != getDiagramByPath(item.getMetadata().getPath());
     }
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.backend.validation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.Typed;
+import javax.inject.Inject;
+
+import org.kie.workbench.common.stunner.core.api.DefinitionManager;
+import org.kie.workbench.common.stunner.core.graph.Edge;
+import org.kie.workbench.common.stunner.core.graph.Element;
+import org.kie.workbench.common.stunner.core.graph.Graph;
+import org.kie.workbench.common.stunner.core.graph.Node;
+import org.kie.workbench.common.stunner.core.graph.processing.traverse.tree.TreeWalkTraverseProcessor;
+import org.kie.workbench.common.stunner.core.graph.util.GraphUtils;
+import org.kie.workbench.common.stunner.core.rule.RuleManager;
+import org.kie.workbench.common.stunner.core.rule.RuleSet;
+import org.kie.workbench.common.stunner.core.rule.RuleViolation;
+import org.kie.workbench.common.stunner.core.rule.context.impl.RuleEvaluationContextBuilder.StatelessGraphContextBuilder;
+import org.kie.workbench.common.stunner.core.validation.impl.GraphValidatorImpl;
+
+/**
+ * A {@link GraphValidatorImpl} for the backend, which evaluates the rules for the nodes and edges of the graph in
+ * parallel.
+ * <p>
+ * The graph must not be modified while being validated. Once it is, the evaluation for each element is
+ * independent, so rather than walking the graph tree, the nodes are split in ranges across a fork-join pool
+ * dedicated to the graph validations, so they neither compete with nor wait on the other tasks in the common pool.
+ * Each task collects the violations for its nodes, and their outgoing edges, on its own set, and the sets are
+ * merged in the order of the nodes in the graph, so the resulting violations do not depend on the scheduling.
+ * <p>
+ * The containment rules are evaluated against the actual parent of each node, instead of the parent on the
+ * tree walk, which is the same for any graph where the nodes are reachable from their parents.
+ */
+@ApplicationScoped
+@Typed(ParallelGraphValidator.class)
+public class ParallelGraphValidator extends GraphValidatorImpl {
+
+    static final int SEQUENTIAL_THRESHOLD = 64;
+
+    private final ForkJoinPool pool;
+    private final int sequentialThreshold;
+
+    protected ParallelGraphValidator() {
+        this(null,
+             null,
+             null,
+             null,
+             SEQUENTIAL_THRESHOLD);
+    }
+
+    @Inject
+    public ParallelGraphValidator(final DefinitionManager definitionManager,
+                                  final RuleManager ruleManager,
+                                  final TreeWalkTraverseProcessor treeWalkTraverseProcessor) {
+        this(definitionManager,
+             ruleManager,
+             treeWalkTraverseProcessor,
+             ValidationPool.INSTANCE,
+             SEQUENTIAL_THRESHOLD);
+    }
+
+    ParallelGraphValidator(final DefinitionManager definitionManager,
+                           final RuleManager ruleManager,
+                           final TreeWalkTraverseProcessor treeWalkTraverseProcessor,
+                           final ForkJoinPool pool,
+                           final int sequentialThreshold) {
+        super(definitionManager,
+              ruleManager,
+              treeWalkTraverseProcessor);
+        this.pool = pool;
+        this.sequentialThreshold = sequentialThreshold;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void validate(final Graph graph,
+                         final RuleSet aRuleSet,
+                         final Consumer<Collection<RuleViolation>> callback) {
+        final RuleSet ruleSet = null != aRuleSet ? aRuleSet : getRuleSet(graph);
+        final StatelessGraphContextBuilder contextBuilder = new StatelessGraphContextBuilder(graph);
+        final List<Node> nodes = new ArrayList<>();
+        graph.nodes().forEach(node -> nodes.add((Node) node));
+        final Set<RuleViolation> violations = new LinkedHashSet<>(evaluateGraph(contextBuilder,
+                                                                                ruleSet));
+        violations.addAll(pool.invoke(new NodesValidationTask(graph,
+                                                              ruleSet,
+                                                              contextBuilder,
+                                                              nodes,
+                                                              0,
+                                                              nodes.size())));
+        callback.accept(violations);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void validateNode(final Graph graph,
+                              final RuleSet ruleSet,
+                              final StatelessGraphContextBuilder contextBuilder,
+                              final Node<?, Edge> node,
+                              final Set<RuleViolation> violations) {
+        final Element<?> parent = GraphUtils.getParent(node);
+        violations.addAll(evaluateNode(contextBuilder,
+                                       ruleSet,
+                                       null != parent ? (Element) parent : graph,
+                                       node));
+        for (final Edge edge : node.getOutEdges()) {
+            violations.addAll(evaluateEdge(contextBuilder,
+                                           ruleSet,
+                                           edge));
+        }
+        // The incoming edges are validated along with their source node, unless there is no such node.
+        for (final Edge edge : node.getInEdges()) {
+            final Node source = edge.getSourceNode();
+            if (null == source || null == graph.getNode(source.getUUID())) {
+                violations.addAll(evaluateEdge(contextBuilder,
+                                               ruleSet,
+                                               edge));
+            }
+        }
+    }
+
+    private static class ValidationPool {
+
+        private static final ForkJoinPool INSTANCE = new ForkJoinPool(Runtime.getRuntime().availableProcessors(),
+                                                                      ValidationPool::newThread,
+                                                                      null,
+                                                                      false);
+
+        private static ForkJoinWorkerThread newThread(final ForkJoinPool pool) {
+            final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("stunner-graph-validation-" + thread.getPoolIndex());
+            return thread;
+        }
+    }
+
+    private class NodesValidationTask extends RecursiveTask<Set<RuleViolation>> {
+
+        private final Graph graph;
+        private final RuleSet ruleSet;
+        private final StatelessGraphContextBuilder contextBuilder;
+        private final List<Node> nodes;
+        private final int from;
+        private final int to;
+
+        private NodesValidationTask(final Graph graph,
+                                    final RuleSet ruleSet,
+                                    final StatelessGraphContextBuilder contextBuilder,
+                                    final List<Node> nodes,
+                                    final int from,
+                                    final int to) {
+            this.graph = graph;
+            this.ruleSet = ruleSet;
+            this.contextBuilder = contextBuilder;
+            this.nodes = nodes;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected Set<RuleViolation> compute() {
+            if (to - from <= sequentialThreshold) {
+                final Set<RuleViolation> violations = new LinkedHashSet<>();
+                for (int i = from; i < to; i++) {
+                    validateNode(graph,
+                                 ruleSet,
+                                 contextBuilder,
+                                 nodes.get(i),
+                                 violations);
+                }
+                return violations;
+            }
+            final int middle = (from + to) >>> 1;
+            final NodesValidationTask first = new NodesValidationTask(graph, ruleSet, contextBuilder, nodes, from, middle);
+            final NodesValidationTask second = new NodesValidationTask(graph, ruleSet, contextBuilder, nodes, middle, to);
+            first.fork();
+            final Set<RuleViolation> secondViolations = second.compute();
+            final Set<RuleViolation> violations = first.join();
+            violations.addAll(secondViolations);
+            return violations;
+        }
+    }
+}
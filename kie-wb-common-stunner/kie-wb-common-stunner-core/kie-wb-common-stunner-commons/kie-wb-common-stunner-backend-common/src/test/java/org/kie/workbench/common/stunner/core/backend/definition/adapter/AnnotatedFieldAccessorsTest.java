@@ -0,0 +1,114 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.stunner.core.backend.definition.adapter;
+
+import java.util.List;
+
+import org.junit.Test;
+import org.kie.workbench.common.stunner.core.backend.definition.adapter.AnnotatedFieldAccessors.FieldAccessor;
+import org.kie.workbench.common.stunner.core.definition.annotation.definition.Category;
+import org.kie.workbench.common.stunner.core.definition.annotation.definition.Title;
+import org.kie.workbench.common.stunner.core.definition.annotation.property.Caption;
+import org.kie.workbench.common.stunner.core.definition.annotation.property.Value;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class AnnotatedFieldAccessorsTest {
+
+    @Test
+    public void testAccessorsAreResolvedOnce() {
+        final List<FieldAccessor> accessors = AnnotatedFieldAccessors.getAccessors(FooProperty1TestBean.class,
+                                                                                   Value.class);
+        assertSame(accessors,
+                   AnnotatedFieldAccessors.getAccessors(FooProperty1TestBean.class,
+                                                        Value.class));
+        assertEquals(1,
+                     accessors.size());
+        assertEquals("value",
+                     accessors.get(0).getField().getName());
+    }
+
+    @Test
+    public void testGetAndSetInstanceField() throws Exception {
+        final FooProperty1TestBean bean = new FooProperty1TestBean("foo1");
+        final FieldAccessor accessor = AnnotatedFieldAccessors.getAccessors(FooProperty1TestBean.class,
+                                                                            Value.class).get(0);
+        assertEquals("foo1",
+                     accessor.get(bean));
+        accessor.set(bean,
+                     "foo2");
+        assertEquals("foo2",
+                     bean.value);
+    }
+
+    @Test
+    public void testGetStaticField() throws Exception {
+        final FieldAccessor accessor = AnnotatedFieldAccessors.getAccessors(FooProperty1TestBean.class,
+                                                                            Caption.class).get(0);
+        assertEquals(FooProperty1TestBean.CAPTION,
+                     accessor.get(new FooProperty1TestBean("foo1")));
+    }
+
+    @Test(expected = IllegalAccessException.class)
+    public void testSetFinalField() throws Exception {
+        final FieldAccessor accessor = AnnotatedFieldAccessors.getAccessors(FooProperty1TestBean.class,
+                                                                            Caption.class).get(0);
+        accessor.set(new FooProperty1TestBean("foo1"),
+                     "anotherCaption");
+    }
+
+    @Test
+    public void testInheritedField() throws Exception {
+        final List<FieldAccessor> accessors = AnnotatedFieldAccessors.getAccessors(BaseFooTestBean1.class,
+                                                                                   Category.class);
+        assertEquals(1,
+                     accessors.size());
+        assertEquals(BaseFooTestBean2.class,
+                     accessors.get(0).getField().getDeclaringClass());
+        assertEquals(BaseFooTestBean2.category,
+                     accessors.get(0).get(new BaseFooTestBean1()));
+        assertNull(AnnotatedFieldAccessors.getDeclaredAccessor(BaseFooTestBean1.class,
+                                                               Category.class));
+        assertNotNull(AnnotatedFieldAccessors.getDeclaredAccessor(BaseFooTestBean2.class,
+                                                                  Category.class));
+    }
+
+    @Test
+    public void testSeveralAnnotatedFields() throws Exception {
+        final List<FieldAccessor> accessors = AnnotatedFieldAccessors.getAccessors(FooProperty3TestBean.class,
+                                                                                   Value.class);
+        assertEquals(2,
+                     accessors.size());
+        assertEquals("INITIAL_VALUE",
+                     accessors.get(0).getField().getName());
+        assertEquals("value",
+                     accessors.get(1).getField().getName());
+
+        assertEquals(FooProperty3TestBean.INITIAL_VALUE,
+                     ReflectionAdapterUtils.getAnnotatedFieldValue(new FooProperty3TestBean("foo1"),
+                                                                   Value.class));
+    }
+
+    @Test
+    public void testNoAnnotatedFields() {
+        assertTrue(AnnotatedFieldAccessors.getAccessors(FooProperty1TestBean.class,
+                                                        Title.class).isEmpty());
+    }
+}
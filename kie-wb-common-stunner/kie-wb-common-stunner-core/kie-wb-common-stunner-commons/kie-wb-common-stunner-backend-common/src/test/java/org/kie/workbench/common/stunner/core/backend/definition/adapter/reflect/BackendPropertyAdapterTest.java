@@ -20,6 +20,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.kie.workbench.common.stunner.core.backend.definition.adapter.FooProperty1TestBean;
+import org.kie.workbench.common.stunner.core.backend.definition.adapter.FooProperty3TestBean;
 import org.mockito.junit.MockitoJUnitRunner;
 
 import static org.junit.Assert.assertEquals;
@@ -65,4 +66,12 @@ public class BackendPropertyAdapterTest extends AbstractBackendAdapterTest {
         final Object value = tested.getValue(instance);
         assertEquals("someNewValue", value);
     }
+
+    @Test
+    public void testSetValueOfTheNextAnnotatedField() {
+        final FooProperty3TestBean bean = new FooProperty3TestBean(FOO1_VALUE);
+        tested.setValue(bean, "someNewValue");
+        assertEquals(FooProperty3TestBean.INITIAL_VALUE, tested.getValue(bean));
+        assertEquals("someNewValue", bean.value);
+    }
 }
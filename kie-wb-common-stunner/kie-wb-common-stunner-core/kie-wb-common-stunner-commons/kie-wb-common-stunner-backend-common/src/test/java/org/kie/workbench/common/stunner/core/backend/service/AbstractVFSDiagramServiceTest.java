@@ -16,7 +16,10 @@
 
 package org.kie.workbench.common.stunner.core.backend.service;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -68,6 +71,7 @@ import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyObject;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
@@ -166,6 +170,8 @@ public abstract class AbstractVFSDiagramServiceTest<M extends Metadata, D extend
     @Mock
     protected PropertyAdapter<Object, Object> propertyAdapter;
 
+    protected ByteArrayOutputStream writtenContent;
+
     @Before
     public void setUp() throws IOException {
         when(resourceType.getPrefix()).thenReturn(RESOURCE_TYPE_PREFIX);
@@ -187,7 +193,15 @@ public abstract class AbstractVFSDiagramServiceTest<M extends Metadata, D extend
         when(diagram.getMetadata()).thenReturn(metadata);
         when(metadata.getDefinitionSetId()).thenReturn(DEFINITION_SET_ID);
         when(diagramMarshaller.marshall(diagram)).thenReturn(DIAGRAM_MARSHALLED);
+        doAnswer(invocation -> {
+            ((OutputStream) invocation.getArgument(1)).write(DIAGRAM_MARSHALLED.getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(diagramMarshaller).marshall(eq(diagram),
+                                            any(OutputStream.class));
         when(metadataMarshaller.marshall(metadata)).thenReturn(METADATA_MARSHALLED);
+        writtenContent = new ByteArrayOutputStream();
+        when(ioService.newOutputStream(any(org.uberfire.java.nio.file.Path.class),
+                                       any())).thenReturn(writtenContent);
         when(diagramMarshaller.unmarshallWithValidation(anyObject())).thenReturn(MarshallingResponse.builder()
                                                                                          .result(graph)
                                                                                          .build());
@@ -241,9 +255,11 @@ public abstract class AbstractVFSDiagramServiceTest<M extends Metadata, D extend
                               metadata);
 
         verify(ioService,
-               times(1)).write(eq(expectedNioPath),
-                               eq(DIAGRAM_MARSHALLED),
-                               any(CommentedOption.class));
+               times(1)).newOutputStream(eq(expectedNioPath),
+                                         any(CommentedOption.class));
+        assertEquals(DIAGRAM_MARSHALLED,
+                     new String(writtenContent.toByteArray(),
+                                StandardCharsets.UTF_8));
     }
 
     @Test
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.backend.validation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.stunner.core.TestingGraphInstanceBuilder;
+import org.kie.workbench.common.stunner.core.TestingGraphMockHandler;
+import org.kie.workbench.common.stunner.core.graph.Element;
+import org.kie.workbench.common.stunner.core.graph.Node;
+import org.kie.workbench.common.stunner.core.graph.processing.traverse.tree.TreeWalkTraverseProcessorImpl;
+import org.kie.workbench.common.stunner.core.rule.RuleEvaluationContext;
+import org.kie.workbench.common.stunner.core.rule.RuleViolation;
+import org.kie.workbench.common.stunner.core.rule.context.ElementCardinalityContext;
+import org.kie.workbench.common.stunner.core.rule.context.NodeContainmentContext;
+import org.kie.workbench.common.stunner.core.rule.violations.EmptyConnectionViolation;
+import org.kie.workbench.common.stunner.core.validation.impl.GraphValidatorImpl;
+import org.mockito.ArgumentCaptor;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class ParallelGraphValidatorTest {
+
+    private TestingGraphMockHandler graphTestHandler;
+    private ForkJoinPool pool;
+    private ParallelGraphValidator tested;
+
+    @Before
+    public void setup() {
+        graphTestHandler = new TestingGraphMockHandler();
+        pool = new ForkJoinPool(2);
+        // Split the validation down to a single node per task.
+        tested = new ParallelGraphValidator(graphTestHandler.getDefinitionManager(),
+                                            graphTestHandler.getRuleManager(),
+                                            new TreeWalkTraverseProcessorImpl(),
+                                            pool,
+                                            1);
+    }
+
+    @After
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testValidateGraph2() {
+        final TestingGraphInstanceBuilder.TestGraph2 testGraph2 = TestingGraphInstanceBuilder.newGraph2(graphTestHandler);
+        final List<RuleViolation> violations = new ArrayList<>();
+        tested.validate(graphTestHandler.graph,
+                        graphTestHandler.ruleSet,
+                        violations::addAll);
+        assertTrue(violations.isEmpty());
+
+        // Same evaluations as the sequential validator.
+        final int evalCount = testGraph2.evaluationsCount + 11;
+        final ArgumentCaptor<RuleEvaluationContext> contextCaptor = ArgumentCaptor.forClass(RuleEvaluationContext.class);
+        verify(graphTestHandler.getRuleManager(),
+               times(evalCount)).evaluate(eq(graphTestHandler.ruleSet),
+                                          contextCaptor.capture());
+        final List<RuleEvaluationContext> contexts = contextCaptor.getAllValues()
+                .subList(testGraph2.evaluationsCount, evalCount);
+        assertTrue(contexts.get(0) instanceof ElementCardinalityContext);
+        final Map<Node, Element> parents = new HashMap<>();
+        contexts.stream()
+                .filter(context -> context instanceof NodeContainmentContext)
+                .map(context -> (NodeContainmentContext) context)
+                .forEach(context -> parents.put(context.getCandidates().iterator().next(),
+                                                context.getParent()));
+        assertEquals(4, parents.size());
+        assertEquals(graphTestHandler.graph, parents.get(testGraph2.parentNode));
+        assertEquals(testGraph2.parentNode, parents.get(testGraph2.startNode));
+        assertEquals(testGraph2.parentNode, parents.get(testGraph2.intermNode));
+        assertEquals(testGraph2.parentNode, parents.get(testGraph2.endNode));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testValidateDeterministically() {
+        final TestingGraphInstanceBuilder.TestGraph1 testGraph1 = TestingGraphInstanceBuilder.newGraph1(graphTestHandler);
+        graphTestHandler.removeTargetConnection(testGraph1.edge1);
+        graphTestHandler.removeTargetConnection(testGraph1.edge2);
+
+        final List<String> sequential = new ArrayList<>();
+        new GraphValidatorImpl(graphTestHandler.getDefinitionManager(),
+                               graphTestHandler.getRuleManager(),
+                               new TreeWalkTraverseProcessorImpl())
+                .validate(graphTestHandler.graph,
+                          graphTestHandler.ruleSet,
+                          violations -> sequential.addAll(getEmptyConnections(violations)));
+        final List<String> first = new ArrayList<>();
+        tested.validate(graphTestHandler.graph,
+                        graphTestHandler.ruleSet,
+                        violations -> first.addAll(getEmptyConnections(violations)));
+        final List<String> second = new ArrayList<>();
+        tested.validate(graphTestHandler.graph,
+                        graphTestHandler.ruleSet,
+                        violations -> second.addAll(getEmptyConnections(violations)));
+
+        assertEquals(2, first.size());
+        assertTrue(first.containsAll(Arrays.asList(testGraph1.edge1.getUUID(),
+                                                   testGraph1.edge2.getUUID())));
+        assertTrue(sequential.containsAll(first));
+        assertEquals(first, second);
+    }
+
+    private static List<String> getEmptyConnections(final Collection<RuleViolation> violations) {
+        return violations.stream()
+                .filter(violation -> violation instanceof EmptyConnectionViolation)
+                .map(violation -> (String) ((EmptyConnectionViolation) violation).getArguments().get()[0])
+                .collect(Collectors.toList());
+    }
+}
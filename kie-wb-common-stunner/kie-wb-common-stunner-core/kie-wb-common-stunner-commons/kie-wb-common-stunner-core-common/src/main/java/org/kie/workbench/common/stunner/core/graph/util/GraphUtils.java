@@ -51,8 +51,6 @@ import org.kie.workbench.common.stunner.core.graph.content.view.Point2D;
 import org.kie.workbench.common.stunner.core.graph.content.view.View;
 import org.kie.workbench.common.stunner.core.graph.content.view.ViewConnector;
 import org.kie.workbench.common.stunner.core.graph.impl.GraphImpl;
-import org.kie.workbench.common.stunner.core.graph.processing.traverse.tree.AbstractTreeTraverseCallback;
-import org.kie.workbench.common.stunner.core.graph.processing.traverse.tree.TreeWalkTraverseProcessorImpl;
 
 import static org.kie.soup.commons.validation.PortablePreconditions.checkNotNull;
 import static org.kie.workbench.common.stunner.core.util.HashUtil.combineHashCodes;
@@ -404,44 +402,67 @@ public class GraphUtils {
                 OptionalInt.empty();
     }
 
+    /**
+     * Computes the hash of the graph contents: the nodes, their definitions and bounds, and the edges and their
+     * connections. It is used by the editors to check whether the diagram changed since it was loaded or saved.
+     * <p>
+     * It walks the node store once instead of traversing the graph tree, and the contributions of the elements are
+     * summed, so the result does not depend on the iteration order of the store.
+     */
     @SuppressWarnings("all")
     public static int computeGraphHashCode(GraphImpl graph) {
-        final int[] result = {0};
-        new TreeWalkTraverseProcessorImpl()
-                .traverse(graph,
-                          new AbstractTreeTraverseCallback<Graph, Node, Edge>() {
-
-                              @Override
-                              public boolean startEdgeTraversal(final Edge edge) {
-                                  super.startEdgeTraversal(edge);
-                                  final Object content = edge.getContent();
-                                  result[0] = combineHashCodes(result[0], content.hashCode());
-                                  if (edge.getContent() instanceof ViewConnector) {
-                                      Optional<Connection> sourceConnection = ((ViewConnector) edge.getContent()).getSourceConnection();
-                                      sourceConnection.ifPresent(c -> result[0] = combineHashCodes(result[0], c.hashCode()));
-                                      Optional<Connection> targetConnection = ((ViewConnector) edge.getContent()).getTargetConnection();
-                                      targetConnection.ifPresent(c -> result[0] = combineHashCodes(result[0], c.hashCode()));
-                                  }
-                                  return true;
-                              }
-
-                              @Override
-                              public boolean startNodeTraversal(final Node node) {
-                                  super.startNodeTraversal(node);
-                                  result[0] = combineHashCodes(result[0],
-                                                               node.hashCode());
-                                  if (!(node.getContent() instanceof DefinitionSet) &&
-                                          node.getContent() instanceof Definition) {
-                                      Object def = ((Definition) (node.getContent())).getDefinition();
-                                      result[0] = combineHashCodes(result[0], def.hashCode());
-                                  }
-                                  if (node.getContent() instanceof HasBounds) {
-                                      Bounds bounds = ((HasBounds) node.getContent()).getBounds();
-                                      result[0] = combineHashCodes(result[0], bounds.hashCode());
-                                  }
-                                  return true;
-                              }
-                          });
-        return result[0];
+        int result = 0;
+        for (final Object n : graph.nodes()) {
+            final Node<?, Edge> node = (Node<?, Edge>) n;
+            result = ~~(result + computeNodeHashCode(node));
+            if (null != node.getOutEdges()) {
+                for (final Edge edge : node.getOutEdges()) {
+                    result = ~~(result + computeEdgeHashCode(edge));
+                }
+            }
+            if (null != node.getInEdges()) {
+                for (final Edge edge : node.getInEdges()) {
+                    // Edges whose source node is not in the graph are not present in any outgoing edges.
+                    if (null == edge.getSourceNode() || null == graph.getNode(edge.getSourceNode().getUUID())) {
+                        result = ~~(result + computeEdgeHashCode(edge));
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    @SuppressWarnings("all")
+    private static int computeNodeHashCode(final Node node) {
+        int result = node.hashCode();
+        if (!(node.getContent() instanceof DefinitionSet) &&
+                node.getContent() instanceof Definition) {
+            Object def = ((Definition) (node.getContent())).getDefinition();
+            result = combineHashCodes(result, def.hashCode());
+        }
+        if (node.getContent() instanceof HasBounds) {
+            Bounds bounds = ((HasBounds) node.getContent()).getBounds();
+            result = combineHashCodes(result, bounds.hashCode());
+        }
+        return result;
+    }
+
+    @SuppressWarnings("all")
+    private static int computeEdgeHashCode(final Edge edge) {
+        int result = combineHashCodes(edge.hashCode(),
+                                      Objects.hashCode(edge.getContent()),
+                                      null != edge.getSourceNode() ? edge.getSourceNode().hashCode() : 0,
+                                      null != edge.getTargetNode() ? edge.getTargetNode().hashCode() : 0);
+        if (edge.getContent() instanceof ViewConnector) {
+            Optional<Connection> sourceConnection = ((ViewConnector) edge.getContent()).getSourceConnection();
+            if (sourceConnection.isPresent()) {
+                result = combineHashCodes(result, sourceConnection.get().hashCode());
+            }
+            Optional<Connection> targetConnection = ((ViewConnector) edge.getContent()).getTargetConnection();
+            if (targetConnection.isPresent()) {
+                result = combineHashCodes(result, targetConnection.get().hashCode());
+            }
+        }
+        return result;
     }
 }
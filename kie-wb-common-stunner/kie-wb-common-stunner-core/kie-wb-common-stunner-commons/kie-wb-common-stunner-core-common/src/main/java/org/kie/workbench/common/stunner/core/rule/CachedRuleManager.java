@@ -16,10 +16,17 @@
 
 package org.kie.workbench.common.stunner.core.rule;
 
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import javax.annotation.PostConstruct;
@@ -28,7 +35,22 @@ import javax.enterprise.context.Dependent;
 import javax.enterprise.inject.Typed;
 import javax.inject.Inject;
 
+import org.kie.workbench.common.stunner.core.graph.util.GraphUtils;
 import org.kie.workbench.common.stunner.core.registry.rule.RuleHandlerRegistry;
+import org.kie.workbench.common.stunner.core.rule.context.CardinalityContext;
+import org.kie.workbench.common.stunner.core.rule.context.ConnectionContext;
+import org.kie.workbench.common.stunner.core.rule.context.ContainmentContext;
+import org.kie.workbench.common.stunner.core.rule.context.DockingContext;
+import org.kie.workbench.common.stunner.core.rule.context.EdgeCardinalityContext;
+import org.kie.workbench.common.stunner.core.rule.context.ElementCardinalityContext;
+import org.kie.workbench.common.stunner.core.rule.context.GraphConnectionContext;
+import org.kie.workbench.common.stunner.core.rule.context.NodeContainmentContext;
+import org.kie.workbench.common.stunner.core.rule.context.NodeDockingContext;
+import org.kie.workbench.common.stunner.core.rule.impl.CanConnect;
+import org.kie.workbench.common.stunner.core.rule.impl.CanContain;
+import org.kie.workbench.common.stunner.core.rule.impl.CanDock;
+import org.kie.workbench.common.stunner.core.rule.impl.EdgeOccurrences;
+import org.kie.workbench.common.stunner.core.rule.impl.Occurrences;
 
 @Dependent
 @Typed(CachedRuleManager.class)
@@ -40,7 +62,7 @@ public class CachedRuleManager implements RuleManager {
     @Inject
     public CachedRuleManager(final RuleManagerImpl ruleManager) {
         this.ruleManager = ruleManager;
-        this.cachedContextRules = new HashMap<>(4);
+        this.cachedContextRules = new ConcurrentHashMap<>(4);
     }
 
     @PostConstruct
@@ -76,11 +98,23 @@ public class CachedRuleManager implements RuleManager {
 
     private Collection<Rule> getRulesByContext(final RuleSet ruleSet,
                                                final RuleEvaluationContext context) {
+        return getIndexedRules(ruleSet,
+                               context).getRules(context);
+    }
+
+    // The backend instances are shared, and the backend validates the graph elements concurrently, so
+    // the lookups must not block each other. The indexed rules are never modified once built, and building them
+    // twice for the same context type on a race is harmless, one of them is just discarded.
+    private IndexedRules getIndexedRules(final RuleSet ruleSet,
+                                         final RuleEvaluationContext context) {
         CachedContextRules crs = cachedContextRules.get(ruleSet.getName());
         if (null == crs) {
-            crs = new CachedContextRules();
-            cachedContextRules.put(ruleSet.getName(),
-                                   crs);
+            final CachedContextRules newCrs = new CachedContextRules();
+            crs = cachedContextRules.putIfAbsent(ruleSet.getName(),
+                                                 newCrs);
+            if (null == crs) {
+                crs = newCrs;
+            }
         }
         return crs.getRulesByContext(ruleSet,
                                      context);
@@ -88,15 +122,15 @@ public class CachedRuleManager implements RuleManager {
 
     private class CachedContextRules {
 
-        private final Map<Class<? extends RuleEvaluationContext>, List<Rule>> rulesByContent;
+        private final Map<Class<? extends RuleEvaluationContext>, IndexedRules> rulesByContent;
 
         public CachedContextRules() {
-            this.rulesByContent = new HashMap<>(15);
+            this.rulesByContent = new ConcurrentHashMap<>(15);
         }
 
-        public Collection<Rule> getRulesByContext(final RuleSet ruleSet,
-                                                  final RuleEvaluationContext context) {
-            List<Rule> rules = rulesByContent.get(context.getClass());
+        public IndexedRules getRulesByContext(final RuleSet ruleSet,
+                                              final RuleEvaluationContext context) {
+            final IndexedRules rules = rulesByContent.get(context.getClass());
             if (null == rules) {
                 return cacheRulesByContext(ruleSet,
                                            context);
@@ -104,15 +138,17 @@ public class CachedRuleManager implements RuleManager {
             return rules;
         }
 
-        public Collection<Rule> cacheRulesByContext(final RuleSet ruleSet,
-                                                    final RuleEvaluationContext context) {
+        public IndexedRules cacheRulesByContext(final RuleSet ruleSet,
+                                                final RuleEvaluationContext context) {
             final Collection<RuleEvaluationHandler> handlers = registry().getHandlersByContext(context.getType());
             final List<Rule> rules = ruleSet.getRules().stream()
                     .filter(rule -> accepts(handlers,
                                             rule))
                     .collect(Collectors.toList());
-            rulesByContent.put(context.getClass(), rules);
-            return rules;
+            final IndexedRules indexedRules = new IndexedRules(rules,
+                                                               RuleKeys.forContext(context));
+            final IndexedRules cached = rulesByContent.putIfAbsent(context.getClass(), indexedRules);
+            return null != cached ? cached : indexedRules;
         }
 
         public void clear() {
@@ -126,4 +162,146 @@ public class CachedRuleManager implements RuleManager {
                             .anyMatch(handler -> RuleManagerImpl.isRuleTypeAllowed().test(rule, handler));
         }
     }
+
+    /**
+     * The rules for a context type, indexed by the role (or connector id) the handlers match
+     * against the context before evaluating each rule.
+     * <p>
+     * A rule can only be accepted for a context if its key is one of the keys of the context, so the
+     * lookup just skips the rules that the handlers would not accept anyway. Rules with no key (extensions,
+     * rules the index does not know about) are always returned, and the original order is kept.
+     */
+    private static class IndexedRules {
+
+        private final List<Rule> rules;
+        private final RuleKeys keys;
+        private final Map<String, BitSet> positionsByKey;
+        private final BitSet unkeyedPositions;
+
+        private IndexedRules(final List<Rule> rules,
+                             final RuleKeys keys) {
+            this.rules = rules;
+            this.keys = keys;
+            this.positionsByKey = new HashMap<>();
+            this.unkeyedPositions = new BitSet(rules.size());
+            for (int i = 0; i < rules.size(); i++) {
+                final String key = keys.getRuleKey(rules.get(i));
+                if (null == key) {
+                    unkeyedPositions.set(i);
+                } else {
+                    positionsByKey.computeIfAbsent(key, k -> new BitSet(rules.size())).set(i);
+                }
+            }
+        }
+
+        private Collection<Rule> getRules(final RuleEvaluationContext context) {
+            if (positionsByKey.isEmpty()) {
+                return rules;
+            }
+            final Set<String> contextKeys = keys.getContextKeys(context);
+            if (null == contextKeys) {
+                return rules;
+            }
+            final BitSet positions = new BitSet(rules.size());
+            positions.or(unkeyedPositions);
+            for (final String contextKey : contextKeys) {
+                final BitSet keyPositions = positionsByKey.get(contextKey);
+                if (null != keyPositions) {
+                    positions.or(keyPositions);
+                }
+            }
+            final int count = positions.cardinality();
+            if (count == rules.size()) {
+                return rules;
+            }
+            if (count == 0) {
+                // No rule is accepted, but the rule manager still has to apply the default deny policy of the
+                // context, which only happens when there are rules to evaluate. Any keyed rule is rejected by its handler.
+                return Collections.singletonList(rules.get(positionsByKey.values().iterator().next().nextSetBit(0)));
+            }
+            final List<Rule> result = new ArrayList<>(count);
+            for (int i = positions.nextSetBit(0); i >= 0; i = positions.nextSetBit(i + 1)) {
+                result.add(rules.get(i));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * The index keys for the rules and for the contexts of a given context type.
+     */
+    private static class RuleKeys {
+
+        private static final RuleKeys NONE = new RuleKeys(rule -> null,
+                                                          context -> null);
+
+        private final Function<Rule, String> ruleKey;
+        private final Function<RuleEvaluationContext, Set<String>> contextKeys;
+
+        private RuleKeys(final Function<Rule, String> ruleKey,
+                         final Function<RuleEvaluationContext, Set<String>> contextKeys) {
+            this.ruleKey = ruleKey;
+            this.contextKeys = contextKeys;
+        }
+
+        private String getRuleKey(final Rule rule) {
+            return ruleKey.apply(rule);
+        }
+
+        private Set<String> getContextKeys(final RuleEvaluationContext context) {
+            return contextKeys.apply(context);
+        }
+
+        @SuppressWarnings("unchecked")
+        private static RuleKeys forContext(final RuleEvaluationContext context) {
+            if (context instanceof ConnectionContext) {
+                return new RuleKeys(rule -> rule instanceof CanConnect ? ((CanConnect) rule).getRole() : null,
+                                    c -> Collections.singleton(((ConnectionContext) c).getConnectorRole()));
+            }
+            if (context instanceof GraphConnectionContext) {
+                return new RuleKeys(rule -> rule instanceof CanConnect ? ((CanConnect) rule).getRole() : null,
+                                    c -> GraphUtils.getLabels(((GraphConnectionContext) c).getConnector()));
+            }
+            if (context instanceof ContainmentContext) {
+                return new RuleKeys(rule -> rule instanceof CanContain ? ((CanContain) rule).getRole() : null,
+                                    c -> ((ContainmentContext) c).getParentRoles());
+            }
+            if (context instanceof NodeContainmentContext) {
+                return new RuleKeys(rule -> rule instanceof CanContain ? ((CanContain) rule).getRole() : null,
+                                    c -> GraphUtils.getLabels(((NodeContainmentContext) c).getParent()));
+            }
+            if (context instanceof DockingContext) {
+                return new RuleKeys(rule -> rule instanceof CanDock ? ((CanDock) rule).getRole() : null,
+                                    c -> ((DockingContext) c).getParentRoles());
+            }
+            if (context instanceof NodeDockingContext) {
+                return new RuleKeys(rule -> rule instanceof CanDock ? ((CanDock) rule).getRole() : null,
+                                    c -> GraphUtils.getLabels(((NodeDockingContext) c).getParent()));
+            }
+            if (context instanceof EdgeCardinalityContext) {
+                return new RuleKeys(rule -> rule instanceof EdgeOccurrences ? ((EdgeOccurrences) rule).getConnectorRole() : null,
+                                    c -> Collections.singleton(((EdgeCardinalityContext) c).getEdgeRole()));
+            }
+            if (context instanceof CardinalityContext) {
+                return new RuleKeys(rule -> rule instanceof Occurrences ? ((Occurrences) rule).getRole() : null,
+                                    c -> ((CardinalityContext) c).getRoles());
+            }
+            if (context instanceof ElementCardinalityContext) {
+                return new RuleKeys(rule -> rule instanceof Occurrences ? ((Occurrences) rule).getRole() : null,
+                                    RuleKeys::getCandidateLabels);
+            }
+            return NONE;
+        }
+
+        private static Set<String> getCandidateLabels(final RuleEvaluationContext context) {
+            final ElementCardinalityContext cardinalityContext = (ElementCardinalityContext) context;
+            if (cardinalityContext.getCandidates().isEmpty()) {
+                // Every rule is accepted when there are no candidates.
+                return null;
+            }
+            final Set<String> labels = new HashSet<>();
+            cardinalityContext.getCandidates().forEach(candidate -> labels.addAll(GraphUtils.getLabels(candidate)));
+            return labels;
+        }
+    }
 }
@@ -34,6 +34,7 @@ import org.kie.workbench.common.stunner.core.api.DefinitionManager;
 import org.kie.workbench.common.stunner.core.diagram.Diagram;
 import org.kie.workbench.common.stunner.core.graph.Element;
 import org.kie.workbench.common.stunner.core.graph.Graph;
+import org.kie.workbench.common.stunner.core.graph.Node;
 import org.kie.workbench.common.stunner.core.graph.processing.traverse.tree.TreeWalkTraverseProcessor;
 import org.kie.workbench.common.stunner.core.rule.RuleManager;
 import org.kie.workbench.common.stunner.core.rule.RuleViolation;
@@ -108,6 +109,29 @@ public abstract class AbstractDiagramValidator
         );
     }
 
+    /**
+     * Validates the domain of the diagram and the model of each of its elements, but does not evaluate
+     * the graph rules. For validators whose graph rules are evaluated somewhere else.
+     */
+    @SuppressWarnings("unchecked")
+    protected void validateElements(final Diagram diagram,
+                                    final Consumer<Collection<DiagramElementViolation<RuleViolation>>> resultConsumer) {
+        final Graph<?, Node> graph = diagram.getGraph();
+        final List<DiagramElementViolation<RuleViolation>> violations = new LinkedList<>(validateDomain(diagram));
+        final BiConsumer<Element, Collection<RuleViolation>> elementConsumer = consumeBeanAndViolations(() -> violations);
+        elementConsumer.accept(graph,
+                               Collections.emptyList());
+        for (final Node node : graph.nodes()) {
+            elementConsumer.accept(node,
+                                   Collections.emptyList());
+            for (final Object edge : node.getOutEdges()) {
+                elementConsumer.accept((Element) edge,
+                                       Collections.emptyList());
+            }
+        }
+        resultConsumer.accept(violations);
+    }
+
     private BiConsumer<Element, Collection<RuleViolation>> consumeBeanAndViolations(final Supplier<List<DiagramElementViolation<RuleViolation>>> violations) {
         return (element, ruleViolations) -> {
             if (Optional.ofNullable(element.getContent()).isPresent()) {
@@ -127,9 +127,10 @@ public class GraphValidatorImpl
                                   super.startGraphTraversal(graph);
                                   currentParents.clear();
                                   // Evaluate the graph's cardinality rules.
-                                  final Set<RuleViolation> graphCardinalityViolations =
-                                          violations.addViolations(evaluateCardinality(contextBuilder,
-                                                                                       ruleSet));
+                                  final Collection<RuleViolation> graphCardinalityViolations =
+                                          evaluateGraph(contextBuilder,
+                                                        ruleSet);
+                                  violations.addAll(graphCardinalityViolations);
                                   graphValidatorConsumer.ifPresent(g -> g.accept(graph,
                                                                                  graphCardinalityViolations));
                               }
@@ -137,54 +138,13 @@ public class GraphValidatorImpl
                               @Override
                               public boolean startEdgeTraversal(final Edge edge) {
                                   super.startEdgeTraversal(edge);
-                                  final Object content = edge.getContent();
-                                  final ViolationsSet edgeViolations =
-                                          new ViolationsSet();
-                                  if (content instanceof Child) {
+                                  if (edge.getContent() instanceof Child) {
                                       this.currentParents.push(edge.getSourceNode());
-                                  } else if (content instanceof View) {
-                                      final Optional<Node<? extends View<?>, ? extends Edge>> sourceOpt =
-                                              Optional.ofNullable(edge.getSourceNode());
-                                      final Optional<Node<? extends View<?>, ? extends Edge>> targetOpt =
-                                              Optional.ofNullable(edge.getTargetNode());
-                                      // Check not empty connections.
-                                      final Optional<RuleViolation> emptyConnectionViolation =
-                                              evaluateNotEmptyConnections(edge,
-                                                                          sourceOpt,
-                                                                          targetOpt);
-                                      emptyConnectionViolation.ifPresent(edgeViolations::add);
-                                      // Evaluate connection rules.
-                                      edgeViolations.addViolations(
-                                              evaluateConnection(contextBuilder,
-                                                                 ruleSet,
-                                                                 edge,
-                                                                 sourceOpt,
-                                                                 targetOpt)
-                                      );
-                                      // Evaluate connector cardinality rules for this edge.
-                                      if (null != edge.getTargetNode()) {
-                                          edgeViolations.addViolations(
-                                                  evaluateIncomingEdgeCardinality(contextBuilder,
-                                                                                  ruleSet,
-                                                                                  edge)
-                                          );
-                                      }
-                                      if (null != edge.getSourceNode()) {
-                                          edgeViolations.addViolations(
-                                                  evaluateOutgoingEdgeCardinality(contextBuilder,
-                                                                                  ruleSet,
-                                                                                  edge)
-                                          );
-                                      }
-                                  } else if (content instanceof Dock) {
-                                      final Node parent = edge.getSourceNode();
-                                      final Node docked = edge.getTargetNode();
-                                      // Evaluate docking rules for the source & target nodes.
-                                      edgeViolations.addViolations(evaluateDocking(contextBuilder,
-                                                                                   ruleSet,
-                                                                                   parent,
-                                                                                   docked));
                                   }
+                                  final Collection<RuleViolation> edgeViolations =
+                                          evaluateEdge(contextBuilder,
+                                                       ruleSet,
+                                                       edge);
                                   edgeValidatorConsumer.ifPresent(c -> c.accept(edge,
                                                                                 edgeViolations));
                                   violations.addAll(edgeViolations);
@@ -222,16 +182,97 @@ public class GraphValidatorImpl
 
                               private Collection<RuleViolation> evaluateNode(final Node node,
                                                                              final Node parent) {
-                                  // Evaluate containment rules for this node.
-                                  return violations.addViolations(evaluateContainment(ruleSet,
-                                                                                      contextBuilder,
-                                                                                      null != parent ? parent : graph,
-                                                                                      node));
+                                  final Collection<RuleViolation> nodeViolations =
+                                          GraphValidatorImpl.this.evaluateNode(contextBuilder,
+                                                                               ruleSet,
+                                                                               null != parent ? parent : graph,
+                                                                               node);
+                                  violations.addAll(nodeViolations);
+                                  return nodeViolations;
                               }
                           });
     }
 
-    private RuleSet getRuleSet(final Graph<? extends DefinitionSet, ?> graph) {
+    /**
+     * Evaluates the cardinality rules for the whole graph.
+     */
+    protected Collection<RuleViolation> evaluateGraph(final StatelessGraphContextBuilder contextBuilder,
+                                                      final RuleSet ruleSet) {
+        return new ViolationsSet().addViolations(evaluateCardinality(contextBuilder,
+                                                                     ruleSet));
+    }
+
+    /**
+     * Evaluates the containment rules for the <code>node</code> instance.
+     * @param parent The parent node, or the graph itself for the nodes with no parent.
+     */
+    protected Collection<RuleViolation> evaluateNode(final StatelessGraphContextBuilder contextBuilder,
+                                                     final RuleSet ruleSet,
+                                                     final Element<? extends Definition<?>> parent,
+                                                     final Node node) {
+        return new ViolationsSet().addViolations(evaluateContainment(ruleSet,
+                                                                     contextBuilder,
+                                                                     parent,
+                                                                     node));
+    }
+
+    /**
+     * Evaluates the rules for the <code>edge</code> instance, depending on its content: connection and
+     * connector cardinality rules for the view connectors, and docking rules for the dock relationships.
+     */
+    @SuppressWarnings("unchecked")
+    protected Collection<RuleViolation> evaluateEdge(final StatelessGraphContextBuilder contextBuilder,
+                                                     final RuleSet ruleSet,
+                                                     final Edge edge) {
+        final Object content = edge.getContent();
+        final ViolationsSet edgeViolations = new ViolationsSet();
+        if (content instanceof View) {
+            final Optional<Node<? extends View<?>, ? extends Edge>> sourceOpt =
+                    Optional.ofNullable(edge.getSourceNode());
+            final Optional<Node<? extends View<?>, ? extends Edge>> targetOpt =
+                    Optional.ofNullable(edge.getTargetNode());
+            // Check not empty connections.
+            final Optional<RuleViolation> emptyConnectionViolation =
+                    evaluateNotEmptyConnections(edge,
+                                                sourceOpt,
+                                                targetOpt);
+            emptyConnectionViolation.ifPresent(edgeViolations::add);
+            // Evaluate connection rules.
+            edgeViolations.addViolations(
+                    evaluateConnection(contextBuilder,
+                                       ruleSet,
+                                       edge,
+                                       sourceOpt,
+                                       targetOpt)
+            );
+            // Evaluate connector cardinality rules for this edge.
+            if (null != edge.getTargetNode()) {
+                edgeViolations.addViolations(
+                        evaluateIncomingEdgeCardinality(contextBuilder,
+                                                        ruleSet,
+                                                        edge)
+                );
+            }
+            if (null != edge.getSourceNode()) {
+                edgeViolations.addViolations(
+                        evaluateOutgoingEdgeCardinality(contextBuilder,
+                                                        ruleSet,
+                                                        edge)
+                );
+            }
+        } else if (content instanceof Dock) {
+            final Node parent = edge.getSourceNode();
+            final Node docked = edge.getTargetNode();
+            // Evaluate docking rules for the source & target nodes.
+            edgeViolations.addViolations(evaluateDocking(contextBuilder,
+                                                         ruleSet,
+                                                         parent,
+                                                         docked));
+        }
+        return edgeViolations;
+    }
+
+    protected RuleSet getRuleSet(final Graph<? extends DefinitionSet, ?> graph) {
         final String defSetId = graph.getContent().getDefinition();
         final Object definitionSet = definitionManager.definitionSets().getDefinitionSetById(defSetId);
         return definitionManager.adapters().forRules().getRuleSet(definitionSet);
@@ -18,6 +18,7 @@ package org.kie.workbench.common.stunner.core.graph;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.kie.workbench.common.stunner.core.graph.impl.EdgeImpl;
 import org.kie.workbench.common.stunner.core.graph.impl.GraphImpl;
 import org.kie.workbench.common.stunner.core.graph.impl.NodeImpl;
 import org.kie.workbench.common.stunner.core.graph.store.GraphNodeStoreImpl;
@@ -68,4 +69,57 @@ public class HashCodeAndEqualityTest {
         assertEquals(a.hashCode(),
                      a.hashCode());
     }
+
+    @Test
+    public void testGraphHashCodeDoesNotDependOnNodesOrder() {
+        GraphImpl<String> a = new GraphImpl<String>("Graph",
+                                                    new GraphNodeStoreImpl());
+        GraphImpl<String> b = new GraphImpl<String>("Graph",
+                                                    new GraphNodeStoreImpl());
+        NodeImpl<String> node1 = new NodeImpl<>("Node1");
+        NodeImpl<String> node2 = new NodeImpl<>("Node2");
+        NodeImpl<String> node3 = new NodeImpl<>("Node3");
+        a.addNode(node1);
+        a.addNode(node2);
+        a.addNode(node3);
+        b.addNode(node3);
+        b.addNode(node1);
+        b.addNode(node2);
+        assertEquals(a.hashCode(),
+                     b.hashCode());
+    }
+
+    @Test
+    public void testGraphHashCodeWhenConnecting() {
+        GraphImpl<String> graph = new GraphImpl<String>("Graph",
+                                                        new GraphNodeStoreImpl());
+        NodeImpl<String> node1 = new NodeImpl<>("Node1");
+        NodeImpl<String> node2 = new NodeImpl<>("Node2");
+        NodeImpl<String> node3 = new NodeImpl<>("Node3");
+        graph.addNode(node1);
+        graph.addNode(node2);
+        graph.addNode(node3);
+        int hashCode = graph.hashCode();
+
+        EdgeImpl<String> edge = new EdgeImpl<>("Edge");
+        edge.setContent("Edge");
+        edge.setSourceNode(node1);
+        edge.setTargetNode(node2);
+        node1.getOutEdges().add(edge);
+        node2.getInEdges().add(edge);
+        int connectedHashCode = graph.hashCode();
+        assertNotEquals(hashCode,
+                        connectedHashCode);
+
+        node2.getInEdges().remove(edge);
+        edge.setTargetNode(node3);
+        node3.getInEdges().add(edge);
+        assertNotEquals(connectedHashCode,
+                        graph.hashCode());
+
+        node1.getOutEdges().remove(edge);
+        node3.getInEdges().remove(edge);
+        assertEquals(hashCode,
+                     graph.hashCode());
+    }
 }
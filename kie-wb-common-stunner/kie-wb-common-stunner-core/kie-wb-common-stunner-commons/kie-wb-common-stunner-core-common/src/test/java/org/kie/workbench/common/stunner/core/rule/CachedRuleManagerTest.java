@@ -54,6 +54,10 @@ public class CachedRuleManagerTest {
                                                                          add(("role2"));
                                                                      }});
 
+    private static final CanContain containmentRule2 = new CanContain("cont2",
+                                                                      "role2",
+                                                                      Collections.singleton("role1"));
+
     private static final CanConnect connectionRule = new CanConnect("conn1",
                                                                     "role1",
                                                                     Arrays.asList(new CanConnect.PermittedConnection("role1",
@@ -124,4 +128,26 @@ public class CachedRuleManagerTest {
         verify(containmentHandler, never()).evaluate(any(CanContain.class),
                                                      any(ContainmentContext.class));
     }
+
+    @Test
+    public void testEvaluateOnlyRulesForContextRoles() {
+        when(ruleSet.getRules()).thenReturn(Arrays.asList(containmentRule, containmentRule2, connectionRule));
+        ContainmentContext role1Context = RuleEvaluationContextBuilder.DomainContexts.containment(Collections.singleton("role1"),
+                                                                                                  Collections.emptySet());
+        ContainmentContext role2Context = RuleEvaluationContextBuilder.DomainContexts.containment(Collections.singleton("role2"),
+                                                                                                  Collections.emptySet());
+        tested.evaluate(ruleSet,
+                        role2Context);
+        tested.evaluate(ruleSet,
+                        role1Context);
+        verify(ruleSet, times(1)).getRules();
+        verify(containmentHandler, times(1)).evaluate(eq(containmentRule2),
+                                                      eq(role2Context));
+        verify(containmentHandler, never()).evaluate(eq(containmentRule),
+                                                     eq(role2Context));
+        verify(containmentHandler, times(1)).evaluate(eq(containmentRule),
+                                                      eq(role1Context));
+        verify(containmentHandler, never()).evaluate(eq(containmentRule2),
+                                                     eq(role1Context));
+    }
 }
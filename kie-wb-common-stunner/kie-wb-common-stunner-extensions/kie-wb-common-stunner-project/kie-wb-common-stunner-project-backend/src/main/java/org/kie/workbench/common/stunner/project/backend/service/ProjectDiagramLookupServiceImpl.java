@@ -26,6 +26,7 @@ import org.jboss.errai.bus.server.annotations.Service;
 import org.kie.workbench.common.stunner.core.backend.lookup.impl.VFSLookupManager;
 import org.kie.workbench.common.stunner.core.backend.service.AbstractDiagramLookupService;
 import org.kie.workbench.common.stunner.core.lookup.diagram.DiagramLookupRequest;
+import org.kie.workbench.common.stunner.core.lookup.diagram.DiagramRepresentation;
 import org.kie.workbench.common.stunner.core.service.BaseDiagramService;
 import org.kie.workbench.common.stunner.project.diagram.ProjectDiagram;
 import org.kie.workbench.common.stunner.project.diagram.ProjectMetadata;
@@ -38,7 +39,7 @@ public class ProjectDiagramLookupServiceImpl
         extends AbstractDiagramLookupService<ProjectMetadata, ProjectDiagram>
         implements ProjectDiagramLookupService {
 
-    private final VFSLookupManager<ProjectDiagram> vfsLookupManager;
+    private final VFSLookupManager<DiagramRepresentation> vfsLookupManager;
     private final ProjectDiagramService diagramService;
 
     protected ProjectDiagramLookupServiceImpl() {
@@ -47,7 +48,7 @@ public class ProjectDiagramLookupServiceImpl
     }
 
     @Inject
-    public ProjectDiagramLookupServiceImpl(final VFSLookupManager<ProjectDiagram> vfsLookupManager,
+    public ProjectDiagramLookupServiceImpl(final VFSLookupManager<DiagramRepresentation> vfsLookupManager,
                                            final ProjectDiagramService diagramService) {
         this.vfsLookupManager = vfsLookupManager;
         this.diagramService = diagramService;
@@ -64,14 +65,13 @@ public class ProjectDiagramLookupServiceImpl
     }
 
     @Override
-    @SuppressWarnings("unchecked")
-    protected List<ProjectDiagram> getItems(final DiagramLookupRequest request) {
+    protected List<DiagramRepresentation> getItems(final DiagramLookupRequest request) {
         return vfsLookupManager.getItemsByPath(request.getPath());
     }
 
     @Override
     protected boolean matches(final String criteria,
-                              final ProjectDiagram item) {
+                              final DiagramRepresentation item) {
         return true;
     }
 }
@@ -166,20 +166,25 @@ class ProjectDiagramServiceController extends AbstractVFSDiagramService<ProjectM
                 .build();
     }
 
+    @SuppressWarnings("unchecked")
     public Path save(final Path path,
                      final ProjectDiagram diagram,
                      final Map<String, ?> attributes,
                      final OpenOption... comment) {
+        final org.uberfire.java.nio.file.Path nioPath = Paths.convert(path);
         try {
-            String[] raw = serialize(diagram);
-            getIoService().write(Paths.convert(path),
-                                 raw[0],
-                                 attributes,
-                                 comment);
+            getIoService().startBatch(nioPath.getFileSystem());
+            writeContent(nioPath,
+                         diagram,
+                         comment);
+            getIoService().setAttributes(nioPath,
+                                         (Map<String, Object>) attributes);
         } catch (Exception e) {
             LOG.error("Error while saving diagram with UUID [" + diagram.getName() + "].",
                       e);
             throw new RuntimeException(e);
+        } finally {
+            getIoService().endBatch();
         }
         return path;
     }
@@ -203,7 +208,6 @@ class ProjectDiagramServiceController extends AbstractVFSDiagramService<ProjectM
 
     @Override
     protected ProjectMetadata doSave(final ProjectDiagram diagram,
-                                     final String raw,
                                      final String metadata) {
         try {
             Path _path = diagram.getMetadata().getPath();
@@ -213,8 +217,8 @@ class ProjectDiagramServiceController extends AbstractVFSDiagramService<ProjectM
                 final String fileName = path.getFileName().toString();
                 path = parent.resolve(fileName);
             }
-            getIoService().write(path,
-                                 raw);
+            writeContent(path,
+                         diagram);
         } catch (Exception e) {
             LOG.error("Error while saving diagram with UUID [" + diagram.getName() + "].",
                       e);
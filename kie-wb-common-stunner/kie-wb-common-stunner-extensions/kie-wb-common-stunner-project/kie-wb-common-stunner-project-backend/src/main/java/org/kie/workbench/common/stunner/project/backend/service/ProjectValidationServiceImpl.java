@@ -19,7 +19,9 @@ package org.kie.workbench.common.stunner.project.backend.service;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
@@ -29,6 +31,7 @@ import javax.enterprise.inject.Instance;
 import javax.inject.Inject;
 
 import org.jboss.errai.bus.server.annotations.Service;
+import org.kie.workbench.common.stunner.core.backend.validation.ParallelGraphValidator;
 import org.kie.workbench.common.stunner.core.diagram.Diagram;
 import org.kie.workbench.common.stunner.core.rule.RuleViolation;
 import org.kie.workbench.common.stunner.core.validation.DiagramElementViolation;
@@ -37,28 +40,52 @@ import org.kie.workbench.common.stunner.core.validation.DomainViolation;
 import org.kie.workbench.common.stunner.core.validation.impl.ElementViolationImpl;
 import org.kie.workbench.common.stunner.project.service.ProjectValidationService;
 
+/**
+ * Validates the project diagrams on the backend: the domain validations, and the graph rules, which are evaluated
+ * for the nodes and edges of the graph in parallel.
+ */
 @ApplicationScoped
 @Service
 public class ProjectValidationServiceImpl implements ProjectValidationService {
 
     private final Instance<DomainValidator> validators;
+    private final ParallelGraphValidator graphValidator;
 
     protected ProjectValidationServiceImpl() {
-        this(null);
+        this(null,
+             null);
     }
 
     @Inject
-    public ProjectValidationServiceImpl(Instance<DomainValidator> validators) {
+    public ProjectValidationServiceImpl(Instance<DomainValidator> validators,
+                                        ParallelGraphValidator graphValidator) {
         this.validators = validators;
+        this.graphValidator = graphValidator;
     }
 
     @Override
     public Collection<DiagramElementViolation<RuleViolation>> validate(Diagram diagram) {
-        return domainViolations(diagram).stream()
+        final List<DiagramElementViolation<RuleViolation>> violations = domainViolations(diagram).stream()
                 .filter(v -> Objects.nonNull(v.getUUID()))
                 .filter(v -> !"null".equals(v.getUUID()))
                 .map(v -> new ElementViolationImpl.Builder().setUuid(v.getUUID()).setDomainViolations(Collections.singletonList(v)).build())
                 .collect(Collectors.toList());
+        violations.addAll(graphViolations(diagram));
+        return violations;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Collection<DiagramElementViolation<RuleViolation>> graphViolations(Diagram diagram) {
+        final Map<String, List<RuleViolation>> violationsByElement = new LinkedHashMap<>();
+        graphValidator.validate(diagram.getGraph(),
+                                ruleViolations -> ruleViolations.forEach(v -> {
+                                    // The graph cardinality violations are not bound to any element.
+                                    final String uuid = Objects.nonNull(v.getUUID()) ? v.getUUID() : diagram.getGraph().getUUID();
+                                    violationsByElement.computeIfAbsent(uuid, key -> new ArrayList<>()).add(v);
+                                }));
+        return violationsByElement.entrySet().stream()
+                .map(entry -> new ElementViolationImpl.Builder().setUuid(entry.getKey()).setGraphViolations(entry.getValue()).build())
+                .collect(Collectors.toList());
     }
 
     private Collection<DomainViolation> domainViolations(Diagram diagram) {
@@ -17,6 +17,7 @@
 package org.kie.workbench.common.stunner.project.backend.service;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.Map;
 
@@ -38,6 +39,7 @@ import org.kie.workbench.common.stunner.core.diagram.Metadata;
 import org.kie.workbench.common.stunner.project.diagram.ProjectDiagram;
 import org.kie.workbench.common.stunner.project.diagram.ProjectMetadata;
 import org.kie.workbench.common.stunner.project.diagram.impl.ProjectDiagramImpl;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.uberfire.backend.server.util.Paths;
@@ -51,7 +53,9 @@ import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyObject;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -184,8 +188,37 @@ public class ProjectDiagramServiceControllerTest
         diagramService.saveOrUpdate(diagram);
 
         verify(ioService,
-               times(1)).write(expectedNioPath,
-                               DIAGRAM_MARSHALLED);
+               times(1)).newOutputStream(expectedNioPath);
+        assertEquals(DIAGRAM_MARSHALLED,
+                     new String(writtenContent.toByteArray(),
+                                StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testSave() throws IOException {
+        final Path path = mock(Path.class);
+        final Map<String, Object> attributes = Collections.singletonMap("key", "value");
+        final CommentedOption option = mock(CommentedOption.class);
+        when(path.toURI()).thenReturn(FILE_URI);
+        final org.uberfire.java.nio.file.Path expectedNioPath = Paths.convert(path);
+
+        ((ProjectDiagramServiceController) diagramService).save(path,
+                                                                diagram,
+                                                                attributes,
+                                                                option);
+
+        final InOrder inOrder = inOrder(ioService);
+        inOrder.verify(ioService).startBatch(expectedNioPath.getFileSystem());
+        inOrder.verify(ioService).newOutputStream(expectedNioPath,
+                                                  option);
+        inOrder.verify(ioService).setAttributes(expectedNioPath,
+                                                attributes);
+        inOrder.verify(ioService).endBatch();
+        assertEquals(DIAGRAM_MARSHALLED,
+                     new String(writtenContent.toByteArray(),
+                                StandardCharsets.UTF_8));
+        verify(diagramMarshaller,
+               never()).marshall(diagram);
     }
 
     @Test
@@ -19,12 +19,14 @@ package org.kie.workbench.common.stunner.project.backend.service;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.function.Consumer;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.kie.workbench.common.stunner.core.backend.validation.ParallelGraphValidator;
 import org.kie.workbench.common.stunner.core.diagram.Diagram;
 import org.kie.workbench.common.stunner.core.diagram.Metadata;
 import org.kie.workbench.common.stunner.core.graph.Graph;
@@ -39,6 +41,9 @@ import org.mockito.junit.MockitoJUnitRunner;
 import org.uberfire.mocks.MockInstanceImpl;
 
 import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -81,6 +86,18 @@ public class ProjectValidationServiceImplTest {
     @Mock
     private Graph graph;
 
+    @Mock
+    private ParallelGraphValidator graphValidator;
+
+    @Mock
+    private RuleViolation ruleViolation;
+
+    @Mock
+    private RuleViolation ruleViolation2;
+
+    @Mock
+    private RuleViolation graphRuleViolation;
+
     private static final String GRAPH_UUID = UUID.uuid();
 
     private List<DomainViolation> domainViolationList;
@@ -112,7 +129,8 @@ public class ProjectValidationServiceImplTest {
         when(graph.getUUID()).thenReturn(GRAPH_UUID);
         mockViolations(domainViolationList);
 
-        validationService = new ProjectValidationServiceImpl(new MockInstanceImpl(domainValidator));
+        validationService = new ProjectValidationServiceImpl(new MockInstanceImpl(domainValidator),
+                                                             graphValidator);
     }
 
     private void mockViolations(List<DomainViolation> violations) {
@@ -155,4 +173,30 @@ public class ProjectValidationServiceImplTest {
         assertEquals(ordered.get(3).getDomainViolations().size(), 1);
         assertEquals(ordered.get(3).getDomainViolations().iterator().next(), domainViolation4);
     }
-}
\ No newline at end of file
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void validateGraph() {
+        domainViolationList = Collections.emptyList();
+        when(ruleViolation.getUUID()).thenReturn(UUID_0);
+        when(ruleViolation.getViolationType()).thenReturn(Violation.Type.ERROR);
+        when(ruleViolation2.getUUID()).thenReturn(UUID_0);
+        when(ruleViolation2.getViolationType()).thenReturn(Violation.Type.WARNING);
+        when(graphRuleViolation.getViolationType()).thenReturn(Violation.Type.ERROR);
+        doAnswer(invocation -> {
+            ((Consumer<Collection<RuleViolation>>) invocation.getArgument(1)).accept(Arrays.asList(ruleViolation,
+                                                                                                  graphRuleViolation,
+                                                                                                  ruleViolation2));
+            return null;
+        }).when(graphValidator).validate(eq(graph),
+                                         any(Consumer.class));
+
+        final List<DiagramElementViolation<RuleViolation>> violations = new ArrayList<>(validationService.validate(diagram));
+        assertEquals(2, violations.size());
+        assertEquals(UUID_0, violations.get(0).getUUID());
+        assertEquals(Arrays.asList(ruleViolation, ruleViolation2), violations.get(0).getGraphViolations());
+        assertEquals(Violation.Type.ERROR, violations.get(0).getViolationType());
+        assertEquals(GRAPH_UUID, violations.get(1).getUUID());
+        assertEquals(Collections.singletonList(graphRuleViolation), violations.get(1).getGraphViolations());
+    }
+}
@@ -17,10 +17,8 @@
 package org.kie.workbench.common.stunner.project.client.validation;
 
 import java.util.Collection;
-import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Objects;
 import java.util.function.Consumer;
 
 import javax.enterprise.context.ApplicationScoped;
@@ -71,24 +69,27 @@ public class ProjectClientDiagramValidator extends ClientDiagramValidator {
         this.validationService = validationService;
     }
 
+    /**
+     * The graph rules are evaluated on the backend, so the client just validates the domain and the
+     * elements' models. If the backend call fails, the whole diagram is validated on the client.
+     */
     @Override
     public void validate(Diagram diagram, Consumer<Collection<DiagramElementViolation<RuleViolation>>> resultConsumer) {
-        super.validate(diagram, diagramElementViolations -> {
-            final List<DiagramElementViolation<RuleViolation>> violations =
-                    (Objects.nonNull(diagramElementViolations) ? new LinkedList<>(diagramElementViolations) : new LinkedList<>());
-            backendValidation(diagram, backendViolations -> {
-                violations.addAll(backendViolations);
-                resultConsumer.accept(violations);
-            });
-        });
+        validateElements(diagram, clientViolations -> backendValidation(diagram, backendViolations -> {
+            final List<DiagramElementViolation<RuleViolation>> violations = new LinkedList<>(clientViolations);
+            violations.addAll(backendViolations);
+            resultConsumer.accept(violations);
+        }, () -> super.validate(diagram, resultConsumer)));
     }
 
     @SuppressWarnings("unchecked")
-    private void backendValidation(Diagram diagram, final Consumer<Collection<DiagramElementViolation<RuleViolation>>> callback) {
+    private void backendValidation(Diagram diagram,
+                                   final Consumer<Collection<DiagramElementViolation<RuleViolation>>> callback,
+                                   final Runnable errorCallback) {
         validationService.call(result -> callback.accept((Collection<DiagramElementViolation<RuleViolation>>) result),
                                (msg, error) -> {
-                                   callback.accept(Collections.emptyList());
+                                   errorCallback.run();
                                    return false;
                                }).validate(diagram);
     }
-}
\ No newline at end of file
+}
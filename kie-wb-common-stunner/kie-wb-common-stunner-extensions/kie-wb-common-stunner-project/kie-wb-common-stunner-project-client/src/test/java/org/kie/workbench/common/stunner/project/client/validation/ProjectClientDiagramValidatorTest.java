@@ -16,10 +16,13 @@
 
 package org.kie.workbench.common.stunner.project.client.validation;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 import java.util.Spliterators;
+import java.util.function.Consumer;
 
 import org.jboss.errai.ioc.client.api.ManagedInstance;
 import org.junit.Before;
@@ -35,6 +38,7 @@ import org.kie.workbench.common.stunner.core.rule.RuleViolations;
 import org.kie.workbench.common.stunner.core.util.UUID;
 import org.kie.workbench.common.stunner.core.validation.DiagramElementViolation;
 import org.kie.workbench.common.stunner.core.validation.DomainValidator;
+import org.kie.workbench.common.stunner.core.validation.ModelBeanViolation;
 import org.kie.workbench.common.stunner.core.validation.ModelValidator;
 import org.kie.workbench.common.stunner.core.validation.impl.ElementViolationImpl;
 import org.kie.workbench.common.stunner.project.service.ProjectValidationService;
@@ -42,9 +46,13 @@ import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.uberfire.mocks.CallerMock;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -102,4 +110,45 @@ public class ProjectClientDiagramValidatorTest {
         clientDiagramValidator.validate(diagram, result -> assertTrue(result.stream().anyMatch(v -> Objects.equals(backendViolation, v))));
         verify(validationService).validate(diagram);
     }
-}
\ No newline at end of file
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void validateDoesNotEvaluateTheGraphRulesOnTheClient() {
+        doAnswer(invocation -> {
+            ((Consumer<Collection<ModelBeanViolation>>) invocation.getArgument(1)).accept(Collections.emptyList());
+            return null;
+        }).when(modelValidator).validate(any(), any(Consumer.class));
+        when(diagram.getGraph()).thenReturn(graphTestHandler.graph);
+        final List<DiagramElementViolation<RuleViolation>> result = new ArrayList<>();
+        clientDiagramValidator.validate(diagram, result::addAll);
+        assertEquals(Collections.singletonList(backendViolation), result);
+        verify(graphTestHandler.getRuleManager(), never()).evaluate(any(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void validateKeepsTheClientModelViolations() {
+        final ModelBeanViolation modelViolation = mock(ModelBeanViolation.class);
+        doAnswer(invocation -> {
+            ((Consumer<Collection<ModelBeanViolation>>) invocation.getArgument(1)).accept(Collections.singletonList(modelViolation));
+            return null;
+        }).when(modelValidator).validate(any(), any(Consumer.class));
+        when(diagram.getGraph()).thenReturn(graphTestHandler.graph);
+        final List<DiagramElementViolation<RuleViolation>> result = new ArrayList<>();
+        clientDiagramValidator.validate(diagram, result::addAll);
+        assertEquals(2, result.size());
+        assertEquals(TestingGraphMockHandler.GRAPH_UUID, result.get(0).getUUID());
+        assertEquals(Collections.singletonList(modelViolation), result.get(0).getModelViolations());
+        assertEquals(backendViolation, result.get(1));
+    }
+
+    @Test
+    public void validateTheWholeDiagramOnTheClientWhenTheBackendFails() {
+        when(validationService.validate(diagram)).thenThrow(new RuntimeException("backend failure"));
+        when(diagram.getGraph()).thenReturn(graphTestHandler.graph);
+        final List<DiagramElementViolation<RuleViolation>> result = new ArrayList<>();
+        clientDiagramValidator.validate(diagram, result::addAll);
+        assertTrue(result.isEmpty());
+        verify(graphTestHandler.getRuleManager(), atLeastOnce()).evaluate(any(), any());
+    }
+}
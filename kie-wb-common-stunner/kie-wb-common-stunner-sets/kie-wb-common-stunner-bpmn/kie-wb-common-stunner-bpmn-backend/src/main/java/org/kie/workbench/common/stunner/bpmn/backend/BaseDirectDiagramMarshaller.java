@@ -15,13 +15,13 @@
  */
 package org.kie.workbench.common.stunner.bpmn.backend;
 
-import java.io.BufferedInputStream;
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
+import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import bpsim.impl.BpsimFactoryImpl;
@@ -46,6 +46,7 @@ import org.kie.workbench.common.stunner.bpmn.backend.converters.fromstunner.Defi
 import org.kie.workbench.common.stunner.bpmn.backend.converters.fromstunner.properties.PropertyWriterFactory;
 import org.kie.workbench.common.stunner.bpmn.backend.converters.tostunner.BaseConverterFactory;
 import org.kie.workbench.common.stunner.bpmn.backend.converters.tostunner.BpmnNode;
+import org.kie.workbench.common.stunner.bpmn.backend.converters.tostunner.BulkGraphBuilder;
 import org.kie.workbench.common.stunner.bpmn.backend.converters.tostunner.DefinitionResolver;
 import org.kie.workbench.common.stunner.bpmn.backend.converters.tostunner.GraphBuilder;
 import org.kie.workbench.common.stunner.bpmn.backend.converters.tostunner.processes.DataTypeCacheServer;
@@ -55,6 +56,7 @@ import org.kie.workbench.common.stunner.bpmn.workitem.service.WorkItemDefinition
 import org.kie.workbench.common.stunner.core.api.DefinitionManager;
 import org.kie.workbench.common.stunner.core.api.FactoryManager;
 import org.kie.workbench.common.stunner.core.backend.service.XMLEncoderDiagramMetadataMarshaller;
+import org.kie.workbench.common.stunner.core.backend.validation.ParallelGraphValidator;
 import org.kie.workbench.common.stunner.core.definition.service.DiagramMarshaller;
 import org.kie.workbench.common.stunner.core.definition.service.DiagramMetadataMarshaller;
 import org.kie.workbench.common.stunner.core.diagram.Diagram;
@@ -64,6 +66,7 @@ import org.kie.workbench.common.stunner.core.graph.Node;
 import org.kie.workbench.common.stunner.core.graph.command.GraphCommandManager;
 import org.kie.workbench.common.stunner.core.graph.command.impl.GraphCommandFactory;
 import org.kie.workbench.common.stunner.core.graph.content.definition.DefinitionSet;
+import org.kie.workbench.common.stunner.core.graph.processing.traverse.tree.TreeWalkTraverseProcessorImpl;
 import org.kie.workbench.common.stunner.core.marshaller.MarshallingMessage;
 import org.kie.workbench.common.stunner.core.marshaller.MarshallingRequest;
 import org.kie.workbench.common.stunner.core.marshaller.MarshallingResponse;
@@ -82,6 +85,16 @@ public abstract class BaseDirectDiagramMarshaller implements DiagramMarshaller<G
 
     private static final Logger LOG = LoggerFactory.getLogger(BaseDirectDiagramMarshaller.class);
 
+    /**
+     * Builds the graph of trusted documents straight from the converted nodes, see {@link BulkGraphBuilder}.
+     */
+    public static final String BULK_LOAD_PROPERTY = "org.kie.stunner.bpmn.marshaller.bulkLoad";
+
+    /**
+     * Evaluates the rules for the whole graph once it has been bulk built, the violations are returned as messages.
+     */
+    public static final String BULK_LOAD_VALIDATE_PROPERTY = "org.kie.stunner.bpmn.marshaller.bulkLoad.validate";
+
     private final XMLEncoderDiagramMetadataMarshaller diagramMetadataMarshaller;
     private final DefinitionManager definitionManager;
     private final RuleManager ruleManager;
@@ -110,11 +123,39 @@ public abstract class BaseDirectDiagramMarshaller implements DiagramMarshaller<G
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public String marshall(final Diagram<Graph, Metadata> diagram) throws IOException {
-        LOG.debug("Starting diagram marshalling...");
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        marshall(diagram, outputStream);
+        String outputString = outputStream.toString("UTF-8");
+        LOG.trace(outputString);
+        return outputString;
+    }
 
+    /**
+     * Serializes the diagram straight into the given stream, without an intermediate String of the whole document.
+     * The stream is not closed.
+     */
+    @Override
+    public void marshall(final Diagram<Graph, Metadata> diagram,
+                         final OutputStream outputStream) throws IOException {
         Bpmn2Resource resource = createBpmn2Resource();
+        resource.getContents().add(convertToBpmn2Definitions(diagram));
+        resource.save(outputStream, new HashMap<>());
+    }
+
+    /**
+     * Returns the BPMN2 model of the diagram as built by the {@link DefinitionsConverter}, no XML is rendered nor
+     * parsed again. The definitions are contained in a BPMN2 resource, as if they were loaded from a file.
+     */
+    public Definitions marshallToBpmn2Definitions(final Diagram<Graph, Metadata> diagram) throws IOException {
+        Definitions definitions = convertToBpmn2Definitions(diagram);
+        createBpmn2Resource().getContents().add(definitions);
+        return definitions;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Definitions convertToBpmn2Definitions(final Diagram<Graph, Metadata> diagram) {
+        LOG.debug("Starting diagram marshalling...");
 
         // we start converting from the root, then pull out the result
         PropertyWriterFactory propertyWriterFactory = new PropertyWriterFactory();
@@ -125,29 +166,8 @@ public abstract class BaseDirectDiagramMarshaller implements DiagramMarshaller<G
 
         Definitions definitions = definitionsConverter.toDefinitions();
 
-        resource.getContents().add(definitions);
-
         LOG.debug("Diagram marshalling completed successfully.");
-        String outputString = renderToString(resource);
-        LOG.trace(outputString);
-        return outputString;
-    }
-
-    public Definitions marshallToBpmn2Definitions(final Diagram<Graph, Metadata> diagram) throws IOException {
-        String marshalled = marshall(diagram);
-        try (InputStream inputStream = new BufferedInputStream(new ByteArrayInputStream(marshalled.getBytes(StandardCharsets.UTF_8)))) {
-            return parseDefinitions(inputStream).getDefinitions();
-        }
-    }
-
-    private String renderToString(Bpmn2Resource resource) throws IOException {
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        try {
-            resource.save(outputStream, new HashMap<>());
-        } finally {
-            outputStream.close();
-        }
-        return outputStream.toString("UTF-8");
+        return definitions;
     }
 
     @Override
@@ -198,7 +218,9 @@ public abstract class BaseDirectDiagramMarshaller implements DiagramMarshaller<G
                             getDefinitionSetClass(),
                             metadata);
             Graph<DefinitionSet, Node> graph = diagram.getGraph();
-            GraphBuilder graphBuilder =
+            final boolean bulkLoad = Boolean.getBoolean(BULK_LOAD_PROPERTY);
+            GraphBuilder graphBuilder = bulkLoad ?
+                    new BulkGraphBuilder(graph) :
                     new GraphBuilder(
                             graph,
                             definitionManager,
@@ -208,10 +230,15 @@ public abstract class BaseDirectDiagramMarshaller implements DiagramMarshaller<G
                             commandManager);
             graphBuilder.render(diagramRoot);
 
+            final List<MarshallingMessage> messages = new ArrayList<>(result.messages());
+            if (bulkLoad && Boolean.getBoolean(BULK_LOAD_VALIDATE_PROPERTY)) {
+                messages.addAll(validate(graph));
+            }
+
             LOG.debug("Diagram drawing completed successfully for:" + request);
             return MarshallingResponse.builder()
                     .state(MarshallingResponse.State.SUCCESS)
-                    .messages(result.messages())
+                    .messages(messages)
                     .result(graph)
                     .build();
         } catch (Exception e) {
@@ -229,6 +256,25 @@ public abstract class BaseDirectDiagramMarshaller implements DiagramMarshaller<G
         }
     }
 
+    /**
+     * Evaluates the rules for the whole graph at once, the bulk built graphs skip the per element evaluation.
+     * The graph is not shared yet, so its elements are evaluated in parallel.
+     */
+    private List<MarshallingMessage> validate(final Graph<DefinitionSet, Node> graph) {
+        final List<MarshallingMessage> messages = new ArrayList<>();
+        new ParallelGraphValidator(definitionManager,
+                                   ruleManager,
+                                   new TreeWalkTraverseProcessorImpl())
+                .validate(graph,
+                          violations -> violations.forEach(violation -> messages.add(
+                                  MarshallingMessage.builder()
+                                          .elementUUID(violation.getUUID())
+                                          .type(violation.getViolationType())
+                                          .message(violation.getMessage())
+                                          .build())));
+        return messages;
+    }
+
     private Bpmn2Resource createBpmn2Resource() {
         DroolsFactoryImpl.init();
         BpsimFactoryImpl.init();
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.bpmn.backend.converters.tostunner;
+
+import java.util.List;
+
+import org.kie.workbench.common.stunner.core.graph.Edge;
+import org.kie.workbench.common.stunner.core.graph.Graph;
+import org.kie.workbench.common.stunner.core.graph.Node;
+import org.kie.workbench.common.stunner.core.graph.command.impl.UpdateElementPositionCommand;
+import org.kie.workbench.common.stunner.core.graph.content.definition.DefinitionSet;
+import org.kie.workbench.common.stunner.core.graph.content.relationship.Child;
+import org.kie.workbench.common.stunner.core.graph.content.relationship.Dock;
+import org.kie.workbench.common.stunner.core.graph.content.view.Connection;
+import org.kie.workbench.common.stunner.core.graph.content.view.ControlPoint;
+import org.kie.workbench.common.stunner.core.graph.content.view.Point2D;
+import org.kie.workbench.common.stunner.core.graph.content.view.View;
+import org.kie.workbench.common.stunner.core.graph.content.view.ViewConnector;
+import org.kie.workbench.common.stunner.core.graph.impl.EdgeImpl;
+import org.kie.workbench.common.stunner.core.util.UUID;
+
+/**
+ * A {@link GraphBuilder} for trusted documents, which have already been validated.
+ * <p>
+ * It builds the same graph as the command based `GraphBuilder`, but it adds the nodes, the relationships and
+ * the connectors straight to the graph: no commands are created nor executed, and no rules are evaluated for each
+ * element. The resulting graph can be validated at once afterwards, if needed.
+ */
+public class BulkGraphBuilder extends GraphBuilder {
+
+    public BulkGraphBuilder(Graph<DefinitionSet, Node> graph) {
+        super(graph);
+    }
+
+    @Override
+    protected void clearGraph() {
+        graph.clear();
+    }
+
+    @Override
+    protected void addNode(Node node) {
+        graph.addNode(node);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void addChildNode(Node<? extends View, ?> parent, Node<? extends View, ?> child) {
+        graph.addNode(child);
+        final Edge<Child, Node> edge = new EdgeImpl<>(UUID.uuid());
+        edge.setContent(new Child());
+        connect(parent, edge, child);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void addDockedNode(Node parent, Node candidate) {
+        graph.addNode(candidate);
+        final Edge<Dock, Node> edge = new EdgeImpl<>(UUID.uuid());
+        edge.setContent(new Dock());
+        connect(parent, edge, candidate);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void updatePosition(Node node, Point2D position) {
+        node.getContent().setBounds(UpdateElementPositionCommand.computeCandidateBounds(node, position));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void addEdge(
+            Edge<? extends View<?>, Node> edge,
+            Node source,
+            Connection sourceConnection,
+            List<Point2D> controlPoints,
+            Node target,
+            Connection targetConnection) {
+        final ViewConnector<?> content = (ViewConnector<?>) edge.getContent();
+        content.setSourceConnection(sourceConnection);
+        if (!controlPoints.isEmpty()) {
+            // same order as adding each control point at its index
+            final ControlPoint[] existing = null != content.getControlPoints() ? content.getControlPoints() : new ControlPoint[0];
+            final ControlPoint[] cps = new ControlPoint[controlPoints.size() + existing.length];
+            for (int i = 0; i < controlPoints.size(); i++) {
+                cps[i] = ControlPoint.build(controlPoints.get(i));
+            }
+            System.arraycopy(existing, 0, cps, controlPoints.size(), existing.length);
+            content.setControlPoints(cps);
+        }
+        content.setTargetConnection(targetConnection);
+        connect(source, edge, target);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void connect(Node source, Edge edge, Node target) {
+        edge.setSourceNode(source);
+        edge.setTargetNode(target);
+        if (null != source) {
+            source.getOutEdges().add(edge);
+        }
+        if (null != target) {
+            target.getInEdges().add(edge);
+        }
+    }
+}
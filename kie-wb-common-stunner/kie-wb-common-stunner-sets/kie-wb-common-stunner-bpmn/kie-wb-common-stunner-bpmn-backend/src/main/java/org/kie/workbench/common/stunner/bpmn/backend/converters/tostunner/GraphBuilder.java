@@ -80,7 +80,7 @@ public class GraphBuilder {
     private final GraphCommandExecutionContext executionContext;
     private final GraphCommandFactory commandFactory;
     private final GraphCommandManager commandManager;
-    private final Graph<DefinitionSet, Node> graph;
+    protected final Graph<DefinitionSet, Node> graph;
 
     public GraphBuilder(
             Graph<DefinitionSet, Node> graph,
@@ -98,6 +98,16 @@ public class GraphBuilder {
         this.commandManager = commandManager;
     }
 
+    /**
+     * For builders that mutate the graph directly, no commands are executed.
+     */
+    protected GraphBuilder(Graph<DefinitionSet, Node> graph) {
+        this.graph = graph;
+        this.executionContext = null;
+        this.commandFactory = null;
+        this.commandManager = null;
+    }
+
     /**
      * Clears the context and then walks the graph root
      * to draw it on the canvas
@@ -154,7 +164,7 @@ public class GraphBuilder {
         return prioritized;
     }
 
-    private void addDockedNode(Node parent, Node candidate) {
+    protected void addDockedNode(Node parent, Node candidate) {
         AddDockedNodeCommand addNodeCommand = commandFactory.addDockedNode(parent, candidate);
         execute(addNodeCommand);
     }
@@ -183,7 +193,7 @@ public class GraphBuilder {
         return Point2D.create(xFactor, yFactor);
     }
 
-    private void addChildNode(Node<? extends View, ?> parent, Node<? extends View, ?> child) {
+    protected void addChildNode(Node<? extends View, ?> parent, Node<? extends View, ?> child) {
         AddChildNodeCommand addChildNodeCommand = commandFactory.addChildNode(parent, child);
         execute(addChildNodeCommand);
     }
@@ -208,19 +218,19 @@ public class GraphBuilder {
         updatePosition(node, coords);
     }
 
-    private void updatePosition(Node node, Point2D position) {
+    protected void updatePosition(Node node, Point2D position) {
         UpdateElementPositionCommand updateElementPositionCommand =
                 commandFactory.updatePosition(node, position);
         execute(updateElementPositionCommand);
     }
 
-    private void addNode(Node node) {
+    protected void addNode(Node node) {
         AddNodeCommand addNodeCommand = commandFactory.addNode(node);
         execute(addNodeCommand);
     }
 
     @SuppressWarnings("unchecked")
-    private void addEdge(
+    protected void addEdge(
             Edge<? extends View<?>, Node> edge,
             Node source,
             Connection sourceConnection,
@@ -264,8 +274,8 @@ public class GraphBuilder {
         return commandManager.execute(executionContext, command);
     }
 
-    private CommandResult<RuleViolation> clearGraph() {
-        return commandManager.execute(executionContext, commandFactory.clearGraph());
+    protected void clearGraph() {
+        commandManager.execute(executionContext, commandFactory.clearGraph());
     }
 
     private void addEdge(BpmnEdge edge) {
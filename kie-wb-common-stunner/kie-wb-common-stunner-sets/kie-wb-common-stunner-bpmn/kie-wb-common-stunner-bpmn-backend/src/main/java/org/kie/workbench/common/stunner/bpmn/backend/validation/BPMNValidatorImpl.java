@@ -18,12 +18,20 @@ package org.kie.workbench.common.stunner.bpmn.backend.validation;
 
 import java.io.IOException;
 import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
+import java.util.Base64;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -55,11 +63,25 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.xml.sax.SAXException;
 
+/**
+ * Validates the BPMN diagrams using the jBPM process validator.
+ * <p>
+ * The violations are cached by the digest of the marshalled process, so validating again a diagram which did not
+ * change since the last validation (autosaves, repeated validations) does not parse and validate the process again.
+ */
 @ApplicationScoped
 public class BPMNValidatorImpl implements BPMNValidator {
 
     private static final Logger LOG = LoggerFactory.getLogger(BPMNValidatorImpl.class);
+    static final int MAX_CACHED_RESULTS = 64;
     private final DiagramService diagramService;
+    private final Map<String, Set<BPMNViolation>> results = Collections.synchronizedMap(
+            new LinkedHashMap<String, Set<BPMNViolation>>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<String, Set<BPMNViolation>> eldest) {
+                    return size() > MAX_CACHED_RESULTS;
+                }
+            });
     private SemanticModules modules;
 
     BPMNValidatorImpl() {
@@ -82,7 +104,16 @@ public class BPMNValidatorImpl implements BPMNValidator {
     public void validate(Diagram diagram, Consumer<Collection<DomainViolation>> resultConsumer) {
         String rawContent = diagramService.getRawContent(diagram);
         if (Objects.nonNull(rawContent)) {
-            resultConsumer.accept(validate(rawContent, diagram.getMetadata().getTitle()).stream().collect(Collectors.toSet()));
+            final String processUUID = diagram.getMetadata().getTitle();
+            final String key = digest(processUUID, rawContent);
+            final Set<BPMNViolation> cached = results.get(key);
+            if (null != cached) {
+                resultConsumer.accept(new HashSet<>(cached));
+                return;
+            }
+            final Set<BPMNViolation> violations = validate(rawContent, processUUID).stream().collect(Collectors.toSet());
+            results.put(key, violations);
+            resultConsumer.accept(new HashSet<>(violations));
             return;
         }
 
@@ -126,6 +157,18 @@ public class BPMNValidatorImpl implements BPMNValidator {
         return Arrays.asList(new BPMNViolation(message.get(), Violation.Type.WARNING, uuid));
     }
 
+    private static String digest(final String processUUID, final String serializedProcess) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(String.valueOf(processUUID).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(serializedProcess.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     private List<Process> parseProcess(String serializedProcess) throws SAXException, IOException {
         return new XmlProcessReader(modules, getClass().getClassLoader()).read(new StringReader(serializedProcess));
     }
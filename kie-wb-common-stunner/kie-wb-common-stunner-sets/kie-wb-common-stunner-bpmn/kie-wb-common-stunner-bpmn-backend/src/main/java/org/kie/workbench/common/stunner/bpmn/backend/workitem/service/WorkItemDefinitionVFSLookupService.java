@@ -16,12 +16,19 @@
 
 package org.kie.workbench.common.stunner.bpmn.backend.workitem.service;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
 import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
 import javax.inject.Inject;
 
 import org.jboss.errai.bus.server.annotations.Service;
@@ -34,9 +41,24 @@ import org.slf4j.LoggerFactory;
 import org.uberfire.backend.vfs.DirectoryStream;
 import org.uberfire.backend.vfs.Path;
 import org.uberfire.backend.vfs.VFSService;
+import org.uberfire.workbench.events.ResourceAddedEvent;
+import org.uberfire.workbench.events.ResourceBatchChangesEvent;
+import org.uberfire.workbench.events.ResourceChange;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
+import org.uberfire.workbench.events.ResourceRenamed;
+import org.uberfire.workbench.events.ResourceRenamedEvent;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
 
 import static org.kie.workbench.common.stunner.bpmn.backend.workitem.WorkItemDefinitionParser.parse;
 
+/**
+ * Looks up the work item definitions in the VFS.
+ * <p>
+ * The definitions parsed from each directory are cached, so resolving the definitions of a diagram does not read,
+ * parse nor generate the icons again while nothing changed. A cached directory is evicted when any work item definition
+ * file is added, updated, renamed or deleted in it, when the directory itself (or any of its parents) is renamed or
+ * deleted, or when any of the icons its definitions refer to changes. Only the most recently used directories are kept.
+ */
 @ApplicationScoped
 @Service
 public class WorkItemDefinitionVFSLookupService
@@ -46,6 +68,15 @@ public class WorkItemDefinitionVFSLookupService
 
     private final VFSService vfsService;
     private final WorkItemDefinitionResources resources;
+    static final int MAX_CACHED_DIRECTORIES = 32;
+    private final Map<String, CachedDefinitions> cache = Collections.synchronizedMap(
+            new LinkedHashMap<String, CachedDefinitions>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<String, CachedDefinitions> eldest) {
+                    return size() > MAX_CACHED_DIRECTORIES;
+                }
+            });
+    private final AtomicLong evictions = new AtomicLong();
 
     // CDI proxy.
     protected WorkItemDefinitionVFSLookupService() {
@@ -74,33 +105,147 @@ public class WorkItemDefinitionVFSLookupService
 
     public Collection<WorkItemDefinition> search(final Metadata metadata,
                                                  final Path root) {
+        final String key = directoryOf(root.toURI());
+        final CachedDefinitions cached = cache.get(key);
+        if (null != cached) {
+            return new ArrayList<>(cached.definitions);
+        }
+        final long evictionsBefore = evictions.get();
+        final Set<String> icons = new HashSet<>();
         final DirectoryStream<Path> files =
                 vfsService.newDirectoryStream(root,
                                               WorkItemDefinitionVFSLookupService::isWorkItemPathValid);
-        return StreamSupport.stream(files.spliterator(),
-                                    false)
-                .flatMap(resource -> get(metadata, resource).stream())
-                .collect(Collectors.toList());
+        final Collection<WorkItemDefinition> definitions =
+                StreamSupport.stream(files.spliterator(),
+                                     false)
+                        .flatMap(resource -> get(metadata, resource, icons).stream())
+                        .collect(Collectors.toList());
+        // Empty directories are not cached, as the deployment of the default definitions happens right after.
+        // Neither are results computed while some resource changed, those could be stale already.
+        if (!definitions.isEmpty() && evictionsBefore == evictions.get()) {
+            cache.put(key,
+                      new CachedDefinitions(definitions,
+                                            icons));
+        }
+        return new ArrayList<>(definitions);
     }
 
     public Collection<WorkItemDefinition> get(final Metadata metadata,
                                               final Path resource) {
+        return get(metadata,
+                   resource,
+                   new HashSet<>());
+    }
+
+    public void onResourceAdded(@Observes final ResourceAddedEvent event) {
+        evict(event.getPath());
+    }
+
+    public void onResourceUpdated(@Observes final ResourceUpdatedEvent event) {
+        evict(event.getPath());
+    }
+
+    public void onResourceDeleted(@Observes final ResourceDeletedEvent event) {
+        evict(event.getPath());
+    }
+
+    public void onResourceRenamed(@Observes final ResourceRenamedEvent event) {
+        evict(event.getPath());
+        evict(event.getDestinationPath());
+    }
+
+    public void onBatchResourceChanges(@Observes final ResourceBatchChangesEvent event) {
+        for (final Map.Entry<Path, Collection<ResourceChange>> entry : event.getBatch().entrySet()) {
+            evict(entry.getKey());
+            for (final ResourceChange change : entry.getValue()) {
+                if (change instanceof ResourceRenamed) {
+                    evict(((ResourceRenamed) change).getDestinationPath());
+                }
+            }
+        }
+    }
+
+    private Collection<WorkItemDefinition> get(final Metadata metadata,
+                                               final Path resource,
+                                               final Set<String> icons) {
         final String content = vfsService.readAllString(resource);
         try {
 
             return parse(content,
                          wid -> resource.toURI(),
-                         icon -> resources.generateIconDataURI(metadata,
-                                                               resource,
-                                                               icon));
+                         icon -> {
+                             icons.add(icon.toLowerCase());
+                             return resources.generateIconDataURI(metadata,
+                                                                  resource,
+                                                                  icon);
+                         });
         } catch (Exception e) {
             LOG.error("Error parsing work item definitions for path [" + resource + "]", e);
             return Collections.emptyList();
         }
     }
 
+    void evict(final Path path) {
+        if (null == path || null == path.getFileName() || cache.isEmpty()) {
+            return;
+        }
+        final String fileName = path.getFileName().toLowerCase();
+        if (WorkItemDefinitionResources.isWorkItemDefinition(fileName)) {
+            evictions.incrementAndGet();
+            cache.remove(directoryOf(parentOf(path.toURI())));
+            return;
+        }
+        synchronized (cache) {
+            final String directory = null != path.toURI() ? directoryOf(path.toURI()) : null;
+            if (cache.entrySet().stream().anyMatch(entry -> isEvicted(entry, directory, fileName))) {
+                evictions.incrementAndGet();
+                cache.entrySet().removeIf(entry -> isEvicted(entry, directory, fileName));
+            }
+        }
+    }
+
+    int size() {
+        return cache.size();
+    }
+
+    private static boolean isEvicted(final Map.Entry<String, CachedDefinitions> entry,
+                                     final String directory,
+                                     final String fileName) {
+        return isSameOrChildOf(entry.getKey(), directory) || entry.getValue().isUsingIcon(fileName);
+    }
+
+    private static boolean isSameOrChildOf(final String key,
+                                           final String directory) {
+        return null != directory && (key.equals(directory) || key.startsWith(directory + "/"));
+    }
+
+    private static String parentOf(final String uri) {
+        final int index = uri.lastIndexOf('/');
+        return index > 0 ? uri.substring(0, index) : uri;
+    }
+
+    private static String directoryOf(final String uri) {
+        return uri.endsWith("/") ? uri.substring(0, uri.length() - 1) : uri;
+    }
+
     private static boolean isWorkItemPathValid(final Path path) {
         return WorkItemDefinitionResources.isWorkItemDefinition(path) &&
                 !WorkItemDefinitionResources.isHidden(path);
     }
+
+    private static class CachedDefinitions {
+
+        private final Collection<WorkItemDefinition> definitions;
+        private final Set<String> icons;
+
+        private CachedDefinitions(final Collection<WorkItemDefinition> definitions,
+                                  final Set<String> icons) {
+            this.definitions = definitions;
+            this.icons = icons;
+        }
+
+        private boolean isUsingIcon(final String fileName) {
+            return icons.stream().anyMatch(icon -> icon.equals(fileName) || icon.endsWith("/" + fileName));
+        }
+    }
 }
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.bpmn.backend.converters.tostunner;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.stunner.bpmn.definition.BPMNDiagramImpl;
+import org.kie.workbench.common.stunner.bpmn.definition.BPMNViewDefinition;
+import org.kie.workbench.common.stunner.bpmn.definition.EmbeddedSubprocess;
+import org.kie.workbench.common.stunner.core.graph.Edge;
+import org.kie.workbench.common.stunner.core.graph.Graph;
+import org.kie.workbench.common.stunner.core.graph.Node;
+import org.kie.workbench.common.stunner.core.graph.content.Bounds;
+import org.kie.workbench.common.stunner.core.graph.content.definition.DefinitionSet;
+import org.kie.workbench.common.stunner.core.graph.content.relationship.Child;
+import org.kie.workbench.common.stunner.core.graph.content.view.View;
+import org.kie.workbench.common.stunner.core.graph.impl.GraphImpl;
+import org.kie.workbench.common.stunner.core.graph.store.GraphNodeStoreImpl;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.kie.workbench.common.stunner.bpmn.backend.converters.tostunner.GraphBuilderTest.mockBpmnNode;
+import static org.kie.workbench.common.stunner.bpmn.backend.converters.tostunner.GraphBuilderTest.mockNode;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class BulkGraphBuilderTest {
+
+    private static final String DIAGRAM_UUID = "DIAGRAM_UUID";
+    private static final String SUBPROCESS1_ID = "SUBPROCESS1_ID";
+    private static final String SUBPROCESS2_ID = "SUBPROCESS2_ID";
+
+    private Graph<DefinitionSet, Node> graph;
+
+    private BulkGraphBuilder graphBuilder;
+
+    @Before
+    public void setUp() {
+        graph = new GraphImpl<>(DIAGRAM_UUID, new GraphNodeStoreImpl());
+        graphBuilder = new BulkGraphBuilder(graph);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testBuildGraph() {
+        Node<? extends View<? extends BPMNViewDefinition>, ?> rootDiagram = mockNode(mock(BPMNDiagramImpl.class), 0, 0, 1000, 1000);
+        when(rootDiagram.getUUID()).thenReturn(DIAGRAM_UUID);
+        List<Edge> rootOutEdges = new ArrayList<>();
+        when(rootDiagram.getOutEdges()).thenReturn((List) rootOutEdges);
+        BpmnNode rootNode = mockBpmnNode(rootDiagram);
+
+        Node<? extends View<? extends BPMNViewDefinition>, ?> subprocess1 = mockNode(mock(EmbeddedSubprocess.class), 10, 10, 100, 200);
+        when(subprocess1.getUUID()).thenReturn(SUBPROCESS1_ID);
+        List<Edge> subprocess1InEdges = new ArrayList<>();
+        when(subprocess1.getInEdges()).thenReturn((List) subprocess1InEdges);
+        when(subprocess1.getOutEdges()).thenReturn((List) new ArrayList<Edge>());
+        BpmnNode subprocess1Node = mockBpmnNode(subprocess1);
+
+        //absolute coordinates in eclipse model
+        Node<? extends View<? extends BPMNViewDefinition>, ?> subprocess2 = mockNode(mock(EmbeddedSubprocess.class), 30, 30, 70, 170);
+        when(subprocess2.getUUID()).thenReturn(SUBPROCESS2_ID);
+        when(subprocess2.getInEdges()).thenReturn((List) new ArrayList<Edge>());
+        BpmnNode subprocess2Node = mockBpmnNode(subprocess2);
+
+        subprocess1Node.setParent(rootNode);
+        subprocess2Node.setParent(subprocess1Node);
+        graphBuilder.render(rootNode);
+
+        assertSame(rootDiagram, graph.getNode(DIAGRAM_UUID));
+        assertSame(subprocess1, graph.getNode(SUBPROCESS1_ID));
+        assertSame(subprocess2, graph.getNode(SUBPROCESS2_ID));
+
+        assertEquals(1, rootOutEdges.size());
+        Edge childEdge = rootOutEdges.get(0);
+        assertTrue(childEdge.getContent() instanceof Child);
+        assertSame(rootDiagram, childEdge.getSourceNode());
+        assertSame(subprocess1, childEdge.getTargetNode());
+        assertEquals(Collections.singletonList(childEdge), subprocess1InEdges);
+
+        //stunner model must have the relative coordinates
+        assertNodePosition(SUBPROCESS1_ID, 10, 10);
+        assertNodePosition(SUBPROCESS2_ID, 20, 20);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void assertNodePosition(String uuid, double x, double y) {
+        Node<? extends View<? extends BPMNViewDefinition>, ?> node = graph.getNode(uuid);
+        assertNotNull(node);
+        Bounds bounds = node.getContent().getBounds();
+        assertEquals(x, bounds.getUpperLeft().getX(), 0);
+        assertEquals(y, bounds.getUpperLeft().getY(), 0);
+    }
+}
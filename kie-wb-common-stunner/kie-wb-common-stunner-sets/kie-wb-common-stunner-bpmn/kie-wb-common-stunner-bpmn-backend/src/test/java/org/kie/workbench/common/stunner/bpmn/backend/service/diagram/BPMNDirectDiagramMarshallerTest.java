@@ -17,6 +17,7 @@
 package org.kie.workbench.common.stunner.bpmn.backend.service.diagram;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
@@ -52,6 +53,7 @@ import org.kie.workbench.common.stunner.bpmn.BPMNDefinitionSet;
 import org.kie.workbench.common.stunner.bpmn.BPMNTestDefinitionFactory;
 import org.kie.workbench.common.stunner.bpmn.WorkItemDefinitionMockRegistry;
 import org.kie.workbench.common.stunner.bpmn.backend.BPMNDirectDiagramMarshaller;
+import org.kie.workbench.common.stunner.bpmn.backend.BaseDirectDiagramMarshaller;
 import org.kie.workbench.common.stunner.bpmn.backend.converters.customproperties.DeclarationList;
 import org.kie.workbench.common.stunner.bpmn.backend.converters.customproperties.ParsedAssignmentsInfo;
 import org.kie.workbench.common.stunner.bpmn.backend.converters.customproperties.VariableDeclaration;
@@ -132,8 +134,10 @@ import org.kie.workbench.common.stunner.bpmn.workitem.service.WorkItemDefinition
 import org.kie.workbench.common.stunner.core.StunnerTestingGraphAPI;
 import org.kie.workbench.common.stunner.core.backend.StunnerTestingGraphBackendAPI;
 import org.kie.workbench.common.stunner.core.backend.service.XMLEncoderDiagramMetadataMarshaller;
+import org.kie.workbench.common.stunner.core.definition.adapter.binding.BindableAdapterUtils;
 import org.kie.workbench.common.stunner.core.diagram.Diagram;
 import org.kie.workbench.common.stunner.core.diagram.Metadata;
+import org.kie.workbench.common.stunner.core.diagram.MetadataImpl;
 import org.kie.workbench.common.stunner.core.graph.Edge;
 import org.kie.workbench.common.stunner.core.graph.Element;
 import org.kie.workbench.common.stunner.core.graph.Graph;
@@ -150,6 +154,12 @@ import org.kie.workbench.common.stunner.core.graph.content.view.ViewConnector;
 import org.kie.workbench.common.stunner.core.graph.content.view.ViewConnectorImpl;
 import org.kie.workbench.common.stunner.core.graph.impl.NodeImpl;
 import org.kie.workbench.common.stunner.core.graph.util.GraphUtils;
+import org.kie.workbench.common.stunner.core.marshaller.MarshallingRequest;
+import org.kie.workbench.common.stunner.core.marshaller.MarshallingResponse;
+import org.kie.workbench.common.stunner.core.rule.RuleManager;
+import org.kie.workbench.common.stunner.core.rule.violations.DefaultRuleViolations;
+import org.kie.workbench.common.stunner.core.rule.violations.RuleViolationImpl;
+import org.kie.workbench.common.stunner.core.validation.Violation;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
@@ -162,7 +172,10 @@ import static org.junit.Assert.fail;
 import static org.kie.workbench.common.stunner.bpmn.backend.service.diagram.Assertions.assertDiagram;
 import static org.kie.workbench.common.stunner.bpmn.backend.service.diagram.Assertions.assertDocumentation;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.Silent.class)
@@ -379,6 +392,104 @@ public class BPMNDirectDiagramMarshallerTest {
 
     //END Unsupported nodes
 
+    @Test
+    public void testMarshallToOutputStream() throws Exception {
+        final Diagram<Graph, Metadata> diagram = unmarshall(BPMN_BASIC);
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        tested.marshall(diagram, outputStream);
+        assertEquals(tested.marshall(diagram),
+                     outputStream.toString("UTF-8"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testUnmarshallBulkLoad() throws Exception {
+        final Diagram<Graph, Metadata> expected = unmarshall(BPMN_TRAVELS);
+        final Diagram<Graph, Metadata> actual;
+        System.setProperty(BaseDirectDiagramMarshaller.BULK_LOAD_PROPERTY, "true");
+        try {
+            actual = unmarshall(BPMN_TRAVELS);
+        } finally {
+            System.clearProperty(BaseDirectDiagramMarshaller.BULK_LOAD_PROPERTY);
+        }
+        final Graph<?, Node> expectedGraph = expected.getGraph();
+        final Graph<?, Node> actualGraph = actual.getGraph();
+        assertEquals(describe(expectedGraph), describe(actualGraph));
+    }
+
+    @Test
+    public void testUnmarshallBulkLoadWithValidation() throws Exception {
+        final RuleManager ruleManager = stunnerAPI.getRuleManager();
+        when(ruleManager.evaluate(any(),
+                                  any())).thenReturn(new DefaultRuleViolations().addViolation(new RuleViolationImpl("bulk violation")));
+
+        final MarshallingResponse<Graph> bulkResponse = unmarshallBulk(BPMN_TRAVELS,
+                                                                       false);
+        assertEquals(MarshallingResponse.State.SUCCESS, bulkResponse.getState());
+        assertTrue(bulkResponse.getMessages().stream().noneMatch(message -> "bulk violation".equals(message.getMessage())));
+        verify(ruleManager, never()).evaluate(any(),
+                                              any());
+
+        final MarshallingResponse<Graph> validatedResponse = unmarshallBulk(BPMN_TRAVELS,
+                                                                            true);
+        assertEquals(MarshallingResponse.State.SUCCESS, validatedResponse.getState());
+        assertTrue(validatedResponse.getMessages().stream().anyMatch(message -> "bulk violation".equals(message.getMessage()) &&
+                Violation.Type.ERROR.equals(message.getViolationType())));
+        verify(ruleManager, atLeastOnce()).evaluate(any(),
+                                                    any());
+    }
+
+    private MarshallingResponse<Graph> unmarshallBulk(final String fileName,
+                                                      final boolean validate) {
+        System.setProperty(BaseDirectDiagramMarshaller.BULK_LOAD_PROPERTY, "true");
+        System.setProperty(BaseDirectDiagramMarshaller.BULK_LOAD_VALIDATE_PROPERTY, String.valueOf(validate));
+        try {
+            final Metadata metadata = new MetadataImpl.MetadataImplBuilder(BindableAdapterUtils.getDefinitionSetId(BPMNDefinitionSet.class)).build();
+            return tested.unmarshallWithValidation(MarshallingRequest.builder()
+                                                           .mode(MarshallingRequest.Mode.AUTO)
+                                                           .input(Unmarshalling.loadStream(fileName))
+                                                           .metadata(metadata)
+                                                           .build());
+        } finally {
+            System.clearProperty(BaseDirectDiagramMarshaller.BULK_LOAD_PROPERTY);
+            System.clearProperty(BaseDirectDiagramMarshaller.BULK_LOAD_VALIDATE_PROPERTY);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> describe(final Graph<?, Node> graph) {
+        final List<String> result = new ArrayList<>();
+        graph.nodes().forEach(node -> {
+            final Object content = node.getContent();
+            result.add(node.getUUID() + (content instanceof View ? " " + ((View) content).getBounds() : ""));
+            final List<Edge> outEdges = node.getOutEdges();
+            outEdges.stream()
+                    .map(edge -> node.getUUID() + " -> " + (null != edge.getTargetNode() ? edge.getTargetNode().getUUID() : null) +
+                            " " + edge.getContent().getClass().getSimpleName())
+                    .sorted()
+                    .forEach(result::add);
+        });
+        result.sort(String::compareTo);
+        return result;
+    }
+
+    @Test
+    public void testMarshallToBpmn2Definitions() throws Exception {
+        final Diagram<Graph, Metadata> diagram = unmarshall(BPMN_BASIC);
+        final Definitions definitions = tested.marshallToBpmn2Definitions(diagram);
+        assertNotNull(definitions.eResource());
+        final Process process = (Process) definitions.getRootElements().stream()
+                .filter(element -> element instanceof Process)
+                .findFirst()
+                .get();
+        assertEquals("Basic process",
+                     process.getName());
+        assertNotNull(process.getFlowElements().stream()
+                              .filter(element -> "810797AB-7D09-4E1F-8A5B-96C424E4B031".equals(element.getId()))
+                              .findFirst()
+                              .orElse(null));
+    }
+
     // 4 nodes expected: BPMNDiagram, StartNode, Task and EndNode
     @Test
     @SuppressWarnings("unchecked")
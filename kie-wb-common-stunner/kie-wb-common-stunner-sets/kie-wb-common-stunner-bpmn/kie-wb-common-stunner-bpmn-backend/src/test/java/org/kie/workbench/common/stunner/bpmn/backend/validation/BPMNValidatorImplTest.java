@@ -18,7 +18,9 @@ package org.kie.workbench.common.stunner.bpmn.backend.validation;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 import org.apache.commons.io.IOUtils;
 import org.junit.Before;
@@ -39,6 +41,11 @@ import org.mockito.junit.MockitoJUnitRunner;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -147,6 +154,23 @@ public class BPMNValidatorImplTest {
         });
     }
 
+    @Test
+    public void validateCachedByContent() {
+        final BPMNValidatorImpl validator = spy(bpmnValidador);
+        final List<Collection<DomainViolation>> results = new ArrayList<>();
+        when(diagramService.getRawContent(diagram)).thenReturn(getSerializedProcess(BPMN_VALIDATION_ISSUES));
+        validator.validate(diagram, results::add);
+        validator.validate(diagram, results::add);
+        verify(validator, times(1)).validate(anyString(), any());
+        assertEquals(results.get(0), results.get(1));
+        assertEquals(10, results.get(1).size());
+
+        when(diagramService.getRawContent(diagram)).thenReturn(getSerializedProcess(BPMN_VALID));
+        validator.validate(diagram, results::add);
+        verify(validator, times(2)).validate(anyString(), any());
+        assertTrue(results.get(2).isEmpty());
+    }
+
     @Test
     public void getDefinitionSetId() {
         assertEquals(bpmnValidador.getDefinitionSetId(), BindableAdapterUtils.getDefinitionId(BPMNDefinitionSet.class));
@@ -33,6 +33,9 @@ import org.uberfire.backend.vfs.DirectoryStream;
 import org.uberfire.backend.vfs.Path;
 import org.uberfire.backend.vfs.VFSService;
 import org.uberfire.backend.vfs.impl.DirectoryStreamImpl;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
+import org.uberfire.workbench.events.ResourceRenamedEvent;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -74,6 +77,7 @@ public class WorkItemDefinitionVFSLookupServiceTest {
                 .thenReturn(new DirectoryStreamImpl(Collections.singletonList(widPath)));
         when(vfsService.readAllString(eq(widPath))).thenReturn(emailRaw);
         when(resources.resolveResources(eq(metadata))).thenReturn(Collections.singleton(path));
+        when(path.toURI()).thenReturn("default://project/src/main/resources");
 
         this.tested = new WorkItemDefinitionVFSLookupService(vfsService,
                                                              resources);
@@ -114,4 +118,113 @@ public class WorkItemDefinitionVFSLookupServiceTest {
         WorkItemDefinition wid = result.iterator().next();
         assertEquals("Email", wid.getName());
     }
+
+    @Test
+    public void testExecuteIsCached() {
+        Collection<WorkItemDefinition> result1 = tested.execute(metadata);
+        Collection<WorkItemDefinition> result2 = tested.execute(metadata);
+
+        assertEquals(result1, result2);
+        verify(vfsService, times(1)).readAllString(eq(widPath));
+        verify(resources, times(1)).generateIconDataURI(eq(metadata), eq(widPath), eq("email.gif"));
+    }
+
+    @Test
+    public void testEvictOnWorkItemDefinitionUpdated() {
+        when(widPath.toURI()).thenReturn("default://project/src/main/resources/Email.wid");
+        when(widPath.getFileName()).thenReturn("Email.wid");
+        tested.execute(metadata);
+        tested.onResourceUpdated(new ResourceUpdatedEvent(widPath, "", null));
+        tested.execute(metadata);
+
+        verify(vfsService, times(2)).readAllString(eq(widPath));
+    }
+
+    @Test
+    public void testEvictOnIconUpdated() {
+        tested.execute(metadata);
+        tested.onResourceUpdated(new ResourceUpdatedEvent(mockPath("email.gif"), "", null));
+        tested.execute(metadata);
+
+        verify(vfsService, times(2)).readAllString(eq(widPath));
+    }
+
+    @Test
+    public void testNoEvictOnOtherResourceUpdated() {
+        tested.execute(metadata);
+        Path otherWidPath = mockPath("Email.wid");
+        when(otherWidPath.toURI()).thenReturn("default://project/other/Email.wid");
+        tested.onResourceUpdated(new ResourceUpdatedEvent(mockPath("process.bpmn"), "", null));
+        tested.onResourceUpdated(new ResourceUpdatedEvent(otherWidPath, "", null));
+        tested.execute(metadata);
+
+        verify(vfsService, times(1)).readAllString(eq(widPath));
+    }
+
+    @Test
+    public void testEvictOnDirectoryDeleted() {
+        tested.execute(metadata);
+        Path directory = mockPath("resources");
+        when(directory.toURI()).thenReturn("default://project/src/main/resources");
+        tested.onResourceDeleted(new ResourceDeletedEvent(directory, "", null));
+
+        assertEquals(0, tested.size());
+        tested.execute(metadata);
+        verify(vfsService, times(2)).readAllString(eq(widPath));
+    }
+
+    @Test
+    public void testEvictOnParentDirectoryRenamed() {
+        tested.execute(metadata);
+        Path source = mockPath("src");
+        when(source.toURI()).thenReturn("default://project/src");
+        Path destination = mockPath("source");
+        when(destination.toURI()).thenReturn("default://project/source");
+        tested.onResourceRenamed(new ResourceRenamedEvent(source, destination, "", null));
+
+        assertEquals(0, tested.size());
+    }
+
+    @Test
+    public void testNoEvictOnSiblingDirectoryDeleted() {
+        tested.execute(metadata);
+        Path sibling = mockPath("resources-old");
+        when(sibling.toURI()).thenReturn("default://project/src/main/resources-old");
+        tested.onResourceDeleted(new ResourceDeletedEvent(sibling, "", null));
+
+        assertEquals(1, tested.size());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testCacheIsBounded() {
+        tested.execute(metadata);
+        for (int i = 0; i < WorkItemDefinitionVFSLookupService.MAX_CACHED_DIRECTORIES; i++) {
+            Path root = mock(Path.class);
+            when(root.toURI()).thenReturn("default://project" + i + "/src/main/resources");
+            when(vfsService.newDirectoryStream(eq(root), any(DirectoryStream.Filter.class)))
+                    .thenReturn(new DirectoryStreamImpl(Collections.singletonList(widPath)));
+            tested.search(metadata, root);
+        }
+        assertEquals(WorkItemDefinitionVFSLookupService.MAX_CACHED_DIRECTORIES, tested.size());
+
+        // The least recently used directory has been evicted.
+        tested.execute(metadata);
+        verify(vfsService, times(WorkItemDefinitionVFSLookupService.MAX_CACHED_DIRECTORIES + 2)).readAllString(eq(widPath));
+    }
+
+    @Test
+    public void testEmptyResultIsNotCached() {
+        when(vfsService.readAllString(eq(widPath))).thenReturn("[]");
+        assertTrue(tested.execute(metadata).isEmpty());
+        assertTrue(tested.execute(metadata).isEmpty());
+
+        verify(vfsService, times(2)).readAllString(eq(widPath));
+    }
+
+    private static Path mockPath(String fileName) {
+        Path result = mock(Path.class);
+        when(result.getFileName()).thenReturn(fileName);
+        return result;
+    }
 }
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.stunner.bpmn.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Generates BPMN2 processes of any size: a start event, a chain of tasks laid out in rows and an end event, every
+ * element connected to the next one by a sequence flow.
+ */
+public class BpmnProcessGenerator {
+
+    private static final int TASKS_PER_ROW = 20;
+    private static final int TASK_WIDTH = 136;
+    private static final int TASK_HEIGHT = 48;
+    private static final int GAP = 60;
+
+    public static byte[] generate(final int tasks) {
+        final StringBuilder process = new StringBuilder();
+        final StringBuilder shapes = new StringBuilder();
+
+        process.append("<bpmn2:startEvent id=\"start\" name=\"start\">")
+                .append("<bpmn2:outgoing>flow_0</bpmn2:outgoing>")
+                .append("</bpmn2:startEvent>");
+        shape(shapes, "start", 0, TASK_HEIGHT / 2, 56, 56);
+
+        String previous = "start";
+        int[] previousCenter = {28, TASK_HEIGHT / 2 + 28};
+        for (int i = 0; i < tasks; i++) {
+            final String id = "task_" + i;
+            final int x = 100 + (i % TASKS_PER_ROW) * (TASK_WIDTH + GAP);
+            final int y = (i / TASKS_PER_ROW) * (TASK_HEIGHT + GAP);
+            process.append("<bpmn2:task id=\"").append(id).append("\" name=\"Task ").append(i).append("\">")
+                    .append("<bpmn2:incoming>flow_").append(i).append("</bpmn2:incoming>")
+                    .append("<bpmn2:outgoing>flow_").append(i + 1).append("</bpmn2:outgoing>")
+                    .append("</bpmn2:task>");
+            shape(shapes, id, x, y, TASK_WIDTH, TASK_HEIGHT);
+            final int[] center = {x + TASK_WIDTH / 2, y + TASK_HEIGHT / 2};
+            sequenceFlow(process, shapes, "flow_" + i, previous, id, previousCenter, center);
+            previous = id;
+            previousCenter = center;
+        }
+
+        final int endX = 100 + (tasks % TASKS_PER_ROW) * (TASK_WIDTH + GAP);
+        final int endY = (tasks / TASKS_PER_ROW) * (TASK_HEIGHT + GAP);
+        process.append("<bpmn2:endEvent id=\"end\" name=\"end\">")
+                .append("<bpmn2:incoming>flow_").append(tasks).append("</bpmn2:incoming>")
+                .append("</bpmn2:endEvent>");
+        shape(shapes, "end", endX, endY, 56, 56);
+        sequenceFlow(process, shapes, "flow_" + tasks, previous, "end", previousCenter, new int[]{endX + 28, endY + 28});
+
+        final String xml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>" +
+                "<bpmn2:definitions xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"" +
+                " xmlns:bpmn2=\"http://www.omg.org/spec/BPMN/20100524/MODEL\"" +
+                " xmlns:bpmndi=\"http://www.omg.org/spec/BPMN/20100524/DI\"" +
+                " xmlns:dc=\"http://www.omg.org/spec/DD/20100524/DC\"" +
+                " xmlns:di=\"http://www.omg.org/spec/DD/20100524/DI\"" +
+                " xmlns:drools=\"http://www.jboss.org/drools\"" +
+                " id=\"generated\" exporter=\"jBPM Process Modeler\" exporterVersion=\"2.0\"" +
+                " targetNamespace=\"http://www.omg.org/bpmn20\">" +
+                "<bpmn2:process id=\"generated.process\" drools:packageName=\"com.example\" drools:version=\"1.0\"" +
+                " name=\"generated\" isExecutable=\"true\">" +
+                process +
+                "</bpmn2:process>" +
+                "<bpmndi:BPMNDiagram id=\"generated.diagram\">" +
+                "<bpmndi:BPMNPlane id=\"generated.plane\" bpmnElement=\"generated.process\">" +
+                shapes +
+                "</bpmndi:BPMNPlane>" +
+                "</bpmndi:BPMNDiagram>" +
+                "</bpmn2:definitions>";
+        return xml.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void shape(final StringBuilder shapes,
+                              final String id,
+                              final int x,
+                              final int y,
+                              final int width,
+                              final int height) {
+        shapes.append("<bpmndi:BPMNShape id=\"shape_").append(id).append("\" bpmnElement=\"").append(id).append("\">")
+                .append("<dc:Bounds height=\"").append(height).append("\" width=\"").append(width)
+                .append("\" x=\"").append(x).append("\" y=\"").append(y).append("\"/>")
+                .append("</bpmndi:BPMNShape>");
+    }
+
+    private static void sequenceFlow(final StringBuilder process,
+                                     final StringBuilder shapes,
+                                     final String id,
+                                     final String source,
+                                     final String target,
+                                     final int[] sourcePoint,
+                                     final int[] targetPoint) {
+        process.append("<bpmn2:sequenceFlow id=\"").append(id)
+                .append("\" sourceRef=\"").append(source)
+                .append("\" targetRef=\"").append(target).append("\"/>");
+        shapes.append("<bpmndi:BPMNEdge id=\"edge_").append(id).append("\" bpmnElement=\"").append(id).append("\">")
+                .append("<di:waypoint x=\"").append(sourcePoint[0]).append("\" y=\"").append(sourcePoint[1]).append("\"/>")
+                .append("<di:waypoint x=\"").append(targetPoint[0]).append("\" y=\"").append(targetPoint[1]).append("\"/>")
+                .append("</bpmndi:BPMNEdge>");
+    }
+}
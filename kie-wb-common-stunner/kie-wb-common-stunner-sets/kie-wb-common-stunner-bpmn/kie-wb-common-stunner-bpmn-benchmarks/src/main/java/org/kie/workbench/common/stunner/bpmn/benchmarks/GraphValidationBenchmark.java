@@ -0,0 +1,140 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.stunner.bpmn.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.kie.workbench.common.stunner.bpmn.BPMNDefinitionSet;
+import org.kie.workbench.common.stunner.bpmn.BPMNTestDefinitionFactory;
+import org.kie.workbench.common.stunner.bpmn.backend.BPMNDirectDiagramMarshaller;
+import org.kie.workbench.common.stunner.bpmn.backend.BaseDirectDiagramMarshaller;
+import org.kie.workbench.common.stunner.bpmn.backend.converters.tostunner.processes.DataTypeCacheServer;
+import org.kie.workbench.common.stunner.bpmn.workitem.service.WorkItemDefinitionLookupService;
+import org.kie.workbench.common.stunner.core.backend.StunnerTestingGraphBackendAPI;
+import org.kie.workbench.common.stunner.core.backend.service.XMLEncoderDiagramMetadataMarshaller;
+import org.kie.workbench.common.stunner.core.backend.validation.ParallelGraphValidator;
+import org.kie.workbench.common.stunner.core.definition.adapter.binding.BindableAdapterUtils;
+import org.kie.workbench.common.stunner.core.diagram.Metadata;
+import org.kie.workbench.common.stunner.core.diagram.MetadataImpl;
+import org.kie.workbench.common.stunner.core.graph.Graph;
+import org.kie.workbench.common.stunner.core.graph.processing.traverse.tree.TreeWalkTraverseProcessorImpl;
+import org.kie.workbench.common.stunner.core.marshaller.MarshallingRequest;
+import org.kie.workbench.common.stunner.core.marshaller.MarshallingResponse;
+import org.kie.workbench.common.stunner.core.rule.RuleViolation;
+import org.kie.workbench.common.stunner.core.validation.impl.GraphValidatorImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Validation of the whole graph of generated BPMN processes, walking the graph tree sequentially or evaluating
+ * its elements in parallel.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GraphValidationBenchmark {
+
+    /**
+     * Tasks of the generated process
+     */
+    @Param({"100", "1000", "5000"})
+    public int tasks;
+
+    /**
+     * The graph validator: sequential tree walk or parallel
+     */
+    @Param({"sequential", "parallel"})
+    public String validator;
+
+    private GraphValidatorImpl graphValidator;
+    private Graph graph;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        // The graph is just built, the validation is the measured part.
+        System.setProperty(BaseDirectDiagramMarshaller.BULK_LOAD_PROPERTY, "true");
+
+        final WorkItemDefinitionLookupService widService = mock(WorkItemDefinitionLookupService.class);
+        when(widService.execute(any(Metadata.class))).thenReturn(Collections.emptyList());
+        final StunnerTestingGraphBackendAPI api = StunnerTestingGraphBackendAPI.build(BPMNDefinitionSet.class,
+                                                                                      new BPMNTestDefinitionFactory());
+        final BPMNDirectDiagramMarshaller marshaller = new BPMNDirectDiagramMarshaller(new XMLEncoderDiagramMetadataMarshaller(),
+                                                                                       api.getDefinitionManager(),
+                                                                                       api.getRuleManager(),
+                                                                                       widService,
+                                                                                       api.getFactoryManager(),
+                                                                                       api.commandFactory,
+                                                                                       api.commandManager,
+                                                                                       mock(DataTypeCacheServer.class));
+        final Metadata metadata = new MetadataImpl.MetadataImplBuilder(BindableAdapterUtils.getDefinitionSetId(BPMNDefinitionSet.class)).build();
+        final MarshallingResponse<Graph> response =
+                marshaller.unmarshallWithValidation(MarshallingRequest.builder()
+                                                            .mode(MarshallingRequest.Mode.AUTO)
+                                                            .input(new ByteArrayInputStream(BpmnProcessGenerator.generate(tasks)))
+                                                            .metadata(metadata)
+                                                            .build());
+        if (!response.isSuccess()) {
+            throw new IllegalStateException("Benchmark unmarshalling failed: " + response.getMessages());
+        }
+        graph = response.getResult();
+
+        graphValidator = "parallel".equals(validator) ?
+                new ParallelGraphValidator(api.getDefinitionManager(),
+                                           api.getRuleManager(),
+                                           new TreeWalkTraverseProcessorImpl()) :
+                new GraphValidatorImpl(api.getDefinitionManager(),
+                                       api.getRuleManager(),
+                                       new TreeWalkTraverseProcessorImpl());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.clearProperty(BaseDirectDiagramMarshaller.BULK_LOAD_PROPERTY);
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public Collection<RuleViolation> validate() {
+        final List<RuleViolation> violations = new ArrayList<>();
+        graphValidator.validate(graph,
+                                violations::addAll);
+        return violations;
+    }
+}
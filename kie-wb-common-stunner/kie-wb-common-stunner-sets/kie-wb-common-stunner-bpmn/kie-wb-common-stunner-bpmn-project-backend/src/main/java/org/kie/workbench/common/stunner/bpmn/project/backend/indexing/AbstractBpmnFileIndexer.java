@@ -15,10 +15,13 @@
  */
 package org.kie.workbench.common.stunner.bpmn.project.backend.indexing;
 
+import java.io.InputStream;
 import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.ServiceLoader;
 
 import javax.inject.Inject;
 
@@ -32,6 +35,8 @@ import org.guvnor.common.services.project.model.Package;
 import org.jbpm.bpmn2.xml.BPMNDISemanticModule;
 import org.jbpm.bpmn2.xml.BPMNExtensionsSemanticModule;
 import org.jbpm.bpmn2.xml.BPMNSemanticModule;
+import org.jbpm.compiler.xml.ProcessDataEventListener;
+import org.jbpm.compiler.xml.ProcessDataEventListenerProvider;
 import org.jbpm.compiler.xml.XmlProcessReader;
 import org.jbpm.process.core.validation.ProcessValidationError;
 import org.jbpm.process.core.validation.ProcessValidator;
@@ -56,6 +61,12 @@ public abstract class AbstractBpmnFileIndexer extends AbstractFileIndexer {
 
     private static final Logger logger = LoggerFactory.getLogger(AbstractBpmnFileIndexer.class);
 
+    /**
+     * Indexes the processes by building them with jBPM, which requires the module class loader, instead of just
+     * extracting the index information from the documents, see {@link BpmnProcessMetadataExtractor}.
+     */
+    public static final String FULL_BUILD_PROPERTY = "org.kie.stunner.bpmn.indexer.fullBuild";
+
     private static final SemanticModules modules = new SemanticModules();
 
     static {
@@ -67,6 +78,8 @@ public abstract class AbstractBpmnFileIndexer extends AbstractFileIndexer {
     @Inject
     protected ModuleClassLoaderHelper classLoaderHelper;
 
+    private volatile AbstractBpmnProcessDataEventListener processDataEventListener;
+
     /* (non-Javadoc)
      * @see org.kie.workbench.common.services.refactoring.backend.server.indexing.AbstractFileIndexer#fillIndexBuilder(org.uberfire.java.nio.file.Path)
      */
@@ -81,6 +94,48 @@ public abstract class AbstractBpmnFileIndexer extends AbstractFileIndexer {
         // responsible for basic index info: module name, branch, etc
         final DefaultIndexBuilder builder = getIndexBuilder(path,
                                                             module);
+        if (Boolean.getBoolean(FULL_BUILD_PROPERTY)) {
+            fillIndexBuilderFromProcessBuild(path,
+                                             module,
+                                             builder);
+        } else {
+            fillIndexBuilderFromProcessMetadata(path,
+                                                builder);
+        }
+        return builder;
+    }
+
+    private void fillIndexBuilderFromProcessMetadata(final Path path,
+                                                     final DefaultIndexBuilder builder) {
+        final Optional<AbstractBpmnProcessDataEventListener> processDescriptor = getProcessDataEventListener();
+        if (!processDescriptor.isPresent()) {
+            logger.error("Unable to index " + path.toUri() + ": no process data listener named " + getProcessDescriptorName() + ".");
+            return;
+        }
+        final BpmnProcessMetadataExtractor extractor = new BpmnProcessMetadataExtractor(processDescriptor.get().getProcessIdResourceType(),
+                                                                                        processDescriptor.get().getProcessNameResourceType());
+        List<BpmnProcessMetadataExtractor.ProcessMetadata> processes = Collections.emptyList();
+        try (final InputStream inputStream = ioService.newInputStream(path)) {
+            processes = extractor.extract(inputStream);
+        } catch (Exception e) {
+            logger.info("Unable to index because BPMN2 parsing failed [" + path.toString() + "]: " + e.getMessage());
+        }
+
+        if (processes.isEmpty()) {
+            logger.warn("No process was found in file: " + path.toUri());
+        }
+        for (BpmnProcessMetadataExtractor.ProcessMetadata process : processes) {
+            addReferencedResourcesToIndexBuilder(builder,
+                                                 process);
+            if (process.getPackageName() != null) {
+                builder.setPackageName(process.getPackageName());
+            }
+        }
+    }
+
+    private void fillIndexBuilderFromProcessBuild(final Path path,
+                                                  final KieModule module,
+                                                  final DefaultIndexBuilder builder) {
         String bpmnStr = ioService.readAllString(path);
         ClassLoader moduleClassLoader = getModuleClassLoader(module);
 
@@ -153,8 +208,6 @@ public abstract class AbstractBpmnFileIndexer extends AbstractFileIndexer {
         } else {
             logger.warn("No process was found in file: " + path.toUri());
         }
-
-        return builder;
     }
 
     // Protected method for testing
@@ -219,4 +272,22 @@ public abstract class AbstractBpmnFileIndexer extends AbstractFileIndexer {
     }
 
     protected abstract String getProcessDescriptorName();
+
+    /**
+     * Returns the process data listener which the process build stores under the process descriptor name, so the
+     * processes are indexed with its resource types whether they are built or not.
+     */
+    Optional<AbstractBpmnProcessDataEventListener> getProcessDataEventListener() {
+        if (processDataEventListener == null) {
+            for (final ProcessDataEventListenerProvider provider : ServiceLoader.load(ProcessDataEventListenerProvider.class)) {
+                final ProcessDataEventListener listener = provider.newInstance();
+                if (listener instanceof AbstractBpmnProcessDataEventListener &&
+                        getProcessDescriptorName().equals(((AbstractBpmnProcessDataEventListener) listener).getProcessDescriptorName())) {
+                    processDataEventListener = (AbstractBpmnProcessDataEventListener) listener;
+                    break;
+                }
+            }
+        }
+        return Optional.ofNullable(processDataEventListener);
+    }
 }
@@ -0,0 +1,269 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.stunner.bpmn.project.backend.indexing;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.apache.commons.lang3.StringUtils;
+import org.kie.workbench.common.services.refactoring.Resource;
+import org.kie.workbench.common.services.refactoring.backend.server.impact.ResourceReferenceCollector;
+import org.kie.workbench.common.services.refactoring.service.PartType;
+import org.kie.workbench.common.services.refactoring.service.ResourceType;
+
+/**
+ * Extracts the index information of BPMN2 processes by streaming the document, without building the processes.
+ * <p>
+ * It collects the same index elements as the {@link AbstractBpmnProcessDataEventListener} does when the process is
+ * built by jBPM: the process id and name, the process variables, the called sub-processes, the rule flow groups,
+ * the task names, the globals, and the signals and messages the process references. Just the elements and
+ * attributes holding them are read, so neither the module class loader nor the compilation of the process (scripts, data types) is required.
+ */
+public class BpmnProcessMetadataExtractor {
+
+    static final String DROOLS_NAMESPACE = "http://www.jboss.org/drools";
+
+    // The names jBPM gives to the work of the built-in tasks.
+    static final String HUMAN_TASK_NAME = "Human Task";
+    static final String SERVICE_TASK_NAME = "Service Task";
+    static final String SEND_TASK_NAME = "Send Task";
+    static final String RECEIVE_TASK_NAME = "Receive Task";
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = newXMLInputFactory();
+
+    private final ResourceType processIdResourceType;
+    private final ResourceType processNameResourceType;
+
+    public BpmnProcessMetadataExtractor(final ResourceType processIdResourceType,
+                                        final ResourceType processNameResourceType) {
+        this.processIdResourceType = processIdResourceType;
+        this.processNameResourceType = processNameResourceType;
+    }
+
+    /**
+     * Extracts the index information for each of the processes in the document.
+     */
+    public List<ProcessMetadata> extract(final InputStream inputStream) throws XMLStreamException {
+        final List<ProcessMetadata> processes = new ArrayList<>();
+        // Signals and messages are defined at the root level, maybe after the processes referencing them.
+        final Map<String, String> signalNames = new HashMap<>();
+        final Set<String> messages = new LinkedHashSet<>();
+
+        final XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(inputStream);
+        try {
+            ProcessMetadata current = null;
+            int processDepth = 0;
+            while (reader.hasNext()) {
+                final int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    final String element = reader.getLocalName();
+                    if (null != current) {
+                        processDepth++;
+                        current.onElement(reader,
+                                          element,
+                                          processDepth);
+                    } else if ("process".equals(element)) {
+                        current = new ProcessMetadata(reader.getAttributeValue(null, "id"),
+                                                      reader.getAttributeValue(null, "name"),
+                                                      getDroolsAttribute(reader, "packageName"));
+                        processes.add(current);
+                        processDepth = 0;
+                    } else if ("signal".equals(element)) {
+                        final String id = reader.getAttributeValue(null, "id");
+                        final String name = reader.getAttributeValue(null, "name");
+                        if (null != id) {
+                            signalNames.put(id, StringUtils.isEmpty(name) ? id : name);
+                        }
+                    } else if ("message".equals(element)) {
+                        final String id = reader.getAttributeValue(null, "id");
+                        if (null != id) {
+                            messages.add(id);
+                        }
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT && null != current) {
+                    if (processDepth == 0) {
+                        current = null;
+                    } else {
+                        processDepth--;
+                    }
+                }
+            }
+        } finally {
+            reader.close();
+        }
+
+        for (final ProcessMetadata process : processes) {
+            process.complete(signalNames,
+                             messages);
+        }
+        return processes;
+    }
+
+    private static String getDroolsAttribute(final XMLStreamReader reader,
+                                             final String name) {
+        final String value = reader.getAttributeValue(DROOLS_NAMESPACE, name);
+        return null != value ? value : reader.getAttributeValue(null, name);
+    }
+
+    private static XMLInputFactory newXMLInputFactory() {
+        final XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    /**
+     * The index information of a single process.
+     */
+    public class ProcessMetadata extends ResourceReferenceCollector {
+
+        private final String packageName;
+        private final Resource resource;
+        private final Set<String> variables = new HashSet<>();
+        private final Set<String> signalRefs = new LinkedHashSet<>();
+        private final Set<String> messageRefs = new LinkedHashSet<>();
+
+        private ProcessMetadata(final String id,
+                                final String name,
+                                final String packageName) {
+            this.packageName = StringUtils.isEmpty(packageName) ? null : packageName;
+            this.resource = addResource(id,
+                                        processIdResourceType);
+            if (null != name) {
+                addResource(name,
+                            processNameResourceType);
+            }
+        }
+
+        /**
+         * The package of the process, if declared.
+         */
+        public String getPackageName() {
+            return packageName;
+        }
+
+        /**
+         * @param depth The depth of the element in the process, 1 for its direct children.
+         */
+        private void onElement(final XMLStreamReader reader,
+                               final String element,
+                               final int depth) {
+            switch (element) {
+                case "property":
+                    // The properties of the sub-processes are not process variables.
+                    final String variable = reader.getAttributeValue(null, "id");
+                    if (depth == 1 && null != variable && variables.add(variable)) {
+                        resource.addPart(variable,
+                                         PartType.VARIABLE);
+                    }
+                    break;
+                case "businessRuleTask":
+                    addSharedReference(getDroolsAttribute(reader, "ruleFlowGroup"),
+                                       PartType.RULEFLOW_GROUP);
+                    break;
+                case "task":
+                    addSharedReference(getDroolsAttribute(reader, "taskName"),
+                                       PartType.TASK_NAME);
+                    break;
+                case "userTask":
+                    addSharedReference(HUMAN_TASK_NAME,
+                                       PartType.TASK_NAME);
+                    break;
+                case "serviceTask":
+                    addSharedReference(SERVICE_TASK_NAME,
+                                       PartType.TASK_NAME);
+                    break;
+                case "sendTask":
+                    addSharedReference(SEND_TASK_NAME,
+                                       PartType.TASK_NAME);
+                    addMessageRef(reader);
+                    break;
+                case "receiveTask":
+                    addSharedReference(RECEIVE_TASK_NAME,
+                                       PartType.TASK_NAME);
+                    addMessageRef(reader);
+                    break;
+                case "callActivity":
+                    final String processId = reader.getAttributeValue(null, "calledElement");
+                    if (!StringUtils.isEmpty(processId)) {
+                        addResourceReference(processId,
+                                             processIdResourceType);
+                    }
+                    final String processName = getDroolsAttribute(reader, "calledElementByName");
+                    if (!StringUtils.isEmpty(processName)) {
+                        addResourceReference(processName,
+                                             processNameResourceType);
+                    }
+                    break;
+                case "global":
+                    addSharedReference(reader.getAttributeValue(null, "identifier"),
+                                       PartType.GLOBAL);
+                    break;
+                case "signalEventDefinition":
+                    final String signalRef = reader.getAttributeValue(null, "signalRef");
+                    if (!StringUtils.isEmpty(signalRef)) {
+                        signalRefs.add(signalRef);
+                    }
+                    break;
+                case "messageEventDefinition":
+                    addMessageRef(reader);
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private void addMessageRef(final XMLStreamReader reader) {
+            final String messageRef = reader.getAttributeValue(null, "messageRef");
+            if (!StringUtils.isEmpty(messageRef)) {
+                messageRefs.add(messageRef);
+            }
+        }
+
+        private void complete(final Map<String, String> signalNames,
+                              final Set<String> messages) {
+            // As jBPM does, the signal references are resolved to the name of the signal, if defined.
+            signalRefs.forEach(signalRef -> addSharedReference(signalNames.getOrDefault(signalRef, signalRef),
+                                                               PartType.SIGNAL));
+            // Just the messages defined in the document and referenced by this process.
+            messageRefs.stream()
+                    .filter(messages::contains)
+                    .forEach(message -> addSharedReference(message,
+                                                           PartType.SIGNAL));
+        }
+
+        @Override
+        public void addSharedReference(final String partName,
+                                       final PartType partType) {
+            if (!StringUtils.isEmpty(partName)) {
+                super.addSharedReference(partName,
+                                         partType);
+            }
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.bpmn.project.backend.indexing;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+import org.guvnor.common.services.project.model.Package;
+import org.jbpm.compiler.xml.ProcessDataEventListenerProvider;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueResourceIndexTerm;
+import org.kie.workbench.common.services.refactoring.service.ResourceType;
+import org.kie.workbench.common.services.shared.project.KieModule;
+import org.kie.workbench.common.services.shared.project.KieModuleService;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.uberfire.backend.server.util.Paths;
+import org.uberfire.backend.vfs.PathFactory;
+import org.uberfire.ext.metadata.model.KProperty;
+import org.uberfire.io.IOService;
+import org.uberfire.java.nio.file.Path;
+
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AbstractBpmnFileIndexerTest {
+
+    private static final String CASE_DEFINITION = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>" +
+            "<bpmn2:definitions xmlns:bpmn2=\"http://www.omg.org/spec/BPMN/20100524/MODEL\" id=\"_defs\">" +
+            "<bpmn2:process id=\"project.claim\" name=\"claim\"/>" +
+            "</bpmn2:definitions>";
+
+    @Mock
+    private IOService ioService;
+
+    @Mock
+    private KieModuleService moduleService;
+
+    @Mock
+    private KieModule module;
+
+    @Mock
+    private Package pkg;
+
+    private CaseFileIndexer tested;
+
+    @Before
+    public void setUp() {
+        tested = new CaseFileIndexer(ioService,
+                                     moduleService);
+    }
+
+    @Test
+    public void testProcessDataEventListenerOfTheDescriptor() {
+        assertTrue(tested.getProcessDataEventListener().get() instanceof CaseProcessDataEventListener);
+        assertTrue(new BpmnFileIndexer().getProcessDataEventListener().get() instanceof BpmnProcessDataEventListener);
+    }
+
+    @Test
+    public void testIndexWithTheResourceTypesOfTheDescriptor() throws Exception {
+        final Path path = Paths.convert(PathFactory.newPath("claim.bpmn",
+                                                            "file:///claim.bpmn"));
+        when(moduleService.resolveModule(any())).thenReturn(module);
+        when(moduleService.resolvePackage(any())).thenReturn(pkg);
+        when(ioService.newInputStream(path)).thenReturn(new ByteArrayInputStream(CASE_DEFINITION.getBytes(StandardCharsets.UTF_8)));
+
+        final Set<KProperty<?>> indexElements = tested.fillIndexBuilder(path).build();
+
+        assertTrue(contains(indexElements, new ValueResourceIndexTerm("project.claim", ResourceType.BPMN_CM)));
+        assertTrue(contains(indexElements, new ValueResourceIndexTerm("claim", ResourceType.BPMN_CM_NAME)));
+    }
+
+    private static boolean contains(final Set<KProperty<?>> indexElements,
+                                    final ValueResourceIndexTerm term) {
+        return indexElements.stream()
+                .anyMatch(element -> term.getTerm().equals(element.getName()) && term.getValue().equals(element.getValue()));
+    }
+
+    private static class CaseFileIndexer extends AbstractBpmnFileIndexer {
+
+        private CaseFileIndexer(final IOService ioService,
+                                final KieModuleService moduleService) {
+            this.ioService = ioService;
+            this.moduleService = moduleService;
+        }
+
+        @Override
+        public boolean supportsPath(final Path path) {
+            return true;
+        }
+
+        @Override
+        protected String getProcessDescriptorName() {
+            return CaseProcessDataEventListener.NAME;
+        }
+    }
+
+    public static class CaseProcessDataEventListener extends AbstractBpmnProcessDataEventListener {
+
+        static final String NAME = "CaseProcessInfoCollector";
+
+        @Override
+        protected String getProcessDescriptorName() {
+            return NAME;
+        }
+
+        @Override
+        protected ResourceType getProcessIdResourceType() {
+            return ResourceType.BPMN_CM;
+        }
+
+        @Override
+        protected ResourceType getProcessNameResourceType() {
+            return ResourceType.BPMN_CM_NAME;
+        }
+    }
+
+    public static class CaseProcessDataEventListenerProvider implements ProcessDataEventListenerProvider {
+
+        @Override
+        public CaseProcessDataEventListener newInstance() {
+            return new CaseProcessDataEventListener();
+        }
+    }
+}
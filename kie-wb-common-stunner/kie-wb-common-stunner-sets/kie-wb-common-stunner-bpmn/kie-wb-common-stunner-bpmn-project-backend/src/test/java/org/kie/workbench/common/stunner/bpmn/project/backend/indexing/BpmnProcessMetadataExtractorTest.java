@@ -0,0 +1,184 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.bpmn.project.backend.indexing;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.junit.Test;
+import org.kie.workbench.common.services.refactoring.Resource;
+import org.kie.workbench.common.services.refactoring.service.PartType;
+import org.kie.workbench.common.services.refactoring.service.ResourceType;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class BpmnProcessMetadataExtractorTest {
+
+    private static final String HEADER = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>" +
+            "<bpmn2:definitions xmlns:bpmn2=\"http://www.omg.org/spec/BPMN/20100524/MODEL\"" +
+            " xmlns:drools=\"http://www.jboss.org/drools\" id=\"_defs\">";
+
+    private static final String FOOTER = "</bpmn2:definitions>";
+
+    private BpmnProcessMetadataExtractor tested = new BpmnProcessMetadataExtractor(ResourceType.BPMN2,
+                                                                                   ResourceType.BPMN2_NAME);
+
+    @Test
+    public void testExtractProcess() throws Exception {
+        final List<BpmnProcessMetadataExtractor.ProcessMetadata> processes = extract(
+                "<bpmn2:signal id=\"_signal1\" name=\"approved\"/>" +
+                        "<bpmn2:process id=\"project.hiring\" name=\"hiring\" drools:packageName=\"com.myteam\">" +
+                        "<bpmn2:extensionElements><drools:global identifier=\"logger\" type=\"java.lang.Object\"/></bpmn2:extensionElements>" +
+                        "<bpmn2:property id=\"candidate\" itemSubjectRef=\"_candidateItem\"/>" +
+                        "<bpmn2:property id=\"approved\" itemSubjectRef=\"_approvedItem\"/>" +
+                        "<bpmn2:userTask id=\"_task1\" name=\"review\"/>" +
+                        "<bpmn2:task id=\"_task2\" drools:taskName=\"Email\"/>" +
+                        "<bpmn2:businessRuleTask id=\"_task3\" drools:ruleFlowGroup=\"scoring\"/>" +
+                        "<bpmn2:callActivity id=\"_sub1\" calledElement=\"project.onboarding\"/>" +
+                        "<bpmn2:intermediateCatchEvent id=\"_catch1\">" +
+                        "<bpmn2:signalEventDefinition id=\"_def1\" signalRef=\"_signal1\"/>" +
+                        "</bpmn2:intermediateCatchEvent>" +
+                        "<bpmn2:intermediateCatchEvent id=\"_catch2\">" +
+                        "<bpmn2:messageEventDefinition id=\"_def2\" messageRef=\"offer\"/>" +
+                        "</bpmn2:intermediateCatchEvent>" +
+                        "</bpmn2:process>" +
+                        "<bpmn2:message id=\"offer\"/>");
+
+        assertEquals(1, processes.size());
+        final BpmnProcessMetadataExtractor.ProcessMetadata process = processes.get(0);
+        assertEquals("com.myteam", process.getPackageName());
+        assertEquals(2, process.getResources().size());
+        assertTrue(toStrings(process.getResources()).contains(resource(ResourceType.BPMN2, "project.hiring")));
+        assertTrue(toStrings(process.getResources()).contains(resource(ResourceType.BPMN2_NAME, "hiring")));
+        assertEquals(1, process.getResourceReferences().size());
+        assertTrue(toStrings(process.getResourceReferences()).contains(reference(ResourceType.BPMN2, "project.onboarding")));
+
+        final Set<String> sharedReferences = toStrings(process.getSharedReferences());
+        assertEquals(6, sharedReferences.size());
+        assertTrue(sharedReferences.contains(shared(PartType.GLOBAL, "logger")));
+        assertTrue(sharedReferences.contains(shared(PartType.TASK_NAME, "Human Task")));
+        assertTrue(sharedReferences.contains(shared(PartType.TASK_NAME, "Email")));
+        assertTrue(sharedReferences.contains(shared(PartType.RULEFLOW_GROUP, "scoring")));
+        assertTrue(sharedReferences.contains(shared(PartType.SIGNAL, "approved")));
+        assertTrue(sharedReferences.contains(shared(PartType.SIGNAL, "offer")));
+    }
+
+    @Test
+    public void testExtractCallActivityByName() throws Exception {
+        final List<BpmnProcessMetadataExtractor.ProcessMetadata> processes = extract(
+                "<bpmn2:process id=\"parent\">" +
+                        "<bpmn2:callActivity id=\"_sub1\" drools:calledElementByName=\"child\"/>" +
+                        "<bpmn2:businessRuleTask id=\"_task1\"/>" +
+                        "</bpmn2:process>");
+
+        assertEquals(1, processes.size());
+        final BpmnProcessMetadataExtractor.ProcessMetadata process = processes.get(0);
+        assertNull(process.getPackageName());
+        assertEquals(1, process.getResources().size());
+        assertTrue(toStrings(process.getResourceReferences()).contains(reference(ResourceType.BPMN2_NAME, "child")));
+        assertTrue(process.getSharedReferences().isEmpty());
+    }
+
+    @Test
+    public void testExtractMultipleProcesses() throws Exception {
+        final List<BpmnProcessMetadataExtractor.ProcessMetadata> processes = extract(
+                "<bpmn2:process id=\"first\"><bpmn2:property id=\"var\"/></bpmn2:process>" +
+                        "<bpmn2:process id=\"second\"><bpmn2:property id=\"var\"/></bpmn2:process>");
+
+        assertEquals(2, processes.size());
+        assertTrue(toStrings(processes.get(0).getResources()).contains(resource(ResourceType.BPMN2, "first")));
+        assertTrue(toStrings(processes.get(1).getResources()).contains(resource(ResourceType.BPMN2, "second")));
+    }
+
+    @Test
+    public void testExtractJustTheReferencedMessages() throws Exception {
+        final List<BpmnProcessMetadataExtractor.ProcessMetadata> processes = extract(
+                "<bpmn2:message id=\"offer\"/>" +
+                        "<bpmn2:message id=\"reminder\"/>" +
+                        "<bpmn2:process id=\"first\"><bpmn2:receiveTask id=\"_task1\" messageRef=\"offer\"/></bpmn2:process>" +
+                        "<bpmn2:process id=\"second\"><bpmn2:sendTask id=\"_task2\" messageRef=\"undefined\"/></bpmn2:process>");
+
+        assertEquals(2, processes.size());
+        final Set<String> firstReferences = toStrings(processes.get(0).getSharedReferences());
+        assertTrue(firstReferences.contains(shared(PartType.SIGNAL, "offer")));
+        assertFalse(firstReferences.contains(shared(PartType.SIGNAL, "reminder")));
+        final Set<String> secondReferences = toStrings(processes.get(1).getSharedReferences());
+        assertFalse(secondReferences.contains(shared(PartType.SIGNAL, "offer")));
+        assertFalse(secondReferences.contains(shared(PartType.SIGNAL, "undefined")));
+    }
+
+    @Test
+    public void testExtractSubProcessPropertiesAreNotProcessVariables() throws Exception {
+        final List<BpmnProcessMetadataExtractor.ProcessMetadata> processes = extract(
+                "<bpmn2:process id=\"parent\">" +
+                        "<bpmn2:property id=\"processVar\"/>" +
+                        "<bpmn2:subProcess id=\"_sub1\"><bpmn2:property id=\"subProcessVar\"/></bpmn2:subProcess>" +
+                        "</bpmn2:process>");
+
+        assertEquals(1, processes.size());
+        final Resource process = processes.get(0).getResources().stream()
+                .filter(resource -> ResourceType.BPMN2 == resource.getResourceType())
+                .findFirst()
+                .get();
+        // The process resource itself and its single variable.
+        assertEquals(2, process.toIndexElements().size());
+    }
+
+    @Test
+    public void testExtractNoProcess() throws Exception {
+        assertTrue(extract("<bpmn2:signal id=\"_signal1\" name=\"approved\"/>").isEmpty());
+    }
+
+    @Test(expected = XMLStreamException.class)
+    public void testExtractMalformedDocument() throws Exception {
+        extract("<bpmn2:process id=\"broken\">");
+    }
+
+    private List<BpmnProcessMetadataExtractor.ProcessMetadata> extract(final String content) throws XMLStreamException {
+        return tested.extract(new ByteArrayInputStream((HEADER + content + FOOTER).getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static Set<String> toStrings(final Collection<?> elements) {
+        return elements.stream()
+                .map(Object::toString)
+                .collect(Collectors.toSet());
+    }
+
+    private static String resource(final ResourceType type,
+                                   final String name) {
+        return type + " => " + name;
+    }
+
+    private static String reference(final ResourceType type,
+                                    final String name) {
+        return "ref:" + type + " => " + name;
+    }
+
+    private static String shared(final PartType type,
+                                 final String name) {
+        return "shared:" + type + " => " + name;
+    }
+}